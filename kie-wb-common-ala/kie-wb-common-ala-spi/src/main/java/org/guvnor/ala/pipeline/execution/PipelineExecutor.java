@@ -20,6 +20,7 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Consumer;
 
 import org.guvnor.ala.pipeline.BiFunctionConfigExecutor;
@@ -49,6 +50,12 @@ public class PipelineExecutor {
 
     private final Map<Class, ConfigExecutor> configExecutors = new HashMap<>();
 
+    /**
+     * Holds the ConfigExecutor resolved for each output class, so the assignable executors are looked up once per
+     * class.
+     */
+    private final Map<Class<?>, Optional<ConfigExecutor>> resolvedConfigExecutors = new ConcurrentHashMap<>();
+
     public PipelineExecutor() {
     }
 
@@ -57,6 +64,7 @@ public class PipelineExecutor {
             this.configExecutors.put(configExecutor.executeFor(),
                                      configExecutor);
         }
+        resolvedConfigExecutors.clear();
     }
 
     public PipelineExecutor(final Collection<ConfigExecutor> configExecutors) {
@@ -145,16 +153,21 @@ public class PipelineExecutor {
     }
 
     private ConfigExecutor resolve(final Class<?> clazz) {
+        return resolvedConfigExecutors.computeIfAbsent(clazz,
+                                                       this::lookup).orElse(null);
+    }
+
+    private Optional<ConfigExecutor> lookup(final Class<?> clazz) {
         final ConfigExecutor result = configExecutors.get(clazz);
         if (result != null) {
-            return result;
+            return Optional.of(result);
         }
         for (final Map.Entry<Class, ConfigExecutor> entry : configExecutors.entrySet()) {
             if (entry.getKey().isAssignableFrom(clazz)) {
-                return entry.getValue();
+                return Optional.of(entry.getValue());
             }
         }
-        return null;
+        return Optional.empty();
     }
 
     private static Object pollOutput(final PipelineContext context) {
@@ -62,6 +62,12 @@ public interface PipelineExecutorTask {
      */
     PipelineExecutorError getStageError(String stage);
 
+    /**
+     * @param stage a pipeline Stage for querying the execution time.
+     * @return The time in milliseconds the Stage execution took, null if the Stage execution has not finished.
+     */
+    Long getStageExecutionTime(String stage);
+
     /**
      * @return The pipeline execution error in cases where execution failed, false in any other case.
      */
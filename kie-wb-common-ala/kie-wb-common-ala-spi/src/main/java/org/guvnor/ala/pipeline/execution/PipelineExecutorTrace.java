@@ -41,4 +41,11 @@ public interface PipelineExecutorTrace {
      * @return returns the internal task.
      */
     PipelineExecutorTask getTask();
+
+    /**
+     * Shortcut to the execution time of a stage of the task.
+     * @param stage a pipeline Stage for querying the execution time.
+     * @return returns the time in milliseconds the Stage execution took, null if the Stage execution has not finished.
+     */
+    Long getStageExecutionTime(String stage);
 }
@@ -51,6 +51,18 @@ public class PipelineExecutorTaskImpl
     @JsonInclude
     private Map<String, PipelineExecutorError> stageError = new HashMap<>();
 
+    /**
+     * Holds the time in milliseconds the stages execution started.
+     */
+    @JsonInclude
+    private Map<String, Long> stageStartTime = new HashMap<>();
+
+    /**
+     * Holds the time in milliseconds the stages execution took, for the stages that finished or failed.
+     */
+    @JsonInclude
+    private Map<String, Long> stageExecutionTime = new HashMap<>();
+
     /**
      * Holds the pipeline error in case the pipeline failed.
      */
@@ -114,6 +126,34 @@ public class PipelineExecutorTaskImpl
         return stageError.get(stage);
     }
 
+    public void setStageStartTime(final String stage,
+                                  final long startTime) {
+        stageStartTime.put(stage,
+                           startTime);
+        stageExecutionTime.remove(stage);
+    }
+
+    public Long getStageStartTime(final String stage) {
+        return stageStartTime.get(stage);
+    }
+
+    /**
+     * Records the end of the stage execution, the execution time is calculated from the stage start time if any.
+     */
+    public void setStageEndTime(final String stage,
+                                final long endTime) {
+        final Long startTime = stageStartTime.get(stage);
+        if (startTime != null) {
+            stageExecutionTime.put(stage,
+                                   endTime - startTime);
+        }
+    }
+
+    @Override
+    public Long getStageExecutionTime(final String stage) {
+        return stageExecutionTime.get(stage);
+    }
+
     public void setPipelineError(final PipelineExecutorError error) {
         this.pipelineError = error;
     }
@@ -144,6 +184,8 @@ public class PipelineExecutorTaskImpl
         clone.setPipelineStatus(this.getPipelineStatus());
         stageStatus.forEach(clone::setStageStatus);
         stageError.forEach(clone::setStageError);
+        clone.stageStartTime.putAll(stageStartTime);
+        clone.stageExecutionTime.putAll(stageExecutionTime);
         clone.setPipelineError(pipelineError);
         clone.setOutput(output);
         return clone;
@@ -391,6 +391,8 @@ public class PipelineExecutorTaskManagerImpl
                                       final TaskEntry taskEntry) {
         taskEntry.getTask().setStageStatus(bsee.getStage().getName(),
                                            PipelineExecutorTask.Status.RUNNING);
+        taskEntry.getTask().setStageStartTime(bsee.getStage().getName(),
+                                              System.currentTimeMillis());
         if (taskEntry.isAsync()) {
             updateExecutorRegistry(taskEntry.getTask());
         }
@@ -401,6 +403,8 @@ public class PipelineExecutorTaskManagerImpl
         taskEntry.getTask().setPipelineStatus(PipelineExecutorTask.Status.ERROR);
         taskEntry.getTask().setStageStatus(oesee.getStage().getName(),
                                            PipelineExecutorTask.Status.ERROR);
+        taskEntry.getTask().setStageEndTime(oesee.getStage().getName(),
+                                            System.currentTimeMillis());
         taskEntry.getTask().setStageError(oesee.getStage().getName(),
                                           new PipelineExecutorError(oesee.getError().getMessage(),
                                                                         oesee.getError()));
@@ -413,6 +417,8 @@ public class PipelineExecutorTaskManagerImpl
                                      final TaskEntry taskEntry) {
         taskEntry.getTask().setStageStatus(asee.getStage().getName(),
                                            PipelineExecutorTask.Status.FINISHED);
+        taskEntry.getTask().setStageEndTime(asee.getStage().getName(),
+                                            System.currentTimeMillis());
         if (taskEntry.isAsync()) {
             updateExecutorRegistry(taskEntry.getTask());
         }
@@ -57,4 +57,10 @@ public class PipelineExecutorTraceImpl
     public PipelineExecutorTask getTask() {
         return task;
     }
+
+    @JsonIgnore
+    @Override
+    public Long getStageExecutionTime(final String stage) {
+        return getTask().getStageExecutionTime(stage);
+    }
 }
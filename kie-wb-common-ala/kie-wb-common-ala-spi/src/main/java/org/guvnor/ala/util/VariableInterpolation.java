@@ -21,7 +21,9 @@ import java.lang.reflect.Method;
 import java.util.Map;
 
 import net.bytebuddy.ByteBuddy;
+import net.bytebuddy.description.modifier.Visibility;
 import net.bytebuddy.dynamic.loading.ClassLoadingStrategy;
+import net.bytebuddy.implementation.FieldAccessor;
 import net.bytebuddy.implementation.InvocationHandlerAdapter;
 import net.bytebuddy.matcher.ElementMatchers;
 import org.apache.commons.beanutils.PropertyUtilsBean;
@@ -41,13 +43,48 @@ public final class VariableInterpolation {
 
     }
 
-    private static final ConfigurationInterpolator interpolator = new ConfigurationInterpolator();
-    private static final StrSubstitutor substitutor = new StrSubstitutor(interpolator);
+    private static final String HANDLER_FIELD = "interpolationHandler";
+
+    private static final StrSubstitutor substitutor = new StrSubstitutor(new ConfigurationInterpolator());
+
+    /**
+     * Holds the proxy type generated for each class, the types only differ by the handler set on each instance.
+     */
+    private static final ClassValue<Class<?>> proxyTypes = new ClassValue<Class<?>>() {
+        @Override
+        protected Class<?> computeValue(final Class<?> type) {
+            Class<?>[] _interfaces;
+            Class<?> currentClass = type;
+            do {
+                _interfaces = currentClass.getInterfaces();
+                currentClass = currentClass.getSuperclass();
+            } while (_interfaces.length == 0 && currentClass != null);
+
+            //the handler is set through the InterpolationProxy method, which takes precedence as it's matched last.
+            return new ByteBuddy()
+                    .subclass(Object.class)
+                    .implement(_interfaces)
+                    .defineField(HANDLER_FIELD,
+                                 InvocationHandler.class,
+                                 Visibility.PRIVATE)
+                    .method(ElementMatchers.any())
+                    .intercept(InvocationHandlerAdapter.toField(HANDLER_FIELD))
+                    .implement(InterpolationProxy.class)
+                    .intercept(FieldAccessor.ofField(HANDLER_FIELD))
+                    .make()
+                    .load(type.getClassLoader(),
+                          ClassLoadingStrategy.Default.INJECTION)
+                    .getLoaded();
+        }
+    };
 
     public static <T> T interpolate(final Map<String, Object> values,
                                     final T object) {
+        //each interpolation looks up its own values, as the proxies are resolved after this method returns.
+        final ConfigurationInterpolator interpolator = new ConfigurationInterpolator();
         interpolator.setDefaultLookup(new MapOfMapStrLookup(values));
-        return proxy(object);
+        return proxy(object,
+                     new StrSubstitutor(interpolator));
     }
 
     private static class MapOfMapStrLookup extends StrLookup {
@@ -87,24 +124,17 @@ public final class VariableInterpolation {
     }
 
     public static <T> T proxy(final T instance) {
-        try {
-            Class<?>[] _interfaces;
-            Class<?> currentClass = instance.getClass();
-            do {
-                _interfaces = currentClass.getInterfaces();
-                currentClass = currentClass.getSuperclass();
-            } while (_interfaces.length == 0 && currentClass != null);
+        return proxy(instance,
+                     substitutor);
+    }
 
-            T result = (T) new ByteBuddy()
-                    .subclass(Object.class)
-                    .implement(_interfaces)
-                    .method(ElementMatchers.any())
-                    .intercept(InvocationHandlerAdapter.of(new InterpolationHandler(instance)))
-                    .make()
-                    .load(instance.getClass().getClassLoader(),
-                          ClassLoadingStrategy.Default.INJECTION)
-                    .getLoaded()
-                    .newInstance();
+    private static <T> T proxy(final T instance,
+                               final StrSubstitutor substitutor) {
+        try {
+            final Class<?> proxyType = proxyTypes.get(instance.getClass());
+            T result = (T) proxyType.newInstance();
+            ((InterpolationProxy) result).interpolationHandler(new InterpolationHandler(instance,
+                                                                                        substitutor));
             if (instance instanceof CloneableConfig) {
                 return (T) ((CloneableConfig) result).asNewClone(result);
             }
@@ -115,12 +145,29 @@ public final class VariableInterpolation {
         }
     }
 
+    /**
+     * Implemented by the proxy types to set their handler. The method isn't a bean property, so it isn't marshalled.
+     */
+    public interface InterpolationProxy {
+
+        void interpolationHandler(InvocationHandler handler);
+    }
+
     public static class InterpolationHandler implements InvocationHandler {
 
         Object object;
 
+        private final StrSubstitutor substitutor;
+
         public InterpolationHandler(final Object object) {
+            this(object,
+                 VariableInterpolation.substitutor);
+        }
+
+        InterpolationHandler(final Object object,
+                             final StrSubstitutor substitutor) {
             this.object = object;
+            this.substitutor = substitutor;
         }
 
         @Override
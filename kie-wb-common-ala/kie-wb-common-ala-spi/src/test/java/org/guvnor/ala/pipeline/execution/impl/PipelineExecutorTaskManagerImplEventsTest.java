@@ -159,6 +159,9 @@ public class PipelineExecutorTaskManagerImplEventsTest
         verify(task,
                times(1)).setStageStatus(stage.getName(),
                                         PipelineExecutorTask.Status.RUNNING);
+        verify(task,
+               times(1)).setStageStartTime(eq(stage.getName()),
+                                           anyLong());
 
         verifyExecutorRegistryUpdated(async);
 
@@ -189,6 +192,9 @@ public class PipelineExecutorTaskManagerImplEventsTest
         verify(task,
                times(1)).setStageStatus(stage.getName(),
                                         PipelineExecutorTask.Status.ERROR);
+        verify(task,
+               times(1)).setStageEndTime(eq(stage.getName()),
+                                         anyLong());
         verify(task,
                times(1)).setStageError(eq(stage.getName()),
                                        pipelineExecutorErrorCaptor.capture());
@@ -223,6 +229,9 @@ public class PipelineExecutorTaskManagerImplEventsTest
         verify(task,
                times(1)).setStageStatus(stage.getName(),
                                         PipelineExecutorTask.Status.FINISHED);
+        verify(task,
+               times(1)).setStageEndTime(eq(stage.getName()),
+                                         anyLong());
 
         verifyExecutorRegistryUpdated(async);
 
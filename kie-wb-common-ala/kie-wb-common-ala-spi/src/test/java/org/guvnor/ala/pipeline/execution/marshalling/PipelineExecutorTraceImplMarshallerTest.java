@@ -47,6 +47,8 @@ public class PipelineExecutorTraceImplMarshallerTest
     private static final String STAGE_ERROR = "STAGE_ERROR";
     private static final String STAGE_ERROR_DETAIL = "STAGE_ERROR_DETAIL";
     private static final String PIPELINE_OUTPUT = "PIPELINE_OUTPUT";
+    private static final long STAGE_START_TIME = 1000;
+    private static final long STAGE_EXECUTION_TIME = 250;
 
     @Override
     public Marshaller<PipelineExecutorTraceImpl> createMarshaller() {
@@ -77,6 +79,12 @@ public class PipelineExecutorTraceImplMarshallerTest
                                             PIPELINE_ERROR_DETAIL));
         taskImpl.getTaskDef().getStages().forEach(stage -> taskImpl.setStageError(stage,
                                                                                   mockStageError(stage)));
+        taskImpl.getTaskDef().getStages().forEach(stage -> {
+            taskImpl.setStageStartTime(stage,
+                                       STAGE_START_TIME);
+            taskImpl.setStageEndTime(stage,
+                                     STAGE_START_TIME + STAGE_EXECUTION_TIME);
+        });
         taskImpl.setOutput(new MockPipelineOutput(PIPELINE_OUTPUT));
         return new PipelineExecutorTraceImpl(taskImpl);
     }
@@ -106,6 +114,8 @@ public class PipelineExecutorTraceImplMarshallerTest
                          value.getTask().getStageStatus(stage));
             assertEquals(expectedValue.getTask().getStageError(stage),
                          value.getTask().getStageError(stage));
+            assertEquals(expectedValue.getStageExecutionTime(stage),
+                         value.getStageExecutionTime(stage));
         }
         assertEquals(expectedValue.getTask().getOutput(),
                      value.getTask().getOutput());
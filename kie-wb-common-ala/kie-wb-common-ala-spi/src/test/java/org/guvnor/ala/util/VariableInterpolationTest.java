@@ -18,6 +18,7 @@ package org.guvnor.ala.util;
 
 import java.util.HashMap;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.Test;
 
 import static org.junit.Assert.*;
@@ -68,6 +69,35 @@ public class VariableInterpolationTest {
                      newObject.getValue3());
     }
 
+    @Test
+    public void interpolationsKeepTheirValuesTest() {
+        final Test1 object = new Test1Class();
+        final Test1 firstObject = VariableInterpolation.interpolate(new HashMap<String, Object>() {{
+                                                                        put("input",
+                                                                            new HashMap<String, String>() {{
+                                                                                put("value1",
+                                                                                    "first");
+                                                                            }});
+                                                                    }},
+                                                                    object);
+        final Test1 secondObject = VariableInterpolation.interpolate(new HashMap<String, Object>() {{
+                                                                         put("input",
+                                                                             new HashMap<String, String>() {{
+                                                                                 put("value1",
+                                                                                     "second");
+                                                                             }});
+                                                                     }},
+                                                                     object);
+
+        assertEquals("first",
+                     firstObject.getValue1());
+        assertEquals("second",
+                     secondObject.getValue1());
+        //the proxy type is generated once per class.
+        assertEquals(firstObject.getClass(),
+                     secondObject.getClass());
+    }
+
     @Test
     public void testPreserveImplementedInterfaces() {
         Object object = new Test1Class();
@@ -86,6 +116,72 @@ public class VariableInterpolationTest {
         assertTrue(newObject instanceof Test1);
     }
 
+    @Test
+    public void marshallingRoundTripTest() throws Exception {
+        final TestConfig config = new TestConfigImpl("${input.value1}",
+                                                     "fixed");
+        final TestConfig newConfig = VariableInterpolation.interpolate(new HashMap<String, Object>() {{
+                                                                           put("input",
+                                                                               new HashMap<String, String>() {{
+                                                                                   put("value1",
+                                                                                       "myvalue1");
+                                                                               }});
+                                                                       }},
+                                                                       config);
+        final ObjectMapper objectMapper = new ObjectMapper();
+        final String marshalledValue = objectMapper.writeValueAsString(newConfig);
+        final TestConfig result = objectMapper.readValue(marshalledValue,
+                                                         TestConfigImpl.class);
+
+        assertEquals("myvalue1",
+                     result.getValue1());
+        assertEquals("fixed",
+                     result.getValue2());
+        //the handler of the proxy is not marshalled.
+        assertFalse(marshalledValue.contains("interpolationHandler"));
+    }
+
+    public interface TestConfig {
+
+        String getValue1();
+
+        String getValue2();
+    }
+
+    public static class TestConfigImpl implements TestConfig {
+
+        private String value1;
+
+        private String value2;
+
+        public TestConfigImpl() {
+        }
+
+        public TestConfigImpl(final String value1,
+                              final String value2) {
+            this.value1 = value1;
+            this.value2 = value2;
+        }
+
+        @Override
+        public String getValue1() {
+            return value1;
+        }
+
+        public void setValue1(final String value1) {
+            this.value1 = value1;
+        }
+
+        @Override
+        public String getValue2() {
+            return value2;
+        }
+
+        public void setValue2(final String value2) {
+            this.value2 = value2;
+        }
+    }
+
     public interface Test1 {
 
         default String getValue1() {
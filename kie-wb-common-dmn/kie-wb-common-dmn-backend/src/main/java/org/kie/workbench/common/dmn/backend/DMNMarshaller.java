@@ -19,7 +19,9 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.util.AbstractMap.SimpleEntry;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -27,7 +29,6 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.function.Consumer;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 import java.util.stream.StreamSupport;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -156,13 +157,13 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                                                                                                                                      dmn -> new SimpleEntry<>(dmn,
                                                                                                                                                               dmnToStunner(dmn))));
 
-        Optional<org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram> dmnDDDiagram = findDMNDiagram(dmnXml);
+        Map<String, DMNShape> shapesByElementId = indexShapes(findDMNDiagram(dmnXml));
 
         for (Entry<org.kie.dmn.model.v1_1.DRGElement, Node> kv : elems.values()) {
             org.kie.dmn.model.v1_1.DRGElement elem = kv.getKey();
             Node currentNode = kv.getValue();
 
-            ddExtAugmentStunner(dmnDDDiagram, currentNode);
+            ddExtAugmentStunner(shapesByElementId, currentNode);
 
             // DMN spec table 2: Requirements connection rules
             if (elem instanceof org.kie.dmn.model.v1_1.Decision) {
@@ -270,7 +271,7 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
 
         Map<String, Node<View<TextAnnotation>, ?>> textAnnotations = dmnXml.getArtifact().stream().filter(org.kie.dmn.model.v1_1.TextAnnotation.class::isInstance).map(org.kie.dmn.model.v1_1.TextAnnotation.class::cast).collect(Collectors.toMap(org.kie.dmn.model.v1_1.TextAnnotation::getId,
                                                                                                                                                                                                                                                    textAnnotationConverter::nodeFromDMN));
-        textAnnotations.values().forEach(n -> ddExtAugmentStunner(dmnDDDiagram, n));
+        textAnnotations.values().forEach(n -> ddExtAugmentStunner(shapesByElementId, n));
 
         List<org.kie.dmn.model.v1_1.Association> associations = dmnXml.getArtifact().stream().filter(org.kie.dmn.model.v1_1.Association.class::isInstance).map(org.kie.dmn.model.v1_1.Association.class::cast).collect(Collectors.toList());
         for (org.kie.dmn.model.v1_1.Association a : associations) {
@@ -299,17 +300,22 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
         Graph graph = factoryManager.newDiagram("prova",
                                                 BindableAdapterUtils.getDefinitionSetId(DMNDefinitionSet.class),
                                                 metadata).getGraph();
-        elems.values().stream().map(kv -> kv.getValue()).forEach(graph::addNode);
-        textAnnotations.values().forEach(graph::addNode);
 
+        // Look up the root while the new graph only holds it, then add and connect each node in a single pass.
         @SuppressWarnings("unchecked")
         Node<View<DMNDiagram>, ?> dmnDiagramRoot = findDMNDiagramRoot(graph);
         Definitions definitionsStunnerPojo = DefinitionsConverter.wbFromDMN(dmnXml);
         dmnDiagramRoot.getContent().getDefinition().setDefinitions(definitionsStunnerPojo);
-        elems.values().stream().map(kv -> kv.getValue()).forEach(node -> connectRootWithChild(dmnDiagramRoot,
-                                                                                              node));
-        textAnnotations.values().stream().forEach(node -> connectRootWithChild(dmnDiagramRoot,
-                                                                               node));
+        for (Entry<org.kie.dmn.model.v1_1.DRGElement, Node> kv : elems.values()) {
+            graph.addNode(kv.getValue());
+            connectRootWithChild(dmnDiagramRoot,
+                                 kv.getValue());
+        }
+        for (Node node : textAnnotations.values()) {
+            graph.addNode(node);
+            connectRootWithChild(dmnDiagramRoot,
+                                 node);
+        }
 
         return graph;
     }
@@ -380,21 +386,21 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
 
         Map<String, org.kie.dmn.model.v1_1.DRGElement> nodes = new HashMap<>();
         Map<String, org.kie.dmn.model.v1_1.TextAnnotation> textAnnotations = new HashMap<>();
-
-        @SuppressWarnings("unchecked")
-        Node<View<DMNDiagram>, ?> dmnDiagramRoot = (Node<View<DMNDiagram>, ?>) findDMNDiagramRoot(g);
-        Definitions definitionsStunnerPojo = dmnDiagramRoot.getContent().getDefinition().getDefinitions();
-        org.kie.dmn.model.v1_1.Definitions definitions = DefinitionsConverter.dmnFromWB(definitionsStunnerPojo);
-        if (definitions.getExtensionElements() == null) {
-            definitions.setExtensionElements(new org.kie.dmn.model.v1_1.Definitions.ExtensionElements());
-        }
+        List<org.kie.dmn.model.v1_1.Association> associations = new ArrayList<>();
         org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram dmnDDDMNDiagram = new org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram();
-        definitions.getExtensionElements().getAny().add(dmnDDDMNDiagram);
+        Node<View<DMNDiagram>, ?> dmnDiagramRoot = null;
 
+        // Single pass over the graph: the root, the DRG elements, the artifacts and their DI shapes.
         for (Node<?, ?> node : g.nodes()) {
             if (node.getContent() instanceof View<?>) {
                 View<?> view = (View<?>) node.getContent();
-                if (view.getDefinition() instanceof DRGElement) {
+                if (view.getDefinition() instanceof DMNDiagram) {
+                    if (null == dmnDiagramRoot) {
+                        @SuppressWarnings("unchecked")
+                        Node<View<DMNDiagram>, ?> root = (Node<View<DMNDiagram>, ?>) node;
+                        dmnDiagramRoot = root;
+                    }
+                } else if (view.getDefinition() instanceof DRGElement) {
                     DRGElement n = (org.kie.workbench.common.dmn.api.definition.v1_1.DRGElement) view.getDefinition();
                     nodes.put(n.getId().getValue(),
                               stunnerToDMN(node));
@@ -405,12 +411,21 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
                                         textAnnotationConverter.dmnFromNode((Node<View<TextAnnotation>, ?>) node));
                     dmnDDDMNDiagram.getAny().add(stunnerToDDExt((View<? extends DMNElement>) view));
 
-                    List<org.kie.dmn.model.v1_1.Association> associations = AssociationConverter.dmnFromWB((Node<View<TextAnnotation>, ?>) node);
-                    definitions.getArtifact().addAll(associations);
+                    associations.addAll(AssociationConverter.dmnFromWB((Node<View<TextAnnotation>, ?>) node));
                 }
             }
         }
+        if (null == dmnDiagramRoot) {
+            throw new IllegalStateException("No DMNDiagram root node");
+        }
 
+        Definitions definitionsStunnerPojo = dmnDiagramRoot.getContent().getDefinition().getDefinitions();
+        org.kie.dmn.model.v1_1.Definitions definitions = DefinitionsConverter.dmnFromWB(definitionsStunnerPojo);
+        if (definitions.getExtensionElements() == null) {
+            definitions.setExtensionElements(new org.kie.dmn.model.v1_1.Definitions.ExtensionElements());
+        }
+        definitions.getExtensionElements().getAny().add(dmnDDDMNDiagram);
+        definitions.getArtifact().addAll(associations);
         nodes.values().forEach(definitions.getDrgElement()::add);
         textAnnotations.values().forEach(definitions.getArtifact()::add);
 
@@ -419,38 +434,51 @@ public class DMNMarshaller implements DiagramMarshaller<Graph, Metadata, Diagram
         return marshalled;
     }
 
-    private void ddExtAugmentStunner(Optional<org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram> dmnDDDiagram, Node currentNode) {
+    /**
+     * Indexes the shapes of the DMN DI extension by the id of the DMN element they refer to, keeping the first shape
+     * for each element.
+     */
+    private static Map<String, DMNShape> indexShapes(Optional<org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram> dmnDDDiagram) {
         if (!dmnDDDiagram.isPresent()) {
-            return;
+            return Collections.emptyMap();
+        }
+        Map<String, DMNShape> shapesByElementId = new HashMap<>();
+        for (DMNShape shape : dmnDDDiagram.get().getAny()) {
+            shapesByElementId.putIfAbsent(shape.getDmnElementRef(),
+                                          shape);
         }
+        return shapesByElementId;
+    }
 
-        Stream<DMNShape> drgShapeStream = dmnDDDiagram.get().getAny().stream().filter(DMNShape.class::isInstance).map(DMNShape.class::cast);
+    private void ddExtAugmentStunner(Map<String, DMNShape> shapesByElementId, Node currentNode) {
+        if (shapesByElementId.isEmpty()) {
+            return;
+        }
 
         View content = (View) currentNode.getContent();
         if (content.getDefinition() instanceof Decision) {
             Decision d = (Decision) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(shapesByElementId, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof InputData) {
             InputData d = (InputData) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(shapesByElementId, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof BusinessKnowledgeModel) {
             BusinessKnowledgeModel d = (BusinessKnowledgeModel) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(shapesByElementId, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof KnowledgeSource) {
             KnowledgeSource d = (KnowledgeSource) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(shapesByElementId, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
         } else if (content.getDefinition() instanceof TextAnnotation) {
             TextAnnotation d = (TextAnnotation) content.getDefinition();
-            internalAugment(drgShapeStream, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
+            internalAugment(shapesByElementId, d.getId(), content.getBounds().getUpperLeft(), d.getDimensionsSet(), content.getBounds().getLowerRight(), d.getBackgroundSet(), d::setFontSet);
         }
     }
 
-    private void internalAugment(Stream<DMNShape> drgShapeStream, Id id, Bound ul, RectangleDimensionsSet dimensionsSet, Bound lr, BackgroundSet bgset, Consumer<FontSet> fontSetSetter) {
-        Optional<DMNShape> drgShapeOpt = drgShapeStream.filter(shape -> shape.getDmnElementRef().equals(id.getValue())).findFirst();
-        if (!drgShapeOpt.isPresent()) {
+    private void internalAugment(Map<String, DMNShape> shapesByElementId, Id id, Bound ul, RectangleDimensionsSet dimensionsSet, Bound lr, BackgroundSet bgset, Consumer<FontSet> fontSetSetter) {
+        DMNShape drgShape = shapesByElementId.get(id.getValue());
+        if (null == drgShape) {
             return;
         }
-        DMNShape drgShape = drgShapeOpt.get();
 
         ((BoundImpl) ul).setX(drgShape.getBounds().getX());
         ((BoundImpl) ul).setY(drgShape.getBounds().getY());
@@ -319,6 +319,99 @@ public class DMNMarshallerTest {
         assertDMNStyle("Monospaced", 32, 3.5, 55, 66, 77, mydecision.getFontStyle());
     }
     
+    @Test
+    public void testLargeDRD() throws IOException {
+        final int decisions = 2000;
+        DMNMarshaller m = new DMNMarshaller(new XMLEncoderDiagramMetadataMarshaller(),
+                                            applicationFactoryManager);
+
+        @SuppressWarnings("unchecked")
+        Graph<?, Node<?, ?>> g = m.unmarshall(null,
+                                              new StringInputStream(buildLargeDRD(decisions)));
+        // The DMNDiagram root, the input data and the decisions.
+        int nodeCount = 0;
+        for (Node<?, ?> node : g.nodes()) {
+            nodeCount++;
+        }
+        assertEquals(decisions + 2,
+                     nodeCount);
+        Node<?, ?> last = g.getNode("_decision-" + (decisions - 1));
+        assertNodeContentDefinitionIs(last,
+                                      Decision.class);
+        View<?> lastView = (View<?>) last.getContent();
+        assertEquals(10d * (decisions - 1),
+                     lastView.getBounds().getUpperLeft().getX(),
+                     0);
+        assertEquals(100d + 20d * (decisions - 1),
+                     lastView.getBounds().getUpperLeft().getY(),
+                     0);
+        assertNodeEdgesTo(g.getNode("_decision-" + (decisions - 2)),
+                          last,
+                          InformationRequirement.class);
+
+        DiagramImpl diagram = new DiagramImpl("",
+                                              null);
+        diagram.setGraph(g);
+        String mString = m.marshall(diagram);
+
+        org.kie.dmn.api.marshalling.v1_1.DMNMarshaller dmnMarshaller = DMNMarshallerFactory.newMarshallerWithExtensions(Arrays.asList(new DDExtensionsRegister()));
+        Definitions definitions = dmnMarshaller.unmarshal(mString);
+        assertEquals(decisions + 1,
+                     definitions.getDrgElement().size());
+        org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram ddRoot = (org.kie.workbench.common.dmn.backend.definition.v1_1.dd.DMNDiagram) definitions.getExtensionElements().getAny().get(0);
+        assertEquals(decisions + 1,
+                     ddRoot.getAny().size());
+        assertBounds(10d * (decisions - 1),
+                     100d + 20d * (decisions - 1),
+                     100,
+                     50,
+                     findShapeByDMNI(ddRoot,
+                                     "_decision-" + (decisions - 1)).getBounds());
+    }
+
+    private static String buildLargeDRD(final int decisions) {
+        final StringBuilder shapes = new StringBuilder();
+        final StringBuilder elements = new StringBuilder();
+        appendShape(shapes,
+                    "_input",
+                    0,
+                    0);
+        elements.append("<semantic:inputData id=\"_input\" name=\"input\">")
+                .append("<semantic:variable id=\"_input-variable\" name=\"input\" typeRef=\"feel:string\"/>")
+                .append("</semantic:inputData>");
+        for (int i = 0; i < decisions; i++) {
+            final String id = "_decision-" + i;
+            appendShape(shapes,
+                        id,
+                        10d * i,
+                        100d + 20d * i);
+            elements.append("<semantic:decision id=\"").append(id).append("\" name=\"decision ").append(i).append("\">")
+                    .append("<semantic:variable id=\"").append(id).append("-variable\" name=\"decision ").append(i).append("\" typeRef=\"feel:string\"/>")
+                    .append("<semantic:informationRequirement>")
+                    .append("<semantic:").append(i == 0 ? "requiredInput href=\"#_input" : "requiredDecision href=\"#_decision-" + (i - 1)).append("\"/>")
+                    .append("</semantic:informationRequirement>")
+                    .append("</semantic:decision>");
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<semantic:definitions xmlns:semantic=\"http://www.omg.org/spec/DMN/20151101/dmn.xsd\"" +
+                " xmlns:dmndi=\"java://org.kie.workbench.common.dmn.backend.definition.v1_1.dd\"" +
+                " xmlns:dc=\"http://www.omg.org/spec/CMMN/20151109/DC\"" +
+                " xmlns:feel=\"http://www.omg.org/spec/FEEL/20140401\"" +
+                " id=\"_large\" name=\"large\" namespace=\"http://www.kie.org/dmn/large\">" +
+                "<semantic:extensionElements><dmndi:DMNDiagram>" + shapes + "</dmndi:DMNDiagram></semantic:extensionElements>" +
+                elements +
+                "</semantic:definitions>";
+    }
+
+    private static void appendShape(final StringBuilder shapes,
+                                    final String id,
+                                    final double x,
+                                    final double y) {
+        shapes.append("<dmndi:DMNShape id=\"dmnshape-").append(id).append("\" dmnElementRef=\"").append(id).append("\">")
+                .append("<dc:Bounds x=\"").append(x).append("\" y=\"").append(y).append("\" width=\"100.0\" height=\"50.0\"></dc:Bounds>")
+                .append("</dmndi:DMNShape>");
+    }
+
     private void assertDMNStyle(String fontName, double fontSize, double fontBorderSize, int r, int g, int b, DMNStyle style) {
         assertEquals(fontName, style.getFontName());
         assertEquals(fontSize, style.getFontSize(), 0);
@@ -22,6 +22,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.StringTokenizer;
+import java.util.concurrent.ExecutorService;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Event;
@@ -81,6 +82,7 @@ import org.kie.workbench.common.services.datamodeller.driver.FilterHolder;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriver;
 import org.kie.workbench.common.services.datamodeller.driver.ModelDriverException;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceLoadCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.ProjectDataModelOracleUtils;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
 import org.kie.workbench.common.services.datamodeller.driver.model.AnnotationDefinitionRequest;
@@ -99,6 +101,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.commons.data.Pair;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
@@ -177,6 +180,13 @@ public class DataModelerServiceImpl
     @Inject
     private FilterHolder filterHolder;
 
+    @Inject
+    @Managed
+    private ExecutorService executorService;
+
+    @Inject
+    private JavaSourceLoadCache sourceLoadCache;
+
     private static final String DEFAULT_COMMIT_MESSAGE = "Data modeller generated action.";
 
     public DataModelerServiceImpl() {
@@ -349,7 +359,9 @@ public class DataModelerServiceImpl
             ModelDriver modelDriver = new JavaRoasterModelDriver(ioService,
                                                                  Paths.convert(defaultPackage.getPackageMainSrcPath()),
                                                                  classLoader,
-                                                                 filterHolder);
+                                                                 filterHolder,
+                                                                 executorService,
+                                                                 sourceLoadCache);
             ModelDriverResult result = modelDriver.loadModel();
             dataModel = result.getDataModel();
 
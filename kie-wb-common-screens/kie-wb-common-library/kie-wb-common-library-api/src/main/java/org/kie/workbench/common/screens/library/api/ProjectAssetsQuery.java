@@ -24,15 +24,34 @@ import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull
 @Portable
 public class ProjectAssetsQuery {
 
+    @Portable
+    public enum SortOrder {
+        NAME,
+        LAST_MODIFIED
+    }
+
     private final Project project;
     private final int startIndex;
     private final int amount;
     private String filter;
+    private final SortOrder sortOrder;
+
+    public ProjectAssetsQuery(final Project project,
+                              final String filter,
+                              final int startIndex,
+                              final int amount) {
+        this(project,
+             filter,
+             startIndex,
+             amount,
+             SortOrder.NAME);
+    }
 
     public ProjectAssetsQuery(@MapsTo("project") final Project project,
                               @MapsTo("filter") final String filter,
                               @MapsTo("startIndex") final int startIndex,
-                              @MapsTo("amount") final int amount) {
+                              @MapsTo("amount") final int amount,
+                              @MapsTo("sortOrder") final SortOrder sortOrder) {
         this.project = checkNotNull("project",
                                     project);
         this.filter = checkNotNull("filter",
@@ -41,6 +60,8 @@ public class ProjectAssetsQuery {
                                        startIndex);
         this.amount = checkNotNull("amount",
                                    amount);
+        this.sortOrder = checkNotNull("sortOrder",
+                                      sortOrder);
     }
 
     public Project getProject() {
@@ -59,6 +80,10 @@ public class ProjectAssetsQuery {
         return amount;
     }
 
+    public SortOrder getSortOrder() {
+        return sortOrder;
+    }
+
     public boolean hasFilter() {
         return filter != null && !filter.trim().isEmpty();
     }
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.screens.impl;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
+import org.uberfire.ext.metadata.backend.lucene.fields.FieldFactory;
+
+/**
+ * Finds the same assets as FindAllLibraryAssetsQuery, most recently modified first, so that pages sorted by date are
+ * collected by the index.
+ */
+@ApplicationScoped
+public class FindAllLibraryAssetsByLastModifiedQuery
+        extends FindAllLibraryAssetsQuery {
+
+    public static String NAME = "FindAllLibraryAssetsByLastModifiedQuery";
+
+    @Override
+    public String getName() {
+        return NAME;
+    }
+
+    @Override
+    public Sort getSortOrder() {
+        return new Sort(new SortField(LibraryLastModifiedTimeIndexTerm.SORTED_TERM,
+                                      SortField.Type.STRING,
+                                      true),
+                        new SortField(FieldFactory.FILE_NAME_FIELD_SORTED,
+                                      SortField.Type.STRING));
+    }
+}
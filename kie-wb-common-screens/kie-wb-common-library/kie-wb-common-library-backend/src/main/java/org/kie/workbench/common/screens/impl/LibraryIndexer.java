@@ -17,12 +17,16 @@ package org.kie.workbench.common.screens.impl;
 
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 
 import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.screens.library.api.LibraryService;
+import org.kie.workbench.common.screens.library.api.index.LibraryCreatedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryFileNameIndexTerm;
+import org.kie.workbench.common.screens.library.api.index.LibraryLastModifiedTimeIndexTerm;
 import org.kie.workbench.common.screens.library.api.index.LibraryProjectRootPathIndexTerm;
 import org.kie.workbench.common.services.refactoring.KPropertyImpl;
 import org.kie.workbench.common.services.refactoring.backend.server.indexing.AbstractFileIndexer;
@@ -41,6 +45,7 @@ import org.uberfire.ext.metadata.model.KObjectKey;
 import org.uberfire.ext.metadata.model.KProperty;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.attribute.FileTime;
 
 @ApplicationScoped
 public class LibraryIndexer extends AbstractFileIndexer {
@@ -83,6 +88,11 @@ public class LibraryIndexer extends AbstractFileIndexer {
             return null;
         }
 
+        //Asset times are read once when the asset is indexed, rather than every time the asset is listed
+        final Map<String, Object> attributes = ioService.readAttributes(path);
+        final FileTime lastModifiedTime = (FileTime) attributes.get(LibraryService.LAST_MODIFIED_TIME);
+        final FileTime createdTime = (FileTime) attributes.get(LibraryService.CREATED_TIME);
+
         // responsible for basic index info: project name, branch, etc
         final DefaultIndexBuilder builder = new DefaultIndexBuilder(Paths.convert(path).getFileName(),
                                                                     project,
@@ -98,6 +108,20 @@ public class LibraryIndexer extends AbstractFileIndexer {
                                                       false,
                                                       true));
 
+                if (lastModifiedTime != null) {
+                    final String lastModified = toIndexValue(lastModifiedTime);
+                    indexElements.add(new KPropertyImpl<>(LibraryLastModifiedTimeIndexTerm.TERM,
+                                                          lastModified));
+                    indexElements.add(new KPropertyImpl<>(LibraryLastModifiedTimeIndexTerm.SORTED_TERM,
+                                                          lastModified,
+                                                          false,
+                                                          true));
+                }
+                if (createdTime != null) {
+                    indexElements.add(new KPropertyImpl<>(LibraryCreatedTimeIndexTerm.TERM,
+                                                          toIndexValue(createdTime)));
+                }
+
                 if (project.getRootPath() != null) {
                     final String projectRootUri = project.getRootPath().toURI();
                     indexElements.add(new KPropertyImpl<>(LibraryProjectRootPathIndexTerm.TERM,
@@ -157,6 +181,14 @@ public class LibraryIndexer extends AbstractFileIndexer {
                                         LIBRARY_CLASSIFIER);
     }
 
+    /**
+     * Times are stored as fixed length strings, so that sorting them as strings sorts them chronologically.
+     */
+    static String toIndexValue(final FileTime time) {
+        return String.format("%019d",
+                             time.toMillis());
+    }
+
     protected KieProject getProject(final Path path) {
         return projectService.resolveProject(Paths.convert(path));
     }
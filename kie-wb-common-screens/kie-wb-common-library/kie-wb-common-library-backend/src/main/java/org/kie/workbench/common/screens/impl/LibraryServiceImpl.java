@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
@@ -52,6 +53,7 @@ import org.kie.workbench.common.screens.examples.model.ExampleTargetRepository;
 import org.kie.workbench.common.screens.examples.service.ExamplesService;
 import org.kie.workbench.common.screens.explorer.backend.server.ExplorerServiceHelper;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
+import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
 import org.kie.workbench.common.screens.explorer.model.FolderItemType;
 import org.kie.workbench.common.screens.library.api.AssetInfo;
 import org.kie.workbench.common.screens.library.api.LibraryInfo;
@@ -71,8 +73,10 @@ import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.NoSuchFileException;
 import org.uberfire.java.nio.file.attribute.FileTime;
@@ -103,6 +107,7 @@ public class LibraryServiceImpl implements LibraryService {
     private ExamplesService examplesService;
     private IOService ioService;
     private SocialUserRepositoryAPI socialUserRepositoryAPI;
+    private VFSLockServiceImpl lockService;
 
     public LibraryServiceImpl() {
     }
@@ -120,7 +125,8 @@ public class LibraryServiceImpl implements LibraryService {
                               final ExamplesService examplesService,
                               @Named("ioStrategy") final IOService ioService,
                               final LibraryInternalPreferences internalPreferences,
-                              final SocialUserRepositoryAPI socialUserRepositoryAPI) {
+                              final SocialUserRepositoryAPI socialUserRepositoryAPI,
+                              final VFSLockServiceImpl lockService) {
         this.ouService = ouService;
         this.repositoryService = repositoryService;
         this.kieProjectService = kieProjectService;
@@ -134,6 +140,7 @@ public class LibraryServiceImpl implements LibraryService {
         this.ioService = ioService;
         this.internalPreferences = internalPreferences;
         this.socialUserRepositoryAPI = socialUserRepositoryAPI;
+        this.lockService = lockService;
     }
 
     @Override
@@ -249,50 +256,85 @@ public class LibraryServiceImpl implements LibraryService {
                                                              ValueIndexTerm.TermSearchType.WILDCARD));
         }
 
-        final PageResponse<RefactoringPageRow> findRulesByProjectQuery = refactoringQueryService.query(new RefactoringPageRequest(FindAllLibraryAssetsQuery.NAME,
+        final String queryName = query.getSortOrder() == ProjectAssetsQuery.SortOrder.LAST_MODIFIED ? FindAllLibraryAssetsByLastModifiedQuery.NAME : FindAllLibraryAssetsQuery.NAME;
+        final PageResponse<RefactoringPageRow> findRulesByProjectQuery = refactoringQueryService.query(new RefactoringPageRequest(queryName,
                                                                                                                                   queryTerms,
                                                                                                                                   query.getStartIndex(),
                                                                                                                                   query.getAmount()));
-        final List<FolderItem> assets = findRulesByProjectQuery
+
+        //The locks of the whole Project are read at once, rather than the lock of each asset
+        final Map<String, String> lockedBy = getLockedBy(query.getProject().getRootPath());
+
+        //The restricted operations are not resolved for each asset, as the Library doesn't offer copy, rename or
+        //delete on its asset list. They're checked by the copy, rename and delete services when an asset is edited.
+
+        return findRulesByProjectQuery
                 .getPageRowList()
                 .stream()
                 .map(row -> {
                     final Path path = (Path) row.getValue();
-                    return new FolderItem(path,
-                                          path.getFileName(),
-                                          FolderItemType.FILE,
-                                          false,
-                                          Paths.readLockedBy(path),
-                                          Collections.<String>emptyList(),
-                                          explorerServiceHelper.getRestrictedOperations(path));
-                })
-                .collect(Collectors.toList());
-
-        return assets.stream()
-                .map(asset -> {
-                    AssetInfo info = null;
-                    try {
-                        final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
-
-                        final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
-                                                                                      attributes).get();
-                        final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
-                                                                                 attributes).get();
-                        final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
-                        final Date createdTime = new Date(createdFileTime.toMillis());
-                        info = new AssetInfo(asset,
-                                             lastModifiedTime,
-                                             createdTime);
-                    } catch (NoSuchFileException nfe) {
-                        log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
-                    }
-                    return Optional.ofNullable(info);
+                    final FolderItem asset = new FolderItem(path,
+                                                            path.getFileName(),
+                                                            FolderItemType.FILE,
+                                                            false,
+                                                            lockedBy.get(path.toURI()),
+                                                            Collections.<String>emptyList(),
+                                                            Collections.<FolderItemOperation>emptyList());
+                    return toAssetInfo(asset,
+                                       row);
                 })
                 .filter(Optional::isPresent)
                 .map(Optional::get)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * @return the user holding the lock of each locked file contained, at any depth, in a folder, by file URI.
+     */
+    private Map<String, String> getLockedBy(final Path folder) {
+        final Map<String, String> lockedBy = new HashMap<>();
+        for (final LockInfo lockInfo : lockService.retrieveLockInfos(folder,
+                                                                     false)) {
+            if (lockInfo.isLocked() && lockInfo.getFile() != null) {
+                lockedBy.put(lockInfo.getFile().toURI(),
+                             lockInfo.lockedBy());
+            }
+        }
+        return lockedBy;
+    }
+
+    private Optional<AssetInfo> toAssetInfo(final FolderItem asset,
+                                            final RefactoringPageRow row) {
+        if (row instanceof LibraryAssetPageRow && ((LibraryAssetPageRow) row).hasTimes()) {
+            //The file system is not checked for each asset. The document of a deleted asset is removed from the index
+            //by its delete event, so an asset deleted while the index is being updated may be listed once more.
+            final LibraryAssetPageRow assetRow = (LibraryAssetPageRow) row;
+            return Optional.of(new AssetInfo(asset,
+                                             assetRow.getLastModifiedTime(),
+                                             assetRow.getCreatedTime()));
+        }
+
+        //Assets indexed before their times were stored in the index. Their attributes are read until they're reindexed,
+        //when they're changed or when the index is rebuilt, e.g. after the index folder is deleted.
+        AssetInfo info = null;
+        try {
+            final Map<String, Object> attributes = ioService.readAttributes(Paths.convert((Path) asset.getItem()));
+
+            final FileTime lastModifiedFileTime = (FileTime) getAttribute(LibraryService.LAST_MODIFIED_TIME,
+                                                                          attributes).get();
+            final FileTime createdFileTime = (FileTime) getAttribute(LibraryService.CREATED_TIME,
+                                                                     attributes).get();
+            final Date lastModifiedTime = new Date(lastModifiedFileTime.toMillis());
+            final Date createdTime = new Date(createdFileTime.toMillis());
+            info = new AssetInfo(asset,
+                                 lastModifiedTime,
+                                 createdTime);
+        } catch (NoSuchFileException nfe) {
+            log.debug("File '" + asset.getFileName() + "' in LibraryIndex but not VFS. Suspected deletion. Skipping.");
+        }
+        return Optional.ofNullable(info);
+    }
+
     @Override
     public Boolean hasProjects(final Repository repository,
                                final String branch) {
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.impl;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Test;
+import org.kie.workbench.common.screens.library.api.index.LibraryValueProjectRootPathIndexTerm;
+import org.kie.workbench.common.services.refactoring.backend.server.query.NamedQuery;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm;
+import org.kie.workbench.common.services.refactoring.model.index.terms.valueterms.ValueIndexTerm.TermSearchType;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRow;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.stubbing.Answer;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.paging.PageResponse;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+public class FindAllLibraryAssetsByLastModifiedQueryTest
+        extends BaseLibraryIndexingTest {
+
+    private static final String TEST_PROJECT_ROOT = "/find/all/library/assets/by/last/modified/query/test/mock/project/root";
+    private static final String TEST_PROJECT_NAME = "mock-project";
+
+    private static final String[] FILE_NAMES = new String[]{"rule1.rule", "drl1.drl", "functions.functions"};
+
+    protected Set<NamedQuery> getQueries() {
+        return new HashSet<NamedQuery>() {{
+            add(new FindAllLibraryAssetsByLastModifiedQuery() {
+                @Override
+                public ResponseBuilder getResponseBuilder() {
+                    return new LibraryAssetsResponseBuilder(ioService());
+                }
+            });
+        }};
+    }
+
+    @Override
+    protected KieProjectService getProjectService() {
+
+        final KieProjectService mock = super.getProjectService();
+
+        when(mock.resolveProject(any(Path.class)))
+                .thenAnswer((Answer) invocationOnMock -> {
+                    Path resource = (Path) invocationOnMock.getArguments()[0];
+                    if (resource.toURI().contains(TEST_PROJECT_ROOT)) {
+                        return getKieProjectMock(TEST_PROJECT_ROOT,
+                                                 TEST_PROJECT_NAME);
+                    } else {
+                        return null;
+                    }
+                });
+
+        return mock;
+    }
+
+    @Test
+    public void listAllInProjectByLastModified() throws IOException, InterruptedException {
+        //Every file is written in its own commit, a second apart from the others
+        for (String fileName : FILE_NAMES) {
+            addTestFile(TEST_PROJECT_ROOT,
+                        fileName);
+            Thread.sleep(1100);
+        }
+
+        Thread.sleep(5000); //wait for events to be consumed from jgit -> (notify changes -> watcher -> index) -> lucene index
+
+        final RefactoringPageRequest request = new RefactoringPageRequest(FindAllLibraryAssetsByLastModifiedQuery.NAME,
+                                                                          new HashSet<ValueIndexTerm>() {{
+                                                                              add(new LibraryValueProjectRootPathIndexTerm(TEST_PROJECT_ROOT,
+                                                                                                                           TermSearchType.WILDCARD));
+                                                                          }},
+                                                                          0,
+                                                                          10);
+
+        final PageResponse<RefactoringPageRow> response = service.query(request);
+        assertNotNull(response);
+
+        final List<String> fileNames = new ArrayList<>();
+        for (RefactoringPageRow row : response.getPageRowList()) {
+            assertTrue(row instanceof LibraryAssetPageRow);
+            final LibraryAssetPageRow assetRow = (LibraryAssetPageRow) row;
+            assertTrue(assetRow.hasTimes());
+            assertFalse(assetRow.getCreatedTime().after(assetRow.getLastModifiedTime()));
+
+            fileNames.add(assetRow.getValue().getFileName());
+        }
+
+        //Most recently modified first
+        assertArrayEquals(new String[]{"functions.functions", "drl1.drl", "rule1.rule"},
+                          fileNames.toArray());
+    }
+
+    @Override
+    protected String getRepositoryName() {
+        return testName.getMethodName();
+    }
+}
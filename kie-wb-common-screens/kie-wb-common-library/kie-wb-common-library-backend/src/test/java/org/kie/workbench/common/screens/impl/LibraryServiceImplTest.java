@@ -18,6 +18,7 @@ package org.kie.workbench.common.screens.impl;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Date;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -63,7 +64,9 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.file.NoSuchFileException;
 import org.uberfire.paging.PageResponse;
@@ -118,6 +121,9 @@ public class LibraryServiceImplTest {
     @Mock
     private SocialUserRepositoryAPI socialUserRepositoryAPI;
 
+    @Mock
+    private VFSLockServiceImpl lockService;
+
     @Mock
     private OrganizationalUnit ou1;
 
@@ -184,7 +190,8 @@ public class LibraryServiceImplTest {
                                                     examplesService,
                                                     ioService,
                                                     internalPreferences,
-                                                    socialUserRepositoryAPI
+                                                    socialUserRepositoryAPI,
+                                                    lockService
         ));
     }
 
@@ -458,6 +465,65 @@ public class LibraryServiceImplTest {
         assertTrue(projectAssets.isEmpty());
     }
 
+    @Test
+    public void queryAssetsWithIndexedTimes() throws Exception {
+        final Path path = mockPath("file://the_project");
+
+        final Project project = mock(Project.class);
+        when(project.getRootPath()).thenReturn(path);
+
+        doReturn(true).when(ioService).exists(any());
+
+        final List<RefactoringPageRow> assetPageRowList = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            final Path filePath = mockPath("file://the_project/asset" + i);
+            when(filePath.getFileName()).thenReturn("asset" + i);
+            final LibraryAssetPageRow pageRow = new LibraryAssetPageRow();
+            pageRow.setValue(filePath);
+            pageRow.setLastModifiedTime(new Date(2000L + i));
+            pageRow.setCreatedTime(new Date(1000L + i));
+            assetPageRowList.add(pageRow);
+        }
+        final PageResponse<RefactoringPageRow> pageRowPageResponse = new PageResponse<>();
+        pageRowPageResponse.setPageRowList(assetPageRowList);
+        when(refactoringQueryService.query(any(RefactoringPageRequest.class))).thenReturn(pageRowPageResponse);
+        when(lockService.retrieveLockInfos(path,
+                                           false)).thenReturn(Collections.singletonList(new LockInfo(true,
+                                                                                                     "admin",
+                                                                                                     mockPath("file://the_project/asset1"))));
+
+        final List<AssetInfo> projectAssets = libraryService.getProjectAssets(new ProjectAssetsQuery(project,
+                                                                                                     "",
+                                                                                                     0,
+                                                                                                     100,
+                                                                                                     ProjectAssetsQuery.SortOrder.LAST_MODIFIED));
+
+        assertEquals(100,
+                     projectAssets.size());
+        assertEquals(new Date(2001L),
+                     projectAssets.get(1).getLastModifiedTime());
+        assertEquals(new Date(1001L),
+                     projectAssets.get(1).getCreatedTime());
+        assertEquals("admin",
+                     projectAssets.get(1).getFolderItem().getLockedBy());
+        assertNull(projectAssets.get(2).getFolderItem().getLockedBy());
+
+        //Neither the attributes, the existence, the locks nor the restrictions of each asset are read
+        verify(ioService,
+               never()).readAttributes(any());
+        verify(ioService,
+               times(1)).exists(any());
+        verify(lockService,
+               times(1)).retrieveLockInfos(any(Path.class),
+                                           anyBoolean());
+        verify(explorerServiceHelper,
+               never()).getRestrictedOperations(any(Path.class));
+
+        verify(refactoringQueryService).query(pageRequestArgumentCaptor.capture());
+        assertEquals(FindAllLibraryAssetsByLastModifiedQuery.NAME,
+                     pageRequestArgumentCaptor.getValue().getQueryName());
+    }
+
     private Path mockPath(final String uri) {
         final Path path = mock(Path.class);
         when(path.toURI()).thenReturn(uri);
@@ -19,7 +19,10 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
 
@@ -36,6 +39,7 @@ import org.guvnor.common.services.shared.metadata.MetadataService;
 import org.guvnor.structure.organizationalunit.OrganizationalUnit;
 import org.guvnor.structure.repositories.Repository;
 import org.kie.soup.commons.xstream.XStreamUtils;
+import org.kie.workbench.common.screens.explorer.backend.server.FolderEntriesCache.FolderEntries;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
 import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
 import org.kie.workbench.common.screens.explorer.model.FolderItemType;
@@ -50,6 +54,7 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveRunnable;
 import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -82,6 +87,8 @@ public class ExplorerServiceHelper {
     private RenameService renameService;
     private CopyService copyService;
 
+    private FolderEntriesCache folderEntriesCache;
+
     public ExplorerServiceHelper() {
         //WELD proxy support
         xs = XStreamUtils.createTrustingXStream();
@@ -98,6 +105,7 @@ public class ExplorerServiceHelper {
                                  final DeleteService deleteService,
                                  final RenameService renameService,
                                  final CopyService copyService,
+                                 final FolderEntriesCache folderEntriesCache,
                                  @Managed final ExecutorService executorService) {
         this();
         this.projectService = projectService;
@@ -110,6 +118,7 @@ public class ExplorerServiceHelper {
         this.deleteService = deleteService;
         this.renameService = renameService;
         this.copyService = copyService;
+        this.folderEntriesCache = folderEntriesCache;
         this.executorService = executorService;
     }
 
@@ -203,33 +212,32 @@ public class ExplorerServiceHelper {
             nioPath = nioPath.getParent();
         }
         final Path basePath = Paths.convert(nioPath);
-        final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPath,
-                                                                                                       dotFileFilter);
-        for (org.uberfire.java.nio.file.Path np : nioPaths) {
-            if (Files.isRegularFile(np)) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                final String lockedBy = Paths.readLockedBy(p);
-                final FolderItem folderItem = new FolderItem(p,
-                                                             p.getFileName(),
-                                                             FolderItemType.FILE,
-                                                             false,
-                                                             lockedBy,
-                                                             includeTags ? metadataService.getTags(p) : Collections.<String>emptyList(),
-                                                             getRestrictedOperations(p));
-                folderItems.add(folderItem);
-            } else if (Files.isDirectory(np)) {
-                final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                boolean lockedItems = !lockService.retrieveLockInfos(Paths.convert(np),
-                                                                     true).isEmpty();
-                final FolderItem folderItem = new FolderItem(p,
-                                                             p.getFileName(),
-                                                             FolderItemType.FOLDER,
-                                                             lockedItems,
-                                                             null,
-                                                             Collections.<String>emptyList(),
-                                                             getRestrictedOperations(p));
-                folderItems.add(folderItem);
-            }
+        final FolderEntries entries = getEntries(nioPath);
+        final Map<String, String> lockedBy = getLockedBy(nioPath,
+                                                         entries);
+        for (org.uberfire.java.nio.file.Path np : entries.getFiles()) {
+            final org.uberfire.backend.vfs.Path p = Paths.convert(np);
+            final FolderItem folderItem = new FolderItem(p,
+                                                         p.getFileName(),
+                                                         FolderItemType.FILE,
+                                                         false,
+                                                         lockedBy.get(p.toURI()),
+                                                         includeTags ? metadataService.getTags(p) : Collections.<String>emptyList(),
+                                                         getRestrictedOperations(p));
+            folderItems.add(folderItem);
+        }
+        final Set<String> foldersWithLockedItems = getFoldersWithLockedItems(nioPath,
+                                                                             entries);
+        for (org.uberfire.java.nio.file.Path np : entries.getFolders()) {
+            final org.uberfire.backend.vfs.Path p = Paths.convert(np);
+            final FolderItem folderItem = new FolderItem(p,
+                                                         p.getFileName(),
+                                                         FolderItemType.FOLDER,
+                                                         foldersWithLockedItems.contains(p.toURI()),
+                                                         null,
+                                                         Collections.<String>emptyList(),
+                                                         getRestrictedOperations(p));
+            folderItems.add(folderItem);
         }
 
         Collections.sort(folderItems,
@@ -325,20 +333,20 @@ public class ExplorerServiceHelper {
         final boolean includeTags = options.contains(Option.SHOW_TAG_FILTER);
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert(packagePath);
         if (Files.exists(nioPackagePath)) {
-            final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPackagePath,
-                                                                                                           regularFileFilter);
-            for (org.uberfire.java.nio.file.Path nioPath : nioPaths) {
+            final FolderEntries entries = getEntries(nioPackagePath);
+            final Map<String, String> lockedBy = getLockedBy(nioPackagePath,
+                                                             entries);
+            for (org.uberfire.java.nio.file.Path nioPath : entries.getFiles()) {
                 final org.uberfire.backend.vfs.Path path = Paths.convert(nioPath);
                 if (Paths.isLock(path)) {
                     continue;
                 }
 
-                final String lockedBy = Paths.readLockedBy(path);
                 final FolderItem folderItem = new FolderItem(path,
                                                              path.getFileName(),
                                                              FolderItemType.FILE,
                                                              false,
-                                                             lockedBy,
+                                                             lockedBy.get(path.toURI()),
                                                              includeTags ? metadataService.getTags(path) : Collections.<String>emptyList(),
                                                              getRestrictedOperations(path));
                 folderItems.add(folderItem);
@@ -348,6 +356,73 @@ public class ExplorerServiceHelper {
         return folderItems;
     }
 
+    private FolderEntries getEntries(final org.uberfire.java.nio.file.Path folder) {
+        return folderEntriesCache.getEntries(folder,
+                                             () -> ioService.newDirectoryStream(folder,
+                                                                                dotFileFilter));
+    }
+
+    /**
+     * Reads the locks of all the files of a folder at once, instead of reading the lock of each file.
+     * @return the user holding the lock of each locked file, by file URI.
+     */
+    private Map<String, String> getLockedBy(final org.uberfire.java.nio.file.Path folder,
+                                            final FolderEntries entries) {
+        if (entries.getFiles().isEmpty()) {
+            return new HashMap<>();
+        }
+        return getLockedBy(Paths.convert(folder));
+    }
+
+    /**
+     * Reads the locks of all the files contained, at any depth, in a folder at once.
+     * @param folder the folder.
+     * @return the user holding the lock of each locked file, by file URI.
+     */
+    private Map<String, String> getLockedBy(final Path folder) {
+        final Map<String, String> lockedBy = new HashMap<>();
+        for (final LockInfo lockInfo : lockService.retrieveLockInfos(folder,
+                                                                     false)) {
+            if (lockInfo.isLocked() && lockInfo.getFile() != null) {
+                lockedBy.put(lockInfo.getFile().toURI(),
+                             lockInfo.lockedBy());
+            }
+        }
+        return lockedBy;
+    }
+
+    /**
+     * Reads the locks held by other users under a folder at once, and indexes them by the sub-folder they're in,
+     * instead of reading the locks under each sub-folder.
+     * @return the URIs of the sub-folders of the folder containing, at any depth, files locked by other users.
+     */
+    private Set<String> getFoldersWithLockedItems(final org.uberfire.java.nio.file.Path folder,
+                                                  final FolderEntries entries) {
+        final Set<String> folders = new HashSet<>();
+        if (entries.getFolders().isEmpty()) {
+            return folders;
+        }
+        final String prefix = getChildrenPrefix(folder);
+        for (final LockInfo lockInfo : lockService.retrieveLockInfos(Paths.convert(folder),
+                                                                     true)) {
+            if (lockInfo.getFile() != null) {
+                final String uri = lockInfo.getFile().toURI();
+                final int index = uri.indexOf('/',
+                                              prefix.length());
+                if (uri.startsWith(prefix) && index > 0) {
+                    folders.add(uri.substring(0,
+                                              index));
+                }
+            }
+        }
+        return folders;
+    }
+
+    private static String getChildrenPrefix(final org.uberfire.java.nio.file.Path folder) {
+        final String uri = folder.toUri().toString();
+        return uri.endsWith("/") ? uri : uri + "/";
+    }
+
     public void store(final OrganizationalUnit selectedOrganizationalUnit,
                       final Repository selectedRepository,
                       final String branch,
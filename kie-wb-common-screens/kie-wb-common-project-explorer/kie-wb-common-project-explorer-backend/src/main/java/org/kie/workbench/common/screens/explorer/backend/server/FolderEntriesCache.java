@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.kie.workbench.common.services.backend.util.AbstractResourceChangeCache;
+import org.uberfire.java.nio.file.Files;
+
+/**
+ * LRU cache of the files and folders contained in the folders listed by the Project Explorer, keyed by the URI of the
+ * folder. The entries of a folder are invalidated when a resource is added to, removed from, renamed or copied into it.
+ * Only the structure of the folders is cached, locks, tags and restrictions are read every time a folder is listed.
+ */
+@ApplicationScoped
+public class FolderEntriesCache extends AbstractResourceChangeCache {
+
+    static final int MAX_FOLDERS = 1000;
+
+    private final Map<String, FolderEntries> folders = newLRUMap(MAX_FOLDERS);
+
+    /**
+     * @param folder the folder.
+     * @param entries supplies the paths contained in the folder when they aren't cached.
+     * @return the files and folders contained in the folder.
+     */
+    public FolderEntries getEntries(final org.uberfire.java.nio.file.Path folder,
+                                    final Supplier<Iterable<org.uberfire.java.nio.file.Path>> entries) {
+        return lookup(folders,
+                      uri(folder),
+                      () -> new FolderEntries(entries.get()));
+    }
+
+    @Override
+    protected void clear() {
+        folders.clear();
+    }
+
+    @Override
+    protected void onStructureChange(final String uri) {
+        final int index = uri.lastIndexOf('/');
+        final String prefix = uri + "/";
+        synchronized (folders) {
+            if (index > 0) {
+                //Parent folders may have been created or removed with the resource
+                final String parent = uri.substring(0,
+                                                    index);
+                folders.keySet().removeIf(key -> parent.equals(key) || parent.startsWith(key + "/") || key.equals(uri) || key.startsWith(prefix));
+            } else {
+                folders.keySet().removeIf(key -> key.equals(uri) || key.startsWith(prefix));
+            }
+        }
+    }
+
+    public static class FolderEntries {
+
+        private final List<org.uberfire.java.nio.file.Path> files = new ArrayList<>();
+        private final List<org.uberfire.java.nio.file.Path> folders = new ArrayList<>();
+
+        FolderEntries(final Iterable<org.uberfire.java.nio.file.Path> paths) {
+            for (org.uberfire.java.nio.file.Path path : paths) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path);
+                } else if (Files.isDirectory(path)) {
+                    folders.add(path);
+                }
+            }
+        }
+
+        public List<org.uberfire.java.nio.file.Path> getFiles() {
+            return Collections.unmodifiableList(files);
+        }
+
+        public List<org.uberfire.java.nio.file.Path> getFolders() {
+            return Collections.unmodifiableList(folders);
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -31,6 +32,8 @@ import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.screens.explorer.model.FolderItem;
 import org.kie.workbench.common.screens.explorer.model.FolderItemOperation;
+import org.kie.workbench.common.screens.explorer.model.FolderItemType;
+import org.kie.workbench.common.screens.explorer.model.FolderListing;
 import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
 import org.kie.workbench.common.screens.explorer.service.Option;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
@@ -38,14 +41,18 @@ import org.mockito.Mock;
 import org.mockito.runners.MockitoJUnitRunner;
 import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
+import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveThreadFactory;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
 import org.uberfire.ext.editor.commons.service.RenameService;
 import org.uberfire.io.IOService;
 import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -88,6 +95,9 @@ public class ExplorerServiceHelperTest {
     @Mock
     private CopyService copyService;
 
+    @Mock
+    private SessionInfo sessionInfo;
+
     @Mock
     private Package pkg;
 
@@ -107,6 +117,7 @@ public class ExplorerServiceHelperTest {
     private Path testResourcesPath;
 
     private org.uberfire.java.nio.file.Path path;
+    private FolderEntriesCache folderEntriesCache;
     private ExplorerServiceHelper helper;
 
     private final List<String> tags = new ArrayList<String>() {{
@@ -149,6 +160,8 @@ public class ExplorerServiceHelperTest {
 
         ExecutorService executorService = Executors.newCachedThreadPool(new DescriptiveThreadFactory());
 
+        folderEntriesCache = new FolderEntriesCache();
+
         helper = spy(new ExplorerServiceHelper(projectService,
                                                folderListingResolver,
                                                ioService,
@@ -159,6 +172,7 @@ public class ExplorerServiceHelperTest {
                                                deleteService,
                                                renameService,
                                                copyService,
+                                               folderEntriesCache,
                                                executorService));
     }
 
@@ -368,6 +382,99 @@ public class ExplorerServiceHelperTest {
         assertTrue(helper.hasAssets(pkg));
     }
 
+    @Test
+    public void testFolderListingWith100Entries() throws Exception {
+        checkFolderListing(100);
+    }
+
+    @Test
+    public void testFolderListingWith1000Entries() throws Exception {
+        checkFolderListing(1000);
+    }
+
+    @Test
+    public void testFolderListingWith10000Entries() throws Exception {
+        checkFolderListing(10000);
+    }
+
+    private void checkFolderListing(final int entries) throws Exception {
+        final java.nio.file.Path dir = java.nio.file.Files.createTempDirectory("explorer");
+        try {
+            final org.uberfire.java.nio.file.Path folder = fileSystemProvider.getPath(dir.toUri());
+            final List<org.uberfire.java.nio.file.Path> paths = new ArrayList<>();
+            for (int i = 0; i < entries; i++) {
+                final java.nio.file.Path entry = dir.resolve("entry" + i);
+                //One entry out of ten is a folder
+                if (i % 10 == 0) {
+                    java.nio.file.Files.createDirectory(entry);
+                } else {
+                    java.nio.file.Files.createFile(entry);
+                }
+                paths.add(fileSystemProvider.getPath(entry.toUri()));
+            }
+            when(ioService.newDirectoryStream(eq(folder),
+                                              any(LinkedFilter.class))).thenAnswer(invocation -> new DirectoryStreamMock() {
+                @Override
+                public Iterator<org.uberfire.java.nio.file.Path> iterator() {
+                    return paths.iterator();
+                }
+            });
+
+            //entry1 is locked, and so is a file inside the entry0 folder
+            final Path lockedFile = Paths.convert(paths.get(1));
+            final Path fileInFolder = Paths.convert(paths.get(0).resolve("file.txt"));
+            when(lockService.retrieveLockInfos(any(Path.class),
+                                               eq(false))).thenReturn(Collections.singletonList(new LockInfo(true,
+                                                                                                             "user",
+                                                                                                             lockedFile)));
+            when(lockService.retrieveLockInfos(any(Path.class),
+                                               eq(true))).thenReturn(Collections.singletonList(new LockInfo(true,
+                                                                                                            "other",
+                                                                                                            fileInFolder)));
+
+            final ActiveOptions options = new ActiveOptions(Option.TECHNICAL_CONTENT);
+            final FolderListing listing = helper.getFolderListing(Paths.convert(folder),
+                                                                  options);
+
+            assertEquals(entries,
+                         listing.getContent().size());
+            for (FolderItem item : listing.getContent()) {
+                final String name = item.getFileName();
+                assertEquals(name.equals("entry1") ? "user" : null,
+                             item.getLockedBy());
+                assertEquals(name.equals("entry0"),
+                             item.hasLockedItems());
+                assertEquals(Integer.parseInt(name.substring("entry".length())) % 10 == 0 ? FolderItemType.FOLDER : FolderItemType.FILE,
+                             item.getType());
+            }
+
+            //The locks are read once per listing, whatever the number of entries
+            verify(lockService,
+                   times(2)).retrieveLockInfos(any(Path.class),
+                                               anyBoolean());
+
+            //The folder is only read once while it doesn't change
+            helper.getFolderListing(Paths.convert(folder),
+                                    options);
+            verify(ioService,
+                   times(1)).newDirectoryStream(eq(folder),
+                                                any(LinkedFilter.class));
+
+            folderEntriesCache.onResourceAdded(new ResourceAddedEvent(Paths.convert(folder.resolve("entry" + entries)),
+                                                                      "",
+                                                                      sessionInfo));
+            helper.getFolderListing(Paths.convert(folder),
+                                    options);
+            verify(ioService,
+                   times(2)).newDirectoryStream(eq(folder),
+                                                any(LinkedFilter.class));
+        } finally {
+            try (java.util.stream.Stream<java.nio.file.Path> files = java.nio.file.Files.walk(dir)) {
+                files.sorted(Collections.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
     private void givenThatOperationHasRestrictions(FolderItemOperation operation) {
         mockOperationRestrictions(operation,
                                   true);
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.net.URI;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.java.nio.file.Path;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class FolderEntriesCacheTest {
+
+    private FolderEntriesCache cache;
+
+    private Path folder;
+
+    private AtomicInteger listings;
+
+    @Before
+    public void setUp() {
+        cache = new FolderEntriesCache();
+        folder = mock(Path.class);
+        when(folder.toUri()).thenReturn(URI.create("default://master@repo/project/src/"));
+        listings = new AtomicInteger();
+    }
+
+    @Test
+    public void testListingIsCached() {
+        final FolderEntriesCache.FolderEntries entries = cache.getEntries(folder,
+                                                                          this::list);
+        assertSame(entries,
+                   cache.getEntries(folder,
+                                    this::list));
+        assertEquals(1,
+                     listings.get());
+    }
+
+    @Test
+    public void testListingIsNotCachedWhenInvalidatedWhileListing() {
+        cache.getEntries(folder,
+                         () -> {
+                             cache.invalidateAll();
+                             return list();
+                         });
+        cache.getEntries(folder,
+                         this::list);
+        assertEquals(2,
+                     listings.get());
+    }
+
+    private Iterable<Path> list() {
+        listings.incrementAndGet();
+        return Collections.emptyList();
+    }
+}
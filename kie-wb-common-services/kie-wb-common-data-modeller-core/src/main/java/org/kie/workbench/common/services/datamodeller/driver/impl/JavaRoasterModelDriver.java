@@ -21,11 +21,19 @@ import java.io.IOException;
 import java.io.StringReader;
 import java.text.MessageFormat;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.forge.roaster.ParserException;
@@ -55,6 +63,7 @@ import org.kie.workbench.common.services.datamodeller.core.AnnotationValuePairDe
 import org.kie.workbench.common.services.datamodeller.core.DataModel;
 import org.kie.workbench.common.services.datamodeller.core.DataObject;
 import org.kie.workbench.common.services.datamodeller.core.ElementType;
+import org.kie.workbench.common.services.datamodeller.core.JavaEnum;
 import org.kie.workbench.common.services.datamodeller.core.ObjectProperty;
 import org.kie.workbench.common.services.datamodeller.core.Visibility;
 import org.kie.workbench.common.services.datamodeller.core.impl.DataObjectImpl;
@@ -79,6 +88,7 @@ import org.kie.workbench.common.services.datamodeller.driver.model.DriverResult;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.util.DataModelUtils;
 import org.kie.workbench.common.services.datamodeller.util.DriverUtils;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
 import org.kie.workbench.common.services.datamodeller.util.FileUtils;
 import org.kie.workbench.common.services.datamodeller.util.NamingUtils;
 import org.slf4j.Logger;
@@ -106,6 +116,10 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
     private FilterHolder filterHolder;
 
+    private ExecutorService executorService;
+
+    private JavaSourceLoadCache sourceLoadCache;
+
     private static final String DATA_OBJECT_LOAD_ERROR = "It was not possible to create or load DataObject: \"{0}\" .";
 
     private static final String ANNOTATION_LOAD_ERROR = "It was not possible to create or load a DataObject or Field annotation for annotation class name: \"{0}\" .";
@@ -116,6 +130,11 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
     private static final String GENERIC_ERROR = "Unexpected error was produced.";
 
+    public static final String LOADER_THREADS_PROPERTY_NAME = "org.kie.datamodeller.loader.threads";
+
+    private static final int LOADER_THREADS = Integer.getInteger(LOADER_THREADS_PROPERTY_NAME,
+                                                                 Runtime.getRuntime().availableProcessors());
+
     public JavaRoasterModelDriver() {
         configuredAnnotations.addAll(CommonAnnotations.getCommonAnnotations());
         for (AnnotationDefinition annotationDefinition : configuredAnnotations) {
@@ -142,6 +161,25 @@ public class JavaRoasterModelDriver implements ModelDriver {
         this.filterHolder = filterHolder;
     }
 
+    /**
+     * Creates a driver that loads the files of the model in parallel and doesn't parse unchanged files again.
+     * @param executorService executor the files are loaded on, at most LOADER_THREADS_PROPERTY_NAME at a time.
+     * @param sourceLoadCache cache of the parsed files.
+     */
+    public JavaRoasterModelDriver(IOService ioService,
+                                  Path javaRootPath,
+                                  ClassLoader classLoader,
+                                  FilterHolder filterHolder,
+                                  ExecutorService executorService,
+                                  JavaSourceLoadCache sourceLoadCache) {
+        this(ioService,
+             javaRootPath,
+             classLoader,
+             filterHolder);
+        this.executorService = executorService;
+        this.sourceLoadCache = sourceLoadCache;
+    }
+
     @Override
     public List<AnnotationDefinition> getConfiguredAnnotations() {
         return configuredAnnotations;
@@ -167,9 +205,7 @@ public class JavaRoasterModelDriver implements ModelDriver {
     public ModelDriverResult loadModel() throws ModelDriverException {
 
         ModelDriverResult result = new ModelDriverResult();
-        DataModel dataModel;
-        String fileContent;
-        dataModel = createModel();
+        DataModel dataModel = createModel();
         result.setDataModel(dataModel);
 
         List<Path> rootPaths = new ArrayList<Path>();
@@ -180,58 +216,171 @@ public class JavaRoasterModelDriver implements ModelDriver {
                                                                                     ".java",
                                                                                     true);
         if (scanResults != null) {
-            for (FileUtils.ScanResult scanResult : scanResults) {
-
-                logger.debug("Starting file loading into model, file: " + scanResult.getFile());
-                fileContent = ioService.readAllString(scanResult.getFile());
-                if (fileContent == null || "".equals(fileContent)) {
-                    logger.debug("file: " + scanResult.getFile() + " is empty.");
-                    result.addError(new DriverError("File has no content",
-                                                    Paths.convert(scanResult.getFile())));
-                    continue;
+            JavaSourceLoadCache.Files cachedFiles = sourceLoadCache != null ? sourceLoadCache.getFiles(javaRootPath.toUri().toString()) : null;
+            //files are loaded in parallel, but added to the model in the scan order.
+            for (ModelDriverResult fileResult : loadFiles(scanResults,
+                                                          cachedFiles)) {
+                for (DataObject dataObject : fileResult.getDataModel().getDataObjects()) {
+                    dataModel.addDataObject(dataObject);
                 }
-                try {
-                    JavaType<?> javaType = Roaster.parse(fileContent);
-                    final boolean isManaged = isManagedJavaType(javaType);
-                    final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
-                    if (isManaged && !vetoed) {
-                        if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
-                            //if a file has parsing errors it will be skipped.
-                            addSyntaxErrors(result,
-                                            scanResult.getFile(),
-                                            javaType.getSyntaxErrors());
-                        } else if (javaType.isEnum()) {
-                            loadFromJavaEnum((JavaEnumSource) javaType,
-                                             scanResult.getFile(),
-                                             dataModel,
-                                             result);
-                        } else {
-                            loadFromJavaClass((JavaClassSource) javaType,
-                                              scanResult.getFile(),
-                                              dataModel,
-                                              result);
-                        }
-                    } else if (vetoed) {
-                        logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
-                                     javaType.getQualifiedName(),
-                                     scanResult.getFile());
-                    } else {
-                        logger.debug("File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped.");
-                    }
-                } catch (ParserException e) {
-                    result.addError(new DriverError(e.getMessage(),
-                                                    Paths.convert(scanResult.getFile())));
-                } catch (Exception e) {
-                    //Unexpected error.
-                    logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
-                                              javaRootPath.toUri()),
-                                 e);
-                    throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
-                                                                javaRootPath.toUri()),
-                                                   e);
+                for (JavaEnum javaEnum : fileResult.getDataModel().getJavaEnums()) {
+                    dataModel.addJavaEnum(javaEnum);
+                }
+                result.getClassPaths().putAll(fileResult.getClassPaths());
+                result.getUnmanagedProperties().putAll(fileResult.getUnmanagedProperties());
+                for (DriverError error : fileResult.getErrors()) {
+                    result.addError(error);
+                }
+            }
+            //files no longer present are discarded from the cache.
+            if (cachedFiles != null) {
+                Set<String> fileUris = new HashSet<String>();
+                for (FileUtils.ScanResult scanResult : scanResults) {
+                    fileUris.add(scanResult.getFile().toUri().toString());
+                }
+                cachedFiles.retain(fileUris);
+            }
+        }
+        return result;
+    }
+
+    private List<ModelDriverResult> loadFiles(final Collection<FileUtils.ScanResult> scanResults,
+                                              final JavaSourceLoadCache.Files cachedFiles) throws ModelDriverException {
+        final List<Path> files = new ArrayList<Path>(scanResults.size());
+        for (FileUtils.ScanResult scanResult : scanResults) {
+            files.add(scanResult.getFile());
+        }
+        final ModelDriverResult[] fileResults = new ModelDriverResult[files.size()];
+        final AtomicInteger nextFile = new AtomicInteger();
+        final Callable<Void> loader = () -> {
+            for (int i = nextFile.getAndIncrement(); i < fileResults.length; i = nextFile.getAndIncrement()) {
+                fileResults[i] = loadFile(files.get(i),
+                                          cachedFiles);
+            }
+            return null;
+        };
+
+        //the calling thread loads files too, so the load progresses even if the executor has no free threads.
+        final int helpers = executorService == null ? 0 : Math.min(LOADER_THREADS,
+                                                                    files.size()) - 1;
+        final List<Future<Void>> futures = new ArrayList<Future<Void>>();
+        try {
+            for (int i = 0; i < helpers; i++) {
+                futures.add(executorService.submit(loader));
+            }
+            loader.call();
+            for (Future<Void> future : futures) {
+                //helpers that didn't start have nothing left to load.
+                if (!future.cancel(false)) {
+                    future.get();
+                }
+            }
+            return Arrays.asList(fileResults);
+        } catch (ModelDriverException e) {
+            throw e;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof ModelDriverException) {
+                throw (ModelDriverException) e.getCause();
+            }
+            logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                      javaRootPath.toUri()),
+                         e.getCause());
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        javaRootPath.toUri()),
+                                           e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        javaRootPath.toUri()),
+                                           e);
+        } catch (Exception e) {
+            logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                      javaRootPath.toUri()),
+                         e);
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        javaRootPath.toUri()),
+                                           e);
+        } finally {
+            //on failures the remaining files are not loaded.
+            nextFile.set(fileResults.length);
+        }
+    }
+
+    /**
+     * Loads a java file into a model of its own. Files are parsed again only if their content changed since they were
+     * last parsed.
+     */
+    private ModelDriverResult loadFile(final Path file,
+                                       final JavaSourceLoadCache.Files cachedFiles) throws ModelDriverException {
+
+        ModelDriverResult result = new ModelDriverResult();
+        DataModel dataModel = createModel();
+        result.setDataModel(dataModel);
+
+        logger.debug("Starting file loading into model, file: " + file);
+        String fileContent = ioService.readAllString(file);
+        if (fileContent == null || "".equals(fileContent)) {
+            logger.debug("file: " + file + " is empty.");
+            result.addError(new DriverError("File has no content",
+                                            Paths.convert(file)));
+            return result;
+        }
+
+        String fileUri = file.toUri().toString();
+        String contentHash = cachedFiles != null ? FileHashingUtils.md5Hex(fileContent) : null;
+
+        try {
+            JavaType<?> javaType = cachedFiles != null ? cachedFiles.get(fileUri,
+                                                                         contentHash) : null;
+            if (javaType != null) {
+                logger.debug("File: " + file + " has not changed, it will not be parsed again.");
+            } else {
+                javaType = Roaster.parse(fileContent);
+                if (cachedFiles != null) {
+                    cachedFiles.put(fileUri,
+                                    contentHash,
+                                    javaType);
+                }
+            }
+            final boolean isManaged = isManagedJavaType(javaType);
+            final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
+            if (isManaged && !vetoed) {
+                if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
+                    //if a file has parsing errors it will be skipped.
+                    addSyntaxErrors(result,
+                                    file,
+                                    javaType.getSyntaxErrors());
+                } else if (javaType.isEnum()) {
+                    loadFromJavaEnum((JavaEnumSource) javaType,
+                                     file,
+                                     dataModel,
+                                     result);
+                } else {
+                    loadFromJavaClass((JavaClassSource) javaType,
+                                      file,
+                                      dataModel,
+                                      result);
                 }
+            } else if (vetoed) {
+                logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
+                             javaType.getQualifiedName(),
+                             file);
+            } else {
+                logger.debug("File: " + file + " do not contain a managed java type, it will be skipped.");
             }
+        } catch (ParserException e) {
+            result.addError(new DriverError(e.getMessage(),
+                                            Paths.convert(file)));
+        } catch (Exception e) {
+            //Unexpected error.
+            logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                      javaRootPath.toUri()),
+                         e);
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        javaRootPath.toUri()),
+                                           e);
         }
+
         return result;
     }
 
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.jboss.forge.roaster.model.JavaType;
+
+/**
+ * Cache of the parsed java files of the source roots, keyed by the MD5 of the file content.
+ * <p>
+ * Only the Roaster parse results are kept, they depend on nothing but the file content. The model is built from them
+ * on every load, so the types the project classes resolve and the filters applied are always the current ones, and
+ * every load gets its own model objects. The parsed types are only read by the JavaRoasterModelDriver, never modified.
+ */
+@ApplicationScoped
+public class JavaSourceLoadCache {
+
+    private static final int DEFAULT_MAX_ROOTS = 32;
+
+    private final Map<String, Files> roots;
+
+    public JavaSourceLoadCache() {
+        this(DEFAULT_MAX_ROOTS);
+    }
+
+    JavaSourceLoadCache(final int maxRoots) {
+        this.roots = Collections.synchronizedMap(new LinkedHashMap<String, Files>(16,
+                                                                                  0.75f,
+                                                                                  true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Files> eldest) {
+                return size() > maxRoots;
+            }
+        });
+    }
+
+    /**
+     * @return the cached files of the source root.
+     */
+    Files getFiles(final String rootUri) {
+        return roots.computeIfAbsent(rootUri,
+                                     uri -> new Files());
+    }
+
+    static class Files {
+
+        private final Map<String, CachedFile> files = new ConcurrentHashMap<>();
+
+        /**
+         * @return the type parsed from the file, or null if the file wasn't parsed with the same content.
+         */
+        JavaType<?> get(final String fileUri,
+                        final String contentHash) {
+            final CachedFile cachedFile = files.get(fileUri);
+            return cachedFile != null && cachedFile.contentHash.equals(contentHash) ? cachedFile.javaType : null;
+        }
+
+        void put(final String fileUri,
+                 final String contentHash,
+                 final JavaType<?> javaType) {
+            files.put(fileUri,
+                      new CachedFile(contentHash,
+                                     javaType));
+        }
+
+        /**
+         * Discards the files that are no longer part of the source root.
+         */
+        void retain(final Set<String> fileUris) {
+            files.keySet().retainAll(fileUris);
+        }
+
+        int size() {
+            return files.size();
+        }
+    }
+
+    private static class CachedFile {
+
+        private final String contentHash;
+
+        private final JavaType<?> javaType;
+
+        private CachedFile(final String contentHash,
+                           final JavaType<?> javaType) {
+            this.contentHash = contentHash;
+            this.javaType = javaType;
+        }
+    }
+}
@@ -22,11 +22,17 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.regex.Matcher;
+import java.util.stream.Stream;
 import javax.annotation.Generated;
 import javax.enterprise.inject.Instance;
 import javax.persistence.Entity;
@@ -80,6 +86,7 @@ import org.kie.workbench.common.services.datamodeller.core.impl.MethodImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.ParameterImpl;
 import org.kie.workbench.common.services.datamodeller.core.impl.TypeImpl;
 import org.kie.workbench.common.services.datamodeller.driver.impl.JavaRoasterModelDriver;
+import org.kie.workbench.common.services.datamodeller.driver.impl.JavaSourceLoadCache;
 import org.kie.workbench.common.services.datamodeller.driver.impl.UpdateInfo;
 import org.kie.workbench.common.services.datamodeller.driver.model.ModelDriverResult;
 import org.kie.workbench.common.services.datamodeller.parser.test.TestAnnotation1;
@@ -228,6 +235,149 @@ public class JavaRoasterModelDriverTest {
         });
     }
 
+    @Test
+    public void modelLoadCacheTest() throws Exception {
+        final int classes = 1000;
+        final java.nio.file.Path projectDir = Files.createTempDirectory("data-model");
+        final ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < classes; i++) {
+                writeSyntheticPojo(projectDir,
+                                   i,
+                                   "String");
+            }
+            final Path syntheticRootPath = simpleFileSystemProvider.getPath(projectDir.toUri());
+            final IOService fileIOService = new IOServiceMock() {
+                @Override
+                public String readAllString(Path path) {
+                    try {
+                        return new String(Files.readAllBytes(java.nio.file.Paths.get(path.toUri())),
+                                          StandardCharsets.UTF_8);
+                    } catch (IOException e) {
+                        throw new org.uberfire.java.nio.IOException(e.getMessage());
+                    }
+                }
+            };
+            final JavaRoasterModelDriver javaRoasterModelDriver = new JavaRoasterModelDriver(fileIOService,
+                                                                                             syntheticRootPath,
+                                                                                             getClass().getClassLoader(),
+                                                                                             mockFilterHolder(),
+                                                                                             executorService,
+                                                                                             new JavaSourceLoadCache());
+
+            long start = System.currentTimeMillis();
+            final DataModel firstModel = javaRoasterModelDriver.loadModel().getDataModel();
+            final long firstLoad = System.currentTimeMillis() - start;
+            assertEquals(classes,
+                         firstModel.getDataObjects().size());
+
+            //changes done by the callers don't reach the next loads.
+            firstModel.getDataObject("org.test.SyntheticPojo1").addProperty("extra",
+                                                                            String.class.getName());
+
+            start = System.currentTimeMillis();
+            final DataModel secondModel = javaRoasterModelDriver.loadModel().getDataModel();
+            final long secondLoad = System.currentTimeMillis() - start;
+            logger.info("Model of {} classes loaded in {}ms, and reloaded with no changes in {}ms",
+                        classes,
+                        firstLoad,
+                        secondLoad);
+            assertEquals(classes,
+                         secondModel.getDataObjects().size());
+            //unchanged files are not parsed again, but every load builds its own objects.
+            final DataObject reloaded = secondModel.getDataObject("org.test.SyntheticPojo1");
+            assertNotSame(firstModel.getDataObject("org.test.SyntheticPojo1"),
+                          reloaded);
+            assertFalse(reloaded.hasProperty("extra"));
+            assertEquals(String.class.getName(),
+                         reloaded.getProperty("value").getClassName());
+            assertEquals(3,
+                         reloaded.getMethods().size());
+
+            writeSyntheticPojo(projectDir,
+                               0,
+                               "Integer");
+            final DataModel thirdModel = javaRoasterModelDriver.loadModel().getDataModel();
+            assertEquals(Integer.class.getName(),
+                         thirdModel.getDataObject("org.test.SyntheticPojo0").getProperty("value").getClassName());
+            assertEquals(String.class.getName(),
+                         thirdModel.getDataObject("org.test.SyntheticPojo1").getProperty("value").getClassName());
+        } finally {
+            executorService.shutdownNow();
+            try (Stream<java.nio.file.Path> files = Files.walk(projectDir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(file -> file.toFile().delete());
+            }
+        }
+    }
+
+    @Test
+    public void modelLoadCacheNestedTypesTest() throws Exception {
+        //the test project has nested classes, enums and annotated properties.
+        final ExecutorService executorService = Executors.newFixedThreadPool(2);
+        try {
+            final JavaRoasterModelDriver driver = new JavaRoasterModelDriver(ioService,
+                                                                             rootPath,
+                                                                             getClass().getClassLoader(),
+                                                                             mockFilterHolder(),
+                                                                             executorService,
+                                                                             new JavaSourceLoadCache());
+            final ModelDriverResult firstResult = driver.loadModel();
+            final ModelDriverResult cachedResult = driver.loadModel();
+            final ModelDriverResult freshResult = new JavaRoasterModelDriver(ioService,
+                                                                             rootPath,
+                                                                             getClass().getClassLoader(),
+                                                                             mockFilterHolder()).loadModel();
+            assertFalse(firstResult.getDataModel().getDataObjects().isEmpty());
+            assertFalse(freshResult.getDataModel().getJavaEnums().isEmpty());
+            for (DataObject dataObject : freshResult.getDataModel().getDataObjects()) {
+                final DataObject cachedDataObject = cachedResult.getDataModel().getDataObject(dataObject.getClassName());
+                assertEquals(dataObject,
+                             cachedDataObject);
+                assertNotSame(firstResult.getDataModel().getDataObject(dataObject.getClassName()),
+                              cachedDataObject);
+            }
+            for (JavaEnum javaEnum : freshResult.getDataModel().getJavaEnums()) {
+                assertEquals(javaEnum,
+                             cachedResult.getDataModel().getJavaEnum(javaEnum.getClassName()));
+            }
+            assertEquals(freshResult.getUnmanagedProperties(),
+                         cachedResult.getUnmanagedProperties());
+            assertEquals(freshResult.getErrors().size(),
+                         cachedResult.getErrors().size());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    private FilterHolder mockFilterHolder() {
+        FilterHolder filterHolder = mock(FilterHolder.class);
+        when(filterHolder.getSourceFilters()).thenReturn(Collections.emptySet());
+        when(filterHolder.getNestedClassFilters()).thenReturn(Collections.emptySet());
+        when(filterHolder.getMethodFilters()).thenReturn(Collections.emptySet());
+        return filterHolder;
+    }
+
+    private void writeSyntheticPojo(java.nio.file.Path projectDir,
+                                    int index,
+                                    String valueType) throws IOException {
+        final java.nio.file.Path packageDir = Files.createDirectories(projectDir.resolve("org/test"));
+        final String className = "SyntheticPojo" + index;
+        final String source = "package org.test;\n" +
+                "public class " + className + " implements java.io.Serializable {\n" +
+                "    private " + valueType + " value;\n" +
+                "    public " + className + "() {\n" +
+                "    }\n" +
+                "    public " + valueType + " getValue() {\n" +
+                "        return this.value;\n" +
+                "    }\n" +
+                "    public void setValue(" + valueType + " value) {\n" +
+                "        this.value = value;\n" +
+                "    }\n" +
+                "}\n";
+        Files.write(packageDir.resolve(className + ".java"),
+                    source.getBytes(StandardCharsets.UTF_8));
+    }
+
     @Test
     public void loadJavaTypeInfoTest() throws ModelDriverException {
         Path path = rootPath.resolve("package1").resolve("Pojo1.java");
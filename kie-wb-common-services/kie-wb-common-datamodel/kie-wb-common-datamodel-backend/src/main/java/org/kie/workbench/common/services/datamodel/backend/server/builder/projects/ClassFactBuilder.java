@@ -108,7 +108,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
         //Get all getters and setters for the class. This does not handle delegated properties
         //- FIELDS need a getter ("getXXX", "isXXX") or setter ("setXXX") or are public properties
         //- METHODS are any accessor that does not have a getter or setter
-        final ClassFieldInspector inspector = new ClassFieldInspector(clazz);
+        final ClassFieldInspector inspector = getDataModelBuilder().getInspections().getFieldInspector(clazz);
         final Set<String> fieldNames = inspector.getFieldNames();
 
         for (final String fieldName : fieldNames) {
@@ -163,8 +163,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
         }
 
         //Methods for use in Expressions and ActionCallMethod's
-        ClassMethodInspector methodInspector = new ClassMethodInspector(clazz,
-                                                                        typeSystemConverter);
+        ClassMethodInspector methodInspector = getDataModelBuilder().getInspections().getMethodInspector(clazz);
 
         final List<MethodInfo> methodInformation = methodInspector.getMethodInfos();
         for (final MethodInfo mi : methodInformation) {
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.kie.workbench.common.services.backend.util.SystemPropertyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reflective inspections of the classes added to a ProjectDataModelOracleBuilder. Inspecting the classes is the most
+ * expensive part of building a ProjectDataModelOracle and inspections are independent of each other, so they can be
+ * performed in parallel before the fact types are built, on the container managed executor, by at most
+ * THREAD_POOL_SIZE_PROPERTY_NAME tasks besides the calling thread.
+ */
+public class ClassInspections {
+
+    private static final Logger log = LoggerFactory.getLogger(ClassInspections.class);
+
+    public static final String THREAD_POOL_SIZE_PROPERTY_NAME = "org.kie.datamodel.oracle.inspection.thread-pool-size";
+
+    public static final int DEFAULT_THREAD_POOL_SIZE = 4;
+
+    private static final int THREAD_POOL_SIZE = SystemPropertyUtils.readIntProperty(THREAD_POOL_SIZE_PROPERTY_NAME,
+                                                                                    DEFAULT_THREAD_POOL_SIZE);
+
+    private final ClassToGenericClassConverter typeSystemConverter = new JavaTypeSystemTranslator();
+
+    private final ConcurrentMap<Class<?>, ClassFieldInspector> fieldInspectors = new ConcurrentHashMap<>();
+
+    private final ConcurrentMap<Class<?>, ClassMethodInspector> methodInspectors = new ConcurrentHashMap<>();
+
+    private final ExecutorService executor;
+
+    private final int threadPoolSize;
+
+    public ClassInspections() {
+        this(null);
+    }
+
+    /**
+     * @param executor executor the classes are inspected on, in parallel with the calling thread. Classes are
+     * inspected by the calling thread only if null.
+     */
+    public ClassInspections(final ExecutorService executor) {
+        this(executor,
+             THREAD_POOL_SIZE);
+    }
+
+    ClassInspections(final ExecutorService executor,
+                     final int threadPoolSize) {
+        this.executor = executor;
+        this.threadPoolSize = threadPoolSize;
+    }
+
+    /**
+     * Inspects the classes in parallel. Classes that can't be inspected are skipped here, the error is reported when
+     * their fact types are built.
+     */
+    public void inspect(final Collection<Class<?>> classes) {
+        final List<Class<?>> pending = new ArrayList<>(classes);
+        final AtomicInteger nextClass = new AtomicInteger();
+        final Runnable inspector = () -> {
+            for (int i = nextClass.getAndIncrement(); i < pending.size(); i = nextClass.getAndIncrement()) {
+                try {
+                    getFieldInspector(pending.get(i));
+                    getMethodInspector(pending.get(i));
+                } catch (Throwable e) {
+                    log.debug(e.getMessage());
+                }
+            }
+        };
+
+        //The calling thread inspects classes too, so inspection progresses when the executor is busy with other builders
+        final int helpers = executor == null ? 0 : Math.min(threadPoolSize,
+                                                            pending.size() - 1);
+        final List<Future<?>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < helpers; i++) {
+                futures.add(executor.submit(inspector));
+            }
+            inspector.run();
+            for (Future<?> future : futures) {
+                //Helpers that didn't start have nothing left to inspect
+                if (!future.cancel(false)) {
+                    future.get();
+                }
+            }
+        } catch (ExecutionException e) {
+            //Classes whose inspection didn't complete are inspected when their fact types are built
+            log.debug(e.getMessage());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            nextClass.set(pending.size());
+        }
+    }
+
+    public ClassFieldInspector getFieldInspector(final Class<?> clazz) {
+        ClassFieldInspector inspector = fieldInspectors.get(clazz);
+        if (inspector == null) {
+            inspector = new ClassFieldInspector(clazz);
+            fieldInspectors.putIfAbsent(clazz,
+                                        inspector);
+        }
+        return inspector;
+    }
+
+    public ClassMethodInspector getMethodInspector(final Class<?> clazz) throws IOException {
+        ClassMethodInspector inspector = methodInspectors.get(clazz);
+        if (inspector == null) {
+            inspector = new ClassMethodInspector(clazz,
+                                                 typeSystemConverter);
+            methodInspectors.putIfAbsent(clazz,
+                                         inspector);
+        }
+        return inspector;
+    }
+
+    int getInspectedClassesCount() {
+        return methodInspectors.size();
+    }
+}
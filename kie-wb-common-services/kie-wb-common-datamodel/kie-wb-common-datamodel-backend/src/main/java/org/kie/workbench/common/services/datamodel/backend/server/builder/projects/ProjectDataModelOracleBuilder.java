@@ -21,6 +21,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
 
 import org.kie.soup.project.datamodel.commons.oracle.ProjectDataModelOracleImpl;
 import org.kie.soup.project.datamodel.commons.util.MVELEvaluator;
@@ -41,16 +42,30 @@ public final class ProjectDataModelOracleBuilder {
 
     private final Map<String, FactBuilder> discoveredFieldFactBuilders = new HashMap<>();
 
+    private final ClassInspections inspections;
+
     private List<String> errors = new ArrayList<>();
 
     private MVELEvaluator evaluator;
 
     public static ProjectDataModelOracleBuilder newProjectOracleBuilder(MVELEvaluator evaluator) {
-        return new ProjectDataModelOracleBuilder(evaluator);
+        return new ProjectDataModelOracleBuilder(evaluator,
+                                                 null);
+    }
+
+    /**
+     * @param inspectionExecutor executor the classes passed to inspectClasses are inspected on.
+     */
+    public static ProjectDataModelOracleBuilder newProjectOracleBuilder(MVELEvaluator evaluator,
+                                                                        ExecutorService inspectionExecutor) {
+        return new ProjectDataModelOracleBuilder(evaluator,
+                                                 inspectionExecutor);
     }
 
-    private ProjectDataModelOracleBuilder(MVELEvaluator evaluator) {
+    private ProjectDataModelOracleBuilder(MVELEvaluator evaluator,
+                                          ExecutorService inspectionExecutor) {
         this.evaluator = evaluator;
+        this.inspections = new ClassInspections(inspectionExecutor);
     }
 
     //Used by tests
@@ -80,6 +95,18 @@ public final class ProjectDataModelOracleBuilder {
         return builder;
     }
 
+    /**
+     * Inspects, in parallel, classes that are going to be added with addClass.
+     */
+    public ProjectDataModelOracleBuilder inspectClasses(final Collection<Class<?>> classes) {
+        inspections.inspect(classes);
+        return this;
+    }
+
+    ClassInspections getInspections() {
+        return inspections;
+    }
+
     public ProjectDataModelOracleBuilder addClass(final Class clazz) throws IOException {
         return addClass(clazz,
                         false);
@@ -0,0 +1,150 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.kie.soup.project.datamodel.commons.oracle.ProjectDataModelOracleImpl;
+import org.kie.soup.project.datamodel.oracle.ProjectDataModelOracle;
+
+/**
+ * Patches an existing ProjectDataModelOracle with the fact types of a delta ProjectDataModelOracle, built only for
+ * the types that changed, so that a change to a few classes does not require introspecting all the classes of the
+ * Project again.
+ */
+public final class ProjectDataModelOraclePatcher {
+
+    private ProjectDataModelOraclePatcher() {
+    }
+
+    /**
+     * Types whose definition depends on the changed types and must therefore be built again: the changed types, their
+     * inner types and their sub-types, as the fields of a super-type are inherited.
+     * @param oracle the current oracle.
+     * @param changedTypes fully qualified names of the changed types.
+     * @return the affected types, including the changed ones.
+     */
+    public static Set<String> getAffectedTypes(final ProjectDataModelOracle oracle,
+                                               final Set<String> changedTypes) {
+        final ProjectDataModelOracleImpl current = (ProjectDataModelOracleImpl) oracle;
+        final Set<String> affectedTypes = new LinkedHashSet<>(changedTypes);
+        final Map<String, List<String>> superTypes = current.getProjectSuperTypes();
+        final Deque<String> pending = new ArrayDeque<>(changedTypes);
+        while (!pending.isEmpty()) {
+            final String type = pending.pop();
+            for (final String candidate : current.getProjectModelFields().keySet()) {
+                if (affectedTypes.contains(candidate)) {
+                    continue;
+                }
+                final List<String> candidateSuperTypes = superTypes.get(candidate);
+                if (candidate.startsWith(type + "$") || (candidateSuperTypes != null && candidateSuperTypes.contains(type))) {
+                    affectedTypes.add(candidate);
+                    pending.push(candidate);
+                }
+            }
+        }
+        return affectedTypes;
+    }
+
+    /**
+     * @param oracle the current oracle, it's not modified.
+     * @param affectedTypes the types rebuilt in the delta oracle. Types not in the delta oracle are removed.
+     * @param delta the oracle built for the affected types.
+     * @return a new oracle with the definitions of the affected types replaced by those of the delta oracle.
+     */
+    public static ProjectDataModelOracle patch(final ProjectDataModelOracle oracle,
+                                               final Set<String> affectedTypes,
+                                               final ProjectDataModelOracle delta) {
+        final ProjectDataModelOracleImpl current = (ProjectDataModelOracleImpl) oracle;
+        final ProjectDataModelOracleImpl changes = (ProjectDataModelOracleImpl) delta;
+        final ProjectDataModelOracleImpl patched = new ProjectDataModelOracleImpl();
+        patched.addProjectModelFields(patch(current.getProjectModelFields(),
+                                            changes.getProjectModelFields(),
+                                            affectedTypes));
+        patched.addProjectFieldParametersType(patch(current.getProjectFieldParametersType(),
+                                                    changes.getProjectFieldParametersType(),
+                                                    affectedTypes));
+        patched.addProjectJavaEnumDefinitions(patch(current.getProjectJavaEnumDefinitions(),
+                                                    changes.getProjectJavaEnumDefinitions(),
+                                                    affectedTypes));
+        patched.addProjectMethodInformation(patch(current.getProjectMethodInformation(),
+                                                  changes.getProjectMethodInformation(),
+                                                  affectedTypes));
+        patched.addProjectCollectionTypes(patch(current.getProjectCollectionTypes(),
+                                                changes.getProjectCollectionTypes(),
+                                                affectedTypes));
+        patched.addProjectEventTypes(patch(current.getProjectEventTypes(),
+                                           changes.getProjectEventTypes(),
+                                           affectedTypes));
+        patched.addProjectTypeSources(patch(current.getProjectTypeSources(),
+                                            changes.getProjectTypeSources(),
+                                            affectedTypes));
+        patched.addProjectSuperTypes(patch(current.getProjectSuperTypes(),
+                                           changes.getProjectSuperTypes(),
+                                           affectedTypes));
+        patched.addProjectTypeAnnotations(patch(current.getProjectTypeAnnotations(),
+                                                changes.getProjectTypeAnnotations(),
+                                                affectedTypes));
+        patched.addProjectTypeFieldsAnnotations(patch(current.getProjectTypeFieldsAnnotations(),
+                                                      changes.getProjectTypeFieldsAnnotations(),
+                                                      affectedTypes));
+
+        final Set<String> packageNames = new LinkedHashSet<>(current.getProjectPackageNames());
+        packageNames.addAll(changes.getProjectPackageNames());
+        patched.addProjectPackageNames(new ArrayList<>(packageNames));
+        return patched;
+    }
+
+    private static <V> Map<String, V> patch(final Map<String, V> current,
+                                            final Map<String, V> delta,
+                                            final Set<String> affectedTypes) {
+        final Map<String, V> patched = new HashMap<>();
+        current.forEach((key, value) -> {
+            if (!affectedTypes.contains(getType(key))) {
+                patched.put(key,
+                            value);
+            }
+        });
+        delta.forEach((key, value) -> {
+            //Types discovered through the fields of the affected types are only added if they were not known
+            if (affectedTypes.contains(getType(key))) {
+                patched.put(key,
+                            value);
+            } else {
+                patched.putIfAbsent(key,
+                                    value);
+            }
+        });
+        return patched;
+    }
+
+    /**
+     * Keys are either the fact type or the fact type and a field or method, separated by '#'
+     */
+    private static String getType(final String key) {
+        final int separator = key.indexOf('#');
+        return separator < 0 ? key : key.substring(0,
+                                                   separator);
+    }
+}
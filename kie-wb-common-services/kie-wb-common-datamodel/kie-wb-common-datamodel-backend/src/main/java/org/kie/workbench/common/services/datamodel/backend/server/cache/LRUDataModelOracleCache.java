@@ -53,7 +53,8 @@ import org.uberfire.java.nio.file.DirectoryStream.Filter;
 import org.uberfire.java.nio.file.DirectoryStream;
 
 /**
- * A simple LRU cache for Package DataModelOracles
+ * A simple LRU cache for Package DataModelOracles. Concurrent requests for the same Package share a single build of
+ * its DataModelOracle, requests for other Packages are not blocked by it.
  */
 @ApplicationScoped
 @Named("PackageDataModelOracleCache")
@@ -77,6 +78,8 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
     private MVELEvaluator evaluator;
 
+    private final SingleFlightLoader<Package, PackageDataModelOracle> loader = new SingleFlightLoader<>();
+
     public LRUDataModelOracleCache() {
         //CDI proxy
     }
@@ -98,7 +101,7 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
         this.evaluator = evaluator;
     }
 
-    public synchronized void invalidatePackageCache(@Observes final InvalidateDMOPackageCacheEvent event) {
+    public void invalidatePackageCache(@Observes final InvalidateDMOPackageCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Path resourcePath = event.getResourcePath();
@@ -106,11 +109,12 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
         //If resource was not within a Package there's nothing to invalidate
         if (pkg != null) {
+            loader.invalidate(pkg);
             invalidateCache(pkg);
         }
     }
 
-    public synchronized void invalidateProjectPackagesCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+    public void invalidateProjectPackagesCache(@Observes final InvalidateDMOProjectCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Path resourcePath = event.getResourcePath();
@@ -123,7 +127,7 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
 
         final String projectUri = project.getRootPath().toURI();
         final List<Package> cacheEntriesToInvalidate = new ArrayList<>();
-        for (final Package pkg : getKeys()) {
+        for (final Package pkg : new ArrayList<>(getKeys())) {
             final Path packageMainSrcPath = pkg.getPackageMainSrcPath();
             final Path packageTestSrcPath = pkg.getPackageTestSrcPath();
             final Path packageMainResourcesPath = pkg.getPackageMainResourcesPath();
@@ -139,21 +143,22 @@ public class LRUDataModelOracleCache extends LRUCache<Package, PackageDataModelO
             }
         }
         for (final Package pkg : cacheEntriesToInvalidate) {
+            loader.invalidate(pkg);
             invalidateCache(pkg);
         }
     }
 
     //Check the DataModelOracle for the Package has been created, otherwise create one!
-    public synchronized PackageDataModelOracle assertPackageDataModelOracle(final KieProject project,
-                                                                            final Package pkg) {
-        PackageDataModelOracle oracle = getEntry(pkg);
-        if (oracle == null) {
-            oracle = makePackageDataModelOracle(project,
-                                                pkg);
-            setEntry(pkg,
-                     oracle);
+    public PackageDataModelOracle assertPackageDataModelOracle(final KieProject project,
+                                                               final Package pkg) {
+        final PackageDataModelOracle oracle = getEntry(pkg);
+        if (oracle != null) {
+            return oracle;
         }
-        return oracle;
+        return loader.load(pkg,
+                           p -> makePackageDataModelOracle(project,
+                                                           p),
+                           this::setEntry);
     }
 
     private PackageDataModelOracle makePackageDataModelOracle(final KieProject project,
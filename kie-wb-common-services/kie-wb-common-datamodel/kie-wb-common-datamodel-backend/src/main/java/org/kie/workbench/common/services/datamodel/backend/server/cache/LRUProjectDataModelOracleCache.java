@@ -15,6 +15,9 @@
 
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import javax.enterprise.context.ApplicationScoped;
 import javax.enterprise.event.Observes;
 import javax.inject.Inject;
@@ -22,25 +25,37 @@ import javax.inject.Named;
 
 import org.guvnor.common.services.backend.cache.LRUCache;
 import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.guvnor.common.services.project.model.Package;
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.soup.project.datamodel.oracle.ProjectDataModelOracle;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ProjectDataModelOraclePatcher;
 import org.kie.workbench.common.services.shared.project.KieProject;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.vfs.Path;
 
 /**
- * A simple LRU cache for Project DataModelOracles
+ * A simple LRU cache for Project DataModelOracles. Concurrent requests for the same Project share a single build of
+ * its DataModelOracle, requests for other Projects are not blocked by it.
+ * <p>
+ * Changes to Java sources do not invalidate the whole DataModelOracle: the changed types are recorded and the
+ * DataModelOracle is patched with them when it's next requested.
  */
 @ApplicationScoped
 @Named("ProjectDataModelOracleCache")
 public class LRUProjectDataModelOracleCache
         extends LRUCache<KieProject, ProjectDataModelOracle> {
 
+    private static final String JAVA_EXTENSION = ".java";
+
     private ProjectDataModelOracleBuilderProvider builderProvider;
     private KieProjectService projectService;
     private BuildInfoService buildInfoService;
 
+    private final SingleFlightLoader<KieProject, ProjectDataModelOracle> loader = new SingleFlightLoader<>();
+
+    private final ConcurrentMap<KieProject, Set<String>> changedTypes = new ConcurrentHashMap<>();
+
     public LRUProjectDataModelOracleCache() {
     }
 
@@ -53,31 +68,81 @@ public class LRUProjectDataModelOracleCache
         this.buildInfoService = buildInfoService;
     }
 
-    public synchronized void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
+    public void invalidateProjectCache(@Observes final InvalidateDMOProjectCacheEvent event) {
         PortablePreconditions.checkNotNull("event",
                                            event);
         final Path resourcePath = event.getResourcePath();
         final KieProject project = projectService.resolveProject(resourcePath);
 
         //If resource was not within a Project there's nothing to invalidate
-        if (project != null) {
-            invalidateCache(project);
+        if (project == null) {
+            return;
         }
+
+        //A change to a Java type is applied to the cached DataModelOracle when it's next requested
+        final String changedType = getJavaType(resourcePath);
+        if (changedType != null && getEntry(project) != null) {
+            changedTypes.compute(project,
+                                 (p, types) -> {
+                                     final Set<String> result = types == null ? ConcurrentHashMap.newKeySet() : types;
+                                     result.add(changedType);
+                                     return result;
+                                 });
+            return;
+        }
+
+        loader.invalidate(project);
+        invalidateCache(project);
     }
 
     //Check the ProjectOracle for the Project has been created, otherwise create one!
-    public synchronized ProjectDataModelOracle assertProjectDataModelOracle(final KieProject project) {
-        ProjectDataModelOracle projectOracle = getEntry(project);
-        if (projectOracle == null) {
-            projectOracle = makeProjectOracle(project);
-            setEntry(project,
-                     projectOracle);
+    public ProjectDataModelOracle assertProjectDataModelOracle(final KieProject project) {
+        final ProjectDataModelOracle projectOracle = getEntry(project);
+        if (projectOracle != null && !changedTypes.containsKey(project)) {
+            return projectOracle;
         }
-        return projectOracle;
+        return loader.load(project,
+                           p -> projectOracle == null ? makeProjectOracle(p) : patchProjectOracle(p,
+                                                                                                   projectOracle),
+                           this::setEntry);
     }
 
     private ProjectDataModelOracle makeProjectOracle(final KieProject project) {
+        //Changes recorded so far are included in the new DataModelOracle
+        changedTypes.remove(project);
         return builderProvider.newBuilder(project,
                                           buildInfoService.getBuildInfo(project)).build();
     }
+
+    private ProjectDataModelOracle patchProjectOracle(final KieProject project,
+                                                      final ProjectDataModelOracle projectOracle) {
+        final Set<String> types = changedTypes.remove(project);
+        if (types == null || types.isEmpty()) {
+            return projectOracle;
+        }
+        final Set<String> affectedTypes = ProjectDataModelOraclePatcher.getAffectedTypes(projectOracle,
+                                                                                         types);
+        final ProjectDataModelOracle delta = builderProvider.newBuilder(project,
+                                                                        buildInfoService.getBuildInfo(project)).build(affectedTypes);
+        return ProjectDataModelOraclePatcher.patch(projectOracle,
+                                                   affectedTypes,
+                                                   delta);
+    }
+
+    /**
+     * @return the fully qualified name of the type defined by a Java source, or null if the resource isn't one.
+     */
+    private String getJavaType(final Path resourcePath) {
+        final String fileName = resourcePath == null ? null : resourcePath.getFileName();
+        if (fileName == null || !fileName.endsWith(JAVA_EXTENSION)) {
+            return null;
+        }
+        final Package pkg = projectService.resolvePackage(resourcePath);
+        if (pkg == null) {
+            return null;
+        }
+        final String typeName = fileName.substring(0,
+                                                   fileName.length() - JAVA_EXTENSION.length());
+        return pkg.getPackageName() == null || pkg.getPackageName().isEmpty() ? typeName : pkg.getPackageName() + "." + typeName;
+    }
 }
\ No newline at end of file
@@ -16,8 +16,11 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
-import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
 
 import javax.inject.Inject;
 
@@ -36,14 +39,20 @@ import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.uberfire.backend.server.util.Paths;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.java.nio.file.Files;
 
 public class ProjectDataModelOracleBuilderProvider {
 
     private static final Logger log = LoggerFactory.getLogger(ProjectDataModelOracleBuilderProvider.class);
 
+    public static final String PARALLEL_INSPECTION_PROPERTY_NAME = "org.kie.datamodel.oracle.parallel-inspection";
+
+    private final boolean parallelInspection = !"false".equalsIgnoreCase(System.getProperty(PARALLEL_INSPECTION_PROPERTY_NAME));
+
     private ProjectImportsService importsService;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private ExecutorService executorService;
 
     public ProjectDataModelOracleBuilderProvider() {
         //CDI proxy
@@ -51,9 +60,11 @@ public class ProjectDataModelOracleBuilderProvider {
 
     @Inject
     public ProjectDataModelOracleBuilderProvider(final PackageNameWhiteListService packageNameWhiteListService,
-                                                 final ProjectImportsService importsService) {
+                                                 final ProjectImportsService importsService,
+                                                 @Managed final ExecutorService executorService) {
         this.packageNameWhiteListService = packageNameWhiteListService;
         this.importsService = importsService;
+        this.executorService = executorService;
     }
 
     public InnerBuilder newBuilder(final KieProject project,
@@ -69,7 +80,8 @@ public class ProjectDataModelOracleBuilderProvider {
 
     class InnerBuilder {
 
-        private final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder(new RawMVELEvaluator());
+        private final ProjectDataModelOracleBuilder pdBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder(new RawMVELEvaluator(),
+                                                                                                                     executorService);
 
         private final KieProject project;
         private final KieModuleMetaData kieModuleMetaData;
@@ -92,6 +104,27 @@ public class ProjectDataModelOracleBuilderProvider {
             return pdBuilder.build();
         }
 
+        /**
+         * Builds an oracle holding only the given types, to patch an existing oracle of the Project.
+         * @param types fully qualified names of the types. Types no longer in the KieModule are ignored.
+         */
+        public ProjectDataModelOracle build(final Set<String> types) {
+            final WhiteList packageNames = getFilteredPackageNames();
+            for (final String type : types) {
+                final int separator = type.lastIndexOf('.');
+                final String packageName = separator < 0 ? "" : type.substring(0,
+                                                                               separator);
+                final String className = type.substring(separator + 1);
+                if (packageNames.contains(packageName) && kieModuleMetaData.getClasses(packageName).contains(className)) {
+                    pdBuilder.addPackage(packageName);
+                    addClass(packageName,
+                             className);
+                }
+            }
+
+            return pdBuilder.build();
+        }
+
         /**
          * The availability of these classes is checked in Builder and failed fast. Here we load them into the DMO
          */
@@ -104,10 +137,26 @@ public class ProjectDataModelOracleBuilderProvider {
         }
 
         private void addFromKieModuleMetadata() {
+            final Map<String, Class<?>> classes = new LinkedHashMap<>();
             for (final String packageName : getFilteredPackageNames()) {
                 pdBuilder.addPackage(packageName);
-                addClasses(packageName,
-                           kieModuleMetaData.getClasses(packageName));
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    final Class<?> clazz = loadClass(packageName,
+                                                     className);
+                    if (clazz != null) {
+                        classes.put(clazz.getName(),
+                                    clazz);
+                    }
+                }
+            }
+
+            //Inspecting the classes is the expensive part and it's independent for each class
+            if (parallelInspection) {
+                pdBuilder.inspectClasses(classes.values());
+            }
+
+            for (final Class<?> clazz : classes.values()) {
+                addClass(clazz);
             }
         }
 
@@ -119,14 +168,6 @@ public class ProjectDataModelOracleBuilderProvider {
                                                                   kieModuleMetaData.getPackages());
         }
 
-        private void addClasses(final String packageName,
-                                final Collection<String> classes) {
-            for (final String className : classes) {
-                addClass(packageName,
-                         className);
-            }
-        }
-
         private void addClass(final Import item) {
             try {
                 Class clazz = this.getClass().getClassLoader().loadClass(item.getType());
@@ -143,9 +184,27 @@ public class ProjectDataModelOracleBuilderProvider {
 
         private void addClass(final String packageName,
                               final String className) {
+            final Class<?> clazz = loadClass(packageName,
+                                             className);
+            if (clazz != null) {
+                addClass(clazz);
+            }
+        }
+
+        private Class<?> loadClass(final String packageName,
+                                   final String className) {
+            try {
+                return kieModuleMetaData.getClass(packageName,
+                                                  className);
+            } catch (Throwable e) {
+                //Class resolution would have happened in Builder and reported as warnings so log error here at debug level to avoid flooding logs
+                log.debug(e.getMessage());
+                return null;
+            }
+        }
+
+        private void addClass(final Class<?> clazz) {
             try {
-                final Class clazz = kieModuleMetaData.getClass(packageName,
-                                                               className);
                 pdBuilder.addClass(clazz,
                                    kieModuleMetaData.getTypeMetaInfo(clazz).isEvent(),
                                    typeSourceResolver.getTypeSource(clazz));
@@ -0,0 +1,103 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Loads cache entries so that concurrent requests for the same key share a single computation, while requests for
+ * other keys proceed in parallel. A value whose key is invalidated while it's being loaded is returned to the callers
+ * waiting for it, but it's not stored in the cache.
+ */
+class SingleFlightLoader<K, V> {
+
+    private final ConcurrentMap<K, Load<V>> loads = new ConcurrentHashMap<>();
+
+    V load(final K key,
+           final Function<K, V> loader,
+           final BiConsumer<K, V> store) {
+        final Load<V> load = new Load<>();
+        final Load<V> existing = loads.putIfAbsent(key,
+                                                   load);
+        if (existing != null) {
+            return existing.await();
+        }
+        try {
+            final V value = loader.apply(key);
+            synchronized (load) {
+                if (!load.invalidated) {
+                    store.accept(key,
+                                 value);
+                }
+            }
+            load.future.complete(value);
+            return value;
+        } catch (RuntimeException | Error e) {
+            load.future.completeExceptionally(e);
+            throw e;
+        } finally {
+            loads.remove(key,
+                         load);
+        }
+    }
+
+    /**
+     * Prevents the value being loaded for the key, if any, from being stored. The caller must invalidate the cache
+     * entry of the key afterwards.
+     */
+    void invalidate(final K key) {
+        final Load<V> load = loads.remove(key);
+        if (load != null) {
+            synchronized (load) {
+                load.invalidated = true;
+            }
+        }
+    }
+
+    int getLoadsInProgress() {
+        return loads.size();
+    }
+
+    private static class Load<V> {
+
+        private final CompletableFuture<V> future = new CompletableFuture<>();
+
+        private boolean invalidated;
+
+        private V await() {
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                if (e.getCause() instanceof Error) {
+                    throw (Error) e.getCause();
+                }
+                throw new IllegalStateException(e.getCause());
+            }
+        }
+    }
+}
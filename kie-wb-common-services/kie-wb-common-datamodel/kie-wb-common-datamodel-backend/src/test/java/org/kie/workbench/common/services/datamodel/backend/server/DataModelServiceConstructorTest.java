@@ -87,18 +87,21 @@ import org.kie.workbench.common.services.backend.builder.ala.LocalProjectConfigE
 import org.kie.workbench.common.services.backend.builder.ala.LocalSourceConfigExecutor;
 import org.kie.workbench.common.services.backend.builder.core.BuildHelper;
 import org.kie.workbench.common.services.backend.builder.core.DeploymentVerifier;
+import org.kie.workbench.common.services.backend.builder.core.BuildArtifactStore;
 import org.kie.workbench.common.services.backend.builder.core.LRUBuilderCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUPomModelCache;
 import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.backend.builder.service.BuildServiceHelper;
 import org.kie.workbench.common.services.backend.builder.service.BuildServiceImpl;
+import org.kie.workbench.common.services.backend.builder.service.IncrementalBuildScheduler;
 import org.kie.workbench.common.services.backend.dependencies.DependencyServiceImpl;
 import org.kie.workbench.common.services.backend.kmodule.KModuleContentHandler;
 import org.kie.workbench.common.services.backend.kmodule.KModuleServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieProjectRepositoriesServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieProjectServiceImpl;
 import org.kie.workbench.common.services.backend.project.KieResourceResolver;
+import org.kie.workbench.common.services.backend.project.KieResourceResolverCache;
 import org.kie.workbench.common.services.backend.project.ProjectImportsServiceImpl;
 import org.kie.workbench.common.services.backend.project.ProjectSaver;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProvider;
@@ -313,7 +316,8 @@ public class DataModelServiceConstructorTest {
                                                                        commentedOptionFactory,
                                                                        backward,
                                                                        kModuleService,
-                                                                       resourcePathResolversInstance) {
+                                                                       resourcePathResolversInstance,
+                                                                       new KieResourceResolverCache()) {
             @Override
             protected void addSecurityGroups(final KieProject project) {
                 //Do nothing. This test demonstrating DMO usage without WELD does not use permissions.
@@ -385,7 +389,9 @@ public class DataModelServiceConstructorTest {
                                                            dependenciesClassLoaderCache,
                                                            pomModelCache,
                                                            packageNameWhiteListService,
-                                                           classFilterBeans
+                                                           classFilterBeans,
+                                                           new BuildArtifactStore(),
+                                                           null
         );
 
         Instance<PostBuildHandler> handlerInstance = mock(Instance.class);
@@ -407,11 +413,14 @@ public class DataModelServiceConstructorTest {
         BuildPipelineInvoker pipelineInvoker = new BuildPipelineInvoker(pipelineInitializer.getExecutor(), pipelineRegistry);
 
         BuildServiceHelper buildServiceHelper = new BuildServiceHelper(pipelineInvoker, deploymentVerifier);
-        BuildService buildService = new BuildServiceImpl(projectService, buildServiceHelper, builderCache);
+        IncrementalBuildScheduler buildScheduler = new IncrementalBuildScheduler(buildServiceHelper,
+                                                                                 new EventSourceMock<>());
+        BuildService buildService = new BuildServiceImpl(projectService, buildServiceHelper, builderCache, buildScheduler);
         BuildInfoService buildInfoService = new BuildInfoService(buildService, builderCache);
 
         ProjectDataModelOracleBuilderProvider builderProvider = new ProjectDataModelOracleBuilderProvider(packageNameWhiteListService,
-                                                                                                          importsService);
+                                                                                                          importsService,
+                                                                                                          null);
 
         LRUProjectDataModelOracleCache cacheProjects = new LRUProjectDataModelOracleCache(builderProvider,
                                                                                           projectService,
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+import org.kie.soup.project.datamodel.commons.util.RawMVELEvaluator;
+import org.kie.soup.project.datamodel.oracle.MethodInfo;
+import org.kie.soup.project.datamodel.oracle.ModelField;
+import org.kie.soup.project.datamodel.oracle.ProjectDataModelOracle;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.ProductOrder;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.annotations.SmurfHouse;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.Smurf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import static org.junit.Assert.*;
+
+public class ClassInspectionsTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassInspectionsTest.class);
+
+    private static final List<Class<?>> CLASSES = Arrays.asList(Product.class,
+                                                                ProductOrder.class,
+                                                                SmurfHouse.class,
+                                                                Smurf.class,
+                                                                PapaSmurf.class,
+                                                                java.util.ArrayList.class,
+                                                                java.util.HashMap.class,
+                                                                java.math.BigDecimal.class,
+                                                                java.util.Date.class);
+
+    @Test
+    public void testInspectionIsCached() throws Exception {
+        final ClassInspections inspections = new ClassInspections();
+        inspections.inspect(CLASSES);
+
+        assertSame(inspections.getFieldInspector(Product.class),
+                   inspections.getFieldInspector(Product.class));
+        assertSame(inspections.getMethodInspector(Product.class),
+                   inspections.getMethodInspector(Product.class));
+    }
+
+    @Test
+    public void testInspectionOnExecutor() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ClassInspections inspections = new ClassInspections(executor,
+                                                                      2);
+            inspections.inspect(CLASSES);
+
+            assertEquals(CLASSES.size(),
+                         inspections.getInspectedClassesCount());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testParallelInspectionBuildsTheSameOracle() throws Exception {
+        final long sequentialStart = System.nanoTime();
+        final ProjectDataModelOracle sequential = build(false);
+        final long sequentialNanos = System.nanoTime() - sequentialStart;
+
+        final long parallelStart = System.nanoTime();
+        final ProjectDataModelOracle parallel = build(true);
+        final long parallelNanos = System.nanoTime() - parallelStart;
+
+        assertEquals(toFieldNames(sequential.getProjectModelFields()),
+                     toFieldNames(parallel.getProjectModelFields()));
+        assertEquals(toMethodNames(sequential.getProjectMethodInformation()),
+                     toMethodNames(parallel.getProjectMethodInformation()));
+        assertEquals(sequential.getProjectSuperTypes(),
+                     parallel.getProjectSuperTypes());
+        assertEquals(sequential.getProjectFieldParametersType(),
+                     parallel.getProjectFieldParametersType());
+        assertEquals(sequential.getProjectCollectionTypes(),
+                     parallel.getProjectCollectionTypes());
+        assertEquals(sequential.getProjectTypeSources(),
+                     parallel.getProjectTypeSources());
+
+        logger.info("Oracle of {} classes built in {}ms with sequential inspection, {}ms with parallel inspection",
+                    CLASSES.size(),
+                    TimeUnit.NANOSECONDS.toMillis(sequentialNanos),
+                    TimeUnit.NANOSECONDS.toMillis(parallelNanos));
+    }
+
+    private ProjectDataModelOracle build(final boolean parallelInspection) throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder(new RawMVELEvaluator(),
+                                                                                                                executor);
+            if (parallelInspection) {
+                builder.inspectClasses(CLASSES);
+            }
+            for (final Class<?> clazz : CLASSES) {
+                builder.addClass(clazz);
+            }
+            return builder.build();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private Map<String, List<String>> toFieldNames(final Map<String, ModelField[]> modelFields) {
+        final Map<String, List<String>> result = new TreeMap<>();
+        modelFields.forEach((type, fields) -> {
+            final List<String> names = new ArrayList<>();
+            for (final ModelField field : fields) {
+                names.add(field.getName() + ":" + field.getClassName() + ":" + field.getType());
+            }
+            result.put(type,
+                       names);
+        });
+        return result;
+    }
+
+    private Map<String, List<String>> toMethodNames(final Map<String, List<MethodInfo>> methodInformation) {
+        final Map<String, List<String>> result = new TreeMap<>();
+        methodInformation.forEach((type, methods) -> {
+            final List<String> names = new ArrayList<>();
+            for (final MethodInfo method : methods) {
+                names.add(method.getName() + method.getParams() + ":" + method.getReturnClassType());
+            }
+            result.put(type,
+                       names);
+        });
+        return result;
+    }
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.soup.project.datamodel.commons.util.RawMVELEvaluator;
+import org.kie.soup.project.datamodel.oracle.ProjectDataModelOracle;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.Product;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.PapaSmurf;
+import org.kie.workbench.common.services.datamodel.backend.server.testclasses.superclasses.Smurf;
+
+import static org.junit.Assert.*;
+
+public class ProjectDataModelOraclePatcherTest {
+
+    private ProjectDataModelOracle oracle;
+
+    @Before
+    public void setUp() throws Exception {
+        final ProjectDataModelOracleBuilder builder = ProjectDataModelOracleBuilder.newProjectOracleBuilder(new RawMVELEvaluator());
+        builder.addPackage(Smurf.class.getPackage().getName());
+        builder.addPackage(Product.class.getPackage().getName());
+        builder.addClass(Smurf.class);
+        builder.addClass(PapaSmurf.class);
+        builder.addClass(Product.class);
+        oracle = builder.build();
+    }
+
+    @Test
+    public void testSubTypesAreAffected() {
+        final Set<String> affectedTypes = ProjectDataModelOraclePatcher.getAffectedTypes(oracle,
+                                                                                         Collections.singleton(Smurf.class.getName()));
+
+        assertTrue(affectedTypes.contains(Smurf.class.getName()));
+        assertTrue(affectedTypes.contains(PapaSmurf.class.getName()));
+        assertFalse(affectedTypes.contains(Product.class.getName()));
+    }
+
+    @Test
+    public void testPatchReplacesAffectedTypes() throws Exception {
+        final Set<String> affectedTypes = ProjectDataModelOraclePatcher.getAffectedTypes(oracle,
+                                                                                         Collections.singleton(Product.class.getName()));
+        final ProjectDataModelOracleBuilder deltaBuilder = ProjectDataModelOracleBuilder.newProjectOracleBuilder(new RawMVELEvaluator());
+        deltaBuilder.addClass(Product.class);
+        final ProjectDataModelOracle delta = deltaBuilder.build();
+
+        final ProjectDataModelOracle patched = ProjectDataModelOraclePatcher.patch(oracle,
+                                                                                   affectedTypes,
+                                                                                   delta);
+
+        assertEquals(oracle.getProjectModelFields().keySet(),
+                     patched.getProjectModelFields().keySet());
+        assertArrayEquals(oracle.getProjectModelFields().get(Product.class.getName()),
+                          patched.getProjectModelFields().get(Product.class.getName()));
+        assertEquals(oracle.getProjectSuperTypes().get(PapaSmurf.class.getName()),
+                     patched.getProjectSuperTypes().get(PapaSmurf.class.getName()));
+    }
+
+    @Test
+    public void testPatchRemovesDeletedTypes() {
+        final Set<String> affectedTypes = ProjectDataModelOraclePatcher.getAffectedTypes(oracle,
+                                                                                         Collections.singleton(Smurf.class.getName()));
+        final ProjectDataModelOracle delta = ProjectDataModelOracleBuilder.newProjectOracleBuilder(new RawMVELEvaluator()).build();
+
+        final ProjectDataModelOracle patched = ProjectDataModelOraclePatcher.patch(oracle,
+                                                                                   affectedTypes,
+                                                                                   delta);
+
+        assertFalse(patched.getProjectModelFields().containsKey(Smurf.class.getName()));
+        assertFalse(patched.getProjectModelFields().containsKey(PapaSmurf.class.getName()));
+        assertTrue(patched.getProjectModelFields().containsKey(Product.class.getName()));
+        assertEquals(oracle.getProjectPackageNames(),
+                     patched.getProjectPackageNames());
+    }
+}
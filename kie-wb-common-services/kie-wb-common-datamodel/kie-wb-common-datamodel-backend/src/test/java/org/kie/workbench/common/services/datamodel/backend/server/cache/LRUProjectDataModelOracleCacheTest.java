@@ -0,0 +1,158 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.datamodel.backend.server.cache;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.builder.events.InvalidateDMOProjectCacheEvent;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.soup.project.datamodel.oracle.ProjectDataModelOracle;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.rpc.SessionInfo;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class LRUProjectDataModelOracleCacheTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(LRUProjectDataModelOracleCacheTest.class);
+
+    private static final int EDITORS = 50;
+
+    private static final int PROJECTS = 20;
+
+    private static final long BUILD_MILLIS = 200;
+
+    @Mock
+    private ProjectDataModelOracleBuilderProvider builderProvider;
+
+    @Mock
+    private KieProjectService projectService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    private AtomicInteger builds = new AtomicInteger();
+
+    private LRUProjectDataModelOracleCache cache;
+
+    @Before
+    public void setUp() {
+        when(buildInfoService.getBuildInfo(any(KieProject.class))).thenReturn(mock(BuildInfo.class));
+        when(builderProvider.newBuilder(any(KieProject.class),
+                                        any(BuildInfo.class))).thenAnswer(invocation -> {
+            final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = mock(ProjectDataModelOracleBuilderProvider.InnerBuilder.class);
+            when(builder.build()).thenAnswer(i -> {
+                builds.incrementAndGet();
+                Thread.sleep(BUILD_MILLIS);
+                return mock(ProjectDataModelOracle.class);
+            });
+            return builder;
+        });
+        cache = new LRUProjectDataModelOracleCache(builderProvider,
+                                                   projectService,
+                                                   buildInfoService);
+    }
+
+    @Test
+    public void testConcurrentEditorsShareProjectOracles() throws Exception {
+        final List<KieProject> projects = new ArrayList<>();
+        for (int i = 0; i < PROJECTS; i++) {
+            projects.add(mock(KieProject.class));
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(EDITORS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<ProjectDataModelOracle>> results = new ArrayList<>();
+        for (int i = 0; i < EDITORS; i++) {
+            final KieProject project = projects.get(i % PROJECTS);
+            results.add(executor.submit(() -> {
+                start.await();
+                return cache.assertProjectDataModelOracle(project);
+            }));
+        }
+
+        final long startTime = System.nanoTime();
+        start.countDown();
+        for (int i = 0; i < EDITORS; i++) {
+            assertSame(cache.assertProjectDataModelOracle(projects.get(i % PROJECTS)),
+                       results.get(i).get(1,
+                                       TimeUnit.MINUTES));
+        }
+        final long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+        executor.shutdownNow();
+
+        logger.info("{} editors across {} projects served in {}ms",
+                    EDITORS,
+                    PROJECTS,
+                    elapsedMillis);
+
+        //One build per project, and builds of different projects ran in parallel
+        assertEquals(PROJECTS,
+                     builds.get());
+        assertTrue(elapsedMillis < PROJECTS * BUILD_MILLIS);
+    }
+
+    @Test
+    public void testOracleInvalidatedWhileBuildingIsNotCached() throws Exception {
+        final KieProject project = mock(KieProject.class);
+        final CountDownLatch building = new CountDownLatch(1);
+        final CountDownLatch invalidated = new CountDownLatch(1);
+        final ProjectDataModelOracleBuilderProvider.InnerBuilder builder = mock(ProjectDataModelOracleBuilderProvider.InnerBuilder.class);
+        when(builder.build()).thenAnswer(i -> {
+            building.countDown();
+            invalidated.await();
+            return mock(ProjectDataModelOracle.class);
+        });
+        when(builderProvider.newBuilder(eq(project),
+                                        any(BuildInfo.class))).thenReturn(builder);
+
+        final ExecutorService executor = Executors.newSingleThreadExecutor();
+        final Future<ProjectDataModelOracle> result = executor.submit(() -> cache.assertProjectDataModelOracle(project));
+        building.await();
+
+        when(projectService.resolveProject(any(Path.class))).thenReturn(project);
+        cache.invalidateProjectCache(new InvalidateDMOProjectCacheEvent(mock(SessionInfo.class),
+                                                                        project,
+                                                                        mock(Path.class)));
+        invalidated.countDown();
+
+        assertNotNull(result.get(1,
+                                 TimeUnit.MINUTES));
+        executor.shutdownNow();
+        assertNull(cache.getEntry(project));
+    }
+}
@@ -15,14 +15,11 @@
  */
 package org.kie.workbench.common.services.refactoring.backend.server.query;
 
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.function.IntFunction;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -52,6 +49,11 @@ import org.uberfire.paging.PageResponse;
 @ApplicationScoped
 public class RefactoringQueryServiceImpl implements RefactoringQueryService {
 
+    static final int ALL_HITS = -1;
+
+    //The IndexProvider returns all the matching documents when the limit is zero
+    static final int NO_LIMIT = 0;
+
     private MetadataConfig config;
     private NamedQueries namedQueries;
     private PageResponse<RefactoringPageRow> emptyResponse;
@@ -95,14 +97,11 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         namedQuery.validateTerms(request.getQueryTerms());
 
         final Query query = namedQuery.toQuery(request.getQueryTerms());
-        final Sort sort = namedQuery.getSortOrder();
 
         try {
-            List<KObject> found = config.getIndexProvider().findByQuery(Collections.EMPTY_LIST,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-            return found.size();
+            //Only the hits are counted, the matching documents are not loaded
+            return (int) config.getIndexProvider().findHitsByQuery(Collections.EMPTY_LIST,
+                                                                   query);
         } catch (final Exception ex) {
             throw new RuntimeException("Error during Query!",
                                        ex);
@@ -126,14 +125,10 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final int pageSize = request.getPageSize();
         final int startIndex = request.getStartRowIndex();
 
-        final List<KObject> kObjects
-                = search(query,
-                         sort,
-                         () -> (startIndex),
-                         // start index of docs to get
-                         (numHits) -> (numHits - startIndex > pageSize ? pageSize : numHits - startIndex)
-                         // num docs to add to response
-        );
+        final List<KObject> kObjects = search(query,
+                                              sort,
+                                              startIndex,
+                                              pageSize);
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -161,14 +156,10 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Query query = namedQuery.toQuery(queryTerms);
         final Sort sort = namedQuery.getSortOrder();
 
-        final List<KObject> kObjects
-                = search(query,
-                         sort,
-                         () -> (0),
-                         // start index of docs to get
-                         (numHits) -> (numHits)
-                         // num docs to add to response
-        );
+        final List<KObject> kObjects = search(query,
+                                              sort,
+                                              0,
+                                              ALL_HITS);
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -178,13 +169,20 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
+    /**
+     * Searches the index for a page of results. Only the top startIndex + numOfHits documents are collected and
+     * loaded by the index, rather than every document matching the query.
+     * @param startIndex index of the first document of the page.
+     * @param numOfHits maximum number of documents of the page, or ALL_HITS.
+     */
     private List<KObject> search(final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
+                                 final int startIndex,
+                                 final int numOfHits,
                                  final ClusterSegment... clusterSegments) {
-
-        final List<KObject> result = new ArrayList<KObject>();
+        if (numOfHits == 0) {
+            return Collections.emptyList();
+        }
         try {
             List<String> indices = Arrays.stream(clusterSegments)
                     .map(clusterSegment -> clusterSegment.getClusterId())
@@ -193,21 +191,31 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
             List<KObject> found = config.getIndexProvider().findByQuery(indices,
                                                                         query,
                                                                         sort,
-                                                                        0);
-            final int startIndex = startIndexSupplier.get();
-            final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(found.size());
-
+                                                                        getLimit(startIndex,
+                                                                                 numOfHits));
+            if (startIndex >= found.size()) {
+                return Collections.emptyList();
+            }
+
+            final int endIndex = numOfHits == ALL_HITS ? found.size() : (int) Math.min(found.size(),
+                                                                                       (long) startIndex + numOfHits);
             return found.subList(startIndex,
-                                 startIndex + numOfHitsToReturn);
-        } catch (
-                final Exception ex)
-
-        {
+                                 endIndex);
+        } catch (final Exception ex) {
             throw new RuntimeException("Error during Query!",
                                        ex);
         }
     }
 
+    static int getLimit(final int startIndex,
+                        final int numOfHits) {
+        final long limit = (long) startIndex + numOfHits;
+        if (numOfHits == ALL_HITS || limit > Integer.MAX_VALUE) {
+            return NO_LIMIT;
+        }
+        return (int) limit;
+    }
+
     /* (non-Javadoc)
      * @see org.kie.workbench.common.services.refactoring.service.RefactoringQueryService#queryToPageResponse(org.kie.workbench.common.services.refactoring.service.impact.QueryOperationRequest)
      */
@@ -0,0 +1,167 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.Sort;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class RefactoringQueryServiceImplTest {
+
+    private static final String QUERY_NAME = "TestQuery";
+
+    @Mock
+    private NamedQueries namedQueries;
+
+    @Mock
+    private NamedQuery namedQuery;
+
+    @Mock
+    private ResponseBuilder responseBuilder;
+
+    private MetadataConfig config;
+
+    private Query query = new MatchAllDocsQuery();
+
+    private RefactoringQueryServiceImpl service;
+
+    @Before
+    public void setUp() {
+        config = mock(MetadataConfig.class,
+                      RETURNS_DEEP_STUBS);
+        when(namedQueries.findNamedQuery(QUERY_NAME)).thenReturn(namedQuery);
+        when(namedQuery.toQuery(any())).thenReturn(query);
+        when(namedQuery.getSortOrder()).thenReturn(Sort.INDEXORDER);
+        when(namedQuery.getResponseBuilder()).thenReturn(responseBuilder);
+
+        service = new RefactoringQueryServiceImpl(config,
+                                                  namedQueries);
+        service.init();
+    }
+
+    @Test
+    public void testHitCountDoesNotLoadDocuments() throws Exception {
+        when(config.getIndexProvider().findHitsByQuery(Collections.EMPTY_LIST,
+                                                       query)).thenReturn(1000000L);
+
+        assertEquals(1000000,
+                     service.queryHitCount(newRequest(0,
+                                                      10)));
+
+        verify(config.getIndexProvider(),
+               never()).findByQuery(any(),
+                                    any(Query.class),
+                                    any(Sort.class),
+                                    anyInt());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testOnlyTopDocumentsOfThePageAreLoaded() throws Exception {
+        final List<KObject> top = kObjects(30);
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   eq(Sort.INDEXORDER),
+                                                   eq(30))).thenReturn(top);
+
+        service.query(newRequest(20,
+                                 10));
+
+        verify(responseBuilder).buildResponse(10,
+                                              20,
+                                              top.subList(20,
+                                                          30));
+    }
+
+    @Test
+    public void testLastPartialPage() throws Exception {
+        final List<KObject> top = kObjects(25);
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   eq(Sort.INDEXORDER),
+                                                   eq(30))).thenReturn(top);
+
+        service.query(newRequest(20,
+                                 10));
+
+        verify(responseBuilder).buildResponse(10,
+                                              20,
+                                              top.subList(20,
+                                                          25));
+    }
+
+    @Test
+    public void testPageAfterTheLastHitIsEmpty() throws Exception {
+        when(config.getIndexProvider().findByQuery(any(),
+                                                   eq(query),
+                                                   eq(Sort.INDEXORDER),
+                                                   eq(30))).thenReturn(kObjects(5));
+
+        assertTrue(service.query(newRequest(20,
+                                            10)).getPageRowList().isEmpty());
+        verify(responseBuilder,
+               never()).buildResponse(anyInt(),
+                                      anyInt(),
+                                      any());
+    }
+
+    @Test
+    public void testLimit() {
+        assertEquals(30,
+                     RefactoringQueryServiceImpl.getLimit(20,
+                                                          10));
+        assertEquals(RefactoringQueryServiceImpl.NO_LIMIT,
+                     RefactoringQueryServiceImpl.getLimit(0,
+                                                          RefactoringQueryServiceImpl.ALL_HITS));
+        assertEquals(RefactoringQueryServiceImpl.NO_LIMIT,
+                     RefactoringQueryServiceImpl.getLimit(10,
+                                                          Integer.MAX_VALUE));
+    }
+
+    private RefactoringPageRequest newRequest(final int startRowIndex,
+                                              final int pageSize) {
+        return new RefactoringPageRequest(QUERY_NAME,
+                                          Collections.emptySet(),
+                                          startRowIndex,
+                                          pageSize);
+    }
+
+    private List<KObject> kObjects(final int size) {
+        final List<KObject> kObjects = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            kObjects.add(mock(KObject.class));
+        }
+        return kObjects;
+    }
+}
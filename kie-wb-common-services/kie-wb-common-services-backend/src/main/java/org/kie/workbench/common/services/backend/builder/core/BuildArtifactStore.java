@@ -0,0 +1,289 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
+import org.guvnor.common.services.project.model.GAV;
+import org.kie.api.builder.KieFileSystem;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+
+/**
+ * Optional on-disk store of the KJARs produced by successful full builds. Entries are keyed by a hash of the
+ * project GAV and sources, and record the dependency classpath the KJAR was built against. A Builder created after a
+ * restart can be served from the store while the sources are unchanged and the recorded dependency jars are still
+ * the same on disk, instead of performing a full build.
+ * <p>
+ * Reads and writes of the store run on the managed executor, so they never hold the lock of a Builder. No Maven
+ * resolution is performed: the classpath is taken from the dependencies ClassLoader of the build being stored.
+ * <p>
+ * The store is enabled by setting the STORE_DIR_PROPERTY_NAME system property to a writable directory.
+ */
+@ApplicationScoped
+public class BuildArtifactStore {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildArtifactStore.class);
+
+    public static final String STORE_DIR_PROPERTY_NAME = "org.kie.build.artifact-store.dir";
+
+    private static final String KJAR_EXTENSION = ".jar";
+
+    private static final String CLASSPATH_EXTENSION = ".classpath";
+
+    private Path storeDir;
+
+    private Executor executor;
+
+    public BuildArtifactStore() {
+        //CDI proxy
+    }
+
+    @Inject
+    public BuildArtifactStore(@Managed final ExecutorService executorService) {
+        this(System.getProperty(STORE_DIR_PROPERTY_NAME),
+             executorService);
+    }
+
+    public BuildArtifactStore(final String storeDir,
+                              final Executor executor) {
+        this.storeDir = storeDir == null || storeDir.trim().isEmpty() ? null : Paths.get(storeDir);
+        this.executor = executor;
+    }
+
+    public boolean isEnabled() {
+        return storeDir != null;
+    }
+
+    /**
+     * Takes a snapshot of the sources of a KieFileSystem. It only copies the references to the contents, so it's
+     * cheap enough to be taken under the lock of a Builder; the sources are hashed later by the store.
+     * @param kieFileSystem the KieFileSystem holding the project sources.
+     * @return the contents of each file, sorted by file name.
+     */
+    public static Map<String, byte[]> getSources(final KieFileSystem kieFileSystem) {
+        final MemoryFileSystem mfs = ((KieFileSystemImpl) kieFileSystem).getMfs();
+        final Map<String, byte[]> sources = new TreeMap<>();
+        for (final String fileName : mfs.getFileNames()) {
+            final byte[] bytes = mfs.getBytes(fileName);
+            if (bytes != null) {
+                sources.put(fileName,
+                            bytes);
+            }
+        }
+        return sources;
+    }
+
+    /**
+     * Reads the stored build of a project in the background.
+     * @param gav the GAV of the project.
+     * @param sources the project sources, as returned by getSources(KieFileSystem).
+     * @return a future of the stored KJAR, completed with null if there is none for the sources or the dependency
+     * jars it was built against have changed.
+     */
+    public CompletableFuture<byte[]> restore(final GAV gav,
+                                             final Map<String, byte[]> sources) {
+        if (!isEnabled()) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.supplyAsync(() -> load(getKey(gav,
+                                                               sources)),
+                                             executor);
+    }
+
+    /**
+     * Stores the KJAR of a successful build in the background. Failures are logged and otherwise ignored, as the
+     * store is only an optimization.
+     * @param gav the GAV of the project.
+     * @param sources the project sources the KJAR was built from, as returned by getSources(KieFileSystem).
+     * @param kjar the KJAR bytes.
+     * @param dependenciesClassLoader the ClassLoader of the project dependencies the KJAR was built against.
+     * @return a future completed once the KJAR has been stored, or skipped.
+     */
+    public CompletableFuture<Void> store(final GAV gav,
+                                         final Map<String, byte[]> sources,
+                                         final byte[] kjar,
+                                         final ClassLoader dependenciesClassLoader) {
+        if (!isEnabled() || kjar == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        return CompletableFuture.runAsync(() -> store(getKey(gav,
+                                                             sources),
+                                                      kjar,
+                                                      getClassPath(dependenciesClassLoader)),
+                                          executor);
+    }
+
+    /**
+     * Calculates the key under which the build of a project is stored.
+     * @param gav the GAV of the project.
+     * @param sources the project sources, as returned by getSources(KieFileSystem).
+     * @return the key, or null if it can't be calculated.
+     */
+    String getKey(final GAV gav,
+                  final Map<String, byte[]> sources) {
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            update(digest,
+                   gav.toString());
+            for (final Map.Entry<String, byte[]> source : sources.entrySet()) {
+                update(digest,
+                       source.getKey());
+                digest.update(source.getValue());
+            }
+            return toHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            logger.error("Unable to calculate the build artifact key for project " + gav,
+                         e);
+            return null;
+        }
+    }
+
+    /**
+     * Describes the jars of a dependencies ClassLoader, including their size and modification time so a jar
+     * replaced in the local repository is detected.
+     * @param dependenciesClassLoader the ClassLoader of the project dependencies.
+     * @return the sorted entries, or null if the classpath can't identify the dependencies. This is the case of
+     * SNAPSHOT or non-local dependencies, as these can change without the project changing.
+     */
+    List<String> getClassPath(final ClassLoader dependenciesClassLoader) {
+        if (!(dependenciesClassLoader instanceof URLClassLoader)) {
+            return null;
+        }
+        final List<String> classPath = new ArrayList<>();
+        for (final URL url : ((URLClassLoader) dependenciesClassLoader).getURLs()) {
+            final String entry = describe(url.toString());
+            if (entry == null || url.getPath().contains("SNAPSHOT")) {
+                return null;
+            }
+            classPath.add(entry);
+        }
+        Collections.sort(classPath);
+        return classPath;
+    }
+
+    private String describe(final String url) {
+        try {
+            final URL entryUrl = new URL(url);
+            if (!"file".equals(entryUrl.getProtocol())) {
+                return null;
+            }
+            final File file = new File(entryUrl.toURI());
+            return url + "\t" + file.length() + "\t" + file.lastModified();
+        } catch (IOException | URISyntaxException | IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private byte[] load(final String key) {
+        if (key == null) {
+            return null;
+        }
+        final Path kjar = storeDir.resolve(key + KJAR_EXTENSION);
+        final Path classPath = storeDir.resolve(key + CLASSPATH_EXTENSION);
+        if (!Files.exists(kjar) || !Files.exists(classPath)) {
+            return null;
+        }
+        try {
+            for (final String entry : Files.readAllLines(classPath,
+                                                         StandardCharsets.UTF_8)) {
+                if (!entry.equals(describe(entry.substring(0,
+                                                           Math.max(0,
+                                                                    entry.indexOf('\t')))))) {
+                    logger.debug("Dependency " + entry + " of build artifact " + key + " has changed, it will not be restored.");
+                    return null;
+                }
+            }
+            return Files.readAllBytes(kjar);
+        } catch (IOException e) {
+            logger.warn("Unable to read build artifact " + kjar,
+                        e);
+            return null;
+        }
+    }
+
+    private void store(final String key,
+                       final byte[] kjar,
+                       final List<String> classPath) {
+        if (key == null || classPath == null) {
+            return;
+        }
+        try {
+            Files.createDirectories(storeDir);
+            //The classpath is written first, as a KJAR is only restored when both are present
+            write(key + CLASSPATH_EXTENSION,
+                  String.join("\n",
+                              classPath).getBytes(StandardCharsets.UTF_8));
+            write(key + KJAR_EXTENSION,
+                  kjar);
+        } catch (IOException e) {
+            logger.warn("Unable to store build artifact " + key,
+                        e);
+        }
+    }
+
+    private void write(final String fileName,
+                       final byte[] bytes) throws IOException {
+        final Path tmp = Files.createTempFile(storeDir,
+                                              fileName,
+                                              ".tmp");
+        Files.write(tmp,
+                    bytes);
+        Files.move(tmp,
+                   storeDir.resolve(fileName),
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private static void update(final MessageDigest digest,
+                               final String value) {
+        digest.update(value.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+    }
+
+    private static String toHex(final byte[] bytes) {
+        final StringBuilder sb = new StringBuilder();
+        for (final byte b : bytes) {
+            sb.append(String.format("%02x",
+                                    b));
+        }
+        return sb.toString();
+    }
+}
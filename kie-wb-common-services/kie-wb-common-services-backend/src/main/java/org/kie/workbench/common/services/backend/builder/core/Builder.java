@@ -23,19 +23,28 @@ import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import org.appformer.maven.support.DependencyFilter;
 import org.appformer.maven.support.PomModel;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.compiler.kie.builder.impl.KieBuilderImpl;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
 import org.drools.compiler.kie.builder.impl.KieModuleKieProject;
+import org.drools.compiler.kie.builder.impl.KieRepositoryImpl;
+import org.drools.compiler.kie.builder.impl.MemoryKieModule;
 import org.guvnor.common.services.backend.file.DotFileFilter;
 import org.guvnor.common.services.backend.file.JavaFileFilter;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
@@ -81,10 +90,22 @@ import static org.kie.workbench.common.services.backend.builder.core.BaseFileNam
 import static org.kie.workbench.common.services.backend.builder.core.BuildMessageBuilder.*;
 import static org.kie.workbench.common.services.backend.builder.core.MessageConverter.*;
 
+/**
+ * Builds a Project and maintains its KieModule incrementally.
+ * <p>
+ * Operations that change the underlying KieFileSystem (full and incremental builds) are serialized by a single
+ * writer lock. Read operations (isBuilt(), getKieModule(), getKieContainer() etc) do not take the lock and are
+ * served from the KieBuilder of the last completed full build; which is only published once the build has finished.
+ * A full build in progress therefore does not block readers, who continue to see the previous KieModule. A Builder
+ * with a BuildArtifactStore reads the stored build in the background as soon as it's created; the first reader waits
+ * for that read, if it's still running, without holding the lock.
+ */
 public class Builder implements Serializable {
 
     private static final Logger logger = LoggerFactory.getLogger(Builder.class);
 
+    private static final AtomicLong GENERATIONS = new AtomicLong();
+
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found.\n" +
             "Please check the necessary external dependencies for this project are configured correctly.";
 
@@ -99,7 +120,17 @@ public class Builder implements Serializable {
 
     private final Handles handles = new Handles();
     private final KieProjectService projectService;
-    private KieBuilder kieBuilder;
+    private volatile KieBuilder kieBuilder;
+    private volatile KieModule restoredKieModule;
+    private volatile CompletableFuture<KieModule> pendingRestore;
+    //Identifies the contents of the KieModule, every full or incremental build starts a new generation
+    private volatile long generation = GENERATIONS.incrementAndGet();
+    private volatile long retainedSize;
+    //Sizes of the sources and compiled resources, only modified with the lock held
+    private long sourcesSize;
+    private long measuredSourcesSize;
+    private long resourcesSize;
+    private volatile LongConsumer retainedSizeListener;
     private final ProjectImportsService importsService;
     private final List<BuildValidationHelper> buildValidationHelpers;
 
@@ -109,11 +140,15 @@ public class Builder implements Serializable {
     private final DirectoryStream.Filter<Path> javaResourceFilter = new JavaFileFilter();
     private final DirectoryStream.Filter<Path> dotFileFilter = new DotFileFilter();
 
-    private final Set<String> javaResources = new HashSet<String>();
+    private final Set<String> javaResources = ConcurrentHashMap.newKeySet();
+
+    private final ReentrantLock writeLock = new ReentrantLock();
 
     private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private BuildArtifactStore artifactStore;
+    private ExecutorService classVerificationExecutor;
 
     private final Predicate<String> classFilter;
 
@@ -144,6 +179,8 @@ public class Builder implements Serializable {
         this.kieFileSystem = kieFileSystem;
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
+        //A cloned KieFileSystem already holds the sources
+        this.sourcesSize = getSize(((KieFileSystemImpl) kieFileSystem).getMfs());
 
         DirectoryStream<Path> directoryStream = Files.newDirectoryStream(projectRoot);
         visitPaths(directoryStream);
@@ -172,20 +209,27 @@ public class Builder implements Serializable {
     }
 
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone(kieFileSystemClone);
-
-        return new Builder(project,
-                           ioService,
-                           projectService,
-                           importsService,
-                           buildValidationHelpers,
-                           dependenciesClassLoaderCache,
-                           pomModelCache,
-                           packageNameWhiteListService,
-                           classFilter,
-                           kieBuilder,
-                           kieFileSystemClone);
+        writeLock.lock();
+        try {
+            final KieFileSystem kieFileSystemClone = kieFileSystemClone();
+            final KieBuilderImpl kieBuilder = kieBuilderClone(kieFileSystemClone);
+
+            final Builder clone = new Builder(project,
+                                              ioService,
+                                              projectService,
+                                              importsService,
+                                              buildValidationHelpers,
+                                              dependenciesClassLoaderCache,
+                                              pomModelCache,
+                                              packageNameWhiteListService,
+                                              classFilter,
+                                              kieBuilder,
+                                              kieFileSystemClone);
+            clone.setClassVerificationExecutor(classVerificationExecutor);
+            return clone;
+        } finally {
+            writeLock.unlock();
+        }
     }
 
     private KieFileSystem kieFileSystemClone() {
@@ -205,14 +249,22 @@ public class Builder implements Serializable {
     }
 
     public BuildResults build() {
-        synchronized (kieFileSystem) {
-            //KieBuilder is not re-usable for successive "full" builds
-            kieBuilder = createKieBuilder(kieFileSystem);
+        writeLock.lock();
+        try {
+            //A full build supersedes any stored build, there's no need to restore it
+            pendingRestore = null;
+
+            //The sources must be taken before building, as the build may add defaults to the KieFileSystem
+            final Map<String, byte[]> artifactSources = artifactStore == null || !artifactStore.isEnabled() ? null : BuildArtifactStore.getSources(kieFileSystem);
+
+            //KieBuilder is not re-usable for successive "full" builds. Readers continue to use the
+            //previous KieBuilder until the new one has been built.
+            final KieBuilderImpl newKieBuilder = createKieBuilder(kieFileSystem);
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
             final BuildResults results = new BuildResults(projectGAV);
             try {
-                final Results kieResults = ((InternalKieBuilder) kieBuilder).buildAll(classFilter).getResults();
+                final Results kieResults = newKieBuilder.buildAll(classFilter).getResults();
                 results.addAllBuildMessages(convertMessages(kieResults.getMessages(),
                                                             handles));
             } catch (LinkageError e) {
@@ -226,11 +278,14 @@ public class Builder implements Serializable {
                              e);
                 results.addBuildMessage(makeErrorMessage(msg));
             } finally {
-                final PomModel pomModel = ((KieBuilderImpl) kieBuilder).getPomModel();
+                final PomModel pomModel = newKieBuilder.getPomModel();
                 if (pomModel != null) {
                     pomModelCache.setEntry(project,
                                            pomModel);
                 }
+                kieBuilder = newKieBuilder;
+                restoredKieModule = null;
+                nextGeneration();
             }
 
             //Add validate messages from external helpers
@@ -272,26 +327,102 @@ public class Builder implements Serializable {
 
             results.addAllBuildMessages(verifyClasses(kieModuleMetaData));
 
+            //Only successful builds are stored, so a restored KieModule never has build errors
+            if (artifactSources != null && results.getErrorMessages().isEmpty()) {
+                artifactStore.store(projectGAV,
+                                    artifactSources,
+                                    ((InternalKieModule) newKieBuilder.getKieModule()).getBytes(),
+                                    kieModuleMetaData.getClassLoader().getParent());
+            }
+
             return results;
+        } finally {
+            writeLock.unlock();
         }
     }
 
     public BuildResults build(Path resource,
                               InputStream inputStream) {
-        synchronized (kieFileSystem) {
+        writeLock.lock();
+        try {
             final String destinationPath = destinationPath(resource);
             final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource(new BufferedInputStream(inputStream));
 
-            kieFileSystem.write(destinationPath,
-                                inputStreamResource);
+            writeSource(destinationPath,
+                        inputStreamResource);
 
             return build();
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Sets the executor the classes of the built KieModule are verified on. Without it they're verified by the
+     * building thread only.
+     */
+    void setClassVerificationExecutor(final ExecutorService classVerificationExecutor) {
+        this.classVerificationExecutor = classVerificationExecutor;
+    }
+
+    /**
+     * Sets the BuildArtifactStore of the Builder and starts reading the stored build of the current sources, if any.
+     * The restored KieModule serves read operations; the first incremental build performs a full build.
+     */
+    void setArtifactStore(final BuildArtifactStore artifactStore) {
+        this.artifactStore = artifactStore;
+        if (artifactStore != null && artifactStore.isEnabled()) {
+            pendingRestore = artifactStore.restore(projectGAV,
+                                                   BuildArtifactStore.getSources(kieFileSystem))
+                    .thenApply(this::newKieModule)
+                    .exceptionally(e -> {
+                        logger.warn("Unable to restore the build of project " + project.getProjectName() + ", a full build will be performed.",
+                                    e);
+                        return null;
+                    });
+        }
+    }
+
+    /**
+     * @return true if the KieModule of the Builder was restored from the BuildArtifactStore, waiting for the store to
+     * be read if necessary.
+     */
+    boolean isRestored() {
+        return getRestoredKieModule() != null;
+    }
+
+    private KieModule newKieModule(final byte[] kjar) {
+        if (kjar == null) {
+            return null;
+        }
+        //The KieModule is not added to the KieRepository, where it would replace the KieModule of the ReleaseId
+        //for the whole server. It's only served by this Builder.
+        return ((KieRepositoryImpl) kieServices.getRepository()).getKieModule(kieServices.getResources().newByteArrayResource(kjar));
+    }
+
+    private void adoptRestoredKieModule(final CompletableFuture<KieModule> restore) {
+        //Waiting for the store happens outside of the lock, the lock is only taken to publish the result
+        final KieModule kieModule = restore.join();
+        writeLock.lock();
+        try {
+            //A full build may have superseded the restore meanwhile
+            if (pendingRestore != restore) {
+                return;
+            }
+            pendingRestore = null;
+            if (kieModule != null && kieBuilder == null) {
+                restoredKieModule = kieModule;
+                nextGeneration();
+            }
+        } finally {
+            writeLock.unlock();
         }
     }
 
     private List<BuildMessage> verifyClasses(KieModuleMetaData kieModuleMetaData) {
         return new ClassVerifier(kieModuleMetaData,
-                                 getTypeSourceResolver(kieModuleMetaData)).verify(getWhiteList(kieModuleMetaData));
+                                 getTypeSourceResolver(kieModuleMetaData),
+                                 classVerificationExecutor).verify(getWhiteList(kieModuleMetaData));
     }
 
     private WhiteList getWhiteList(final KieModuleMetaData kieModuleMetaData) {
@@ -324,7 +455,8 @@ public class Builder implements Serializable {
     }
 
     public IncrementalBuildResults deleteResource(final Path resource) {
-        synchronized (kieFileSystem) {
+        writeLock.lock();
+        try {
             checkNotNull("resource",
                          resource);
 
@@ -343,17 +475,20 @@ public class Builder implements Serializable {
                                destinationPath(resource));
 
             return results;
+        } finally {
+            writeLock.unlock();
         }
     }
 
     private void removeResource(final Path resource) {
-        kieFileSystem.delete(destinationPath(resource));
+        deleteSource(destinationPath(resource));
         removeJavaClass(resource);
     }
 
     private IncrementalBuildResults addResource(final Path resource,
                                                 final InputStream inputStream) {
-        synchronized (kieFileSystem) {
+        writeLock.lock();
+        try {
             checkNotNull("resource",
                          resource);
 
@@ -385,6 +520,8 @@ public class Builder implements Serializable {
                                destinationPath(resource));
 
             return results;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -393,8 +530,8 @@ public class Builder implements Serializable {
         final String destinationPath = destinationPath(path);
         final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource(new BufferedInputStream(inputStream));
 
-        kieFileSystem.write(destinationPath,
-                            inputStreamResource);
+        writeSource(destinationPath,
+                    inputStreamResource);
         handles.put(getBaseFileName(destinationPath),
                     Paths.convert(path));
         addJavaClass(path);
@@ -405,24 +542,24 @@ public class Builder implements Serializable {
     }
 
     public IncrementalBuildResults updateResource(final Path resource) {
-        synchronized (kieFileSystem) {
-            return addResource(resource);
-        }
+        return addResource(resource);
     }
 
     public IncrementalBuildResults updateResource(final Path resource,
                                                   InputStream inputStream) {
-        synchronized (kieFileSystem) {
-            return addResource(resource,
-                               inputStream);
-        }
+        return addResource(resource,
+                           inputStream);
     }
 
     public IncrementalBuildResults applyBatchResourceChanges(final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes) {
-        synchronized (kieFileSystem) {
-            checkNotNull("changes",
-                         changes);
+        checkNotNull("changes",
+                     changes);
+
+        //Coalesce the changes before taking the lock; only the final change to each Path needs to be applied
+        final Map<Path, ResourceChangeType> coalescedChanges = coalesce(changes);
 
+        writeLock.lock();
+        try {
             checkAFullBuildHasBeenPerformed();
 
             //Add all changes to KieFileSystem before executing the build
@@ -430,37 +567,28 @@ public class Builder implements Serializable {
             final List<ValidationMessage> nonKieResourceValidatorAddedMessages = new ArrayList<ValidationMessage>();
             final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
 
-            for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet()) {
-                for (final ResourceChange change : pathCollectionEntry.getValue()) {
-                    final ResourceChangeType type = change.getType();
-                    final Path resource = Paths.convert(pathCollectionEntry.getKey());
-
-                    checkNotNull("type",
-                                 type);
-                    checkNotNull("resource",
-                                 resource);
-
-                    final String destinationPath = destinationPath(resource);
-                    changedFilesKieBuilderPaths.add(destinationPath);
-                    switch (type) {
-                        case ADD:
-                        case UPDATE:
-                            //Only files can be processed
-                            if (!Files.isRegularFile(resource)) {
-                                continue;
-                            }
-
-                            update(nonKieResourceValidatorAddedMessages,
-                                   nonKieResourceValidatorRemovedMessages,
-                                   resource,
-                                   destinationPath);
-
-                            break;
-                        case DELETE:
-                            delete(nonKieResourceValidatorRemovedMessages,
-                                   resource,
-                                   destinationPath);
-                    }
+            for (final Map.Entry<Path, ResourceChangeType> coalescedChange : coalescedChanges.entrySet()) {
+                final Path resource = coalescedChange.getKey();
+                final String destinationPath = destinationPath(resource);
+                changedFilesKieBuilderPaths.add(destinationPath);
+                switch (coalescedChange.getValue()) {
+                    case ADD:
+                    case UPDATE:
+                        //Only files can be processed
+                        if (!Files.isRegularFile(resource)) {
+                            continue;
+                        }
+
+                        update(nonKieResourceValidatorAddedMessages,
+                               nonKieResourceValidatorRemovedMessages,
+                               resource,
+                               destinationPath);
+
+                        break;
+                    case DELETE:
+                        delete(nonKieResourceValidatorRemovedMessages,
+                               resource,
+                               destinationPath);
                 }
             }
 
@@ -474,7 +602,26 @@ public class Builder implements Serializable {
             results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidatorRemovedMessages));
 
             return results;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private Map<Path, ResourceChangeType> coalesce(final Map<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> changes) {
+        final Map<Path, ResourceChangeType> coalescedChanges = new LinkedHashMap<Path, ResourceChangeType>();
+        for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet()) {
+            final Path resource = Paths.convert(pathCollectionEntry.getKey());
+            checkNotNull("resource",
+                         resource);
+            for (final ResourceChange change : pathCollectionEntry.getValue()) {
+                final ResourceChangeType type = change.getType();
+                checkNotNull("type",
+                             type);
+                coalescedChanges.put(resource,
+                                     type);
+            }
         }
+        return coalescedChanges;
     }
 
     private String[] toArray(List<String> stringList) {
@@ -496,7 +643,7 @@ public class Builder implements Serializable {
         }
 
         //The file has already been deleted so we can't check if the Path is a file or folder :(
-        kieFileSystem.delete(destinationPath);
+        deleteSource(destinationPath);
         removeJavaClass(resource);
     }
 
@@ -530,8 +677,8 @@ public class Builder implements Serializable {
         //Add new resource
         final InputStream is = ioService.newInputStream(resource);
         final BufferedInputStream bis = new BufferedInputStream(is);
-        kieFileSystem.write(destinationPath,
-                            KieServices.Factory.get().getResources().newInputStreamResource(bis));
+        writeSource(destinationPath,
+                    KieServices.Factory.get().getResources().newInputStreamResource(bis));
         addJavaClass(resource);
         handles.put(getBaseFileName(destinationPath),
                     Paths.convert(resource));
@@ -560,32 +707,163 @@ public class Builder implements Serializable {
             logger.error(msg,
                          e);
             results.addAddedMessage(makeErrorMessage(msg));
+        } finally {
+            //The KieModule is updated in place
+            nextIncrementalGeneration();
+        }
+    }
+
+    /**
+     * Starts a new generation after a full build or a restore, measuring the retained size of the whole Builder.
+     */
+    private void nextGeneration() {
+        generation = GENERATIONS.incrementAndGet();
+        final MemoryFileSystem sources = ((KieFileSystemImpl) kieFileSystem).getMfs();
+        sourcesSize = getSize(sources);
+        final KieModule kieModule = kieBuilder != null ? ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors() : restoredKieModule;
+        resourcesSize = 0;
+        if (kieModule instanceof MemoryKieModule) {
+            final MemoryFileSystem resources = ((MemoryKieModule) kieModule).getMemoryFileSystem();
+            //The KieModule may be built in place over the sources
+            if (resources != sources) {
+                resourcesSize = getSize(resources);
+            }
+        }
+        measuredSourcesSize = sourcesSize;
+        setRetainedSize(sourcesSize + resourcesSize);
+    }
+
+    /**
+     * Starts a new generation after an incremental build. Walking the whole KieModule on every change would make each
+     * incremental build as expensive as the project is large, so the size of the sources is tracked as they are written
+     * and the compiled resources are assumed to change as much as the sources did since the last build. The next full
+     * build measures the Builder again.
+     */
+    private void nextIncrementalGeneration() {
+        generation = GENERATIONS.incrementAndGet();
+        if (resourcesSize > 0) {
+            resourcesSize = Math.max(0,
+                                     resourcesSize + sourcesSize - measuredSourcesSize);
         }
+        measuredSourcesSize = sourcesSize;
+        setRetainedSize(sourcesSize + resourcesSize);
+    }
+
+    private void setRetainedSize(final long retainedSize) {
+        this.retainedSize = retainedSize;
+        final LongConsumer listener = retainedSizeListener;
+        if (listener != null) {
+            listener.accept(retainedSize);
+        }
+    }
+
+    private void writeSource(final String destinationPath,
+                             final Resource resource) {
+        final MemoryFileSystem sources = ((KieFileSystemImpl) kieFileSystem).getMfs();
+        final long previousSize = getSize(sources,
+                                          destinationPath);
+        kieFileSystem.write(destinationPath,
+                            resource);
+        sourcesSize += getSize(sources,
+                               destinationPath) - previousSize;
+    }
+
+    private void deleteSource(final String destinationPath) {
+        sourcesSize -= getSize(((KieFileSystemImpl) kieFileSystem).getMfs(),
+                               destinationPath);
+        kieFileSystem.delete(destinationPath);
+    }
+
+    private static long getSize(final MemoryFileSystem mfs) {
+        long size = 0;
+        for (final String fileName : mfs.getFileNames()) {
+            size += getSize(mfs,
+                            fileName);
+        }
+        return size;
+    }
+
+    private static long getSize(final MemoryFileSystem mfs,
+                                final String fileName) {
+        final byte[] bytes = mfs.getBytes(fileName);
+        return bytes == null ? 0 : fileName.length() * 2 + bytes.length;
     }
 
     private void checkAFullBuildHasBeenPerformed() {
         if (!isBuilt()) {
             throw new IllegalStateException("A full build needs to be performed before any incremental operations.");
         }
+        //A KieModule restored from the BuildArtifactStore has no KieBuilder to build incrementally
+        if (kieBuilder == null) {
+            build();
+        }
     }
 
     public KieModule getKieModule() {
-        //Kie classes are only available once built
-        if (!isBuilt()) {
-            build();
-        }
-        synchronized (kieFileSystem) {
-            return kieBuilder.getKieModule();
+        final KieModule restored = getRestoredKieModule();
+        if (restored != null) {
+            return restored;
         }
+        return getBuiltKieBuilder().getKieModule();
     }
 
     public KieModule getKieModuleIgnoringErrors() {
-        //Kie classes are only available once built
-        if (!isBuilt()) {
-            build();
+        final KieModule restored = getRestoredKieModule();
+        if (restored != null) {
+            return restored;
         }
-        synchronized (kieFileSystem) {
-            return ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+        return ((InternalKieBuilder) getBuiltKieBuilder()).getKieModuleIgnoringErrors();
+    }
+
+    /**
+     * @return the generation of the KieModule contents. It changes with every full or incremental build, and is unique
+     * across Builders.
+     */
+    public long getGeneration() {
+        return generation;
+    }
+
+    /**
+     * @return an estimate, in bytes, of the memory retained by the sources and the KieModule of the Builder. It's
+     * measured with every full build and adjusted with every incremental build, it's 0 until the Builder is built.
+     */
+    public long getRetainedSize() {
+        return retainedSize;
+    }
+
+    /**
+     * Sets the listener notified of the new retained size of the Builder every time it changes.
+     */
+    void setRetainedSizeListener(final LongConsumer retainedSizeListener) {
+        this.retainedSizeListener = retainedSizeListener;
+    }
+
+    private KieModule getRestoredKieModule() {
+        final CompletableFuture<KieModule> restore = pendingRestore;
+        if (restore != null) {
+            adoptRestoredKieModule(restore);
+        }
+        return kieBuilder == null ? restoredKieModule : null;
+    }
+
+    /**
+     * Returns the KieBuilder of the last completed full build, performing a full build first if none has completed.
+     * Concurrent callers on an unbuilt Builder wait for, and share, the same build.
+     */
+    private KieBuilder getBuiltKieBuilder() {
+        final KieBuilder snapshot = kieBuilder;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        writeLock.lock();
+        try {
+            //Kie classes are only available once built
+            if (kieBuilder == null) {
+                build();
+            }
+            return kieBuilder;
+        } finally {
+            writeLock.unlock();
         }
     }
 
@@ -600,12 +878,27 @@ public class Builder implements Serializable {
     }
 
     public KieContainer getKieContainer() {
+        final KieModule restored = getRestoredKieModule();
+        if (restored != null) {
+            return newKieContainer(restored);
+        }
+
         BuildResults results = null;
+        KieBuilder kieBuilder = this.kieBuilder;
 
         //Kie classes are only available once built
-        if (!isBuilt()) {
-            results = build();
-        } else {
+        if (kieBuilder == null) {
+            writeLock.lock();
+            try {
+                if ((kieBuilder = this.kieBuilder) == null) {
+                    results = build();
+                    kieBuilder = this.kieBuilder;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        if (results == null) {
             results = new BuildResults();
             results.addAllBuildMessages(convertMessages(kieBuilder.getResults().getMessages(),
                                                         handles));
@@ -616,23 +909,23 @@ public class Builder implements Serializable {
             // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
             // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
             // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
-            final KieModule kieModule = kieBuilder.getKieModule();
-            final ReleaseId releaseId = kieModule.getReleaseId();
-            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieBuilder.getKieModule(),
-                                                                                                       null);
-            final KieContainer kieContainer = new KieContainerImpl(kieProject,
-                                                                   KieServices.Factory.get().getRepository(),
-                                                                   releaseId);
-            return kieContainer;
+            return newKieContainer(kieBuilder.getKieModule());
         } else {
             return null;
         }
     }
 
+    private KieContainer newKieContainer(final KieModule kieModule) {
+        final ReleaseId releaseId = kieModule.getReleaseId();
+        final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieModule,
+                                                                                                   null);
+        return new KieContainerImpl(kieProject,
+                                    KieServices.Factory.get().getRepository(),
+                                    releaseId);
+    }
+
     public boolean isBuilt() {
-        synchronized (kieFileSystem) {
-            return kieBuilder != null;
-        }
+        return getRestoredKieModule() != null || kieBuilder != null;
     }
 
     private void visitPaths(final DirectoryStream<Path> directoryStream) {
@@ -18,49 +18,172 @@ package org.kie.workbench.common.services.backend.builder.core;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.backend.util.SystemPropertyUtils;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import static org.kie.workbench.common.services.backend.builder.core.BuildMessageBuilder.*;
 
+/**
+ * Verifies the referential integrity of the classes in a KieModule. Verification of classes loaded from dependency
+ * jars is cached in the DependencyVerificationCache, and the remaining classes are verified in parallel, on the
+ * container managed executor, by at most THREAD_POOL_SIZE_PROPERTY_NAME tasks besides the building thread.
+ */
 public class ClassVerifier {
 
     private static final Logger logger = LoggerFactory.getLogger(ClassVerifier.class);
 
+    public static final String THREAD_POOL_SIZE_PROPERTY_NAME = "org.kie.build.class-verification.thread-pool-size";
+
+    public static final int DEFAULT_THREAD_POOL_SIZE = 4;
+
+    private static final int THREAD_POOL_SIZE = SystemPropertyUtils.readIntProperty(THREAD_POOL_SIZE_PROPERTY_NAME,
+                                                                                    DEFAULT_THREAD_POOL_SIZE);
+
     private final static String ERROR_EXTERNAL_CLASS_VERIFICATION = "Verification of class {0} failed and will not be available for authoring.\n" +
             "Underlying system error is: {1}. Please check the necessary external dependencies for this project are configured correctly.";
 
     private final TypeSourceResolver typeSourceResolver;
     private final KieModuleMetaData kieModuleMetaData;
+    private final DependencyVerificationCache verificationCache;
+    private final ExecutorService executor;
+    private final int threadPoolSize;
 
     private final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
 
     public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
                          final TypeSourceResolver typeSourceResolver) {
+        this(kieModuleMetaData,
+             typeSourceResolver,
+             (ExecutorService) null);
+    }
+
+    /**
+     * @param executor executor the classes are verified on, in parallel with the calling thread. Classes are verified
+     * by the calling thread only if null.
+     */
+    public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
+                         final TypeSourceResolver typeSourceResolver,
+                         final ExecutorService executor) {
+        this(kieModuleMetaData,
+             typeSourceResolver,
+             DependencyVerificationCache.getInstance(),
+             executor,
+             THREAD_POOL_SIZE);
+    }
+
+    ClassVerifier(final KieModuleMetaData kieModuleMetaData,
+                  final TypeSourceResolver typeSourceResolver,
+                  final DependencyVerificationCache verificationCache) {
+        this(kieModuleMetaData,
+             typeSourceResolver,
+             verificationCache,
+             null,
+             THREAD_POOL_SIZE);
+    }
+
+    ClassVerifier(final KieModuleMetaData kieModuleMetaData,
+                  final TypeSourceResolver typeSourceResolver,
+                  final DependencyVerificationCache verificationCache,
+                  final ExecutorService executor,
+                  final int threadPoolSize) {
         this.kieModuleMetaData = kieModuleMetaData;
         this.typeSourceResolver = typeSourceResolver;
+        this.verificationCache = verificationCache;
+        this.executor = executor;
+        this.threadPoolSize = threadPoolSize;
     }
 
     public List<BuildMessage> verify(WhiteList whiteList) {
-
+        final List<String[]> classes = new ArrayList<>();
         for (final String packageName : kieModuleMetaData.getPackages()) {
             if (whiteList.contains(packageName)) {
                 for (final String className : kieModuleMetaData.getClasses(packageName)) {
-                    verifyClass(packageName,
-                                className);
+                    classes.add(new String[]{packageName, className});
                 }
             }
         }
+
+        final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+        final String classPathKey = verificationCache.getClassPathKey(classLoader);
+
+        //Messages are collected by class index, so they are reported in the same order as a serial verification
+        final BuildMessage[] messages = new BuildMessage[classes.size()];
+        final AtomicInteger nextClass = new AtomicInteger();
+        final Callable<Void> verifier = () -> {
+            for (int i = nextClass.getAndIncrement(); i < messages.length; i = nextClass.getAndIncrement()) {
+                messages[i] = verifyClass(classes.get(i)[0],
+                                          classes.get(i)[1],
+                                          classLoader,
+                                          classPathKey);
+            }
+            return null;
+        };
+
+        //The building thread verifies classes too, so verification progresses when the executor is busy with other builds
+        final int helpers = executor == null ? 0 : Math.min(threadPoolSize,
+                                                            classes.size() - 1);
+        final List<Future<Void>> futures = new ArrayList<>();
+        try {
+            for (int i = 0; i < helpers; i++) {
+                futures.add(executor.submit(verifier));
+            }
+            verifier.call();
+            for (Future<Void> future : futures) {
+                //Helpers that didn't start have nothing left to verify
+                if (!future.cancel(false)) {
+                    future.get();
+                }
+            }
+        } catch (ExecutionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : new IllegalStateException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        } finally {
+            //On failures the remaining classes are not verified
+            nextClass.set(messages.length);
+        }
+
+        for (final BuildMessage message : messages) {
+            if (message != null) {
+                buildMessages.add(message);
+            }
+        }
         return buildMessages;
     }
 
-    private void verifyClass(final String packageName,
-                             final String className) {
+    private BuildMessage verifyClass(final String packageName,
+                                     final String className,
+                                     final ClassLoader classLoader,
+                                     final String classPathKey) {
+        final String fullyQualifiedClassName = toFQCN(packageName,
+                                                      className);
+        final String artifactKey = classPathKey == null ? null : verificationCache.getArtifactKey(classLoader,
+                                                                                                  fullyQualifiedClassName);
+        if (artifactKey != null) {
+            final String cachedResult = verificationCache.get(classPathKey,
+                                                              artifactKey,
+                                                              fullyQualifiedClassName);
+            if (cachedResult != null) {
+                return DependencyVerificationCache.isVerified(cachedResult) ? null : makeVerificationMessage(fullyQualifiedClassName,
+                                                                                                             cachedResult);
+            }
+        }
 
         try {
             final Class clazz = kieModuleMetaData.getClass(packageName,
@@ -68,22 +191,39 @@ public class ClassVerifier {
             if (clazz != null) {
                 if (TypeSource.JAVA_DEPENDENCY == typeSourceResolver.getTypeSource(clazz)) {
                     verifyExternalClass(clazz);
+                    if (artifactKey != null) {
+                        verificationCache.putVerified(classPathKey,
+                                                      artifactKey,
+                                                      fullyQualifiedClassName);
+                    }
                 }
             } else {
                 logger.warn(MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
-                                                 toFQCN(packageName, className)));
+                                                 fullyQualifiedClassName));
             }
+            return null;
         } catch (Throwable e) {
-            final String msg = MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
-                                                    toFQCN(packageName, className),
-                                                    e.getMessage());
-
-            logger.warn(msg);
             logger.debug("This state is usually encountered when the Project references a class not on the classpath; e.g. in a Maven 'provided' scope or 'optional' dependency.", e);
-            buildMessages.add(makeWarningMessage(msg));
+            if (artifactKey != null) {
+                verificationCache.putFailed(classPathKey,
+                                            artifactKey,
+                                            fullyQualifiedClassName,
+                                            e.getMessage());
+            }
+            return makeVerificationMessage(fullyQualifiedClassName,
+                                           e.getMessage());
         }
     }
 
+    private BuildMessage makeVerificationMessage(final String fullyQualifiedClassName,
+                                                 final String error) {
+        final String msg = MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
+                                                fullyQualifiedClassName,
+                                                error);
+        logger.warn(msg);
+        return makeWarningMessage(msg);
+    }
+
     private String toFQCN(final String packageName,
                           final String className) {
         return packageName + "." + className;
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Cache of the ClassVerifier results for classes loaded from dependency jars. Results are grouped by dependency
+ * artifact (jar location, size and modification time) and by the class path they were verified against, as the
+ * verification of a class depends on the other classes available. Results are therefore shared by all builds, of
+ * any project, using the same dependencies.
+ */
+class DependencyVerificationCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(DependencyVerificationCache.class);
+
+    private static final int DEFAULT_MAX_ARTIFACTS = 1000;
+
+    private static final String VERIFIED = "";
+
+    private static final DependencyVerificationCache INSTANCE = new DependencyVerificationCache(DEFAULT_MAX_ARTIFACTS);
+
+    private final Map<String, Map<String, String>> results;
+
+    DependencyVerificationCache(final int maxArtifacts) {
+        this.results = Collections.synchronizedMap(new LinkedHashMap<String, Map<String, String>>(16,
+                                                                                                   0.75f,
+                                                                                                   true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Map<String, String>> eldest) {
+                return size() > maxArtifacts;
+            }
+        });
+    }
+
+    static DependencyVerificationCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @param classLoader the project ClassLoader, whose parent holds the project dependencies.
+     * @return a key identifying the dependency jars visible to the ClassLoader, or null if they can't be identified.
+     */
+    String getClassPathKey(final ClassLoader classLoader) {
+        if (classLoader == null || !(classLoader.getParent() instanceof URLClassLoader)) {
+            return null;
+        }
+        try {
+            final MessageDigest digest = MessageDigest.getInstance("SHA-1");
+            for (final URL url : ((URLClassLoader) classLoader.getParent()).getURLs()) {
+                final String artifactKey = toArtifactKey(url.toString());
+                digest.update((artifactKey != null ? artifactKey : url.toString()).getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+            }
+            final StringBuilder sb = new StringBuilder();
+            for (final byte b : digest.digest()) {
+                sb.append(String.format("%02x",
+                                        b));
+            }
+            return sb.toString();
+        } catch (Exception e) {
+            logger.debug("Unable to calculate the class path key, verification results will not be cached.",
+                         e);
+            return null;
+        }
+    }
+
+    /**
+     * @param classLoader the project ClassLoader.
+     * @param fullyQualifiedClassName the class name.
+     * @return a key identifying the dependency jar the class is loaded from, or null if it isn't loaded from a jar.
+     */
+    String getArtifactKey(final ClassLoader classLoader,
+                          final String fullyQualifiedClassName) {
+        final URL resource = classLoader.getResource(fullyQualifiedClassName.replace('.',
+                                                                                     '/') + ".class");
+        if (resource == null || !"jar".equals(resource.getProtocol())) {
+            return null;
+        }
+        final String path = resource.getPath();
+        final int separator = path.indexOf("!/");
+        return separator < 0 ? null : toArtifactKey(path.substring(0,
+                                                                   separator));
+    }
+
+    /**
+     * @return null if the class has not been verified yet, an empty String if it was verified correctly or the
+     * verification error otherwise.
+     */
+    String get(final String classPathKey,
+               final String artifactKey,
+               final String fullyQualifiedClassName) {
+        final Map<String, String> artifactResults = results.get(classPathKey + "@" + artifactKey);
+        return artifactResults == null ? null : artifactResults.get(fullyQualifiedClassName);
+    }
+
+    void putVerified(final String classPathKey,
+                     final String artifactKey,
+                     final String fullyQualifiedClassName) {
+        put(classPathKey,
+            artifactKey,
+            fullyQualifiedClassName,
+            VERIFIED);
+    }
+
+    void putFailed(final String classPathKey,
+                   final String artifactKey,
+                   final String fullyQualifiedClassName,
+                   final String error) {
+        put(classPathKey,
+            artifactKey,
+            fullyQualifiedClassName,
+            error == null ? "null" : error);
+    }
+
+    static boolean isVerified(final String result) {
+        return VERIFIED.equals(result);
+    }
+
+    private void put(final String classPathKey,
+                     final String artifactKey,
+                     final String fullyQualifiedClassName,
+                     final String result) {
+        results.computeIfAbsent(classPathKey + "@" + artifactKey,
+                                key -> new ConcurrentHashMap<>()).put(fullyQualifiedClassName,
+                                                                      result);
+    }
+
+    private String toArtifactKey(final String jarLocation) {
+        try {
+            final File jar = new File(new URI(jarLocation));
+            if (!jar.isFile()) {
+                return null;
+            }
+            return jarLocation + ":" + jar.length() + ":" + jar.lastModified();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+}
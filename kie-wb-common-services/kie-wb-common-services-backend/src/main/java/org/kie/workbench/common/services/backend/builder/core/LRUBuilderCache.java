@@ -16,7 +16,14 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import javax.annotation.PostConstruct;
@@ -35,21 +42,39 @@ import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
 import org.kie.soup.commons.validation.PortablePreconditions;
 import org.kie.workbench.common.services.backend.builder.JavaSourceFilter;
+import org.kie.workbench.common.services.backend.util.SystemPropertyUtils;
 import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 
 import static java.util.stream.Collectors.toCollection;
 import static java.util.stream.StreamSupport.stream;
 
 /**
- * A simple LRU cache for Builders
+ * A simple LRU cache for Builders. Besides the number of entries, the cache is bounded by the memory the Builders
+ * retain: the least recently used Builders are evicted while the sum of their retained sizes exceeds the value of the
+ * MAX_RETAINED_SIZE_PROPERTY_NAME system property, in bytes. It defaults to a quarter of the maximum heap.
+ * <p>
+ * The sum is kept as a running total, each cached Builder reports its new retained size as it's built. The sources
+ * and KieModules of the Builders stay on the heap: they are held by the drools MemoryFileSystem the KieBuilder
+ * compiles from and into, which can't be replaced by an off-heap or memory-mapped store from here. Bounding the heap
+ * they retain is what the cache can do instead.
  */
 @ApplicationScoped
 public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
+    private static final Logger logger = LoggerFactory.getLogger(LRUBuilderCache.class);
+
+    public static final String MAX_RETAINED_SIZE_PROPERTY_NAME = "org.kie.build.cache.max-retained-size";
+
+    private long maxRetainedSize = SystemPropertyUtils.readLongProperty(MAX_RETAINED_SIZE_PROPERTY_NAME,
+                                                                        Runtime.getRuntime().maxMemory() / 4);
+
     private IOService ioService;
 
     private KieProjectService projectService;
@@ -66,10 +91,18 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
 
     private Instance<Predicate<String>> classFilterBeans;
 
+    private BuildArtifactStore artifactStore;
+
+    private ExecutorService executorService;
+
     private final List<BuildValidationHelper> buildValidationHelpers = new ArrayList<>();
 
     private final List<Predicate<String>> classFilters = new ArrayList<>();
 
+    private final Map<Project, RetainedSize> retainedSizes = new HashMap<>();
+
+    private final AtomicLong totalRetainedSize = new AtomicLong();
+
     public LRUBuilderCache() {
         //CDI proxy
     }
@@ -82,7 +115,9 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
                            @Named("LRUProjectDependenciesClassLoaderCache") LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache,
                            @Named("LRUPomModelCache") LRUPomModelCache pomModelCache,
                            PackageNameWhiteListService packageNameWhiteListService,
-                           @JavaSourceFilter Instance<Predicate<String>> classFilterBeans) {
+                           @JavaSourceFilter Instance<Predicate<String>> classFilterBeans,
+                           BuildArtifactStore artifactStore,
+                           @Managed ExecutorService executorService) {
         this.ioService = ioService;
         this.projectService = projectService;
         this.importsService = importsService;
@@ -91,6 +126,8 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         this.pomModelCache = pomModelCache;
         this.packageNameWhiteListService = (PackageNameWhiteListServiceImpl) packageNameWhiteListService;
         this.classFilterBeans = classFilterBeans;
+        this.artifactStore = artifactStore;
+        this.executorService = executorService;
     }
 
     @PostConstruct
@@ -136,6 +173,92 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         return getEntry(project);
     }
 
+    /**
+     * @return the retained size, in bytes, of the cached Builder of each Project, from the least to the most recently
+     * used.
+     */
+    public synchronized Map<Project, Long> getRetainedSizes() {
+        final Map<Project, Long> retainedSizes = new LinkedHashMap<>();
+        //Getting the entries in LRU order keeps that order
+        for (Project project : new ArrayList<>(getKeys())) {
+            retainedSizes.put(project,
+                              getEntry(project).getRetainedSize());
+        }
+        return retainedSizes;
+    }
+
+    public long getTotalRetainedSize() {
+        return totalRetainedSize.get();
+    }
+
+    @Override
+    public synchronized void setEntry(final Project project,
+                                      final Builder builder) {
+        super.setEntry(project,
+                       builder);
+        final RetainedSize previous = retainedSizes.remove(project);
+        if (previous != null) {
+            previous.detach();
+        }
+        retainedSizes.put(project,
+                          new RetainedSize(builder));
+        //The base cache silently drops its eldest entry when it's full
+        if (retainedSizes.size() > getKeys().size()) {
+            detachEvictedBuilders();
+        }
+    }
+
+    @Override
+    public synchronized void invalidateCache(final Project project) {
+        super.invalidateCache(project);
+        final RetainedSize retainedSize = retainedSizes.remove(project);
+        if (retainedSize != null) {
+            retainedSize.detach();
+        }
+    }
+
+    @Override
+    public synchronized void invalidateCache() {
+        super.invalidateCache();
+        detachEvictedBuilders();
+    }
+
+    void setMaxRetainedSize(final long maxRetainedSize) {
+        this.maxRetainedSize = maxRetainedSize;
+    }
+
+    /**
+     * Evicts the least recently used Builders, other than the one of the given Project, while the cache retains more
+     * than the maximum size. Builders grow as they are built, so this is checked every time a Builder is requested.
+     */
+    synchronized void evictExceedingBuilders(final Project requestedProject) {
+        if (totalRetainedSize.get() <= maxRetainedSize) {
+            return;
+        }
+        for (Project project : new ArrayList<>(getKeys())) {
+            if (totalRetainedSize.get() <= maxRetainedSize) {
+                break;
+            }
+            if (!project.equals(requestedProject)) {
+                final long retainedSize = getEntry(project).getRetainedSize();
+                invalidateCache(project);
+                logger.debug("Evicted the Builder of project " + project.getProjectName() + ", it retained " + retainedSize + " bytes.");
+            }
+        }
+    }
+
+    private void detachEvictedBuilders() {
+        final Iterator<Map.Entry<Project, RetainedSize>> iterator = retainedSizes.entrySet().iterator();
+        while (iterator.hasNext()) {
+            final Map.Entry<Project, RetainedSize> entry = iterator.next();
+            //Looking the entries up would change their LRU order
+            if (!getKeys().contains(entry.getKey())) {
+                entry.getValue().detach();
+                iterator.remove();
+            }
+        }
+    }
+
     private Builder makeBuilder(Project project) {
         Builder builder = getEntry(project);
         if (builder == null) {
@@ -148,10 +271,15 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
                                   pomModelCache,
                                   packageNameWhiteListService,
                                   createSingleClassFilterPredicate());
+            //After a restart the last successful build of unchanged sources can be restored instead of rebuilt.
+            //The Builder reads it in the background, outside of the cache lock.
+            builder.setArtifactStore(artifactStore);
+            builder.setClassVerificationExecutor(executorService);
 
             setEntry(project,
                      builder);
         }
+        evictExceedingBuilders(project);
         return builder;
     }
 
@@ -159,4 +287,38 @@ public class LRUBuilderCache extends LRUCache<Project, Builder> {
         return classFilters.stream().reduce(o -> true,
                                             (p1, p2) -> p1.and(p2));
     }
+
+    /**
+     * The share of a cached Builder in the total retained size. Builders report their new size without the cache
+     * lock, so the share is updated atomically with respect to its detachment.
+     */
+    private class RetainedSize implements LongConsumer {
+
+        private final Builder builder;
+
+        private long accountedSize;
+
+        private boolean attached = true;
+
+        private RetainedSize(final Builder builder) {
+            this.builder = builder;
+            accept(builder.getRetainedSize());
+            builder.setRetainedSizeListener(this);
+        }
+
+        @Override
+        public synchronized void accept(final long retainedSize) {
+            if (attached) {
+                totalRetainedSize.addAndGet(retainedSize - accountedSize);
+                accountedSize = retainedSize;
+            }
+        }
+
+        private synchronized void detach() {
+            builder.setRetainedSizeListener(null);
+            totalRetainedSize.addAndGet(-accountedSize);
+            accountedSize = 0;
+            attached = false;
+        }
+    }
 }
@@ -61,4 +61,10 @@ public interface BuildInfo {
      */
     KieContainer getKieContainer();
 
+    /**
+     * @return the generation of the KieModule for the underlying project. It changes every time the project is
+     * built, fully or incrementally, so values derived from the KieModule can be reused while it stays the same.
+     */
+    long getBuildGeneration();
+
 }
\ No newline at end of file
@@ -56,6 +56,11 @@ public class BuildInfoImpl
         return builder.getKieContainer();
     }
 
+    @Override
+    public long getBuildGeneration( ) {
+        return builder.getGeneration();
+    }
+
     public Builder getBuilder() {
         return builder;
     }
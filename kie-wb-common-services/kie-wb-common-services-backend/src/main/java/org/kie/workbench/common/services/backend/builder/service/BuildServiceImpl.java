@@ -18,6 +18,7 @@ package org.kie.workbench.common.services.backend.builder.service;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -34,6 +35,7 @@ import org.kie.workbench.common.services.backend.builder.core.LRUBuilderCache;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
 
 @Service
 @ApplicationScoped
@@ -45,6 +47,8 @@ public class BuildServiceImpl implements BuildService {
 
     private LRUBuilderCache cache;
 
+    private IncrementalBuildScheduler buildScheduler;
+
     public BuildServiceImpl( ) {
         //Empty constructor for Weld
     }
@@ -52,10 +56,12 @@ public class BuildServiceImpl implements BuildService {
     @Inject
     public BuildServiceImpl( final KieProjectService projectService,
                              final BuildServiceHelper buildServiceHelper,
-                             final LRUBuilderCache cache ) {
+                             final LRUBuilderCache cache,
+                             final IncrementalBuildScheduler buildScheduler ) {
         this.projectService = projectService;
         this.buildServiceHelper = buildServiceHelper;
         this.cache = cache;
+        this.buildScheduler = buildScheduler;
     }
 
     @Override
@@ -131,4 +137,53 @@ public class BuildServiceImpl implements BuildService {
         return buildServiceHelper.localBuild( project, changes );
     }
 
-}
\ No newline at end of file
+    /**
+     * Asynchronous counterpart of add/update/deletePackageResource. While the IncrementalBuildScheduler is enabled
+     * the change is coalesced with the other changes requested for the project during the debounce window, and the
+     * future is completed with the results of the merged build; which the scheduler also fires once as an event.
+     * Otherwise the build is performed immediately and the returned future is already completed.
+     * @param resource the changed resource.
+     * @param changeType the type of change.
+     * @return a future completed with the results of the build that included the change.
+     */
+    public CompletableFuture< IncrementalBuildResults > buildIncrementallyAsync( final Path resource,
+                                                                                 final ResourceChangeType changeType ) {
+        final Project project = projectService.resolveProject( resource );
+        if ( project == null ) {
+            return CompletableFuture.completedFuture( new IncrementalBuildResults( ) );
+        }
+        if ( buildScheduler.isEnabled( ) ) {
+            return buildScheduler.schedule( project, resource, changeType );
+        }
+        return CompletableFuture.completedFuture( buildServiceHelper.localBuild( project, toBuildType( changeType ), resource ) );
+    }
+
+    /**
+     * Asynchronous counterpart of applyBatchResourceChanges, coalescing the changes as buildIncrementallyAsync does.
+     * @param project the project the resources belong to.
+     * @param changes the changes by resource.
+     * @return a future completed with the results of the build that included the changes.
+     */
+    public CompletableFuture< IncrementalBuildResults > applyBatchResourceChangesAsync( final Project project,
+                                                                                        final Map< Path, Collection< ResourceChange > > changes ) {
+        if ( project == null ) {
+            return CompletableFuture.completedFuture( new IncrementalBuildResults( ) );
+        }
+        if ( buildScheduler.isEnabled( ) ) {
+            return buildScheduler.schedule( project, changes );
+        }
+        return CompletableFuture.completedFuture( buildServiceHelper.localBuild( project, changes ) );
+    }
+
+    private LocalBuildConfig.BuildType toBuildType( final ResourceChangeType changeType ) {
+        switch ( changeType ) {
+            case ADD:
+                return LocalBuildConfig.BuildType.INCREMENTAL_ADD_RESOURCE;
+            case DELETE:
+                return LocalBuildConfig.BuildType.INCREMENTAL_DELETE_RESOURCE;
+            default:
+                return LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE;
+        }
+    }
+
+}
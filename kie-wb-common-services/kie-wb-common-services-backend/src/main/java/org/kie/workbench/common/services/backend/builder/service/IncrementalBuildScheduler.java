@@ -0,0 +1,300 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Event;
+import javax.inject.Inject;
+
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.Project;
+import org.kie.workbench.common.services.backend.util.SystemPropertyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAdded;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceDeleted;
+import org.uberfire.workbench.events.ResourceUpdated;
+
+/**
+ * Queues incremental build requests per project and debounces them: every request restarts the debounce window of its
+ * project, and the changes are applied as a single batch incremental build once no request has been received for the
+ * whole window. So a burst of requests isn't postponed indefinitely, a batch is built at the latest MAX_DEBOUNCE_WINDOWS
+ * windows after its first request. Builds are executed by a bounded pool of threads.
+ * <p>
+ * The scheduler is disabled by default, it's enabled by setting the DEBOUNCE_WINDOW_PROPERTY_NAME system property
+ * to a positive number of milliseconds.
+ * <p>
+ * Requests don't wait for the build, the merged IncrementalBuildResults of each batch are fired once as an event, so
+ * interested parties (e.g. the problems panel) receive each build message only once, and every request of the batch
+ * has its future completed with the same merged results.
+ */
+@ApplicationScoped
+public class IncrementalBuildScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(IncrementalBuildScheduler.class);
+
+    public static final String DEBOUNCE_WINDOW_PROPERTY_NAME = "org.kie.build.incremental.debounce-window";
+
+    public static final String THREAD_POOL_SIZE_PROPERTY_NAME = "org.kie.build.incremental.thread-pool-size";
+
+    public static final long DEFAULT_DEBOUNCE_WINDOW = 0;
+
+    public static final int DEFAULT_THREAD_POOL_SIZE = 2;
+
+    public static final int MAX_DEBOUNCE_WINDOWS = 10;
+
+    private BuildServiceHelper buildServiceHelper;
+
+    private Event<IncrementalBuildResults> incrementalBuildResultsEvent;
+
+    private ScheduledExecutorService executor;
+
+    private long debounceWindow = DEFAULT_DEBOUNCE_WINDOW;
+
+    private final Map<Project, PendingBuild> pendingBuilds = new HashMap<>();
+
+    private final AtomicLong queueDepth = new AtomicLong();
+
+    private final AtomicLong scheduledRequests = new AtomicLong();
+
+    private final AtomicLong executedBuilds = new AtomicLong();
+
+    private final AtomicLong mergedRequests = new AtomicLong();
+
+    public IncrementalBuildScheduler() {
+        //Empty constructor for Weld proxying
+    }
+
+    @Inject
+    public IncrementalBuildScheduler(final BuildServiceHelper buildServiceHelper,
+                                     final Event<IncrementalBuildResults> incrementalBuildResultsEvent) {
+        this.buildServiceHelper = buildServiceHelper;
+        this.incrementalBuildResultsEvent = incrementalBuildResultsEvent;
+    }
+
+    @PostConstruct
+    public void init() {
+        debounceWindow = SystemPropertyUtils.readLongProperty(DEBOUNCE_WINDOW_PROPERTY_NAME,
+                                                              DEFAULT_DEBOUNCE_WINDOW);
+        if (isEnabled()) {
+            executor = createExecutorService(SystemPropertyUtils.readIntProperty(THREAD_POOL_SIZE_PROPERTY_NAME,
+                                                                                 DEFAULT_THREAD_POOL_SIZE));
+        }
+    }
+
+    @PreDestroy
+    public void destroy() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * @return true if incremental build requests must be scheduled through this scheduler, false if they must be
+     * executed immediately.
+     */
+    public boolean isEnabled() {
+        return debounceWindow > 0;
+    }
+
+    /**
+     * Schedules an incremental build for a single resource change.
+     * @param project the project the resource belongs to.
+     * @param resource the changed resource.
+     * @param changeType the type of change.
+     * @return a future completed with the merged results once the batch that includes the change has been built.
+     */
+    public CompletableFuture<IncrementalBuildResults> schedule(final Project project,
+                                                               final Path resource,
+                                                               final ResourceChangeType changeType) {
+        final Map<Path, Collection<ResourceChange>> changes = new HashMap<>();
+        final List<ResourceChange> resourceChanges = new ArrayList<>();
+        resourceChanges.add(toResourceChange(changeType));
+        changes.put(resource,
+                    resourceChanges);
+        return schedule(project,
+                        changes);
+    }
+
+    /**
+     * Schedules an incremental build for a set of resource changes.
+     * @param project the project the resources belong to.
+     * @param changes the changes by resource.
+     * @return a future completed with the merged results once the batch that includes the changes has been built.
+     */
+    public CompletableFuture<IncrementalBuildResults> schedule(final Project project,
+                                                               final Map<Path, Collection<ResourceChange>> changes) {
+        final CompletableFuture<IncrementalBuildResults> future = new CompletableFuture<>();
+        scheduledRequests.incrementAndGet();
+        queueDepth.incrementAndGet();
+        synchronized (pendingBuilds) {
+            PendingBuild pendingBuild = pendingBuilds.get(project);
+            if (pendingBuild == null) {
+                pendingBuild = new PendingBuild(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(debounceWindow * MAX_DEBOUNCE_WINDOWS));
+                pendingBuilds.put(project,
+                                  pendingBuild);
+            }
+            pendingBuild.add(changes,
+                             future);
+
+            //Restart the window. A flush of a previous window that is already running finds a newer request count
+            //and leaves the batch to the flush scheduled here.
+            if (pendingBuild.flush != null) {
+                pendingBuild.flush.cancel(false);
+            }
+            final int requestCount = pendingBuild.futures.size();
+            final long delay = Math.min(TimeUnit.MILLISECONDS.toNanos(debounceWindow),
+                                        Math.max(0,
+                                                 pendingBuild.deadline - System.nanoTime()));
+            pendingBuild.flush = executor.schedule(() -> flush(project,
+                                                               requestCount),
+                                                   delay,
+                                                   TimeUnit.NANOSECONDS);
+        }
+        return future;
+    }
+
+    /**
+     * @return the number of requests waiting to be built.
+     */
+    public long getQueueDepth() {
+        return queueDepth.get();
+    }
+
+    /**
+     * @return the total number of requests received.
+     */
+    public long getScheduledRequests() {
+        return scheduledRequests.get();
+    }
+
+    /**
+     * @return the total number of incremental builds executed successfully.
+     */
+    public long getExecutedBuilds() {
+        return executedBuilds.get();
+    }
+
+    /**
+     * @return the average number of requests merged into each build executed successfully. Requests of failed builds
+     * are not counted.
+     */
+    public double getMergeRatio() {
+        final long builds = executedBuilds.get();
+        return builds == 0 ? 0 : (double) mergedRequests.get() / builds;
+    }
+
+    void flush(final Project project,
+               final int requestCount) {
+        final PendingBuild pendingBuild;
+        synchronized (pendingBuilds) {
+            pendingBuild = pendingBuilds.get(project);
+            //Requests received after this flush was scheduled restarted the window
+            if (pendingBuild == null || pendingBuild.futures.size() != requestCount) {
+                return;
+            }
+            pendingBuilds.remove(project);
+        }
+        queueDepth.addAndGet(-pendingBuild.futures.size());
+        final IncrementalBuildResults results;
+        try {
+            results = buildServiceHelper.localBuild(project,
+                                                    pendingBuild.changes);
+            mergedRequests.addAndGet(pendingBuild.futures.size());
+            executedBuilds.incrementAndGet();
+            logger.debug("Incremental build of project {} applied {} requests, merge ratio: {}, queue depth: {}",
+                         project.getProjectName(),
+                         pendingBuild.futures.size(),
+                         getMergeRatio(),
+                         getQueueDepth());
+            incrementalBuildResultsEvent.fire(results);
+        } catch (Throwable e) {
+            //Errors must also complete the futures, otherwise the requests of the batch would never complete
+            logger.error("Incremental build of project " + project.getProjectName() + " failed.",
+                         e);
+            pendingBuild.completeExceptionally(e);
+            return;
+        }
+        pendingBuild.complete(results);
+    }
+
+    protected ScheduledExecutorService createExecutorService(final int threadPoolSize) {
+        final ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(threadPoolSize);
+        //Every request cancels the flush of the previous window
+        executor.setRemoveOnCancelPolicy(true);
+        return executor;
+    }
+
+    private ResourceChange toResourceChange(final ResourceChangeType changeType) {
+        switch (changeType) {
+            case ADD:
+                return new ResourceAdded("");
+            case DELETE:
+                return new ResourceDeleted("");
+            default:
+                return new ResourceUpdated("");
+        }
+    }
+
+    private static class PendingBuild {
+
+        private final Map<Path, Collection<ResourceChange>> changes = new LinkedHashMap<>();
+
+        private final List<CompletableFuture<IncrementalBuildResults>> futures = new ArrayList<>();
+
+        //The latest time at which the batch is built, however many requests restart the window
+        private final long deadline;
+
+        private ScheduledFuture<?> flush;
+
+        private PendingBuild(final long deadline) {
+            this.deadline = deadline;
+        }
+
+        private void add(final Map<Path, Collection<ResourceChange>> resourceChanges,
+                         final CompletableFuture<IncrementalBuildResults> future) {
+            resourceChanges.forEach((path, pathChanges) -> changes.computeIfAbsent(path,
+                                                                                   p -> new ArrayList<>()).addAll(pathChanges));
+            futures.add(future);
+        }
+
+        private void complete(final IncrementalBuildResults results) {
+            futures.forEach(future -> future.complete(results));
+        }
+
+        private void completeExceptionally(final Throwable e) {
+            futures.forEach(future -> future.completeExceptionally(e));
+        }
+    }
+}
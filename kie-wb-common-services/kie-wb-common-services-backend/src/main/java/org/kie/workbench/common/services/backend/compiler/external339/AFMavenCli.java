@@ -285,12 +285,26 @@ public class AFMavenCli {
             return 1;
         } finally {
             if (localContainer != null) {
-                localContainer.dispose();
+                releaseContainer(localContainer);
                 localContainer = null;
             }
         }
     }
 
+    /**
+     * Called at the end of doMain with the container used by the request, by default the container is disposed.
+     */
+    protected void releaseContainer(PlexusContainer container) {
+        container.dispose();
+    }
+
+    /**
+     * Map registered in the container as "kieMap", used to share informations between Maven plugins and our compiler.
+     */
+    protected Map<String, Object> getKieMap(AFCliRequest cliRequest) {
+        return cliRequest.getMap();
+    }
+
     protected void initialize(AFCliRequest cliRequest)
             throws ExitException {
 
@@ -493,7 +507,7 @@ public class AFMavenCli {
                                                                       });
 
         //This is used to share informations at runtime between Maven plugins and our compiler
-        container.addComponent(cliRequest.getMap(),
+        container.addComponent(getKieMap(cliRequest),
                                HashMap.class,
                                "kieMap");
 
@@ -508,6 +522,18 @@ public class AFMavenCli {
 
         customizeContainer(container);
 
+        lookupComponents(cliRequest,
+                         container);
+        return container;
+    }
+
+    /**
+     * Prepares the container for the request and looks up the components used by the request. Called on each
+     * request, even when the container is reused by several requests.
+     */
+    protected void lookupComponents(AFCliRequest cliRequest,
+                                    PlexusContainer container)
+            throws Exception {
         container.getLoggerManager().setThresholds(cliRequest.getRequest().getLoggingLevel());
         Thread.currentThread().setContextClassLoader(container.getContainerRealm());
         eventSpyDispatcher = container.lookup(EventSpyDispatcher.class);
@@ -540,7 +566,6 @@ public class AFMavenCli {
 
         dispatcher = (DefaultSecDispatcher) container.lookup(SecDispatcher.class,
                                                              "maven");
-        return container;
     }
 
     protected List<CoreExtensionEntry> loadCoreExtensions(AFCliRequest cliRequest,
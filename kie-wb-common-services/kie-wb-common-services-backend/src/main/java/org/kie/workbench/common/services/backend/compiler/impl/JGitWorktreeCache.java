@@ -0,0 +1,347 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+import org.apache.commons.io.FileUtils;
+import org.eclipse.jgit.api.Git;
+import org.eclipse.jgit.api.ResetCommand;
+import org.eclipse.jgit.lib.Constants;
+import org.eclipse.jgit.lib.ObjectId;
+import org.eclipse.jgit.lib.Repository;
+import org.kie.workbench.common.services.backend.util.SystemPropertyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
+
+/***
+ * Cache of the working trees used to compile the projects stored in JGitFileSystems. A working tree is checked out
+ * for each repository and branch, and it's updated before each compilation by checking out only the paths changed
+ * since the last compilation, so the build output of the previous compilation is kept for the incremental compiler.
+ * <p>
+ * Compilations of the same repository and branch are serialized, compilations of different branches run in parallel.
+ * Least recently used working trees are deleted when there are more than MAX_WORKTREES_PROPERTY_NAME of them or when
+ * their size exceeds QUOTA_MB_PROPERTY_NAME megabytes (0 means no quota).
+ * <p>
+ * The cache is owned by whoever creates the compilers, e.g. the MavenCompilerFactory, which deletes the working trees
+ * with clear when its compilers are dropped. A cache created with the default constructor keeps its working trees in
+ * a temporary directory of its own, deleted when the JVM shuts down.
+ */
+public class JGitWorktreeCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(JGitWorktreeCache.class);
+
+    public static final String MAX_WORKTREES_PROPERTY_NAME = "org.kie.compiler.worktree.cache.size";
+
+    public static final String QUOTA_MB_PROPERTY_NAME = "org.kie.compiler.worktree.cache.quota";
+
+    public static final int DEFAULT_MAX_WORKTREES = 10;
+
+    public static final long DEFAULT_QUOTA_MB = 0;
+
+    private static final String REMOTE = "origin";
+
+    private static final String DEFAULT_BRANCH = "master";
+
+    private final Path baseDir;
+
+    private final long maxWorktrees;
+
+    private final long quota;
+
+    private final Map<String, Worktree> worktrees = new LinkedHashMap<>(16,
+                                                                         0.75f,
+                                                                         true);
+
+    private final AtomicLong clones = new AtomicLong();
+
+    private final AtomicLong updates = new AtomicLong();
+
+    public JGitWorktreeCache() {
+        this(createTempDirectory(),
+             SystemPropertyUtils.readLongProperty(MAX_WORKTREES_PROPERTY_NAME,
+                                                  DEFAULT_MAX_WORKTREES),
+             SystemPropertyUtils.readLongProperty(QUOTA_MB_PROPERTY_NAME,
+                                                  DEFAULT_QUOTA_MB) * 1024 * 1024);
+        final Path directory = baseDir;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> FileUtils.deleteQuietly(directory.toFile()),
+                                                        "kie-worktree-cache-cleanup"));
+    }
+
+    public JGitWorktreeCache(final Path baseDir,
+                             final long maxWorktrees,
+                             final long quota) {
+        this.baseDir = baseDir;
+        this.maxWorktrees = maxWorktrees;
+        this.quota = quota;
+    }
+
+    /**
+     * Returns the up to date working tree of a branch, locked for the caller until it's closed.
+     * @param fs the file system holding the repository.
+     * @param branch the branch, the default branch is used if null.
+     */
+    public Worktree acquire(final JGitFileSystem fs,
+                            final String branch) {
+        final Repository source = fs.getGit().getRepository();
+        final String branchName = branch == null || branch.isEmpty() ? DEFAULT_BRANCH : branch;
+        final String key = source.getDirectory().getAbsolutePath() + "@" + branchName;
+
+        Worktree worktree;
+        while (true) {
+            synchronized (worktrees) {
+                worktree = worktrees.computeIfAbsent(key,
+                                                     k -> newWorktree(k,
+                                                                      source,
+                                                                      branchName));
+            }
+            worktree.lock.lock();
+            if (!worktree.evicted) {
+                break;
+            }
+            //evicted while waiting for the lock, a new working tree must be used
+            worktree.lock.unlock();
+        }
+        try {
+            worktree.sync();
+        } catch (Exception e) {
+            synchronized (worktrees) {
+                worktrees.remove(key);
+            }
+            worktree.evicted = true;
+            worktree.delete();
+            worktree.lock.unlock();
+            throw new RuntimeException(e);
+        }
+        evict();
+        return worktree;
+    }
+
+    /**
+     * @return the number of working trees checked out from scratch.
+     */
+    public long getClones() {
+        return clones.get();
+    }
+
+    /**
+     * @return the number of working trees brought up to date incrementally.
+     */
+    public long getUpdates() {
+        return updates.get();
+    }
+
+    public int size() {
+        synchronized (worktrees) {
+            return worktrees.size();
+        }
+    }
+
+    /**
+     * Deletes all the working trees, waiting for the compilations using them to finish.
+     */
+    public void clear() {
+        final List<Worktree> cleared;
+        synchronized (worktrees) {
+            cleared = new ArrayList<>(worktrees.values());
+            worktrees.clear();
+        }
+        for (final Worktree worktree : cleared) {
+            worktree.lock.lock();
+            try {
+                worktree.evicted = true;
+                worktree.delete();
+            } finally {
+                worktree.lock.unlock();
+            }
+        }
+    }
+
+    private Worktree newWorktree(final String key,
+                                 final Repository source,
+                                 final String branch) {
+        //the folder is named after the repository, as the compiled projects are resolved from it, in a parent folder
+        //named after the hash of the repository location and branch
+        final Path directory = baseDir.resolve(sha256(key))
+                .resolve(source.getDirectory().getName().replaceFirst("\\.git",
+                                                                      ""));
+        return new Worktree(directory,
+                            source.getDirectory(),
+                            branch);
+    }
+
+    private void evict() {
+        final List<Worktree> evicted = new ArrayList<>();
+        synchronized (worktrees) {
+            long totalSize = 0;
+            if (quota > 0) {
+                for (final Worktree worktree : worktrees.values()) {
+                    totalSize += worktree.size;
+                }
+            }
+            final Iterator<Worktree> iterator = worktrees.values().iterator();
+            while (iterator.hasNext() && (worktrees.size() > maxWorktrees || (quota > 0 && totalSize > quota))) {
+                final Worktree worktree = iterator.next();
+                //working trees in use by a compilation are not evicted, including the ones held by the caller as the
+                //lock is reentrant
+                if (!worktree.lock.isHeldByCurrentThread() && worktree.lock.tryLock()) {
+                    iterator.remove();
+                    worktree.evicted = true;
+                    totalSize -= worktree.size;
+                    evicted.add(worktree);
+                }
+            }
+        }
+        for (final Worktree worktree : evicted) {
+            try {
+                worktree.delete();
+            } finally {
+                worktree.lock.unlock();
+            }
+        }
+    }
+
+    private static String sha256(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return String.format("%064x",
+                                 new BigInteger(1,
+                                                digest));
+        } catch (NoSuchAlgorithmException e) {
+            //SHA-256 is available in every JVM
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Path createTempDirectory() {
+        try {
+            return Files.createTempDirectory("kie-worktrees");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /***
+     * A working tree checked out for a repository and branch. It must be closed once the compilation is finished.
+     */
+    public class Worktree implements AutoCloseable {
+
+        private final ReentrantLock lock = new ReentrantLock();
+
+        private final Path directory;
+
+        private final File sourceDirectory;
+
+        private final String branch;
+
+        private Git git;
+
+        private volatile long size;
+
+        private boolean evicted;
+
+        private Worktree(final Path directory,
+                         final File sourceDirectory,
+                         final String branch) {
+            this.directory = directory;
+            this.sourceDirectory = sourceDirectory;
+            this.branch = branch;
+        }
+
+        public Path getDirectory() {
+            return directory;
+        }
+
+        public String getBranch() {
+            return branch;
+        }
+
+        @Override
+        public void close() {
+            if (quota > 0) {
+                //the size is measured after the compilation, as the build output is kept in the working tree
+                size = measure(directory);
+            }
+            lock.unlock();
+        }
+
+        private void sync() throws Exception {
+            if (git == null) {
+                if (Files.exists(directory)) {
+                    FileUtils.deleteDirectory(directory.toFile());
+                }
+                git = Git.cloneRepository()
+                        .setURI(sourceDirectory.toURI().toString())
+                        .setDirectory(directory.toFile())
+                        .setBranch(Constants.R_HEADS + branch)
+                        .setBare(false)
+                        .call();
+                clones.incrementAndGet();
+                return;
+            }
+            git.fetch().setRemote(REMOTE).call();
+            final ObjectId remoteHead = git.getRepository().resolve(Constants.R_REMOTES + REMOTE + "/" + branch);
+            final ObjectId head = git.getRepository().resolve(Constants.HEAD);
+            if (remoteHead == null || remoteHead.equals(head)) {
+                return;
+            }
+            //a hard reset only rewrites the tracked paths that differ, untracked build output is kept
+            git.reset()
+                    .setMode(ResetCommand.ResetType.HARD)
+                    .setRef(remoteHead.getName())
+                    .call();
+            updates.incrementAndGet();
+        }
+
+        private void delete() {
+            if (git != null) {
+                git.close();
+                git = null;
+            }
+            try {
+                FileUtils.deleteDirectory(directory.toFile());
+            } catch (IOException e) {
+                logger.warn("Unable to delete working tree " + directory,
+                            e);
+            }
+        }
+    }
+
+    private static long measure(final Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            return files.filter(Files::isRegularFile).mapToLong(file -> file.toFile().length()).sum();
+        } catch (IOException | UncheckedIOException e) {
+            return 0;
+        }
+    }
+}
@@ -16,6 +16,8 @@
 package org.kie.workbench.common.services.backend.compiler.nio;
 
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
 
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 
@@ -29,6 +31,15 @@ public interface AFCompiler<T extends CompilationResponse> {
      */
     T compileSync(final CompilationRequest req);
 
+    /**
+     * Compile a project starting from the main POM in an async way, on the executor given by the caller
+     */
+    default CompletableFuture<T> compileAsync(final CompilationRequest req,
+                                              final Executor executor) {
+        return CompletableFuture.supplyAsync(() -> compileSync(req),
+                                             executor);
+    }
+
     T buildDefaultCompilationResponse(final Boolean value);
 
     T buildDefaultCompilationResponse(final Boolean successful,
@@ -16,13 +16,10 @@
 
 package org.kie.workbench.common.services.backend.compiler.nio.decorators;
 
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
-import org.eclipse.jgit.api.Git;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
-import org.kie.workbench.common.services.backend.compiler.impl.JGitUtils;
+import org.kie.workbench.common.services.backend.compiler.impl.JGitWorktreeCache;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.nio.WorkspaceCompilationInfo;
@@ -32,43 +29,58 @@ import org.uberfire.java.nio.file.Paths;
 import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
 
 /***
- * Before decorator to update a git repo before the build
+ * Before decorator to update a git repo before the build. The build runs in the working tree of the branch kept by
+ * the JGitWorktreeCache.
  */
 public class JGITCompilerBeforeDecorator<T extends CompilationResponse, C extends AFCompiler<T>> implements CompilerDecorator {
 
-    private Map<JGitFileSystem, Git> gitMap = new HashMap<>();
+    private JGitWorktreeCache worktreeCache;
     private C compiler;
 
+    /**
+     * Creates a decorator with a worktree cache of its own, kept in a temporary directory until the JVM shuts down
+     */
     public JGITCompilerBeforeDecorator(C compiler) {
+        this(compiler,
+             new JGitWorktreeCache());
+    }
+
+    public JGITCompilerBeforeDecorator(C compiler,
+                                       JGitWorktreeCache worktreeCache) {
         this.compiler = compiler;
+        this.worktreeCache = worktreeCache;
     }
 
     @Override
     public T compileSync(CompilationRequest _req) {
 
         final Path path = _req.getInfo().getPrjPath();
-        final CompilationRequest req;
-        Git repo;
-        if (path.getFileSystem() instanceof JGitFileSystem) {
-            final JGitFileSystem fs = (JGitFileSystem) path.getFileSystem();
-            if (!gitMap.containsKey(fs)) {
-                repo = JGitUtils.tempClone(fs, _req.getRequestUUID());
-                gitMap.put(fs,
-                           repo);
-            }
-            repo = gitMap.get(fs);
-            JGitUtils.applyBefore(repo);
+        if (!(path.getFileSystem() instanceof JGitFileSystem)) {
+            return compiler.compileSync(_req);
+        }
 
-            req = new DefaultCompilationRequest(_req.getMavenRepo(),
-                                                new WorkspaceCompilationInfo(Paths.get(repo.getRepository().getDirectory().toPath().getParent().resolve(path.getFileName().toString()).normalize().toUri())),
-                                                _req.getOriginalArgs(),
-                                                _req.getMap(),
-                                                _req.getLogRequested());
-        } else {
-            req = _req;
+        final JGitFileSystem fs = (JGitFileSystem) path.getFileSystem();
+        try (JGitWorktreeCache.Worktree worktree = worktreeCache.acquire(fs,
+                                                                         getBranch(path))) {
+            final CompilationRequest req = new DefaultCompilationRequest(_req.getMavenRepo(),
+                                                                         new WorkspaceCompilationInfo(Paths.get(worktree.getDirectory().resolve(path.getFileName().toString()).normalize().toUri())),
+                                                                         _req.getOriginalArgs(),
+                                                                         _req.getMap(),
+                                                                         _req.getLogRequested());
+            return compiler.compileSync(req);
         }
+    }
 
-        return compiler.compileSync(req);
+    /**
+     * The branch is the user info of the path URI, e.g. git://master@repo/project
+     */
+    private String getBranch(final Path path) {
+        final String authority = path.toUri().getAuthority();
+        if (authority == null || !authority.contains("@")) {
+            return null;
+        }
+        return authority.substring(0,
+                                   authority.indexOf('@'));
     }
 
     @Override
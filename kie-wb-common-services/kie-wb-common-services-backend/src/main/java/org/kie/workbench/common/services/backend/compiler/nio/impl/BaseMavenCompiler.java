@@ -18,10 +18,8 @@ package org.kie.workbench.common.services.backend.compiler.nio.impl;
 import java.util.Collections;
 import java.util.List;
 
-import org.codehaus.plexus.classworlds.ClassWorld;
 import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.configuration.Compilers;
-import org.kie.workbench.common.services.backend.compiler.external339.AFMavenCli;
 import org.kie.workbench.common.services.backend.compiler.impl.ProcessedPoms;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.CompilationRequest;
@@ -47,12 +45,23 @@ public abstract class BaseMavenCompiler<T extends CompilationResponse> implement
 
     private static final Logger logger = LoggerFactory.getLogger(BaseMavenCompiler.class);
 
-    private AFMavenCli cli;
+    private MavenEmbedderPool embedderPool;
 
     private IncrementalCompilerEnabler enabler;
 
+    /**
+     * Creates a compiler that doesn't reuse its embedders, a new ClassWorld and container are created for every
+     * compilation
+     */
     public BaseMavenCompiler() {
-        cli = new AFMavenCli();
+        this(new MavenEmbedderPool(0));
+    }
+
+    /**
+     * Creates a compiler that reuses the warm embedders of the given pool, the pool is owned by the caller
+     */
+    protected BaseMavenCompiler(final MavenEmbedderPool embedderPool) {
+        this.embedderPool = embedderPool;
         enabler = new DefaultIncrementalCompilerEnabler(Compilers.JAVAC);
     }
 
@@ -85,18 +94,23 @@ public abstract class BaseMavenCompiler<T extends CompilationResponse> implement
         }
         req.getKieCliRequest().getRequest().setLocalRepositoryPath(req.getMavenRepo());
         /**
-         The classworld is now Created in the NioMavenCompiler and in the DefaultMaven compielr for this reasons:
+         Each embedder has its own classworld, as it must not be shared by different containers:
          problem: https://stackoverflow.com/questions/22410706/error-when-execute-mavencli-in-the-loop-maven-embedder
          problem:https://stackoverflow.com/questions/40587683/invocation-of-mavencli-fails-within-a-maven-plugin
          solution:https://dev.eclipse.org/mhonarc/lists/sisu-users/msg00063.html
          */
-
-        ClassLoader original = Thread.currentThread().getContextClassLoader();
-        ClassWorld kieClassWorld = new ClassWorld("plexus.core",
-                                                  getClass().getClassLoader());
-        int exitCode = cli.doMain(req.getKieCliRequest(),
-                                  kieClassWorld);
-        Thread.currentThread().setContextClassLoader(original);
+        MavenEmbedder embedder = embedderPool.acquire(req.getKieCliRequest().getMultiModuleProjectDirectory());
+        final int exitCode;
+        try {
+            exitCode = embedder.compile(req.getKieCliRequest());
+        } catch (RuntimeException | Error e) {
+            //the state of an embedder that threw is unknown, a failed build instead leaves the container reusable
+            embedderPool.release(embedder,
+                                 false);
+            throw e;
+        }
+        embedderPool.release(embedder,
+                             true);
         if (exitCode == 0) {
             return (T) buildDefaultCompilationResponse(Boolean.TRUE);
         } else {
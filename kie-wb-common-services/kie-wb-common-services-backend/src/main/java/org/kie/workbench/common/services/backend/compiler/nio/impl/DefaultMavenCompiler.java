@@ -35,6 +35,13 @@ import org.kie.workbench.common.services.backend.compiler.nio.MavenCompiler;
  */
 public class DefaultMavenCompiler extends BaseMavenCompiler<CompilationResponse> implements MavenCompiler {
 
+    public DefaultMavenCompiler() {
+    }
+
+    public DefaultMavenCompiler(final MavenEmbedderPool embedderPool) {
+        super(embedderPool);
+    }
+
     @Override
     public CompilationResponse buildDefaultCompilationResponse(final Boolean value) {
         return new DefaultCompilationResponse(value);
@@ -20,6 +20,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.kie.workbench.common.services.backend.compiler.configuration.Decorator;
+import org.kie.workbench.common.services.backend.compiler.impl.JGitWorktreeCache;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.JGITCompilerBeforeDecorator;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.OutputLogAfterDecorator;
@@ -31,6 +32,16 @@ public class MavenCompilerFactory {
 
     private static Map<String, AFCompiler> compilers = new ConcurrentHashMap<>();
 
+    /**
+     * Warm Maven embedders shared by the compilers of the factory, disposed when the compilers are deleted or cleared
+     */
+    private static final MavenEmbedderPool embedderPool = new MavenEmbedderPool();
+
+    /**
+     * Working trees of the git repositories compiled by the factory, deleted when the compilers are deleted or cleared
+     */
+    private static final JGitWorktreeCache worktreeCache = new JGitWorktreeCache();
+
     private MavenCompilerFactory() {
     }
 
@@ -49,23 +60,25 @@ public class MavenCompilerFactory {
         AFCompiler<?> compiler;
         switch (decorator) {
             case NONE:
-                compiler = new DefaultMavenCompiler();
+                compiler = new DefaultMavenCompiler(embedderPool);
                 break;
 
             case JGIT_BEFORE:
-                compiler = new JGITCompilerBeforeDecorator(new DefaultMavenCompiler());
+                compiler = new JGITCompilerBeforeDecorator(new DefaultMavenCompiler(embedderPool),
+                                                           worktreeCache);
                 break;
 
             case LOG_OUTPUT_AFTER:
-                compiler = new OutputLogAfterDecorator(new DefaultMavenCompiler());
+                compiler = new OutputLogAfterDecorator(new DefaultMavenCompiler(embedderPool));
                 break;
 
             case JGIT_BEFORE_AND_LOG_AFTER:
-                compiler = new JGITCompilerBeforeDecorator(new OutputLogAfterDecorator(new DefaultMavenCompiler()));
+                compiler = new JGITCompilerBeforeDecorator(new OutputLogAfterDecorator(new DefaultMavenCompiler(embedderPool)),
+                                                           worktreeCache);
                 break;
 
             default:
-                compiler = new DefaultMavenCompiler();
+                compiler = new DefaultMavenCompiler(embedderPool);
         }
         compilers.put(Decorator.NONE.name(),
                       compiler);
@@ -77,6 +90,8 @@ public class MavenCompilerFactory {
      */
     public static void deleteCompilers() {
         compilers = new ConcurrentHashMap<>();
+        embedderPool.clear();
+        worktreeCache.clear();
     }
 
     /**
@@ -84,5 +99,7 @@ public class MavenCompilerFactory {
      */
     public static void clearCompilers() {
         compilers.clear();
+        embedderPool.clear();
+        worktreeCache.clear();
     }
 }
@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.nio.impl;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.codehaus.plexus.PlexusContainer;
+import org.codehaus.plexus.classworlds.ClassWorld;
+import org.kie.workbench.common.services.backend.compiler.external339.AFCliRequest;
+import org.kie.workbench.common.services.backend.compiler.external339.AFMavenCli;
+
+/**
+ * A long-lived Maven embedder. The ClassWorld and the plexus container are created on the first compilation and kept
+ * for the following ones, so Maven bootstrap and the caches held by the container components (plugin descriptors,
+ * plugin realms, project models of the extensions, etc) are reused.
+ * <p>
+ * An embedder runs one compilation at a time and is bound to a workspace by the MavenEmbedderPool, as core
+ * extensions are loaded from the workspace the container is created for.
+ */
+public class MavenEmbedder extends AFMavenCli {
+
+    private final String workspace;
+
+    private final ClassWorld classWorld;
+
+    private final Map<String, Object> kieMap = new HashMap<>();
+
+    private PlexusContainer container;
+
+    public MavenEmbedder(final String workspace) {
+        this.workspace = workspace;
+        //The classworld must not be shared by different containers, each embedder has its own
+        this.classWorld = new ClassWorld("plexus.core",
+                                         getClass().getClassLoader());
+    }
+
+    public String getWorkspace() {
+        return workspace;
+    }
+
+    public int compile(final AFCliRequest cliRequest) {
+        final ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try {
+            return doMain(cliRequest,
+                          classWorld);
+        } finally {
+            //Results published by the Maven plugins are handed over to the request
+            if (cliRequest.getMap() != null) {
+                cliRequest.getMap().putAll(kieMap);
+            }
+            kieMap.clear();
+            Thread.currentThread().setContextClassLoader(original);
+        }
+    }
+
+    public boolean isWarm() {
+        return container != null;
+    }
+
+    public void dispose() {
+        if (container != null) {
+            container.dispose();
+            container = null;
+        }
+    }
+
+    @Override
+    protected PlexusContainer container(final AFCliRequest cliRequest,
+                                        final ClassWorld classWorld) throws Exception {
+        if (container == null) {
+            container = super.container(cliRequest,
+                                        classWorld);
+        } else {
+            cliRequest.setClassWorld(classWorld);
+            lookupComponents(cliRequest,
+                             container);
+        }
+        return container;
+    }
+
+    @Override
+    protected void releaseContainer(final PlexusContainer container) {
+        //the container is kept for the next compilation, it's disposed by dispose()
+    }
+
+    @Override
+    protected Map<String, Object> getKieMap(final AFCliRequest cliRequest) {
+        return kieMap;
+    }
+}
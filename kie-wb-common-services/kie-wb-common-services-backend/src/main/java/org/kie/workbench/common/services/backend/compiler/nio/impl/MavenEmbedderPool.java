@@ -0,0 +1,141 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.nio.impl;
+
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.kie.workbench.common.services.backend.util.SystemPropertyUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Pool of warm MavenEmbedders shared by the NIO compilers. Idle embedders are kept per workspace, so repeated
+ * compilations of the same project reuse the container created for it, and the least recently used ones are disposed
+ * when more than POOL_SIZE_PROPERTY_NAME embedders are idle.
+ * <p>
+ * Setting POOL_SIZE_PROPERTY_NAME to 0 disposes each embedder after its compilation, as a new ClassWorld and
+ * container were created for every compilation before the pool was introduced.
+ * <p>
+ * The pool is owned by whoever creates the compilers, e.g. the MavenCompilerFactory, which disposes the idle
+ * embedders with clear when its compilers are dropped.
+ */
+public class MavenEmbedderPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenEmbedderPool.class);
+
+    public static final String POOL_SIZE_PROPERTY_NAME = "org.kie.compiler.embedder.pool.size";
+
+    public static final int DEFAULT_POOL_SIZE = 4;
+
+    private final int maxIdle;
+
+    private final LinkedList<MavenEmbedder> idle = new LinkedList<>();
+
+    private final AtomicLong warmAcquisitions = new AtomicLong();
+
+    private final AtomicLong coldAcquisitions = new AtomicLong();
+
+    public MavenEmbedderPool() {
+        this(SystemPropertyUtils.readIntProperty(POOL_SIZE_PROPERTY_NAME,
+                                                 DEFAULT_POOL_SIZE));
+    }
+
+    /**
+     * @param maxIdle the maximum number of idle embedders, 0 to dispose each embedder after its compilation.
+     */
+    public MavenEmbedderPool(final int maxIdle) {
+        this.maxIdle = maxIdle;
+    }
+
+    /**
+     * @param workspace the multi module project directory of the compilation.
+     * @return an idle embedder already used for the workspace, or a new one if there is none. The embedder must be
+     * given back with release once the compilation is finished.
+     */
+    public synchronized MavenEmbedder acquire(final String workspace) {
+        final Iterator<MavenEmbedder> iterator = idle.descendingIterator();
+        while (iterator.hasNext()) {
+            final MavenEmbedder embedder = iterator.next();
+            if (embedder.getWorkspace().equals(workspace)) {
+                iterator.remove();
+                warmAcquisitions.incrementAndGet();
+                return embedder;
+            }
+        }
+        coldAcquisitions.incrementAndGet();
+        return new MavenEmbedder(workspace);
+    }
+
+    /**
+     * Gives back an embedder once its compilation is finished.
+     * @param embedder the embedder.
+     * @param reusable false if the embedder must be disposed, because its compilation threw an exception.
+     */
+    public void release(final MavenEmbedder embedder,
+                        final boolean reusable) {
+        MavenEmbedder evicted = null;
+        synchronized (this) {
+            if (reusable && maxIdle > 0 && embedder.isWarm()) {
+                idle.addLast(embedder);
+                if (idle.size() > maxIdle) {
+                    evicted = idle.removeFirst();
+                }
+            } else {
+                evicted = embedder;
+            }
+        }
+        if (evicted != null) {
+            dispose(evicted);
+        }
+    }
+
+    public synchronized int getIdleEmbedders() {
+        return idle.size();
+    }
+
+    /**
+     * @return the number of compilations served by an embedder already used for the same workspace.
+     */
+    public long getWarmAcquisitions() {
+        return warmAcquisitions.get();
+    }
+
+    /**
+     * @return the number of compilations that needed a new embedder.
+     */
+    public long getColdAcquisitions() {
+        return coldAcquisitions.get();
+    }
+
+    /**
+     * Disposes the idle embedders.
+     */
+    public synchronized void clear() {
+        idle.forEach(this::dispose);
+        idle.clear();
+    }
+
+    private void dispose(final MavenEmbedder embedder) {
+        try {
+            embedder.dispose();
+        } catch (Exception e) {
+            logger.warn("Unable to dispose the Maven embedder of workspace " + embedder.getWorkspace(),
+                        e);
+        }
+    }
+}
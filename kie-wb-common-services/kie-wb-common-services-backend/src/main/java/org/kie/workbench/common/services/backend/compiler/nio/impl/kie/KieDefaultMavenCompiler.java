@@ -21,6 +21,7 @@ import org.kie.workbench.common.services.backend.compiler.KieCompilationResponse
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.nio.KieMavenCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.impl.BaseMavenCompiler;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.MavenEmbedderPool;
 
 /**
  * Run maven on Kie projects with https://maven.apache.org/ref/3.3.9/maven-embedder/xref/index.html
@@ -28,6 +29,13 @@ import org.kie.workbench.common.services.backend.compiler.nio.impl.BaseMavenComp
  */
 public class KieDefaultMavenCompiler extends BaseMavenCompiler<KieCompilationResponse> implements KieMavenCompiler {
 
+    public KieDefaultMavenCompiler() {
+    }
+
+    public KieDefaultMavenCompiler(final MavenEmbedderPool embedderPool) {
+        super(embedderPool);
+    }
+
     @Override
     public KieCompilationResponse buildDefaultCompilationResponse(final Boolean value) {
         return new DefaultKieCompilationResponse(value);
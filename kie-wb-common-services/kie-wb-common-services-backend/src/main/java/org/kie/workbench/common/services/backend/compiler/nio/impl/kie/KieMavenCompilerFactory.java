@@ -20,10 +20,12 @@ import java.util.concurrent.ConcurrentHashMap;
 
 import org.kie.workbench.common.services.backend.compiler.configuration.Decorator;
 import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
+import org.kie.workbench.common.services.backend.compiler.impl.JGitWorktreeCache;
 import org.kie.workbench.common.services.backend.compiler.nio.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.JGITCompilerBeforeDecorator;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.OutputLogAfterDecorator;
 import org.kie.workbench.common.services.backend.compiler.nio.decorators.KieAfterDecorator;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.MavenEmbedderPool;
 
 /***
  * Factory to create compilers with correct order of decorators to build Kie Projects
@@ -33,6 +35,16 @@ public class KieMavenCompilerFactory {
 
     private static Map<String, AFCompiler> compilers = new ConcurrentHashMap<>();
 
+    /**
+     * Warm Maven embedders shared by the compilers of the factory, disposed when the compilers are deleted or cleared
+     */
+    private static final MavenEmbedderPool embedderPool = new MavenEmbedderPool();
+
+    /**
+     * Working trees of the git repositories compiled by the factory, deleted when the compilers are deleted or cleared
+     */
+    private static final JGitWorktreeCache worktreeCache = new JGitWorktreeCache();
+
     private KieMavenCompilerFactory() {
     }
 
@@ -52,39 +64,43 @@ public class KieMavenCompilerFactory {
         AFCompiler compiler;
         switch (decorator) {
             case NONE:
-                compiler = new KieDefaultMavenCompiler();
+                compiler = new KieDefaultMavenCompiler(embedderPool);
                 break;
 
             case KIE_AFTER:
-                compiler = new KieAfterDecorator(new KieDefaultMavenCompiler());
+                compiler = new KieAfterDecorator(new KieDefaultMavenCompiler(embedderPool));
                 break;
 
             case KIE_AND_LOG_AFTER:
-                compiler = new KieAfterDecorator(new OutputLogAfterDecorator(new KieDefaultMavenCompiler()));
+                compiler = new KieAfterDecorator(new OutputLogAfterDecorator(new KieDefaultMavenCompiler(embedderPool)));
                 break;
 
             case JGIT_BEFORE:
-                compiler = new JGITCompilerBeforeDecorator(new KieDefaultMavenCompiler());
+                compiler = new JGITCompilerBeforeDecorator(new KieDefaultMavenCompiler(embedderPool),
+                                                           worktreeCache);
                 break;
 
             case JGIT_BEFORE_AND_LOG_AFTER:
-                compiler = new JGITCompilerBeforeDecorator(new OutputLogAfterDecorator(new KieDefaultMavenCompiler()));
+                compiler = new JGITCompilerBeforeDecorator(new OutputLogAfterDecorator(new KieDefaultMavenCompiler(embedderPool)),
+                                                           worktreeCache);
                 break;
 
             case JGIT_BEFORE_AND_KIE_AFTER:
-                compiler = new JGITCompilerBeforeDecorator(new KieAfterDecorator(new KieDefaultMavenCompiler()));
+                compiler = new JGITCompilerBeforeDecorator(new KieAfterDecorator(new KieDefaultMavenCompiler(embedderPool)),
+                                                           worktreeCache);
                 break;
 
             case LOG_OUTPUT_AFTER:
-                compiler = new OutputLogAfterDecorator(new KieDefaultMavenCompiler());
+                compiler = new OutputLogAfterDecorator(new KieDefaultMavenCompiler(embedderPool));
                 break;
 
             case JGIT_BEFORE_AND_KIE_AND_LOG_AFTER:
-                compiler = new JGITCompilerBeforeDecorator(new KieAfterDecorator(new OutputLogAfterDecorator(new KieDefaultMavenCompiler())));
+                compiler = new JGITCompilerBeforeDecorator(new KieAfterDecorator(new OutputLogAfterDecorator(new KieDefaultMavenCompiler(embedderPool))),
+                                                           worktreeCache);
                 break;
 
             default:
-                compiler = new KieDefaultMavenCompiler();
+                compiler = new KieDefaultMavenCompiler(embedderPool);
         }
         compilers.put(Decorator.NONE.name(),
                       compiler);
@@ -96,6 +112,8 @@ public class KieMavenCompilerFactory {
      */
     public static void deleteCompilers() {
         compilers = new ConcurrentHashMap<>();
+        embedderPool.clear();
+        worktreeCache.clear();
     }
 
     /**
@@ -103,5 +121,7 @@ public class KieMavenCompilerFactory {
      */
     public static void clearCompilers() {
         compilers.clear();
+        embedderPool.clear();
+        worktreeCache.clear();
     }
 }
@@ -24,6 +24,7 @@ import org.guvnor.common.services.backend.exceptions.ExceptionUtilities;
 import org.guvnor.common.services.backend.util.CommentedOptionFactory;
 import org.guvnor.common.services.project.backend.server.ProjectResourcePathResolver;
 import org.guvnor.common.services.project.backend.server.ResourceResolver;
+import org.guvnor.common.services.project.backend.server.utils.POMContentHandler;
 import org.guvnor.common.services.project.model.POM;
 import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.project.service.POMService;
@@ -43,6 +44,8 @@ public class KieResourceResolver
         extends ResourceResolver<KieProject> {
 
     private KModuleService kModuleService;
+    private KieResourceResolverCache cache;
+    private final POMContentHandler pomContentHandler = new POMContentHandler();
 
     public KieResourceResolver() {
 
@@ -55,7 +58,8 @@ public class KieResourceResolver
                                 final CommentedOptionFactory commentedOptionFactory,
                                 final BackwardCompatibleUtil backward,
                                 final KModuleService kModuleService,
-                                final Instance<ProjectResourcePathResolver> resourcePathResolversInstance ) {
+                                final Instance<ProjectResourcePathResolver> resourcePathResolversInstance,
+                                final KieResourceResolverCache cache ) {
         super( ioService,
                pomService,
                configurationService,
@@ -63,6 +67,7 @@ public class KieResourceResolver
                backward,
                resourcePathResolversInstance );
         this.kModuleService = kModuleService;
+        this.cache = cache;
     }
 
     @Override
@@ -73,50 +78,65 @@ public class KieResourceResolver
                 return null;
             }
 
-            //Check if resource is the project root
-            org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
-
-            //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
-            if ( Files.isRegularFile( path ) ) {
-                path = path.getParent();
-            }
-            while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
-                if ( hasPom( path ) && hasKModule( path ) ) {
-                    return makeProject( path );
-                }
-                path = path.getParent();
-            }
-            if ( path.getNameCount() == 0 ) {
-                return null;
-            }
-            path = path.getParent();
-            if ( path.getNameCount() == 0 || path == null ) {
-                return null;
-            }
-            if ( !hasPom( path ) ) {
+            final org.uberfire.java.nio.file.Path projectRoot = cache.resolveProjectRoot( getFolder( resource ),
+                                                                                          this::findProjectRoot );
+            if ( projectRoot == null ) {
                 return null;
             }
-            if ( !hasKModule( path ) ) {
-                return null;
-            }
-            return makeProject( path );
+            return makeProject( projectRoot );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    private org.uberfire.java.nio.file.Path findProjectRoot( final org.uberfire.java.nio.file.Path folder ) {
+        org.uberfire.java.nio.file.Path path = folder;
+
+        //A project root is the folder containing the pom.xml file. This will be the parent of the "src" folder
+        while ( path.getNameCount() > 0 && !path.getFileName().toString().equals( SOURCE_FILENAME ) ) {
+            if ( hasPom( path ) && hasKModule( path ) ) {
+                return path;
+            }
+            path = path.getParent();
+        }
+        if ( path.getNameCount() == 0 ) {
+            return null;
+        }
+        path = path.getParent();
+        if ( path.getNameCount() == 0 || path == null ) {
+            return null;
+        }
+        if ( !hasPom( path ) ) {
+            return null;
+        }
+        if ( !hasKModule( path ) ) {
+            return null;
+        }
+        return path;
+    }
+
     @Override
     protected KieProject makeProject( final org.uberfire.java.nio.file.Path nioProjectRootPath ) {
         final KieProject project = simpleProjectInstance( nioProjectRootPath );
-        final POM pom = pomService.load( project.getPomXMLPath() );
-        project.setPom( pom );
+        //POMs are mutable, so only the pom.xml content is cached and every Project gets its own POM
+        final String pomXml = cache.resolvePomXml( nioProjectRootPath,
+                                                   root -> ioService.readAllString( root.resolve( POM_PATH ) ) );
+        project.setPom( toPom( pomXml ) );
 
         addSecurityGroups( project );
 
         return project;
     }
 
+    private POM toPom( final String pomXml ) {
+        try {
+            return pomContentHandler.toModel( pomXml );
+        } catch ( Exception e ) {
+            throw ExceptionUtilities.handleException( e );
+        }
+    }
+
     @Override
     public org.guvnor.common.services.project.model.Package resolvePackage( final Path resource ) {
         try {
@@ -136,14 +156,25 @@ public class KieResourceResolver
                 return null;
             }
 
-            return makePackage( project,
-                                resource );
+            //Files resolve to the package of their folder
+            final org.uberfire.java.nio.file.Path folder = getFolder( resource );
+            return cache.resolvePackage( folder,
+                                         () -> makePackage( project,
+                                                            Paths.convert( folder ) ) );
 
         } catch ( Exception e ) {
             throw ExceptionUtilities.handleException( e );
         }
     }
 
+    private org.uberfire.java.nio.file.Path getFolder( final Path resource ) {
+        final org.uberfire.java.nio.file.Path path = Paths.convert( resource ).normalize();
+        if ( Files.isRegularFile( path ) ) {
+            return path.getParent();
+        }
+        return path;
+    }
+
     @Override
     public KieProject simpleProjectInstance( final org.uberfire.java.nio.file.Path nioProjectRootPath ) {
         final Path projectRootPath = Paths.convert( nioProjectRootPath );
@@ -0,0 +1,125 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+
+import org.guvnor.common.services.project.model.Package;
+import org.kie.workbench.common.services.backend.util.AbstractResourceChangeCache;
+
+import static org.guvnor.common.services.project.utils.ProjectResourcePaths.*;
+import static org.kie.workbench.common.services.backend.project.KieProjectResourcePaths.*;
+
+/**
+ * Caches what KieResourceResolver resolves for each folder: the root of the Project containing the folder, the
+ * Package of the folder and the pom.xml content of each Project root. Entries are keyed by the URI of the folder,
+ * each kind of entry is an LRU cache bounded to MAX_ENTRIES.
+ * <p>
+ * The Project root of a folder only depends on where pom.xml and kmodule.xml files exist, so it is invalidated for
+ * all the folders below one of those files when it is added, removed, renamed or copied. An update of a pom.xml file
+ * only invalidates its content. Removing or renaming a folder invalidates everything below it.
+ */
+@ApplicationScoped
+public class KieResourceResolverCache extends AbstractResourceChangeCache {
+
+    private static final String KMODULE_SUFFIX = "/" + KMODULE_PATH;
+
+    static final int MAX_ENTRIES = 10000;
+
+    private final Map<String, Optional<org.uberfire.java.nio.file.Path>> projectRoots = newLRUMap(MAX_ENTRIES);
+    private final Map<String, Optional<Package>> packages = newLRUMap(MAX_ENTRIES);
+    private final Map<String, String> pomXmls = newLRUMap(MAX_ENTRIES);
+
+    public org.uberfire.java.nio.file.Path resolveProjectRoot(final org.uberfire.java.nio.file.Path folder,
+                                                              final Function<org.uberfire.java.nio.file.Path, org.uberfire.java.nio.file.Path> resolver) {
+        final Optional<org.uberfire.java.nio.file.Path> projectRoot = lookup(projectRoots,
+                                                                             uri(folder),
+                                                                             () -> Optional.ofNullable(resolver.apply(folder)));
+        return projectRoot.orElse(null);
+    }
+
+    /**
+     * @param projectRoot the root of a Project.
+     * @param loader reads the pom.xml content of the Project when it isn't cached.
+     * @return the pom.xml content. The content is immutable, unlike the POM each Project is given.
+     */
+    public String resolvePomXml(final org.uberfire.java.nio.file.Path projectRoot,
+                                final Function<org.uberfire.java.nio.file.Path, String> loader) {
+        return lookup(pomXmls,
+                      uri(projectRoot),
+                      () -> loader.apply(projectRoot));
+    }
+
+    public Package resolvePackage(final org.uberfire.java.nio.file.Path folder,
+                                  final Supplier<Package> maker) {
+        final Optional<Package> pkg = lookup(packages,
+                                             uri(folder),
+                                             () -> Optional.ofNullable(maker.get()));
+        return pkg.orElse(null);
+    }
+
+    @Override
+    protected void clear() {
+        projectRoots.clear();
+        packages.clear();
+        pomXmls.clear();
+    }
+
+    @Override
+    protected void onContentChange(final String uri) {
+        if (isPom(uri)) {
+            newGeneration();
+            pomXmls.remove(parent(uri));
+        }
+    }
+
+    @Override
+    protected void onStructureChange(final String uri) {
+        if (isPom(uri)) {
+            final String projectRoot = parent(uri);
+            pomXmls.remove(projectRoot);
+            removeBelow(projectRoots,
+                        projectRoot);
+            removeBelow(packages,
+                        projectRoot);
+        } else if (uri.endsWith(KMODULE_SUFFIX)) {
+            final String projectRoot = uri.substring(0,
+                                                     uri.length() - KMODULE_SUFFIX.length());
+            removeBelow(projectRoots,
+                        projectRoot);
+            removeBelow(packages,
+                        projectRoot);
+        } else {
+            //The resource may be a folder, or a file whose parent folder was just created or removed
+            removeBelow(projectRoots,
+                        uri);
+            removeBelow(packages,
+                        uri);
+            packages.remove(parent(uri));
+            pomXmls.remove(uri);
+        }
+    }
+
+    private static boolean isPom(final String uri) {
+        return uri.endsWith("/" + POM_PATH);
+    }
+}
@@ -15,6 +15,9 @@
  */
 package org.kie.workbench.common.services.backend.project;
 
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
@@ -22,12 +25,14 @@ import javax.inject.Named;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.kie.api.builder.KieModule;
 import org.kie.scanner.KieModuleMetaData;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
 import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
 import org.kie.workbench.common.services.shared.project.KieProject;
 
 /**
- *
+ * Provides the ClassLoader of a Project's classes. The ClassLoader of a build is shared by all callers until the
+ * Project is built again, fully or incrementally, so the Project classes are only defined once per build.
  */
 @ApplicationScoped
 public class ProjectClassLoaderHelper {
@@ -39,19 +44,53 @@ public class ProjectClassLoaderHelper {
     @Named("LRUProjectDependenciesClassLoaderCache")
     private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
 
+    //Only the ClassLoader of the latest build generation of each KieModule is kept. Replaced ClassLoaders, and those
+    //of KieModules no longer referenced by a build, can be collected once their callers release them.
+    private final Map<KieModule, ProjectClassLoader> projectClassLoaders = Collections.synchronizedMap( new WeakHashMap<>() );
+
     public ClassLoader getProjectClassLoader( KieProject project ) {
 
-        final KieModule module = buildInfoService.getBuildInfo( project ).getKieModuleIgnoringErrors();
+        final BuildInfo buildInfo = buildInfoService.getBuildInfo( project );
+        final KieModule module = buildInfo.getKieModuleIgnoringErrors();
+        //Read after getting the KieModule, as getting it may build the Project
+        final long generation = buildInfo.getBuildGeneration();
         ClassLoader dependenciesClassLoader = dependenciesClassLoaderCache.assertDependenciesClassLoader( project );
         ClassLoader projectClassLoader;
         if ( module instanceof InternalKieModule ) {
             //will always be an internal kie module
+            final ProjectClassLoader cached = projectClassLoaders.get( module );
+            if ( cached != null && cached.generation == generation && cached.dependenciesClassLoader == dependenciesClassLoader ) {
+                return cached.classLoader;
+            }
             InternalKieModule internalModule = (InternalKieModule) module;
             projectClassLoader = new MapClassLoader( internalModule.getClassesMap( true ), dependenciesClassLoader );
+            projectClassLoaders.put( module,
+                                     new ProjectClassLoader( generation,
+                                                             dependenciesClassLoader,
+                                                             projectClassLoader ) );
         } else {
             projectClassLoader = KieModuleMetaData.Factory.newKieModuleMetaData( module ).getClassLoader();
         }
         return projectClassLoader;
     }
 
-}
\ No newline at end of file
+    int getProjectClassLoadersCount() {
+        return projectClassLoaders.size();
+    }
+
+    private static class ProjectClassLoader {
+
+        private final long generation;
+        private final ClassLoader dependenciesClassLoader;
+        private final ClassLoader classLoader;
+
+        private ProjectClassLoader( final long generation,
+                                    final ClassLoader dependenciesClassLoader,
+                                    final ClassLoader classLoader ) {
+            this.generation = generation;
+            this.dependenciesClassLoader = dependenciesClassLoader;
+            this.classLoader = classLoader;
+        }
+    }
+
+}
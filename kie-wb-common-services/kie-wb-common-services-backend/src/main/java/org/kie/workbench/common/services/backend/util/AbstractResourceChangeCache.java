@@ -0,0 +1,214 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.util;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import javax.enterprise.event.Observes;
+
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceBatchChangesEvent;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+import org.uberfire.workbench.events.ResourceCopiedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceRenamedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+/**
+ * Base of the caches keyed by the URI of a resource and invalidated by the VFS resource events. Adding, removing,
+ * renaming or copying a resource is a structure change, updating it is a content change. A batch of changes that
+ * renames or copies resources invalidates everything, as it doesn't tell where the resources went.
+ * <p>
+ * Each invalidation starts a new generation. A value loaded while an invalidation happened is not cached, as it may
+ * miss the change.
+ */
+public abstract class AbstractResourceChangeCache {
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public double getHitRate() {
+        final long hits = getHits();
+        final long total = hits + getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    public void invalidateAll() {
+        newGeneration();
+        clear();
+    }
+
+    public void onResourceAdded(@Observes final ResourceAddedEvent event) {
+        structureChanged(event.getPath());
+    }
+
+    public void onResourceDeleted(@Observes final ResourceDeletedEvent event) {
+        structureChanged(event.getPath());
+    }
+
+    public void onResourceRenamed(@Observes final ResourceRenamedEvent event) {
+        structureChanged(event.getPath());
+        structureChanged(event.getDestinationPath());
+    }
+
+    public void onResourceCopied(@Observes final ResourceCopiedEvent event) {
+        structureChanged(event.getDestinationPath());
+    }
+
+    public void onResourceUpdated(@Observes final ResourceUpdatedEvent event) {
+        contentChanged(event.getPath());
+    }
+
+    public void onBatchResourceChanges(@Observes final ResourceBatchChangesEvent resourceBatchChangesEvent) {
+        for (final Map.Entry<Path, Collection<ResourceChange>> entry : resourceBatchChangesEvent.getBatch().entrySet()) {
+            for (final ResourceChange change : entry.getValue()) {
+                final ResourceChangeType type = change.getType();
+                if (type == ResourceChangeType.UPDATE) {
+                    contentChanged(entry.getKey());
+                } else if (type == ResourceChangeType.ADD || type == ResourceChangeType.DELETE) {
+                    structureChanged(entry.getKey());
+                } else {
+                    invalidateAll();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * Removes all the cached values.
+     */
+    protected abstract void clear();
+
+    /**
+     * Removes the values depending on a resource that was added, removed, renamed or copied. A new generation is
+     * already started.
+     * @param uri the normalized URI of the resource.
+     */
+    protected abstract void onStructureChange(final String uri);
+
+    /**
+     * Removes the values depending on the content of a resource that was updated. Nothing depends on the content by
+     * default, the implementations depending on it must start a new generation before removing the values.
+     * @param uri the normalized URI of the resource.
+     */
+    protected void onContentChange(final String uri) {
+    }
+
+    protected void newGeneration() {
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @param cache the cache.
+     * @param key the key of the value.
+     * @param loader loads the value when it isn't cached.
+     * @return the cached or loaded value. Null values are not cached.
+     */
+    protected <V> V lookup(final Map<String, V> cache,
+                           final String key,
+                           final Supplier<V> loader) {
+        final V cached = cache.get(key);
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        final long expectedGeneration = generation.get();
+        final V value = loader.get();
+        if (value != null && generation.get() == expectedGeneration) {
+            cache.put(key,
+                      value);
+            //An invalidation may have happened between the check and the put
+            if (generation.get() != expectedGeneration) {
+                cache.remove(key);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes the values of a folder and of everything below it.
+     */
+    protected static void removeBelow(final Map<String, ?> cache,
+                                      final String folderUri) {
+        final String prefix = folderUri + "/";
+        synchronized (cache) {
+            cache.keySet().removeIf(key -> key.equals(folderUri) || key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * @return a synchronized LRU map holding at most maxEntries values.
+     */
+    protected static <V> Map<String, V> newLRUMap(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16,
+                                                                        0.75f,
+                                                                        true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    protected static String parent(final String uri) {
+        final int index = uri.lastIndexOf('/');
+        return index > 0 ? uri.substring(0,
+                                         index) : uri;
+    }
+
+    protected static String uri(final org.uberfire.java.nio.file.Path path) {
+        return normalize(path.toUri().toString());
+    }
+
+    protected static String normalize(final String uri) {
+        return uri.endsWith("/") ? uri.substring(0,
+                                                 uri.length() - 1) : uri;
+    }
+
+    private void structureChanged(final Path path) {
+        if (path == null) {
+            return;
+        }
+        newGeneration();
+        onStructureChange(normalize(path.toURI()));
+    }
+
+    private void contentChanged(final Path path) {
+        if (path != null) {
+            onContentChange(normalize(path.toURI()));
+        }
+    }
+}
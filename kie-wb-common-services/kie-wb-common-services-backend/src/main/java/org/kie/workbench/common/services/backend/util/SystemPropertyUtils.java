@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.util;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reads the numeric system properties that tune the backend services. Wrong or negative values are logged and the
+ * default value is used instead.
+ */
+public final class SystemPropertyUtils {
+
+    private static final Logger logger = LoggerFactory.getLogger(SystemPropertyUtils.class);
+
+    private SystemPropertyUtils() {
+    }
+
+    public static int readIntProperty(final String name,
+                                      final int defaultValue) {
+        return (int) Math.min(readLongProperty(name,
+                                               defaultValue),
+                              Integer.MAX_VALUE);
+    }
+
+    public static long readLongProperty(final String name,
+                                        final long defaultValue) {
+        final String value = System.getProperty(name);
+        if (value == null) {
+            return defaultValue;
+        }
+        try {
+            final long result = Long.parseLong(value);
+            if (result < 0) {
+                logger.error(name + " property must not be negative, by default value will be used: " + defaultValue);
+                return defaultValue;
+            }
+            return result;
+        } catch (NumberFormatException e) {
+            logger.error(name + " property was set to a wrong value, by default value will be used: " + defaultValue,
+                         e);
+            return defaultValue;
+        }
+    }
+}
@@ -0,0 +1,314 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.kie.api.KieServices;
+import org.kie.api.builder.KieFileSystem;
+import org.kie.api.builder.KieModule;
+import org.kie.api.builder.KieRepository;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProvider;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListLoader;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListSaver;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BuildArtifactStoreTest
+        extends BuilderTestBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuildArtifactStoreTest.class);
+
+    private static final GAV PROJECT_GAV = new GAV("org.guvnor",
+                                                   "project",
+                                                   "1.0");
+
+    private static final byte[] KJAR = new byte[]{1, 2, 3};
+
+    private static final int BENCHMARK_ITERATIONS = 5;
+
+    @Rule
+    public TemporaryFolder storeFolder = new TemporaryFolder();
+
+    @Rule
+    public TemporaryFolder dependenciesFolder = new TemporaryFolder();
+
+    @Mock
+    private PackageNameSearchProvider packageNameSearchProvider;
+
+    private IOService ioService;
+    private KieProjectService projectService;
+    private ProjectImportsService importsService;
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+    private LRUPomModelCache pomModelCache;
+
+    private BuildArtifactStore artifactStore;
+
+    @Before
+    public void setUp() throws Exception {
+        PackageNameSearchProvider.PackageNameSearch nameSearch = mock(PackageNameSearchProvider.PackageNameSearch.class);
+        when(nameSearch.search()).thenReturn(new HashSet<String>());
+        when(packageNameSearchProvider.newTopLevelPackageNamesSearch(any(POM.class))).thenReturn(nameSearch);
+        super.startWeld();
+        setUpGuvnorM2Repo();
+
+        ioService = getReference(IOService.class);
+        projectService = getReference(KieProjectService.class);
+        importsService = getReference(ProjectImportsService.class);
+        dependenciesClassLoaderCache = getReference(LRUProjectDependenciesClassLoaderCache.class);
+        pomModelCache = getReference(LRUPomModelCache.class);
+
+        artifactStore = new BuildArtifactStore(storeFolder.getRoot().getAbsolutePath(),
+                                               Runnable::run);
+    }
+
+    @After
+    public void cleanUp() {
+        super.stopWeld();
+    }
+
+    @Test
+    public void testDisabledWithoutDirectory() throws Exception {
+        final BuildArtifactStore disabledStore = new BuildArtifactStore(null,
+                                                                        Runnable::run);
+        assertFalse(disabledStore.isEnabled());
+        assertNull(disabledStore.restore(PROJECT_GAV,
+                                         Collections.emptyMap()).get());
+    }
+
+    @Test
+    public void testKeyChangesWithSources() throws Exception {
+        final KieFileSystem kieFileSystem = KieServices.Factory.get().newKieFileSystem();
+        kieFileSystem.write("src/main/resources/rule.drl",
+                            "rule A when then end");
+        final String key1 = artifactStore.getKey(PROJECT_GAV,
+                                                 BuildArtifactStore.getSources(kieFileSystem));
+
+        kieFileSystem.write("src/main/resources/rule.drl",
+                            "rule B when then end");
+        final String key2 = artifactStore.getKey(PROJECT_GAV,
+                                                 BuildArtifactStore.getSources(kieFileSystem));
+
+        assertNotNull(key1);
+        assertNotNull(key2);
+        assertNotEquals(key1,
+                        key2);
+    }
+
+    @Test
+    public void testChangedDependencyIsNotRestored() throws Exception {
+        final File dependency = dependenciesFolder.newFile("dependency-1.0.jar");
+        Files.write(dependency.toPath(),
+                    new byte[]{1});
+        final Map<String, byte[]> sources = Collections.singletonMap("src/main/resources/rule.drl",
+                                                                     "rule A when then end".getBytes());
+
+        artifactStore.store(PROJECT_GAV,
+                            sources,
+                            KJAR,
+                            new URLClassLoader(new URL[]{dependency.toURI().toURL()})).get();
+        assertArrayEquals(KJAR,
+                          artifactStore.restore(PROJECT_GAV,
+                                                sources).get());
+
+        //The jar of the same version is replaced in the local repository
+        Files.write(dependency.toPath(),
+                    new byte[]{1, 2});
+        assertNull(artifactStore.restore(PROJECT_GAV,
+                                         sources).get());
+    }
+
+    @Test
+    public void testSnapshotDependencyIsNotStored() throws Exception {
+        final File dependency = dependenciesFolder.newFile("dependency-1.0-SNAPSHOT.jar");
+        final Map<String, byte[]> sources = Collections.singletonMap("src/main/resources/rule.drl",
+                                                                     "rule A when then end".getBytes());
+
+        artifactStore.store(PROJECT_GAV,
+                            sources,
+                            KJAR,
+                            new URLClassLoader(new URL[]{dependency.toURI().toURL()})).get();
+
+        assertNull(artifactStore.restore(PROJECT_GAV,
+                                         sources).get());
+    }
+
+    @Test
+    public void testRestoreDoesNotHoldTheBuilderLock() throws Exception {
+        final Project project = resolveProject("/GuvnorM2RepoDependencyExample1");
+        assertTrue(newBuilder(project).build().getErrorMessages().isEmpty());
+
+        //The store is read by tasks that are only run when the test decides to
+        final List<Runnable> tasks = new ArrayList<>();
+        final Builder builder = newBuilder(project,
+                                           new BuildArtifactStore(storeFolder.getRoot().getAbsolutePath(),
+                                                                  tasks::add));
+        assertEquals(1,
+                     tasks.size());
+
+        //A full build doesn't wait for the pending read, and supersedes it
+        assertTrue(builder.build().getErrorMessages().isEmpty());
+        tasks.forEach(Runnable::run);
+
+        assertTrue(builder.isBuilt());
+        assertFalse(builder.isRestored());
+    }
+
+    @Test
+    public void testRestoredKieModuleIsNotAddedToTheRepository() throws Exception {
+        final Project project = resolveProject("/GuvnorM2RepoDependencyExample1");
+        final Builder coldBuilder = newBuilder(project);
+        assertTrue(coldBuilder.build().getErrorMessages().isEmpty());
+        final KieModule builtKieModule = coldBuilder.getKieModule();
+
+        final Builder warmBuilder = newBuilder(project);
+        assertTrue(warmBuilder.isRestored());
+
+        final KieRepository repository = KieServices.Factory.get().getRepository();
+        assertNotSame(warmBuilder.getKieModule(),
+                      repository.getKieModule(builtKieModule.getReleaseId()));
+    }
+
+    @Test
+    public void testColdAndWarmStartupBenchmark() throws Exception {
+        final Project project = resolveProject("/GuvnorM2RepoDependencyExample1");
+
+        long coldNanos = 0;
+        long warmNanos = 0;
+        //The first iteration warms up the JVM and is not measured
+        for (int i = 0; i <= BENCHMARK_ITERATIONS; i++) {
+            final BuildArtifactStore store = new BuildArtifactStore(storeFolder.newFolder().getAbsolutePath(),
+                                                                    Runnable::run);
+
+            //Cold: nothing in the store, the first read performs a full build
+            final long coldStart = System.nanoTime();
+            final Builder coldBuilder = newBuilder(project,
+                                                   store);
+            assertNotNull(coldBuilder.getKieModule());
+            final long cold = System.nanoTime() - coldStart;
+            assertFalse(coldBuilder.isRestored());
+
+            //Warm: a new Builder, as after a restart, restores the stored build
+            final long warmStart = System.nanoTime();
+            final Builder warmBuilder = newBuilder(project,
+                                                   store);
+            assertNotNull(warmBuilder.getKieModule());
+            final long warm = System.nanoTime() - warmStart;
+            assertTrue(warmBuilder.isRestored());
+            assertNotNull(warmBuilder.getKieContainer());
+
+            if (i > 0) {
+                coldNanos += cold;
+                warmNanos += warm;
+            }
+        }
+
+        logger.info("Startup over {} iterations: cold {}ms, warm {}ms on average",
+                    BENCHMARK_ITERATIONS,
+                    TimeUnit.NANOSECONDS.toMillis(coldNanos / BENCHMARK_ITERATIONS),
+                    TimeUnit.NANOSECONDS.toMillis(warmNanos / BENCHMARK_ITERATIONS));
+    }
+
+    @Test
+    public void testChangedSourcesAreNotRestored() throws Exception {
+        final Project project = resolveProject("/GuvnorM2RepoDependencyExample1");
+        assertTrue(newBuilder(project).build().getErrorMessages().isEmpty());
+
+        final Builder changedBuilder = new Builder(project,
+                                                   ioService,
+                                                   projectService,
+                                                   importsService,
+                                                   new ArrayList<>(),
+                                                   dependenciesClassLoaderCache,
+                                                   pomModelCache,
+                                                   newPackageNameWhiteListService(),
+                                                   o -> true);
+        changedBuilder.getKieFileSystem().write("src/main/resources/extra.drl",
+                                                KieServices.Factory.get().getResources().newInputStreamResource(new ByteArrayInputStream("rule Extra when then end".getBytes())));
+        changedBuilder.setArtifactStore(artifactStore);
+
+        assertFalse(changedBuilder.isRestored());
+        assertFalse(changedBuilder.isBuilt());
+    }
+
+    private Project resolveProject(final String resource) throws Exception {
+        final URL url = this.getClass().getResource(resource);
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+        return projectService.resolveProject(Paths.convert(path));
+    }
+
+    private Builder newBuilder(final Project project) {
+        return newBuilder(project,
+                          artifactStore);
+    }
+
+    private Builder newBuilder(final Project project,
+                               final BuildArtifactStore artifactStore) {
+        final Builder builder = new Builder(project,
+                                            ioService,
+                                            projectService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            newPackageNameWhiteListService(),
+                                            o -> true);
+        builder.setArtifactStore(artifactStore);
+        return builder;
+    }
+
+    private PackageNameWhiteListServiceImpl newPackageNameWhiteListService() {
+        return new PackageNameWhiteListServiceImpl(ioService,
+                                                   mock(KieProjectService.class),
+                                                   new PackageNameWhiteListLoader(packageNameSearchProvider,
+                                                                                  ioService),
+                                                   mock(PackageNameWhiteListSaver.class));
+    }
+}
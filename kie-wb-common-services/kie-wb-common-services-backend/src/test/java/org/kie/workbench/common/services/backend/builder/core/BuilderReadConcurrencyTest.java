@@ -0,0 +1,220 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.guvnor.common.services.project.model.POM;
+import org.guvnor.common.services.project.model.Project;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameSearchProvider;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListLoader;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListSaver;
+import org.kie.workbench.common.services.backend.whitelist.PackageNameWhiteListServiceImpl;
+import org.kie.workbench.common.services.shared.project.KieProjectService;
+import org.kie.workbench.common.services.shared.project.ProjectImportsService;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Load test checking read operations on a Builder are not blocked by a full build in progress.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BuilderReadConcurrencyTest
+        extends BuilderTestBase {
+
+    private static final Logger logger = LoggerFactory.getLogger(BuilderReadConcurrencyTest.class);
+
+    private static final int READER_THREADS = 8;
+
+    private static final int FULL_BUILDS = 5;
+
+    @Mock
+    private PackageNameSearchProvider packageNameSearchProvider;
+
+    private IOService ioService;
+    private KieProjectService projectService;
+    private ProjectImportsService importsService;
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+    private LRUPomModelCache pomModelCache;
+
+    private ExecutorService executor;
+
+    @Before
+    public void setUp() throws Exception {
+        PackageNameSearchProvider.PackageNameSearch nameSearch = mock(PackageNameSearchProvider.PackageNameSearch.class);
+        when(nameSearch.search()).thenReturn(new HashSet<String>());
+        when(packageNameSearchProvider.newTopLevelPackageNamesSearch(any(POM.class))).thenReturn(nameSearch);
+        super.startWeld();
+        setUpGuvnorM2Repo();
+
+        ioService = getReference(IOService.class);
+        projectService = getReference(KieProjectService.class);
+        importsService = getReference(ProjectImportsService.class);
+        dependenciesClassLoaderCache = getReference(LRUProjectDependenciesClassLoaderCache.class);
+        pomModelCache = getReference(LRUPomModelCache.class);
+
+        executor = Executors.newFixedThreadPool(READER_THREADS + 1);
+    }
+
+    @After
+    public void cleanUp() {
+        executor.shutdownNow();
+        super.stopWeld();
+    }
+
+    @Test
+    public void testReadsAreNotBlockedByFullBuild() throws Exception {
+        final URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Project project = projectService.resolveProject(Paths.convert(path));
+
+        final Builder builder = new Builder(project,
+                                            ioService,
+                                            projectService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            new PackageNameWhiteListServiceImpl(ioService,
+                                                                                mock(KieProjectService.class),
+                                                                                new PackageNameWhiteListLoader(packageNameSearchProvider,
+                                                                                                               ioService),
+                                                                                mock(PackageNameWhiteListSaver.class)),
+                                            o -> true);
+
+        //Initial full build; readers then see this snapshot while subsequent full builds are in progress
+        builder.build();
+        assertTrue(builder.isBuilt());
+
+        final AtomicBoolean building = new AtomicBoolean(true);
+        final AtomicLong shortestFullBuildNanos = new AtomicLong(Long.MAX_VALUE);
+        final CountDownLatch readersStarted = new CountDownLatch(READER_THREADS);
+        final CountDownLatch readersFinished = new CountDownLatch(READER_THREADS);
+        final LatencyHistogram latencies = new LatencyHistogram();
+        final List<Throwable> failures = Collections.synchronizedList(new ArrayList<>());
+
+        for (int i = 0; i < READER_THREADS; i++) {
+            executor.execute(() -> {
+                readersStarted.countDown();
+                try {
+                    while (building.get()) {
+                        final long start = System.nanoTime();
+                        assertTrue(builder.isBuilt());
+                        assertNotNull(builder.getKieModule());
+                        latencies.record(System.nanoTime() - start);
+                    }
+                } catch (Throwable t) {
+                    failures.add(t);
+                } finally {
+                    readersFinished.countDown();
+                }
+            });
+        }
+
+        readersStarted.await();
+        try {
+            for (int i = 0; i < FULL_BUILDS; i++) {
+                final long start = System.nanoTime();
+                builder.build();
+                shortestFullBuildNanos.accumulateAndGet(System.nanoTime() - start,
+                                                        Math::min);
+            }
+        } finally {
+            building.set(false);
+        }
+        assertTrue(readersFinished.await(30,
+                                         TimeUnit.SECONDS));
+
+        assertTrue(failures.toString(),
+                   failures.isEmpty());
+        assertTrue(latencies.getCount() > 0);
+
+        final long p99 = latencies.getPercentileUpperBound(0.99);
+
+        logger.info("Builder reads during full build: {} samples, p99 below {}us, shortest full build {}ms",
+                    latencies.getCount(),
+                    TimeUnit.NANOSECONDS.toMicros(p99),
+                    TimeUnit.NANOSECONDS.toMillis(shortestFullBuildNanos.get()));
+
+        //If readers were serialized behind the full build p99 would be of the order of a full build
+        assertTrue(p99 < shortestFullBuildNanos.get());
+    }
+
+    /**
+     * Fixed-size histogram of latencies, with a bucket per power of two of nanoseconds, so readers spinning during the
+     * full builds don't accumulate samples in memory.
+     */
+    private static class LatencyHistogram {
+
+        //bucket i counts the latencies in [2^(i-1), 2^i) nanoseconds
+        private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE);
+
+        void record(final long nanos) {
+            buckets.incrementAndGet(Long.SIZE - Long.numberOfLeadingZeros(Math.max(0,
+                                                                                   nanos)));
+        }
+
+        long getCount() {
+            long count = 0;
+            for (int i = 0; i < buckets.length(); i++) {
+                count += buckets.get(i);
+            }
+            return count;
+        }
+
+        /**
+         * @return the upper bound, in nanoseconds, of the bucket holding the given percentile.
+         */
+        long getPercentileUpperBound(final double percentile) {
+            final long target = (long) Math.ceil(getCount() * percentile);
+            long count = 0;
+            for (int i = 0; i < buckets.length() - 1; i++) {
+                count += buckets.get(i);
+                if (count >= target) {
+                    return 1L << i;
+                }
+            }
+            return Long.MAX_VALUE;
+        }
+    }
+}
@@ -345,6 +345,42 @@ public class BuilderTest
                                new ArrayList<String>() );
     }
 
+    @Test
+    public void testBuildsStartNewGenerations() throws Exception {
+        final URL url = this.getClass().getResource( "/GuvnorM2RepoDependencyExample1" );
+        final SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        final org.uberfire.java.nio.file.Path path = p.getPath( url.toURI() );
+
+        final Project project = projectService.resolveProject( Paths.convert( path ) );
+
+        final Builder builder = new Builder( project,
+                                             ioService,
+                                             projectService,
+                                             importsService,
+                                             new ArrayList<>(),
+                                             dependenciesClassLoaderCache,
+                                             pomModelCache,
+                                             getPackageNameWhiteListService(),
+                                             alwaysTrue );
+
+        final long initialGeneration = builder.getGeneration();
+        assertEquals( 0,
+                      builder.getRetainedSize() );
+        builder.build();
+        final long buildGeneration = builder.getGeneration();
+        assertNotEquals( initialGeneration,
+                         buildGeneration );
+        final long builtSize = builder.getRetainedSize();
+        assertTrue( builtSize > 0 );
+
+        builder.updateResource( p.getPath( this.getClass().getResource( "/GuvnorM2RepoDependencyExample1/src/main/resources/rule2.drl" ).toURI() ) );
+        assertNotEquals( buildGeneration,
+                         builder.getGeneration() );
+        //The size is adjusted by the change of the sources, which is none as the same content is written again
+        assertEquals( builtSize,
+                      builder.getRetainedSize() );
+    }
+
     private PackageNameWhiteListService getPackageNameWhiteListService() {
         return new PackageNameWhiteListServiceImpl( ioService,
                                                     mock( KieProjectService.class ),
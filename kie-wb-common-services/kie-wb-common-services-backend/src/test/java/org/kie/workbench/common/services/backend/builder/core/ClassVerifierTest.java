@@ -17,14 +17,28 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.io.File;
+import java.io.FileOutputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
@@ -33,6 +47,9 @@ import org.mockito.runners.MockitoJUnitRunner;
 
 @RunWith(MockitoJUnitRunner.class)
 public class ClassVerifierTest {
+
+	@Rule
+	public TemporaryFolder temporaryFolder = new TemporaryFolder();
 	
 	@Mock
 	private KieModuleMetaData kieModuleMetaData;
@@ -60,5 +77,56 @@ public class ClassVerifierTest {
 		assertEquals("Verification of class org.kie.workbench.common.services.backend.builder.SomeClass failed and will not be available for authoring.\n"
 				+ "Underlying system error is: The access to the class is not allowed. Please check the necessary external dependencies for this project are configured correctly.",
 				messages.get(0).getText());
-	}		
-}
\ No newline at end of file
+	}
+
+	@Test
+	public void testVerifyClassFromDependencyIsCached() throws Exception {
+		final File jar = temporaryFolder.newFile("dependency.jar");
+		try (JarOutputStream jos = new JarOutputStream(new FileOutputStream(jar))) {
+			jos.putNextEntry(new ZipEntry("org/kie/workbench/common/services/backend/builder/SomeClass.class"));
+			jos.write(new byte[]{0});
+			jos.closeEntry();
+		}
+		final URLClassLoader dependenciesClassLoader = new URLClassLoader(new URL[]{jar.toURI().toURL()}, null);
+		final URLClassLoader projectClassLoader = new URLClassLoader(new URL[0], dependenciesClassLoader);
+		when(kieModuleMetaData.getClassLoader()).thenReturn(projectClassLoader);
+
+		WhiteList whiteList = new WhiteList();
+		whiteList.add("org.kie.workbench.common.services.backend.builder");
+
+		final DependencyVerificationCache cache = new DependencyVerificationCache(10);
+		List<BuildMessage> messages1 = new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList);
+		List<BuildMessage> messages2 = new ClassVerifier(kieModuleMetaData, typeSourceResolver, cache).verify(whiteList);
+
+		assertEquals(1, messages1.size());
+		assertEquals(1, messages2.size());
+		assertEquals(messages1.get(0).getText(), messages2.get(0).getText());
+		//The second verification is served from the cache
+		verify(kieModuleMetaData, times(1)).getClass("org.kie.workbench.common.services.backend.builder", "SomeClass");
+	}
+
+	@Test
+	public void testVerifyClassesOnExecutorKeepsClassOrder() throws Exception {
+		final List<String> classNames = Arrays.asList("SomeClass", "OtherClass", "AnotherClass", "LastClass");
+		when(kieModuleMetaData.getClasses("org.kie.workbench.common.services.backend.builder")).thenReturn(classNames);
+		for (String className : classNames) {
+			//SomeClass is already stubbed to throw, so it can't be stubbed again with when
+			doThrow(new IllegalAccessError("The access to " + className + " is not allowed")).when(kieModuleMetaData).getClass("org.kie.workbench.common.services.backend.builder", className);
+		}
+
+		WhiteList whiteList = new WhiteList();
+		whiteList.add("org.kie.workbench.common.services.backend.builder");
+
+		final ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			List<BuildMessage> messages = new ClassVerifier(kieModuleMetaData, typeSourceResolver, new DependencyVerificationCache(10), executor, 2).verify(whiteList);
+
+			assertEquals(classNames.size(), messages.size());
+			for (int i = 0; i < classNames.size(); i++) {
+				assertTrue(messages.get(i).getText().contains("The access to " + classNames.get(i) + " is not allowed"));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
@@ -0,0 +1,149 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.LongConsumer;
+
+import org.guvnor.common.services.project.model.Project;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class LRUBuilderCacheTest {
+
+    private static final long KB = 1024;
+    private static final long MB = 1024 * KB;
+
+    private LRUBuilderCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new LRUBuilderCache();
+        cache.setMaxRetainedSize(250 * MB);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedBuildersAreEvictedFirst() {
+        final Project large1 = addBuilder(100 * MB);
+        final Project large2 = addBuilder(100 * MB);
+        final Project small = addBuilder(KB);
+
+        //large1 becomes the most recently used
+        cache.getBuilder(large1);
+        final Project large3 = addBuilder(100 * MB);
+
+        assertNull(cache.getBuilder(large2));
+        assertNotNull(cache.getBuilder(large1));
+        assertNotNull(cache.getBuilder(small));
+        assertNotNull(cache.getBuilder(large3));
+        assertEquals(200 * MB + KB,
+                     cache.getTotalRetainedSize());
+    }
+
+    @Test
+    public void testRequestedBuilderIsNeverEvicted() {
+        final Project small = addBuilder(KB);
+        final Project huge = addBuilder(300 * MB);
+
+        assertNull(cache.getBuilder(small));
+        assertNotNull(cache.getBuilder(huge));
+        assertEquals(300 * MB,
+                     cache.getTotalRetainedSize());
+    }
+
+    @Test
+    public void testBuildersThatGrowAreEvictedOnNextRequest() {
+        final Project project1 = addBuilder(KB);
+        final Builder builder1 = cache.getBuilder(project1);
+        final Project project2 = addBuilder(KB);
+
+        //project1 is built after being cached, and reports its new size
+        final ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(builder1).setRetainedSizeListener(listener.capture());
+        when(builder1.getRetainedSize()).thenReturn(260 * MB);
+        listener.getValue().accept(260 * MB);
+        assertEquals(260 * MB + KB,
+                     cache.getTotalRetainedSize());
+        cache.evictExceedingBuilders(project2);
+
+        assertNull(cache.getBuilder(project1));
+        assertNotNull(cache.getBuilder(project2));
+    }
+
+    @Test
+    public void testMixedProjectSizes() {
+        final Random random = new Random(0);
+        final List<Project> projects = new ArrayList<>();
+        final List<Long> sizes = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            //A few large projects among many small ones
+            sizes.add(i % 20 == 0 ? (50 + random.nextInt(100)) * MB : (1 + random.nextInt(512)) * KB);
+            projects.add(mock(Project.class));
+        }
+
+        for (int i = 0; i < 10000; i++) {
+            final int index = random.nextInt(projects.size());
+            final Project project = projects.get(index);
+            if (cache.getBuilder(project) == null) {
+                cache.setEntry(project,
+                               builder(sizes.get(index)));
+            }
+            cache.evictExceedingBuilders(project);
+
+            assertTrue(cache.getTotalRetainedSize() <= 250 * MB);
+            assertEquals(cache.getTotalRetainedSize(),
+                         cache.getRetainedSizes().values().stream().mapToLong(Long::longValue).sum());
+        }
+    }
+
+    @Test
+    public void testEvictedBuildersAreNoLongerAccounted() {
+        final Project project = addBuilder(KB);
+        final Builder builder = cache.getBuilder(project);
+        final ArgumentCaptor<LongConsumer> listener = ArgumentCaptor.forClass(LongConsumer.class);
+        verify(builder).setRetainedSizeListener(listener.capture());
+
+        cache.invalidateCache(project);
+        assertEquals(0,
+                     cache.getTotalRetainedSize());
+
+        //A build of the evicted Builder that was running when it was evicted
+        listener.getValue().accept(MB);
+        assertEquals(0,
+                     cache.getTotalRetainedSize());
+    }
+
+    private Project addBuilder(final long retainedSize) {
+        final Project project = mock(Project.class);
+        cache.setEntry(project,
+                       builder(retainedSize));
+        cache.evictExceedingBuilders(project);
+        return project;
+    }
+
+    private Builder builder(final long retainedSize) {
+        final Builder builder = mock(Builder.class);
+        when(builder.getRetainedSize()).thenReturn(retainedSize);
+        return builder;
+    }
+}
@@ -18,10 +18,12 @@ package org.kie.workbench.common.services.backend.builder.service;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.function.Consumer;
 
 import org.guvnor.common.services.project.builder.model.BuildResults;
 import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.Project;
 import org.guvnor.common.services.project.service.DeploymentMode;
 import org.junit.Before;
 import org.junit.Test;
@@ -38,6 +40,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import org.mockito.stubbing.Answer;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
 
 import static org.junit.Assert.*;
 import static org.mockito.Mockito.*;
@@ -54,6 +57,9 @@ public class BuildServiceImplTest {
     @Mock
     private BuildServiceHelper buildServiceHelper;
 
+    @Mock
+    private IncrementalBuildScheduler buildScheduler;
+
     private BuildServiceImpl buildService;
 
     @Mock
@@ -79,7 +85,7 @@ public class BuildServiceImplTest {
 
     @Before
     public void setUp( ) {
-        buildService = new BuildServiceImpl( projectService, buildServiceHelper, cache );
+        buildService = new BuildServiceImpl( projectService, buildServiceHelper, cache, buildScheduler );
     }
 
     @Test
@@ -206,4 +212,52 @@ public class BuildServiceImplTest {
         assertEquals( incrementalBuildResults, result );
         verify( buildServiceHelper, times( 1 ) ).localBuild( project, resourceChanges );
     }
+
+    @Test
+    public void testUpdatePackageResourceIgnoresScheduler( ) {
+        when( buildScheduler.isEnabled( ) ).thenReturn( true );
+        prepareIncrementalBuild( path, LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE );
+
+        //the synchronous contract returns the results of the build of the change
+        IncrementalBuildResults result = buildService.updatePackageResource( path );
+
+        assertEquals( incrementalBuildResults, result );
+        verifyIncrementalBuild( path, LocalBuildConfig.BuildType.INCREMENTAL_UPDATE_RESOURCE );
+        verify( buildScheduler, never( ) ).schedule( any( Project.class ), any( Path.class ), any( ResourceChangeType.class ) );
+    }
+
+    @Test
+    public void testBuildIncrementallyAsyncScheduled( ) {
+        final CompletableFuture< IncrementalBuildResults > scheduled = new CompletableFuture<>( );
+        when( buildScheduler.isEnabled( ) ).thenReturn( true );
+        when( projectService.resolveProject( path ) ).thenReturn( project );
+        when( buildScheduler.schedule( project, path, ResourceChangeType.UPDATE ) ).thenReturn( scheduled );
+
+        CompletableFuture< IncrementalBuildResults > result = buildService.buildIncrementallyAsync( path, ResourceChangeType.UPDATE );
+
+        assertSame( scheduled, result );
+        verify( buildServiceHelper, never( ) ).localBuild( any( KieProject.class ), any( LocalBuildConfig.BuildType.class ), any( Path.class ) );
+    }
+
+    @Test
+    public void testBuildIncrementallyAsyncWithoutScheduler( ) throws Exception {
+        prepareIncrementalBuild( path, LocalBuildConfig.BuildType.INCREMENTAL_DELETE_RESOURCE );
+
+        CompletableFuture< IncrementalBuildResults > result = buildService.buildIncrementallyAsync( path, ResourceChangeType.DELETE );
+
+        assertEquals( incrementalBuildResults, result.get( ) );
+        verifyIncrementalBuild( path, LocalBuildConfig.BuildType.INCREMENTAL_DELETE_RESOURCE );
+    }
+
+    @Test
+    public void testApplyBatchResourceChangesAsyncScheduled( ) {
+        final CompletableFuture< IncrementalBuildResults > scheduled = new CompletableFuture<>( );
+        when( buildScheduler.isEnabled( ) ).thenReturn( true );
+        when( buildScheduler.schedule( project, resourceChanges ) ).thenReturn( scheduled );
+
+        CompletableFuture< IncrementalBuildResults > result = buildService.applyBatchResourceChangesAsync( project, resourceChanges );
+
+        assertSame( scheduled, result );
+        verify( buildServiceHelper, never( ) ).localBuild( project, resourceChanges );
+    }
 }
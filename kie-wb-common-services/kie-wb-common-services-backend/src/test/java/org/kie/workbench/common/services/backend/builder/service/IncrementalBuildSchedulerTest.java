@@ -0,0 +1,219 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.service;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import javax.enterprise.event.Event;
+
+import org.guvnor.common.services.project.builder.model.IncrementalBuildResults;
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.workbench.events.ResourceChange;
+import org.uberfire.workbench.events.ResourceChangeType;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith( MockitoJUnitRunner.class )
+public class IncrementalBuildSchedulerTest {
+
+    @Mock
+    private BuildServiceHelper buildServiceHelper;
+
+    @Mock
+    private Event< IncrementalBuildResults > incrementalBuildResultsEvent;
+
+    @Mock
+    private KieProject project;
+
+    @Mock
+    private POM pom;
+
+    @Mock
+    private Path path1;
+
+    @Mock
+    private Path path2;
+
+    @Mock
+    private Path path3;
+
+    @Mock
+    private IncrementalBuildResults incrementalBuildResults;
+
+    private IncrementalBuildScheduler scheduler;
+
+    @Before
+    public void setUp( ) {
+        System.setProperty( IncrementalBuildScheduler.DEBOUNCE_WINDOW_PROPERTY_NAME, "200" );
+        when( project.getPom( ) ).thenReturn( pom );
+        when( pom.getGav( ) ).thenReturn( new GAV( "group", "artifact", "1.0" ) );
+        scheduler = new IncrementalBuildScheduler( buildServiceHelper, incrementalBuildResultsEvent );
+        scheduler.init( );
+    }
+
+    @After
+    public void tearDown( ) {
+        scheduler.destroy( );
+        System.clearProperty( IncrementalBuildScheduler.DEBOUNCE_WINDOW_PROPERTY_NAME );
+    }
+
+    @Test
+    public void testDisabledByDefault( ) {
+        System.clearProperty( IncrementalBuildScheduler.DEBOUNCE_WINDOW_PROPERTY_NAME );
+        final IncrementalBuildScheduler defaultScheduler = new IncrementalBuildScheduler( buildServiceHelper, incrementalBuildResultsEvent );
+        defaultScheduler.init( );
+        assertFalse( defaultScheduler.isEnabled( ) );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testChangesAreMergedIntoOneBuild( ) throws Exception {
+        when( buildServiceHelper.localBuild( eq( project ), any( Map.class ) ) ).thenReturn( incrementalBuildResults );
+        assertTrue( scheduler.isEnabled( ) );
+
+        final CompletableFuture< IncrementalBuildResults > future1 = scheduler.schedule( project, path1, ResourceChangeType.ADD );
+        final CompletableFuture< IncrementalBuildResults > future2 = scheduler.schedule( project, path2, ResourceChangeType.UPDATE );
+        final CompletableFuture< IncrementalBuildResults > future3 = scheduler.schedule( project, path3, ResourceChangeType.DELETE );
+
+        assertEquals( 3, scheduler.getQueueDepth( ) );
+
+        //every request of the batch receives the merged results, that are published only once
+        assertEquals( incrementalBuildResults, future1.get( 5, TimeUnit.SECONDS ) );
+        assertEquals( incrementalBuildResults, future2.get( 5, TimeUnit.SECONDS ) );
+        assertEquals( incrementalBuildResults, future3.get( 5, TimeUnit.SECONDS ) );
+        verify( incrementalBuildResultsEvent, times( 1 ) ).fire( incrementalBuildResults );
+
+        final ArgumentCaptor< Map > changesCaptor = ArgumentCaptor.forClass( Map.class );
+        verify( buildServiceHelper, times( 1 ) ).localBuild( eq( project ), changesCaptor.capture( ) );
+        final Map< Path, Collection< ResourceChange > > changes = changesCaptor.getValue( );
+        assertEquals( 3, changes.size( ) );
+        assertEquals( ResourceChangeType.ADD, changes.get( path1 ).iterator( ).next( ).getType( ) );
+        assertEquals( ResourceChangeType.UPDATE, changes.get( path2 ).iterator( ).next( ).getType( ) );
+        assertEquals( ResourceChangeType.DELETE, changes.get( path3 ).iterator( ).next( ).getType( ) );
+
+        assertEquals( 0, scheduler.getQueueDepth( ) );
+        assertEquals( 3, scheduler.getScheduledRequests( ) );
+        assertEquals( 1, scheduler.getExecutedBuilds( ) );
+        assertEquals( 3.0, scheduler.getMergeRatio( ), 0 );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testBuildFailureCompletesAllRequests( ) throws Exception {
+        when( buildServiceHelper.localBuild( eq( project ), any( Map.class ) ) ).thenThrow( new IllegalStateException( "error" ) );
+
+        final CompletableFuture< IncrementalBuildResults > future1 = scheduler.schedule( project, path1, ResourceChangeType.ADD );
+        final CompletableFuture< IncrementalBuildResults > future2 = scheduler.schedule( project, path2, ResourceChangeType.UPDATE );
+
+        assertFailed( future1, IllegalStateException.class );
+        assertFailed( future2, IllegalStateException.class );
+        assertEquals( 0, scheduler.getQueueDepth( ) );
+        verify( incrementalBuildResultsEvent, never( ) ).fire( any( IncrementalBuildResults.class ) );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testBuildErrorCompletesAllRequests( ) throws Exception {
+        when( buildServiceHelper.localBuild( eq( project ), any( Map.class ) ) ).thenThrow( new NoClassDefFoundError( "error" ) );
+
+        final CompletableFuture< IncrementalBuildResults > future1 = scheduler.schedule( project, path1, ResourceChangeType.ADD );
+        final CompletableFuture< IncrementalBuildResults > future2 = scheduler.schedule( project, path2, ResourceChangeType.UPDATE );
+
+        assertFailed( future1, NoClassDefFoundError.class );
+        assertFailed( future2, NoClassDefFoundError.class );
+        assertEquals( 0, scheduler.getQueueDepth( ) );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testEveryRequestRestartsTheWindow( ) throws Exception {
+        when( buildServiceHelper.localBuild( eq( project ), any( Map.class ) ) ).thenReturn( incrementalBuildResults );
+        final ScheduledExecutorService executor = mock( ScheduledExecutorService.class );
+        final ScheduledFuture flush1 = mock( ScheduledFuture.class );
+        final ScheduledFuture flush2 = mock( ScheduledFuture.class );
+        when( executor.schedule( any( Runnable.class ), anyLong( ), any( TimeUnit.class ) ) ).thenReturn( flush1, flush2 );
+        final IncrementalBuildScheduler manualScheduler = new IncrementalBuildScheduler( buildServiceHelper, incrementalBuildResultsEvent ) {
+            @Override
+            protected ScheduledExecutorService createExecutorService( final int threadPoolSize ) {
+                return executor;
+            }
+        };
+        manualScheduler.init( );
+
+        final CompletableFuture< IncrementalBuildResults > future1 = manualScheduler.schedule( project, path1, ResourceChangeType.ADD );
+        final CompletableFuture< IncrementalBuildResults > future2 = manualScheduler.schedule( project, path2, ResourceChangeType.UPDATE );
+
+        //the second request cancels the flush of the first window and schedules a new one
+        verify( flush1, times( 1 ) ).cancel( false );
+        final ArgumentCaptor< Runnable > flushes = ArgumentCaptor.forClass( Runnable.class );
+        verify( executor, times( 2 ) ).schedule( flushes.capture( ), anyLong( ), eq( TimeUnit.NANOSECONDS ) );
+
+        //a flush of the first window that was already running leaves the batch alone
+        flushes.getAllValues( ).get( 0 ).run( );
+        assertFalse( future1.isDone( ) );
+        verify( buildServiceHelper, never( ) ).localBuild( eq( project ), any( Map.class ) );
+
+        flushes.getAllValues( ).get( 1 ).run( );
+        assertEquals( incrementalBuildResults, future1.get( ) );
+        assertEquals( incrementalBuildResults, future2.get( ) );
+        verify( buildServiceHelper, times( 1 ) ).localBuild( eq( project ), any( Map.class ) );
+        assertEquals( 2.0, manualScheduler.getMergeRatio( ), 0 );
+    }
+
+    @Test
+    @SuppressWarnings( "unchecked" )
+    public void testMergeRatioOnlyCountsCompletedBuilds( ) throws Exception {
+        when( buildServiceHelper.localBuild( eq( project ), any( Map.class ) ) ).thenThrow( new IllegalStateException( "error" ) ).thenReturn( incrementalBuildResults );
+
+        final CompletableFuture< IncrementalBuildResults > failed1 = scheduler.schedule( project, path1, ResourceChangeType.ADD );
+        final CompletableFuture< IncrementalBuildResults > failed2 = scheduler.schedule( project, path2, ResourceChangeType.UPDATE );
+        assertFailed( failed1, IllegalStateException.class );
+        assertFailed( failed2, IllegalStateException.class );
+        assertEquals( 0, scheduler.getExecutedBuilds( ) );
+        assertEquals( 0, scheduler.getMergeRatio( ), 0 );
+
+        assertEquals( incrementalBuildResults, scheduler.schedule( project, path3, ResourceChangeType.DELETE ).get( 5, TimeUnit.SECONDS ) );
+        assertEquals( 1, scheduler.getExecutedBuilds( ) );
+        assertEquals( 1.0, scheduler.getMergeRatio( ), 0 );
+    }
+
+    private void assertFailed( CompletableFuture< IncrementalBuildResults > future,
+                               Class< ? extends Throwable > expectedCause ) throws Exception {
+        try {
+            future.get( 5, TimeUnit.SECONDS );
+            fail( "The build failure was expected to be propagated." );
+        } catch ( ExecutionException e ) {
+            assertTrue( expectedCause.isInstance( e.getCause( ) ) );
+        }
+    }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.compiler.impl;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.TestUtil;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystem;
+import org.uberfire.mocks.FileSystemTestingUtils;
+
+import static org.junit.Assert.*;
+
+public class JGitWorktreeCacheTest {
+
+    private FileSystemTestingUtils fileSystemTestingUtils = new FileSystemTestingUtils();
+    private IOService ioService;
+    private Path baseDir;
+
+    @Before
+    public void setUp() throws Exception {
+        fileSystemTestingUtils.setup();
+        ioService = fileSystemTestingUtils.getIoService();
+        baseDir = Files.createTempDirectory("worktrees");
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        fileSystemTestingUtils.cleanup();
+        TestUtil.rm(baseDir.toFile());
+        TestUtil.rm(new File("src/../.security/"));
+    }
+
+    @Test
+    public void testWorktreeIsUpdatedIncrementally() throws Exception {
+        final JGitWorktreeCache cache = new JGitWorktreeCache(baseDir,
+                                                              10,
+                                                              0);
+        final JGitFileSystem fs = newFileSystem("repo");
+        ioService.write(fs.getPath("/dummy/A.txt"),
+                        "A");
+        ioService.write(fs.getPath("/dummy/B.txt"),
+                        "B");
+
+        final Path worktreeDir;
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs,
+                                                                 "master")) {
+            worktreeDir = worktree.getDirectory();
+            assertEquals("A",
+                         read(worktreeDir.resolve("dummy/A.txt")));
+            //build output left by the compilation
+            Files.write(worktreeDir.resolve("dummy/output.class"),
+                        new byte[]{1});
+        }
+
+        ioService.write(fs.getPath("/dummy/A.txt"),
+                        "A2");
+
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs,
+                                                                 "master")) {
+            assertEquals(worktreeDir,
+                         worktree.getDirectory());
+            assertEquals("A2",
+                         read(worktreeDir.resolve("dummy/A.txt")));
+            assertEquals("B",
+                         read(worktreeDir.resolve("dummy/B.txt")));
+            assertTrue(Files.exists(worktreeDir.resolve("dummy/output.class")));
+        }
+
+        assertEquals(1,
+                     cache.getClones());
+        assertEquals(1,
+                     cache.getUpdates());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedWorktreeIsEvicted() throws Exception {
+        final JGitWorktreeCache cache = new JGitWorktreeCache(baseDir,
+                                                              1,
+                                                              0);
+        final JGitFileSystem fs1 = newFileSystem("repo1");
+        ioService.write(fs1.getPath("/dummy/A.txt"),
+                        "A");
+        final JGitFileSystem fs2 = newFileSystem("repo2");
+        ioService.write(fs2.getPath("/dummy/B.txt"),
+                        "B");
+
+        final Path worktreeDir1;
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs1,
+                                                                 null)) {
+            worktreeDir1 = worktree.getDirectory();
+        }
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs2,
+                                                                 null)) {
+            assertTrue(Files.exists(worktree.getDirectory().resolve("dummy/B.txt")));
+        }
+
+        assertEquals(1,
+                     cache.size());
+        assertFalse(Files.exists(worktreeDir1));
+    }
+
+    @Test
+    public void testAcquiredWorktreeIsNotEvictedOverQuota() throws Exception {
+        //a quota of one byte, exceeded by any working tree
+        final JGitWorktreeCache cache = new JGitWorktreeCache(baseDir,
+                                                              10,
+                                                              1);
+        final JGitFileSystem fs = newFileSystem("repo");
+        ioService.write(fs.getPath("/dummy/A.txt"),
+                        "A");
+
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs,
+                                                                 null)) {
+            assertEquals("A",
+                         read(worktree.getDirectory().resolve("dummy/A.txt")));
+        }
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs,
+                                                                 null)) {
+            assertEquals("A",
+                         read(worktree.getDirectory().resolve("dummy/A.txt")));
+        }
+    }
+
+    @Test
+    public void testAcquiredWorktreeIsNotEvictedWithoutCache() throws Exception {
+        final JGitWorktreeCache cache = new JGitWorktreeCache(baseDir,
+                                                              0,
+                                                              0);
+        final JGitFileSystem fs = newFileSystem("repo");
+        ioService.write(fs.getPath("/dummy/A.txt"),
+                        "A");
+
+        final Path worktreeDir;
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs,
+                                                                 null)) {
+            worktreeDir = worktree.getDirectory();
+            assertEquals("A",
+                         read(worktreeDir.resolve("dummy/A.txt")));
+        }
+
+        //evicted by the next acquisition once released
+        final JGitFileSystem fs2 = newFileSystem("repo2");
+        ioService.write(fs2.getPath("/dummy/B.txt"),
+                        "B");
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs2,
+                                                                 null)) {
+            assertTrue(Files.exists(worktree.getDirectory().resolve("dummy/B.txt")));
+        }
+        assertFalse(Files.exists(worktreeDir));
+    }
+
+    @Test
+    public void testClearDeletesWorktrees() throws Exception {
+        final JGitWorktreeCache cache = new JGitWorktreeCache(baseDir,
+                                                              10,
+                                                              0);
+        final JGitFileSystem fs = newFileSystem("repo");
+        ioService.write(fs.getPath("/dummy/A.txt"),
+                        "A");
+
+        final Path worktreeDir;
+        try (JGitWorktreeCache.Worktree worktree = cache.acquire(fs,
+                                                                 null)) {
+            worktreeDir = worktree.getDirectory();
+        }
+        cache.clear();
+
+        assertEquals(0,
+                     cache.size());
+        assertFalse(Files.exists(worktreeDir));
+    }
+
+    private JGitFileSystem newFileSystem(final String name) {
+        return (JGitFileSystem) ioService.newFileSystem(URI.create("git://" + name),
+                                                        new HashMap<String, Object>() {{
+                                                            put("init",
+                                                                Boolean.TRUE);
+                                                            put("internal",
+                                                                Boolean.TRUE);
+                                                        }});
+    }
+
+    private String read(final Path path) throws IOException {
+        return new String(Files.readAllBytes(path),
+                          StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.compiler.nio;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.CompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.TestUtil;
+import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.DefaultMavenCompiler;
+import org.kie.workbench.common.services.backend.compiler.nio.impl.MavenEmbedderPool;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+
+public class MavenEmbedderPoolTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(MavenEmbedderPoolTest.class);
+
+    private Path mavenRepo;
+    private Path tmpRoot;
+    private MavenEmbedderPool pool;
+    private AFCompiler compiler;
+
+    @Before
+    public void setUp() throws Exception {
+        mavenRepo = Paths.get(System.getProperty("user.home"),
+                              "/.m2/repository");
+
+        if (!Files.exists(mavenRepo)) {
+            logger.info("Creating a m2_repo into " + mavenRepo);
+            if (!Files.exists(Files.createDirectories(mavenRepo))) {
+                throw new Exception("Folder not writable in the project");
+            }
+        }
+        tmpRoot = Files.createTempDirectory("repo");
+        pool = new MavenEmbedderPool(2);
+        compiler = new DefaultMavenCompiler(pool);
+    }
+
+    @After
+    public void tearDown() {
+        pool.clear();
+        TestUtil.rm(tmpRoot.toFile());
+    }
+
+    @Test
+    public void testWarmCompileReusesWorkspaceEmbedder() throws Exception {
+        final Path project = copyProject("dummy");
+        final long cold = pool.getColdAcquisitions();
+        final long warm = pool.getWarmAcquisitions();
+
+        final long firstStart = System.nanoTime();
+        assertTrue(compiler.compileSync(newRequest(project)).isSuccessful());
+        final long firstNanos = System.nanoTime() - firstStart;
+
+        final long warmStart = System.nanoTime();
+        assertTrue(compiler.compileSync(newRequest(project)).isSuccessful());
+        final long warmNanos = System.nanoTime() - warmStart;
+
+        assertEquals(cold + 1,
+                     pool.getColdAcquisitions());
+        assertEquals(warm + 1,
+                     pool.getWarmAcquisitions());
+        assertEquals(1,
+                     pool.getIdleEmbedders());
+
+        logger.info("First compile {}ms, warm compile {}ms",
+                    TimeUnit.NANOSECONDS.toMillis(firstNanos),
+                    TimeUnit.NANOSECONDS.toMillis(warmNanos));
+    }
+
+    @Test
+    public void testFailedBuildKeepsEmbedder() throws Exception {
+        final Path project = copyProject("dummy");
+
+        final CompilationRequest req = new DefaultCompilationRequest(mavenRepo.toAbsolutePath().toString(),
+                                                                     new WorkspaceCompilationInfo(project),
+                                                                     new String[]{"unknown-phase"},
+                                                                     new HashMap<>(),
+                                                                     Boolean.FALSE);
+        assertFalse(compiler.compileSync(req).isSuccessful());
+        assertEquals(1,
+                     pool.getIdleEmbedders());
+
+        final long warm = pool.getWarmAcquisitions();
+        assertTrue(compiler.compileSync(newRequest(project)).isSuccessful());
+        assertEquals(warm + 1,
+                     pool.getWarmAcquisitions());
+    }
+
+    @Test
+    public void testConcurrentAsyncCompiles() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(2);
+        final List<CompletableFuture<CompilationResponse>> futures = new ArrayList<>();
+
+        final long start = System.nanoTime();
+        try {
+            for (int i = 0; i < 3; i++) {
+                futures.add(compiler.compileAsync(newRequest(copyProject("dummy" + i)),
+                                                  executor));
+            }
+            for (CompletableFuture<CompilationResponse> future : futures) {
+                assertTrue(future.get(5,
+                                      TimeUnit.MINUTES).isSuccessful());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        logger.info("Concurrent compiles of {} projects {}ms",
+                    futures.size(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    private Path copyProject(final String name) throws Exception {
+        final Path temp = Files.createDirectories(Paths.get(tmpRoot.toString(),
+                                                            name));
+        TestUtil.copyTree(Paths.get("src/test/projects/dummy"),
+                          temp);
+        return temp;
+    }
+
+    private CompilationRequest newRequest(final Path project) {
+        return new DefaultCompilationRequest(mavenRepo.toAbsolutePath().toString(),
+                                             new WorkspaceCompilationInfo(project),
+                                             new String[]{MavenCLIArgs.COMPILE},
+                                             new HashMap<>(),
+                                             Boolean.FALSE);
+    }
+}
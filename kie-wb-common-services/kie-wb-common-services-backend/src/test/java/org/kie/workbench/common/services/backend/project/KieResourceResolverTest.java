@@ -0,0 +1,237 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.List;
+import javax.enterprise.inject.Instance;
+
+import org.guvnor.common.services.backend.util.CommentedOptionFactory;
+import org.guvnor.common.services.project.backend.server.ProjectResourcePathResolver;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.service.POMService;
+import org.guvnor.structure.backend.backcompat.BackwardCompatibleUtil;
+import org.guvnor.structure.server.config.ConfigurationService;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.shared.kmodule.KModuleService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
+import org.uberfire.rpc.SessionInfo;
+import org.uberfire.workbench.events.ResourceAddedEvent;
+import org.uberfire.workbench.events.ResourceDeletedEvent;
+import org.uberfire.workbench.events.ResourceUpdatedEvent;
+
+import static org.junit.Assert.*;
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class KieResourceResolverTest {
+
+    private static final String PROJECT = "/ProjectBackendTestProjectStructureValid";
+
+    private static final String POM_XML = "<project xmlns=\"http://maven.apache.org/POM/4.0.0\">" +
+            "<modelVersion>4.0.0</modelVersion>" +
+            "<groupId>org.kie</groupId>" +
+            "<artifactId>project</artifactId>" +
+            "<version>1.0</version>" +
+            "<name>project</name>" +
+            "</project>";
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private POMService pomService;
+
+    @Mock
+    private ConfigurationService configurationService;
+
+    @Mock
+    private CommentedOptionFactory commentedOptionFactory;
+
+    @Mock
+    private BackwardCompatibleUtil backward;
+
+    @Mock
+    private KModuleService kModuleService;
+
+    @Mock
+    private Instance<ProjectResourcePathResolver> resourcePathResolversInstance;
+
+    @Mock
+    private SessionInfo sessionInfo;
+
+    private final SimpleFileSystemProvider fs = new SimpleFileSystemProvider();
+
+    private KieResourceResolverCache cache;
+
+    private KieResourceResolver resolver;
+
+    @Before
+    public void setup() {
+        //Ensure URLs use the default:// scheme
+        fs.forceAsDefault();
+
+        when( ioService.readAllString( any( org.uberfire.java.nio.file.Path.class ) ) ).thenReturn( POM_XML );
+
+        cache = new KieResourceResolverCache();
+        resolver = new KieResourceResolver( ioService,
+                                            pomService,
+                                            configurationService,
+                                            commentedOptionFactory,
+                                            backward,
+                                            kModuleService,
+                                            resourcePathResolversInstance,
+                                            cache ) {
+            @Override
+            protected void addSecurityGroups( final KieProject project ) {
+                //Do nothing. Permissions are not used by this test.
+            }
+        };
+    }
+
+    @Test
+    public void testReindexLoadsEachPomOnce() throws Exception {
+        final List<Path> files = new ArrayList<>();
+        files.add( path( PROJECT + "/src/main/java/Bean.java" ) );
+        files.add( path( PROJECT + "/src/main/java/org/kie/test/Bean.java" ) );
+        files.add( path( PROJECT + "/src/main/resources/rule1.drl" ) );
+        files.add( path( PROJECT + "/src/main/resources/org/kie/test/rule1.drl" ) );
+
+        final Path root = path( PROJECT );
+        final List<Package> packages = new ArrayList<>();
+        for ( Path file : files ) {
+            packages.add( resolver.resolvePackage( file ) );
+        }
+
+        //Simulates reindexing the files many times, every file resolves its Project and Package as indexers do
+        for ( int i = 0; i < 1000; i++ ) {
+            for ( int j = 0; j < files.size(); j++ ) {
+                final KieProject project = resolver.resolveProject( files.get( j ) );
+                assertEquals( root.toURI(),
+                              project.getRootPath().toURI() );
+                assertSame( packages.get( j ),
+                            resolver.resolvePackage( files.get( j ) ) );
+            }
+        }
+
+        verify( ioService,
+                times( 1 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+        assertTrue( cache.getHitRate() > 0.99 );
+    }
+
+    @Test
+    public void testResolvedProjectsAreNotShared() throws Exception {
+        final Path file = path( PROJECT + "/src/main/java/org/kie/test/Bean.java" );
+
+        final KieProject project1 = resolver.resolveProject( file );
+        final KieProject project2 = resolver.resolveProject( file );
+
+        assertNotSame( project1,
+                       project2 );
+        //POMs are mutable, a change to the POM of a Project must not leak into the others
+        assertNotSame( project1.getPom(),
+                       project2.getPom() );
+        project1.getPom().setName( "changed" );
+        assertEquals( "project",
+                      project2.getPom().getName() );
+        assertEquals( project1.getPom().getGav(),
+                      project2.getPom().getGav() );
+    }
+
+    @Test
+    public void testPomUpdateReloadsPom() throws Exception {
+        final Path file = path( PROJECT + "/src/main/java/org/kie/test/Bean.java" );
+        final KieProject project = resolver.resolveProject( file );
+
+        cache.onResourceUpdated( new ResourceUpdatedEvent( project.getPomXMLPath(),
+                                                           "",
+                                                           sessionInfo ) );
+        resolver.resolveProject( file );
+
+        verify( ioService,
+                times( 2 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+    }
+
+    @Test
+    public void testUnrelatedUpdateKeepsPom() throws Exception {
+        final Path file = path( PROJECT + "/src/main/java/org/kie/test/Bean.java" );
+        resolver.resolveProject( file );
+        final long misses = cache.getMisses();
+
+        cache.onResourceUpdated( new ResourceUpdatedEvent( file,
+                                                           "",
+                                                           sessionInfo ) );
+        cache.onResourceAdded( new ResourceAddedEvent( path( PROJECT + "/src/main/resources/rule1.drl" ),
+                                                       "",
+                                                       sessionInfo ) );
+        resolver.resolveProject( file );
+
+        verify( ioService,
+                times( 1 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+        assertEquals( misses,
+                      cache.getMisses() );
+    }
+
+    @Test
+    public void testKModuleDeletionInvalidatesProjectRoots() throws Exception {
+        final Path file = path( PROJECT + "/src/main/java/org/kie/test/Bean.java" );
+        final KieProject project = resolver.resolveProject( file );
+        final long misses = cache.getMisses();
+
+        cache.onResourceDeleted( new ResourceDeletedEvent( project.getKModuleXMLPath(),
+                                                           "",
+                                                           sessionInfo ) );
+        resolver.resolveProject( file );
+
+        //The Project root is resolved again, its pom.xml is still cached
+        assertEquals( misses + 1,
+                      cache.getMisses() );
+        verify( ioService,
+                times( 1 ) ).readAllString( any( org.uberfire.java.nio.file.Path.class ) );
+    }
+
+    @Test
+    public void testFolderDeletionInvalidatesPackages() throws Exception {
+        final Path file = path( PROJECT + "/src/main/java/org/kie/test/Bean.java" );
+        final Package pkg = resolver.resolvePackage( file );
+
+        cache.onResourceDeleted( new ResourceDeletedEvent( path( PROJECT + "/src/main/java/org/kie" ),
+                                                           "",
+                                                           sessionInfo ) );
+
+        final Package resolved = resolver.resolvePackage( file );
+        assertNotSame( pkg,
+                       resolved );
+        assertEquals( pkg.getPackageName(),
+                      resolved.getPackageName() );
+    }
+
+    private Path path( final String resource ) throws Exception {
+        final URL url = this.getClass().getResource( resource );
+        return Paths.convert( fs.getPath( url.toURI() ) );
+    }
+}
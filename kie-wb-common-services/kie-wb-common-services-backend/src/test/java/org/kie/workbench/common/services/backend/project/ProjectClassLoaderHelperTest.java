@@ -0,0 +1,114 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.project;
+
+import java.util.HashMap;
+
+import org.drools.compiler.kie.builder.impl.InternalKieModule;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.core.LRUProjectDependenciesClassLoaderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieProject;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ProjectClassLoaderHelperTest {
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private LRUProjectDependenciesClassLoaderCache dependenciesClassLoaderCache;
+
+    @Mock
+    private BuildInfo buildInfo;
+
+    @Mock
+    private InternalKieModule module;
+
+    @Mock
+    private KieProject project;
+
+    @InjectMocks
+    private ProjectClassLoaderHelper helper;
+
+    private final ClassLoader dependenciesClassLoader = new ClassLoader() {
+    };
+
+    @Before
+    public void setup() {
+        when( buildInfoService.getBuildInfo( project ) ).thenReturn( buildInfo );
+        when( buildInfo.getKieModuleIgnoringErrors() ).thenReturn( module );
+        when( buildInfo.getBuildGeneration() ).thenReturn( 1L );
+        when( module.getClassesMap( true ) ).thenReturn( new HashMap<>() );
+        when( dependenciesClassLoaderCache.assertDependenciesClassLoader( project ) ).thenReturn( dependenciesClassLoader );
+    }
+
+    @Test
+    public void testClassLoaderIsSharedWithinBuildGeneration() {
+        final ClassLoader classLoader = helper.getProjectClassLoader( project );
+
+        for ( int i = 0; i < 1000; i++ ) {
+            assertSame( classLoader,
+                        helper.getProjectClassLoader( project ) );
+        }
+
+        //The project classes are only read once
+        verify( module,
+                times( 1 ) ).getClassesMap( true );
+        assertEquals( 1,
+                      helper.getProjectClassLoadersCount() );
+    }
+
+    @Test
+    public void testNewBuildGenerationReplacesClassLoader() {
+        final ClassLoader classLoader1 = helper.getProjectClassLoader( project );
+
+        when( buildInfo.getBuildGeneration() ).thenReturn( 2L );
+        final ClassLoader classLoader2 = helper.getProjectClassLoader( project );
+
+        assertNotSame( classLoader1,
+                       classLoader2 );
+        assertSame( classLoader2,
+                    helper.getProjectClassLoader( project ) );
+        assertEquals( 1,
+                      helper.getProjectClassLoadersCount() );
+    }
+
+    @Test
+    public void testNewDependenciesReplaceClassLoader() {
+        final ClassLoader classLoader1 = helper.getProjectClassLoader( project );
+
+        final ClassLoader newDependenciesClassLoader = new ClassLoader() {
+        };
+        when( dependenciesClassLoaderCache.assertDependenciesClassLoader( project ) ).thenReturn( newDependenciesClassLoader );
+        final ClassLoader classLoader2 = helper.getProjectClassLoader( project );
+
+        assertNotSame( classLoader1,
+                       classLoader2 );
+        assertSame( newDependenciesClassLoader,
+                    classLoader2.getParent() );
+    }
+}
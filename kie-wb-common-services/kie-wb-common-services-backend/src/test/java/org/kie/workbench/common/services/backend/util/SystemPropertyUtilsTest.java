@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.util;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class SystemPropertyUtilsTest {
+
+    private static final String PROPERTY_NAME = "org.kie.test.system-property-utils";
+
+    @After
+    public void tearDown() {
+        System.clearProperty(PROPERTY_NAME);
+    }
+
+    @Test
+    public void testDefaultValueWhenNotSet() {
+        assertEquals(4,
+                     SystemPropertyUtils.readIntProperty(PROPERTY_NAME,
+                                                         4));
+    }
+
+    @Test
+    public void testValue() {
+        System.setProperty(PROPERTY_NAME,
+                           "8");
+        assertEquals(8,
+                     SystemPropertyUtils.readIntProperty(PROPERTY_NAME,
+                                                         4));
+        assertEquals(8L,
+                     SystemPropertyUtils.readLongProperty(PROPERTY_NAME,
+                                                          4L));
+    }
+
+    @Test
+    public void testDefaultValueWhenWrong() {
+        System.setProperty(PROPERTY_NAME,
+                           "many");
+        assertEquals(4,
+                     SystemPropertyUtils.readIntProperty(PROPERTY_NAME,
+                                                         4));
+        System.setProperty(PROPERTY_NAME,
+                           "-1");
+        assertEquals(4L,
+                     SystemPropertyUtils.readLongProperty(PROPERTY_NAME,
+                                                          4L));
+    }
+}
@@ -18,27 +18,52 @@ package org.kie.workbench.common.stunner.core.backend.definition.adapter;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 
 public class RuntimeAdapterUtils {
 
+    // The declared fields of each class, and the hierarchy of each class, are looked up once.
+    private static final ClassValue<ClassFields> CLASS_FIELDS = new ClassValue<ClassFields>() {
+        @Override
+        protected ClassFields computeValue(final Class<?> type) {
+            return new ClassFields(type);
+        }
+    };
+
+    private static final ClassValue<List<ClassFields>> HIERARCHY_FIELDS = new ClassValue<List<ClassFields>>() {
+        @Override
+        protected List<ClassFields> computeValue(final Class<?> type) {
+            final List<ClassFields> result = new ArrayList<>();
+            Class<?> c = type;
+            while (null != c && !c.getName().equals(Object.class.getName())) {
+                result.add(CLASS_FIELDS.get(c));
+                c = c.getSuperclass();
+            }
+            return Collections.unmodifiableList(result);
+        }
+    };
+
     @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getAnnotatedFieldValue(object,
-                                              c,
-                                              annotationType);
+        for (final ClassFields classFields : HIERARCHY_FIELDS.get(object.getClass())) {
+            V result = getValue(object,
+                                classFields.getFirstAnnotatedField(annotationType));
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
@@ -47,16 +72,14 @@ public class RuntimeAdapterUtils {
                                                final Set<String> fieldNames) throws IllegalAccessException {
         Set<V> result = new LinkedHashSet<V>();
         if (null != fieldNames) {
+            final List<ClassFields> hierarchy = HIERARCHY_FIELDS.get(object.getClass());
             for (String fieldName : fieldNames) {
-                Class<?> c = object.getClass();
-                while (!c.getName().equals(Object.class.getName())) {
-                    V result1 = getFieldValue(object,
-                                              c,
-                                              fieldName);
+                for (final ClassFields classFields : hierarchy) {
+                    V result1 = getValue(object,
+                                         classFields.getField(fieldName));
                     if (null != result1) {
                         result.add(result1);
                     }
-                    c = c.getSuperclass();
                 }
             }
         }
@@ -65,81 +88,44 @@ public class RuntimeAdapterUtils {
 
     public static <T, V> V getFieldValue(final T object,
                                          final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            V result = getFieldValue(object,
-                                     c,
-                                     fieldName);
+        for (final ClassFields classFields : HIERARCHY_FIELDS.get(object.getClass())) {
+            V result = getValue(object,
+                                classFields.getField(fieldName));
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
 
-    @SuppressWarnings("unchecked")
     public static <T, A extends Annotation, V> V getAnnotatedFieldValue(final T object,
                                                                         final Class<?> sourceType,
                                                                         final Class<A> annotationType) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                A annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        return getValue(object,
+                        CLASS_FIELDS.get(sourceType).getFirstAnnotatedField(annotationType));
     }
 
-    @SuppressWarnings("unchecked")
     public static <T, V> V getFieldValue(final T object,
                                          final Class<?> sourceType,
                                          final String fieldName) throws IllegalAccessException {
-        V result = null;
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    field.setAccessible(true);
-                    result = (V) field.get(object);
-                    break;
-                }
-            }
-        }
-        return result;
+        return getValue(object,
+                        CLASS_FIELDS.get(sourceType).getField(fieldName));
     }
 
     public static <T> Field getField(final T object,
                                      final String fieldName) throws IllegalAccessException {
-        Class<?> c = object.getClass();
-        while (!c.getName().equals(Object.class.getName())) {
-            Field result = getField(c,
-                                    fieldName);
+        for (final ClassFields classFields : HIERARCHY_FIELDS.get(object.getClass())) {
+            Field result = classFields.getField(fieldName);
             if (null != result) {
                 return result;
             }
-            c = c.getSuperclass();
         }
         return null;
     }
 
     public static Field getField(final Class<?> sourceType,
                                  final String fieldName) throws IllegalAccessException {
-        Field[] fields = sourceType.getDeclaredFields();
-        if (null != fields) {
-            for (Field field : fields) {
-                if (field.getName().equals(fieldName)) {
-                    return field;
-                }
-            }
-        }
-        return null;
+        return CLASS_FIELDS.get(sourceType).getField(fieldName);
     }
 
     public static <T extends Annotation> T getClassAnnotation(final Class<?> type,
@@ -159,30 +145,8 @@ public class RuntimeAdapterUtils {
                                                                                final Class<T> annotationType) {
         if (null != type && null != annotationType) {
             Collection<Field> result = new LinkedList<>();
-            Class<?> c = type;
-            while (!c.getName().equals(Object.class.getName())) {
-                Collection<Field> fields = _getFieldAnnotations(c,
-                                                                annotationType);
-                if (null != fields && !fields.isEmpty()) {
-                    result.addAll(fields);
-                }
-                c = c.getSuperclass();
-            }
-            return result;
-        }
-        return null;
-    }
-
-    private static <T extends Annotation> Collection<Field> _getFieldAnnotations(final Class<?> type,
-                                                                                 final Class<T> annotationType) {
-        Field[] fields = type.getDeclaredFields();
-        if (null != fields) {
-            Collection<Field> result = new LinkedList<>();
-            for (Field field : fields) {
-                T annotation = field.getAnnotation(annotationType);
-                if (null != annotation) {
-                    result.add(field);
-                }
+            for (final ClassFields classFields : HIERARCHY_FIELDS.get(type)) {
+                result.addAll(classFields.getAnnotatedFields(annotationType));
             }
             return result;
         }
@@ -196,4 +160,56 @@ public class RuntimeAdapterUtils {
     public static String getPropertyId(final Object pojo) {
         return BindableAdapterUtils.getPropertyId(pojo.getClass());
     }
+
+    @SuppressWarnings("unchecked")
+    private static <V> V getValue(final Object object,
+                                  final Field field) throws IllegalAccessException {
+        if (null == field) {
+            return null;
+        }
+        if (!field.isAccessible()) {
+            field.setAccessible(true);
+        }
+        return (V) field.get(object);
+    }
+
+    /**
+     * The fields declared by a class, by name and by annotation type.
+     */
+    private static class ClassFields {
+
+        private final Field[] fields;
+        private final Map<String, Field> fieldsByName = new LinkedHashMap<>();
+        private final ConcurrentMap<Class<? extends Annotation>, List<Field>> fieldsByAnnotation = new ConcurrentHashMap<>();
+
+        private ClassFields(final Class<?> type) {
+            this.fields = type.getDeclaredFields();
+            for (final Field field : fields) {
+                fieldsByName.putIfAbsent(field.getName(),
+                                         field);
+            }
+        }
+
+        private Field getField(final String fieldName) {
+            return fieldsByName.get(fieldName);
+        }
+
+        private Field getFirstAnnotatedField(final Class<? extends Annotation> annotationType) {
+            final List<Field> annotatedFields = getAnnotatedFields(annotationType);
+            return annotatedFields.isEmpty() ? null : annotatedFields.get(0);
+        }
+
+        private List<Field> getAnnotatedFields(final Class<? extends Annotation> annotationType) {
+            return fieldsByAnnotation.computeIfAbsent(annotationType,
+                                                      key -> {
+                                                          final List<Field> result = new ArrayList<>();
+                                                          for (final Field field : fields) {
+                                                              if (null != field.getAnnotation(annotationType)) {
+                                                                  result.add(field);
+                                                              }
+                                                          }
+                                                          return Collections.unmodifiableList(result);
+                                                      });
+        }
+    }
 }
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.stunner.core.backend.definition.adapter;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+import java.lang.reflect.Field;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RuntimeAdapterUtilsTest {
+
+    @Retention(RetentionPolicy.RUNTIME)
+    @Target(ElementType.FIELD)
+    private @interface Marker {
+
+    }
+
+    private static class Parent {
+
+        @Marker
+        private String name;
+
+        private String parentOnly;
+
+        Parent(final String name,
+               final String parentOnly) {
+            this.name = name;
+            this.parentOnly = parentOnly;
+        }
+    }
+
+    private static class Child extends Parent {
+
+        //shadows Parent.name
+        @Marker
+        private String name;
+
+        Child(final String parentName,
+              final String childName) {
+            super(parentName,
+                  "parent-only");
+            this.name = childName;
+        }
+    }
+
+    private static class Sibling extends Parent {
+
+        Sibling(final String name) {
+            super(name,
+                  "sibling-parent-only");
+        }
+    }
+
+    @Test
+    public void testInheritedFieldValue() throws Exception {
+        assertEquals("parent-only",
+                     RuntimeAdapterUtils.getFieldValue(new Child("parent",
+                                                                 "child"),
+                                                       "parentOnly"));
+        assertEquals("sibling-parent-only",
+                     RuntimeAdapterUtils.getFieldValue(new Sibling("sibling"),
+                                                       "parentOnly"));
+    }
+
+    @Test
+    public void testShadowedFieldValue() throws Exception {
+        final Child child = new Child("parent",
+                                      "child");
+        assertEquals("child",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       "name"));
+        assertEquals("parent",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       Parent.class,
+                                                       "name"));
+        assertEquals("child",
+                     RuntimeAdapterUtils.getFieldValue(child,
+                                                       Child.class,
+                                                       "name"));
+    }
+
+    @Test
+    public void testShadowedFieldFallsBackToSuperclassWhenNull() throws Exception {
+        assertEquals("parent",
+                     RuntimeAdapterUtils.getFieldValue(new Child("parent",
+                                                                 null),
+                                                       "name"));
+        assertNull(RuntimeAdapterUtils.getFieldValue(new Child(null,
+                                                               null),
+                                                     "name"));
+    }
+
+    @Test
+    public void testShadowedFieldValues() throws Exception {
+        final Set<String> values = RuntimeAdapterUtils.getFieldValues(new Child("parent",
+                                                                                "child"),
+                                                                      new HashSet<>(Arrays.asList("name",
+                                                                                                  "parentOnly")));
+        assertEquals(new HashSet<>(Arrays.asList("child",
+                                                 "parent",
+                                                 "parent-only")),
+                     values);
+    }
+
+    @Test
+    public void testShadowedAnnotatedField() throws Exception {
+        final Child child = new Child("parent",
+                                      "child");
+        assertEquals("child",
+                     RuntimeAdapterUtils.getAnnotatedFieldValue(child,
+                                                                Marker.class));
+        assertEquals("parent",
+                     RuntimeAdapterUtils.getAnnotatedFieldValue(child,
+                                                                Parent.class,
+                                                                Marker.class));
+        assertEquals("parent",
+                     RuntimeAdapterUtils.getAnnotatedFieldValue(new Child("parent",
+                                                                          null),
+                                                                Marker.class));
+
+        final Collection<Field> fields = RuntimeAdapterUtils.getFieldAnnotations(Child.class,
+                                                                                 Marker.class);
+        assertEquals(2,
+                     fields.size());
+        final Iterator<Field> iterator = fields.iterator();
+        assertEquals(Child.class,
+                     iterator.next().getDeclaringClass());
+        assertEquals(Parent.class,
+                     iterator.next().getDeclaringClass());
+    }
+
+    @Test
+    public void testShadowedFieldLookup() throws Exception {
+        final Field field = RuntimeAdapterUtils.getField(new Child("parent",
+                                                                   "child"),
+                                                         "name");
+        assertEquals(Child.class,
+                     field.getDeclaringClass());
+        assertEquals(Parent.class,
+                     RuntimeAdapterUtils.getField(Parent.class,
+                                                  "name").getDeclaringClass());
+        assertEquals(Parent.class,
+                     RuntimeAdapterUtils.getField(new Child("parent",
+                                                            "child"),
+                                                  "parentOnly").getDeclaringClass());
+    }
+
+    @Test
+    public void testSharedFieldsReadEachInstance() throws Exception {
+        //The Field of the superclass is cached once and made accessible once, then shared by its subclasses
+        final Field parentField = RuntimeAdapterUtils.getField(Parent.class,
+                                                               "name");
+        assertSame(parentField,
+                   RuntimeAdapterUtils.getField(new Sibling("sibling"),
+                                                "name"));
+        assertEquals("sibling",
+                     RuntimeAdapterUtils.getFieldValue(new Sibling("sibling"),
+                                                       "name"));
+        assertEquals("parent",
+                     RuntimeAdapterUtils.getFieldValue(new Child("parent",
+                                                                 "child"),
+                                                       Parent.class,
+                                                       "name"));
+        assertTrue(parentField.isAccessible());
+        assertEquals("other",
+                     RuntimeAdapterUtils.getFieldValue(new Sibling("other"),
+                                                       "name"));
+    }
+}
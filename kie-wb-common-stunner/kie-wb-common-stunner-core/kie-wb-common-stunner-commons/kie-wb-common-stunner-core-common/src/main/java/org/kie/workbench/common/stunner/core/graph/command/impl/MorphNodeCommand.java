@@ -25,6 +25,7 @@ import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.definition.adapter.MorphAdapter;
 import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
@@ -78,12 +79,18 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
 
             // Morph the node definition to the new one.
             candidate.getContent().setDefinition(newDef);
-            // Update candidate roles.
+            // Update candidate roles. The candidate is removed from the graph meanwhile, so the graph
+            // keeps track of the labels of its nodes.
+            final Graph<?, Node> graph = null != context.getGraphIndex() ? getGraph(context) : null;
+            final boolean isInGraph = null != graph && null != graph.removeNode(candidate.getUUID());
             final Set<String> newLabels = definitionManager.adapters().forDefinition().getLabels(newDef);
             candidate.getLabels().clear();
             if (null != newLabels) {
                 candidate.getLabels().addAll(newLabels);
             }
+            if (isInGraph) {
+                graph.addNode(candidate);
+            }
         }
         return results;
     }
@@ -0,0 +1,210 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * An R-tree of rectangles, bulk loaded using the Sort-Tile-Recursive algorithm. Point and rectangle queries visit
+ * only the branches whose bounds contain the point or intersect the rectangle.
+ * @param <T> the type of the values held by the rectangles.
+ */
+final class BoundsTree<T> {
+
+    static final int NODE_CAPACITY = 16;
+
+    private final Box root;
+    private final int size;
+
+    private BoundsTree(final Box root,
+                       final int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    static <T> BoundsTree<T> build(final List<Entry<T>> entries) {
+        if (entries.isEmpty()) {
+            return new BoundsTree<>(null,
+                                    0);
+        }
+        List<? extends Box> level = entries;
+        do {
+            level = pack(level);
+        } while (level.size() > 1);
+        return new BoundsTree<>(level.get(0),
+                                entries.size());
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Visits the entries whose rectangle contains the point, borders included.
+     */
+    void query(final double x,
+               final double y,
+               final Consumer<Entry<T>> consumer) {
+        query(x,
+              y,
+              x,
+              y,
+              consumer);
+    }
+
+    /**
+     * Visits the entries whose rectangle intersects the given one, borders included.
+     */
+    @SuppressWarnings("unchecked")
+    void query(final double minX,
+               final double minY,
+               final double maxX,
+               final double maxY,
+               final Consumer<Entry<T>> consumer) {
+        if (null == root || !root.intersects(minX,
+                                             minY,
+                                             maxX,
+                                             maxY)) {
+            return;
+        }
+        final List<Box> pending = new ArrayList<>();
+        pending.add(root);
+        while (!pending.isEmpty()) {
+            final Box box = pending.remove(pending.size() - 1);
+            if (box instanceof Entry) {
+                consumer.accept((Entry<T>) box);
+            } else {
+                for (final Box child : ((Branch) box).children) {
+                    if (child.intersects(minX,
+                                         minY,
+                                         maxX,
+                                         maxY)) {
+                        pending.add(child);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Groups the boxes of a level into the branches of the level above: the boxes are sorted by their center x into
+     * vertical slices, and each slice is sorted by center y and cut into branches of NODE_CAPACITY boxes.
+     */
+    private static List<Branch> pack(final List<? extends Box> boxes) {
+        final List<Box> sorted = new ArrayList<>(boxes);
+        Collections.sort(sorted,
+                         Comparator.comparingDouble(Box::centerX));
+        final int branchCount = (sorted.size() + NODE_CAPACITY - 1) / NODE_CAPACITY;
+        final int sliceCount = (int) Math.ceil(Math.sqrt(branchCount));
+        final int sliceSize = sliceCount * NODE_CAPACITY;
+        final List<Branch> branches = new ArrayList<>(branchCount);
+        for (int sliceStart = 0; sliceStart < sorted.size(); sliceStart += sliceSize) {
+            final List<Box> slice = new ArrayList<>(sorted.subList(sliceStart,
+                                                                   Math.min(sorted.size(),
+                                                                            sliceStart + sliceSize)));
+            Collections.sort(slice,
+                             Comparator.comparingDouble(Box::centerY));
+            for (int branchStart = 0; branchStart < slice.size(); branchStart += NODE_CAPACITY) {
+                branches.add(new Branch(slice.subList(branchStart,
+                                                      Math.min(slice.size(),
+                                                               branchStart + NODE_CAPACITY))));
+            }
+        }
+        return branches;
+    }
+
+    static abstract class Box {
+
+        double minX;
+        double minY;
+        double maxX;
+        double maxY;
+
+        boolean intersects(final double minX,
+                           final double minY,
+                           final double maxX,
+                           final double maxY) {
+            return this.minX <= maxX && this.maxX >= minX && this.minY <= maxY && this.maxY >= minY;
+        }
+
+        double centerX() {
+            return (minX + maxX) / 2;
+        }
+
+        double centerY() {
+            return (minY + maxY) / 2;
+        }
+    }
+
+    static final class Entry<T> extends Box {
+
+        private final T value;
+        private final int order;
+
+        Entry(final T value,
+              final int order,
+              final double minX,
+              final double minY,
+              final double maxX,
+              final double maxY) {
+            this.value = value;
+            this.order = order;
+            this.minX = minX;
+            this.minY = minY;
+            this.maxX = maxX;
+            this.maxY = maxY;
+        }
+
+        T getValue() {
+            return value;
+        }
+
+        /**
+         * @return the position of the entry in the drawing order, later entries are drawn on top of earlier ones.
+         */
+        int getOrder() {
+            return order;
+        }
+    }
+
+    private static final class Branch extends Box {
+
+        private final List<Box> children;
+
+        private Branch(final List<Box> children) {
+            this.children = new ArrayList<>(children);
+            this.minX = Double.POSITIVE_INFINITY;
+            this.minY = Double.POSITIVE_INFINITY;
+            this.maxX = Double.NEGATIVE_INFINITY;
+            this.maxY = Double.NEGATIVE_INFINITY;
+            for (final Box child : children) {
+                minX = Math.min(minX,
+                                child.minX);
+                minY = Math.min(minY,
+                                child.minY);
+                maxX = Math.max(maxX,
+                                child.maxX);
+                maxY = Math.max(maxY,
+                                child.maxY);
+            }
+        }
+    }
+}
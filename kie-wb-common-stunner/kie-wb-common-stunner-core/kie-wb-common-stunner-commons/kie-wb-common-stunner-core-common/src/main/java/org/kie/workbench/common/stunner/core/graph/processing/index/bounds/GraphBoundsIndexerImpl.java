@@ -16,8 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
 
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -37,9 +40,13 @@ import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 @Dependent
 public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
+    //Drawing order of the root node, lower than the order of any other node
+    private static final int ROOT_ORDER = -1;
+
     ChildrenTraverseProcessor childrenTraverseProcessor;
     private Graph<View, Node<View, Edge>> graph;
     private String rootUUID = null;
+    private NodeIndex index;
 
     @Inject
     public GraphBoundsIndexerImpl(final ChildrenTraverseProcessor childrenTraverseProcessor) {
@@ -49,6 +56,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public GraphBoundsIndexerImpl build(final Graph<View, Node<View, Edge>> graph) {
         this.graph = graph;
+        this.index = null;
         return this;
     }
 
@@ -100,65 +108,91 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
     @Override
     public double[] getTrimmedBounds() {
         final double[] result = new double[]{Double.MAX_VALUE, Double.MAX_VALUE, 0, 0};
-        childrenTraverseProcessor
-                .setRootUUID(this.rootUUID)
-                .traverse(graph,
-                          new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
-
-                              @Override
-                              public void onNodeTraverse(final Node<View, Edge> node,
-                                                         final double parentX,
-                                                         final double parentY) {
-                                  final String uuid = node.getUUID();
-                                  final boolean isRoot = null != GraphBoundsIndexerImpl.this.rootUUID
-                                          && GraphBoundsIndexerImpl.this.rootUUID.equals(uuid);
-                                  if (!isRoot) {
-                                      final double[] absCoords = getNodeAbsoluteCoordinates(node,
-                                                                                            parentX,
-                                                                                            parentY);
-                                      final double x = absCoords[0];
-                                      final double y = absCoords[1];
-                                      final double w = absCoords[2];
-                                      final double h = absCoords[3];
-                                      if (x < result[0]) {
-                                          result[0] = x;
-                                      }
-                                      if (y < result[1]) {
-                                          result[1] = y;
-                                      }
-                                      if (w > result[2]) {
-                                          result[2] = w;
-                                      }
-                                      if (h > result[3]) {
-                                          result[3] = h;
-                                      }
-                                  }
-                              }
-                          }));
+        for (final BoundsTree.Entry<Node<View, Edge>> entry : getIndex().entries) {
+            final boolean isRoot = null != rootUUID && rootUUID.equals(entry.getValue().getUUID());
+            //As when traversing from the root, only the nodes contained by the root are considered
+            final boolean isInRoot = null == rootUUID || getIndex().inRoot.contains(entry);
+            if (!isRoot && isInRoot) {
+                if (entry.minX < result[0]) {
+                    result[0] = entry.minX;
+                }
+                if (entry.minY < result[1]) {
+                    result[1] = entry.minY;
+                }
+                if (entry.maxX > result[2]) {
+                    result[2] = entry.maxX;
+                }
+                if (entry.maxY > result[3]) {
+                    result[3] = entry.maxY;
+                }
+            }
+        }
         return result;
     }
 
+    /**
+     * @return the node drawn on top at the given absolute coordinates. The root node, if any, is at any coordinates.
+     */
     @SuppressWarnings("unchecked")
     public Node<View<?>, Edge> findElementAt(final double x,
                                              final double y) {
-        final Node[] result = new Node[1];
+        final NodeIndex index = getIndex();
+        final BoundsTree.Entry[] result = new BoundsTree.Entry[]{index.root};
+        index.tree.query(x,
+                         y,
+                         entry -> {
+                             if (null == result[0] || entry.getOrder() > result[0].getOrder()) {
+                                 result[0] = entry;
+                             }
+                         });
+        return null != result[0] ? (Node) result[0].getValue() : null;
+    }
+
+    /**
+     * The index of the absolute bounds of the graph nodes is built on first use, once per call to build, so the
+     * lookups between calls to build don't traverse the graph.
+     */
+    private NodeIndex getIndex() {
+        if (null == index) {
+            index = buildIndex();
+        }
+        return index;
+    }
+
+    private NodeIndex buildIndex() {
+        final NodeIndex result = new NodeIndex();
+        final List<BoundsTree.Entry<Node<View, Edge>>> entries = new ArrayList<>();
         childrenTraverseProcessor.traverse(graph,
                                            new GraphBoundIndexerTraverseCallback(new NodeBoundsTraverseCallback() {
 
                                                @Override
                                                public void onNodeTraverse(final Node<View, Edge> node,
                                                                           final double parentX,
-                                                                          final double parentY) {
-                                                   if (isNodeAt(node,
-                                                                parentX,
-                                                                parentY,
-                                                                x,
-                                                                y)) {
-                                                       result[0] = node;
+                                                                          final double parentY,
+                                                                          final boolean isInRoot) {
+                                                   final double[] absCoords = getNodeAbsoluteCoordinates(node,
+                                                                                                         parentX,
+                                                                                                         parentY);
+                                                   final boolean isRoot = null != rootUUID && node.getUUID().equals(rootUUID);
+                                                   final BoundsTree.Entry<Node<View, Edge>> entry = new BoundsTree.Entry<>(node,
+                                                                                                                          isRoot ? ROOT_ORDER : entries.size(),
+                                                                                                                          absCoords[0],
+                                                                                                                          absCoords[1],
+                                                                                                                          absCoords[2],
+                                                                                                                          absCoords[3]);
+                                                   if (isRoot) {
+                                                       result.root = entry;
+                                                   } else {
+                                                       entries.add(entry);
                                                    }
+                                                   if (isInRoot) {
+                                                       result.inRoot.add(entry);
+                                                   }
+                                                   result.entries.add(entry);
                                                }
                                            }));
-        return result[0];
+        result.tree = BoundsTree.build(entries);
+        return result;
     }
 
     private Point2D getNodeCoordinates(final Node node) {
@@ -186,37 +220,17 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         return new double[]{ulX, ulY, lrX, lrY};
     }
 
-    private boolean isNodeAt(final Node node,
-                             final double parentX,
-                             final double parentY,
-                             final double mouseX,
-                             final double mouseY) {
-        if (null != rootUUID && node.getUUID().equals(rootUUID)) {
-            return true;
-        }
-        final double[] absoluteCoords = getNodeAbsoluteCoordinates(node,
-                                                                   parentX,
-                                                                   parentY);
-        final double ulX = absoluteCoords[0];
-        final double ulY = absoluteCoords[1];
-        final double lrX = absoluteCoords[2];
-        final double lrY = absoluteCoords[3];
-        if (mouseX >= ulX && mouseX <= lrX &&
-                mouseY >= ulY && mouseY <= lrY) {
-            return true;
-        }
-        return false;
-    }
-
     @Override
     public GraphBoundsIndexer setRootUUID(final String uuid) {
         this.rootUUID = uuid;
+        this.index = null;
         return this;
     }
 
     @Override
     public void destroy() {
         this.graph = null;
+        this.index = null;
         this.rootUUID = null;
         this.childrenTraverseProcessor = null;
     }
@@ -225,7 +239,16 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
 
         public abstract void onNodeTraverse(final Node<View, Edge> node,
                                             final double parentX,
-                                            final double parentY);
+                                            final double parentY,
+                                            final boolean isInRoot);
+    }
+
+    private static class NodeIndex {
+
+        private final List<BoundsTree.Entry<Node<View, Edge>>> entries = new ArrayList<>();
+        private final Set<BoundsTree.Entry<Node<View, Edge>>> inRoot = new HashSet<>();
+        private BoundsTree.Entry<Node<View, Edge>> root;
+        private BoundsTree<Node<View, Edge>> tree;
     }
 
     private class GraphBoundIndexerTraverseCallback extends AbstractChildrenTraverseCallback<Node<View, Edge>, Edge<Child, Node>> {
@@ -256,6 +279,7 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
         private void onStartNodeTraversal(final Optional<List<Node<View, Edge>>> parents,
                                           final Node<View, Edge> node) {
             final double[] parentLocation = {0, 0};
+            final boolean[] isInRoot = {false};
             if (parents.isPresent()) {
                 parents.get().forEach(parent -> {
                     final Point2D nodeCoordinates = getNodeCoordinates(parent);
@@ -263,11 +287,15 @@ public class GraphBoundsIndexerImpl implements GraphBoundsIndexer {
                         parentLocation[0] += nodeCoordinates.getX();
                         parentLocation[1] += nodeCoordinates.getY();
                     }
+                    if (null != rootUUID && parent.getUUID().equals(rootUUID)) {
+                        isInRoot[0] = true;
+                    }
                 });
             }
             callback.onNodeTraverse(node,
                                     parentLocation[0],
-                                    parentLocation[1]);
+                                    parentLocation[1],
+                                    isInRoot[0]);
         }
     }
 }
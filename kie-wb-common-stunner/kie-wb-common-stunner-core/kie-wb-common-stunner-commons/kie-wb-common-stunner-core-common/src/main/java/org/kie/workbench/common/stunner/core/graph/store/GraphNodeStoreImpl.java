@@ -16,9 +16,11 @@
 
 package org.kie.workbench.common.stunner.core.graph.store;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
@@ -28,15 +30,30 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    // The number of nodes by label, kept up to date as nodes are added and removed once first used.
+    private transient Map<String, Integer> labelsCount;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node previous = nodes.put(node.getUUID(),
+                                        node);
+        if (null != labelsCount) {
+            count(previous,
+                  -1);
+            count(node,
+                  1);
+        }
+        return previous;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node removed = nodes.remove(uuid);
+        if (null != labelsCount) {
+            count(removed,
+                  -1);
+        }
+        return removed;
     }
 
     @Override
@@ -52,10 +69,61 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelsCount = null;
     }
 
     @Override
     public Iterator<Node> iterator() {
-        return nodes.values().iterator();
+        final Iterator<Node> iterator = nodes.values().iterator();
+        return new Iterator<Node>() {
+
+            @Override
+            public boolean hasNext() {
+                return iterator.hasNext();
+            }
+
+            @Override
+            public Node next() {
+                return iterator.next();
+            }
+
+            @Override
+            public void remove() {
+                iterator.remove();
+                labelsCount = null;
+            }
+        };
+    }
+
+    /**
+     * Returns the number of nodes in the store for each label, without iterating the nodes once the counts have
+     * been calculated. Labels not used by any node are not present.
+     * Node labels must not be modified while the node is in the store, the node must be removed and added again.
+     */
+    public Map<String, Integer> getLabelsCount() {
+        if (null == labelsCount) {
+            labelsCount = new HashMap<>();
+            nodes.values().forEach(node -> count(node,
+                                                 1));
+        }
+        return Collections.unmodifiableMap(labelsCount);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void count(final Node node,
+                       final int delta) {
+        if (null == node || null == node.getLabels()) {
+            return;
+        }
+        for (final String label : (Set<String>) node.getLabels()) {
+            final Integer count = labelsCount.get(label);
+            final int newCount = (null != count ? count : 0) + delta;
+            if (newCount > 0) {
+                labelsCount.put(label,
+                                newCount);
+            } else {
+                labelsCount.remove(label);
+            }
+        }
     }
 }
@@ -37,6 +37,7 @@ import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
 import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 
 import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull;
 
@@ -117,6 +118,19 @@ public class GraphUtils {
     public static Map<String, Integer> getLabelsCount(final Graph<?, ? extends Node> target,
                                                       final Set<String> filter) {
         final Map<String, Integer> labels = new LinkedHashMap<>();
+        if (target.nodes() instanceof GraphNodeStoreImpl) {
+            //The store keeps the counts, no need to iterate the nodes
+            final Map<String, Integer> storeLabels = ((GraphNodeStoreImpl) target.nodes()).getLabelsCount();
+            if (null == filter) {
+                labels.putAll(storeLabels);
+            } else {
+                filter.stream()
+                        .filter(storeLabels::containsKey)
+                        .forEach(role -> labels.put(role,
+                                                    storeLabels.get(role)));
+            }
+            return labels;
+        }
         target.nodes().forEach(node -> {
             final Set<String> nodeRoles = node.getLabels();
             if (null != nodeRoles) {
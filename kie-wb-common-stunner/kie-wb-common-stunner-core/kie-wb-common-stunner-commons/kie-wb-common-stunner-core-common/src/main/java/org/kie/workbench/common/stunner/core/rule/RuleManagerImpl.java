@@ -16,10 +16,14 @@
 
 package org.kie.workbench.common.stunner.core.rule;
 
+import java.util.ArrayList;
 import java.util.Collection;
-import java.util.Optional;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -39,6 +43,18 @@ public class RuleManagerImpl implements RuleManager {
     private static Logger LOGGER = Logger.getLogger(RuleManagerImpl.class.getName());
 
     private final RuleHandlerRegistry registry;
+    private final RuleHandlerRegistry trackedRegistry;
+
+    // The handlers for each context type, by rule type. The table for a context type is replaced, never modified,
+    // so it can be read by concurrent evaluations.
+    private volatile Map<Class<?>, HandlerTable> handlerTables = new HashMap<>();
+
+    // Incremented on each registration or removal of handlers, tables built for a previous value are stale.
+    private volatile long registryModificationCount = 0;
+
+    // Counters for monitoring purposes, approximate if evaluations run concurrently.
+    private long evaluationCount = 0;
+    private long ruleEvaluationCount = 0;
 
     protected RuleManagerImpl() {
         this(null);
@@ -47,6 +63,7 @@ public class RuleManagerImpl implements RuleManager {
     @Inject
     public RuleManagerImpl(final RegistryFactory registryFactory) {
         this.registry = null != registryFactory ? registryFactory.newRuleHandlerRegistry() : null;
+        this.trackedRegistry = null != registry ? new TrackedRuleHandlerRegistry() : null;
     }
 
     @Override
@@ -64,26 +81,44 @@ public class RuleManagerImpl implements RuleManager {
             defines if allow/or deny the evaluation
             - Otherwise return the rule violations produced by the handlers or extensions
          */
+        evaluationCount++;
         final DefaultRuleViolations results = new DefaultRuleViolations();
-        final boolean hasRules = ruleSet.getRules().iterator().hasNext();
-        if (hasRules) {
-            final boolean[] hasEvaluations = {false};
-            ruleSet.getRules().forEach(rule -> {
-                final Optional<RuleViolations> violations = evaluate(rule,
-                                                                     context);
-                if (violations.isPresent()) {
-                    hasEvaluations[0] = true;
-                    LOGGER.info("Rule Evaluation [" + rule + ", " + violations + "]");
-                    results.addViolations(violations.get());
+        boolean hasRules = false;
+        boolean hasEvaluations = false;
+        for (final Rule rule : ruleSet.getRules()) {
+            hasRules = true;
+            final RuleViolations violations = evaluate(rule,
+                                                       context);
+            if (null != violations) {
+                hasEvaluations = true;
+                ruleEvaluationCount++;
+                if (LOGGER.isLoggable(Level.FINEST)) {
+                    LOGGER.log(Level.FINEST,
+                               "Rule Evaluation [" + rule + ", " + violations + "]");
                 }
-            });
-            if (!hasEvaluations[0] && context.isDefaultDeny()) {
-                return getDefaultViolationForContext(context);
+                results.addViolations(violations);
             }
         }
+        if (hasRules && !hasEvaluations && context.isDefaultDeny()) {
+            return getDefaultViolationForContext(context);
+        }
         return results;
     }
 
+    /**
+     * @return the number of rule set evaluations performed.
+     */
+    public long getEvaluationCount() {
+        return evaluationCount;
+    }
+
+    /**
+     * @return the number of rules evaluated by a handler or extension, along all the rule set evaluations.
+     */
+    public long getRuleEvaluationCount() {
+        return ruleEvaluationCount;
+    }
+
     private RuleViolations getDefaultViolationForContext(final RuleEvaluationContext context) {
         return new DefaultRuleViolations().addViolation(
                 new ContextOperationNotAllowedViolation(context)
@@ -92,11 +127,14 @@ public class RuleManagerImpl implements RuleManager {
 
     @Override
     public RuleHandlerRegistry registry() {
-        return registry;
+        return trackedRegistry;
     }
 
-    private Optional<RuleViolations> evaluate(final Rule rule,
-                                              final RuleEvaluationContext context) {
+    /**
+     * @return the rule violations, or null if no handler evaluated the rule.
+     */
+    private RuleViolations evaluate(final Rule rule,
+                                    final RuleEvaluationContext context) {
         if (rule instanceof RuleExtension) {
             return evaluateExtension((RuleExtension) rule,
                                      context);
@@ -106,53 +144,65 @@ public class RuleManagerImpl implements RuleManager {
     }
 
     @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateRule(final Rule rule,
-                                                  final RuleEvaluationContext context) {
+    private RuleViolations evaluateRule(final Rule rule,
+                                        final RuleEvaluationContext context) {
         checkNotNull("rule",
                      rule);
         checkNotNull("context",
                      context);
-        final Collection<RuleEvaluationHandler> handlers = getHandler(rule,
-                                                                      context);
-        final DefaultRuleViolations results = new DefaultRuleViolations();
-        if (!handlers.isEmpty()) {
-            handlers.forEach(h -> results.addViolations(h.evaluate(rule,
-                                                                   context)));
-            return Optional.of(results);
+        DefaultRuleViolations results = null;
+        for (final RuleEvaluationHandler handler : getHandlers(rule,
+                                                               context)) {
+            if (handler.accepts(rule,
+                                context)) {
+                if (null == results) {
+                    results = new DefaultRuleViolations();
+                }
+                results.addViolations(handler.evaluate(rule,
+                                                       context));
+            }
         }
-        return Optional.empty();
+        return results;
     }
 
     @SuppressWarnings("unchecked")
-    private Optional<RuleViolations> evaluateExtension(final RuleExtension rule,
-                                                       final RuleEvaluationContext context) {
+    private RuleViolations evaluateExtension(final RuleExtension rule,
+                                             final RuleEvaluationContext context) {
         checkNotNull("rule",
                      rule);
         checkNotNull("context",
                      context);
-        final Optional<RuleExtensionHandler> handler = getExtensionHandler(rule,
-                                                                           context);
-        return handler.isPresent() ? Optional.of(handler.get().evaluate(rule,
-                                                                        context)) : Optional.empty();
-    }
-
-    private Collection<RuleEvaluationHandler> getHandler(final Rule rule,
-                                                         final RuleEvaluationContext context) {
-        final Collection<RuleEvaluationHandler> handlers = registry.getHandlersByContext(context.getType());
-        return handlers.stream()
-                .filter(h -> accepts(h,
-                                     rule,
-                                     context))
-                .collect(Collectors.toList());
+        final RuleExtensionHandler handler = registry.getExtensionHandler(rule.getHandlerType());
+        return null != handler && accepts(handler,
+                                          rule,
+                                          context) ? handler.evaluate(rule,
+                                                                      context) : null;
     }
 
-    private Optional<RuleExtensionHandler> getExtensionHandler(final RuleExtension rule,
-                                                               final RuleEvaluationContext context) {
-        final RuleExtensionHandler handler = registry.getExtensionHandler(rule.getHandlerType());
-        return null != handler
-                && accepts(handler,
-                           rule,
-                           context) ? Optional.of(handler) : Optional.empty();
+    /**
+     * Handler acceptance based on rule and context types is resolved once for each context type, as it does not
+     * depend on the context's state. The tables are built again once handlers are registered or removed.
+     */
+    private List<RuleEvaluationHandler> getHandlers(final Rule rule,
+                                                    final RuleEvaluationContext context) {
+        final Class<?> contextType = context.getType();
+        final Collection<RuleEvaluationHandler> registered = registry.getHandlersByContext(contextType);
+        if (null == registered || registered.isEmpty()) {
+            return Collections.emptyList();
+        }
+        final long modificationCount = registryModificationCount;
+        HandlerTable table = handlerTables.get(contextType);
+        if (null == table || table.modificationCount != modificationCount) {
+            table = new HandlerTable(contextType,
+                                     registered,
+                                     modificationCount);
+            final Map<Class<?>, HandlerTable> tables = new HashMap<>(handlerTables);
+            tables.put(contextType,
+                       table);
+            handlerTables = tables;
+        }
+        final List<RuleEvaluationHandler> handlers = table.handlersByRuleType.get(rule.getClass());
+        return null != handlers ? handlers : Collections.emptyList();
     }
 
     /**
@@ -168,9 +218,79 @@ public class RuleManagerImpl implements RuleManager {
                             final Rule rule,
                             final RuleEvaluationContext context) {
         return handler.getRuleType().equals(rule.getClass())
-                && (handler.getContextType().equals(context.getType())
-                || RuleEvaluationContext.class.equals(handler.getContextType()))
+                && acceptsContextType(handler,
+                                      context.getType())
                 && handler.accepts(rule,
                                    context);
     }
+
+    private static boolean acceptsContextType(final RuleEvaluationHandler handler,
+                                              final Class<?> contextType) {
+        return handler.getContextType().equals(contextType)
+                || RuleEvaluationContext.class.equals(handler.getContextType());
+    }
+
+    /**
+     * The registry exposed to the callers, so the registrations and removals of handlers invalidate the tables.
+     */
+    private class TrackedRuleHandlerRegistry implements RuleHandlerRegistry {
+
+        @Override
+        public void register(final RuleEvaluationHandler handler) {
+            registry.register(handler);
+            registryModificationCount++;
+        }
+
+        @Override
+        public boolean remove(final RuleEvaluationHandler handler) {
+            final boolean removed = registry.remove(handler);
+            registryModificationCount++;
+            return removed;
+        }
+
+        @Override
+        public Collection<RuleEvaluationHandler> getHandlersByContext(final Class<?> contextType) {
+            return registry.getHandlersByContext(contextType);
+        }
+
+        @Override
+        public <T extends RuleExtensionHandler> T getExtensionHandler(final Class<T> type) {
+            return registry.getExtensionHandler(type);
+        }
+
+        @Override
+        public boolean contains(final RuleEvaluationHandler handler) {
+            return registry.contains(handler);
+        }
+
+        @Override
+        public boolean isEmpty() {
+            return registry.isEmpty();
+        }
+    }
+
+    private static class HandlerTable {
+
+        private final long modificationCount;
+        private final Map<Class<?>, List<RuleEvaluationHandler>> handlersByRuleType = new HashMap<>();
+
+        private HandlerTable(final Class<?> contextType,
+                             final Collection<RuleEvaluationHandler> registered,
+                             final long modificationCount) {
+            this.modificationCount = modificationCount;
+            for (final RuleEvaluationHandler handler : registered) {
+                if (acceptsContextType(handler,
+                                       contextType)) {
+                    final Class<?> ruleType = handler.getRuleType();
+                    List<RuleEvaluationHandler> handlers = handlersByRuleType.get(ruleType);
+                    if (null == handlers) {
+                        handlers = new ArrayList<>();
+                        handlersByRuleType.put(ruleType,
+                                               handlers);
+                    }
+                    handlers.add(handler);
+                }
+            }
+        }
+    }
 }
@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.processing.index.bounds;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class BoundsTreeTest {
+
+    @Test
+    public void testEmpty() {
+        final BoundsTree<String> tree = BoundsTree.build(Collections.emptyList());
+        final List<String> found = new ArrayList<>();
+        tree.query(0,
+                   0,
+                   entry -> found.add(entry.getValue()));
+        assertEquals(0,
+                     tree.size());
+        assertTrue(found.isEmpty());
+    }
+
+    @Test
+    public void testBordersAreIncluded() {
+        final List<BoundsTree.Entry<String>> entries = new ArrayList<>();
+        entries.add(new BoundsTree.Entry<>("a",
+                                           0,
+                                           10,
+                                           10,
+                                           20,
+                                           20));
+        final BoundsTree<String> tree = BoundsTree.build(entries);
+        assertEquals(1,
+                     pointQuery(tree,
+                                10,
+                                20).size());
+        assertEquals(1,
+                     pointQuery(tree,
+                                20,
+                                10).size());
+        assertEquals(0,
+                     pointQuery(tree,
+                                20.1,
+                                10).size());
+    }
+
+    @Test
+    public void testQueriesMatchFullScan() {
+        final Random random = new Random(7);
+        for (final int size : new int[]{1, 15, 16, 17, 100, 1000, 10000}) {
+            final List<BoundsTree.Entry<Integer>> entries = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                final double x = random.nextDouble() * 5000;
+                final double y = random.nextDouble() * 5000;
+                entries.add(new BoundsTree.Entry<>(i,
+                                                   i,
+                                                   x,
+                                                   y,
+                                                   x + random.nextDouble() * 300,
+                                                   y + random.nextDouble() * 300));
+            }
+            final BoundsTree<Integer> tree = BoundsTree.build(entries);
+            assertEquals(size,
+                         tree.size());
+
+            for (int i = 0; i < 200; i++) {
+                final double x = random.nextDouble() * 5300;
+                final double y = random.nextDouble() * 5300;
+                final double w = random.nextDouble() * 200;
+                final double h = random.nextDouble() * 200;
+
+                final Set<Integer> expectedAtPoint = new HashSet<>();
+                final Set<Integer> expectedInArea = new HashSet<>();
+                for (final BoundsTree.Entry<Integer> entry : entries) {
+                    if (entry.intersects(x,
+                                         y,
+                                         x,
+                                         y)) {
+                        expectedAtPoint.add(entry.getValue());
+                    }
+                    if (entry.intersects(x,
+                                         y,
+                                         x + w,
+                                         y + h)) {
+                        expectedInArea.add(entry.getValue());
+                    }
+                }
+
+                assertEquals(expectedAtPoint,
+                             pointQuery(tree,
+                                        x,
+                                        y));
+                final Set<Integer> inArea = new HashSet<>();
+                tree.query(x,
+                           y,
+                           x + w,
+                           y + h,
+                           entry -> inArea.add(entry.getValue()));
+                assertEquals(expectedInArea,
+                             inArea);
+            }
+        }
+    }
+
+    private <T> Set<T> pointQuery(final BoundsTree<T> tree,
+                                  final double x,
+                                  final double y) {
+        final Set<T> found = new HashSet<>();
+        tree.query(x,
+                   y,
+                   entry -> found.add(entry.getValue()));
+        return found;
+    }
+}
@@ -16,12 +16,15 @@
 
 package org.kie.workbench.common.stunner.core.graph.processing.indexing.bounds;
 
+import java.util.Optional;
+
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.kie.workbench.common.stunner.core.TestingGraphInstanceBuilder;
 import org.kie.workbench.common.stunner.core.TestingGraphMockHandler;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
@@ -35,6 +38,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 
 @RunWith(MockitoJUnitRunner.class)
 public class GraphBoundsIndexerImplTest {
@@ -127,4 +131,35 @@ public class GraphBoundsIndexerImplTest {
                      size[1],
                      0.001);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testGetAtWithRoot() {
+        final TestingGraphMockHandler graphTestHandler = new TestingGraphMockHandler();
+        final Node rootNode = graphTestHandler.newViewNode("rootUUID",
+                                                           Optional.empty(),
+                                                           0,
+                                                           0,
+                                                           1000,
+                                                           1000);
+        final Node childNode = graphTestHandler.newViewNode("childUUID",
+                                                            Optional.empty(),
+                                                            100,
+                                                            100,
+                                                            50,
+                                                            50);
+        graphTestHandler.setChild(rootNode,
+                                  childNode);
+
+        final GraphBoundsIndexerImpl indexer = new GraphBoundsIndexerImpl(new ChildrenTraverseProcessorImpl(new TreeWalkTraverseProcessorImpl()));
+        indexer.build((Graph) graphTestHandler.graph);
+        indexer.setRootUUID("rootUUID");
+
+        //The first node indexed after the root is drawn on top of it
+        assertSame(childNode,
+                   indexer.getAt(120,
+                                 120));
+        assertSame(rootNode,
+                   indexer.getAt(500,
+                                 500));
+    }
+}
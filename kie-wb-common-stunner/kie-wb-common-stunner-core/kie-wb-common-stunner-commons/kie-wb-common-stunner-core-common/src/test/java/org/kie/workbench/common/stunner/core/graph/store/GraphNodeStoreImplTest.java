@@ -0,0 +1,130 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.core.graph.store;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.Node;
+import org.kie.workbench.common.stunner.core.graph.impl.GraphImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+
+public class GraphNodeStoreImplTest {
+
+    private GraphNodeStoreImpl store;
+
+    @Before
+    public void setup() {
+        store = new GraphNodeStoreImpl();
+        store.add(newNode("node1",
+                          "task",
+                          "all"));
+        store.add(newNode("node2",
+                          "task",
+                          "all"));
+        store.add(newNode("node3",
+                          "start",
+                          "all"));
+    }
+
+    @Test
+    public void testLabelsCount() {
+        final Map<String, Integer> labelsCount = store.getLabelsCount();
+        assertEquals(3,
+                     labelsCount.size());
+        assertEquals(2,
+                     labelsCount.get("task").intValue());
+        assertEquals(1,
+                     labelsCount.get("start").intValue());
+        assertEquals(3,
+                     labelsCount.get("all").intValue());
+    }
+
+    @Test
+    public void testLabelsCountIsUpdated() {
+        store.getLabelsCount();
+
+        store.remove("node3");
+        assertNull(store.getLabelsCount().get("start"));
+        assertEquals(2,
+                     store.getLabelsCount().get("all").intValue());
+
+        store.add(newNode("node4",
+                          "end"));
+        assertEquals(1,
+                     store.getLabelsCount().get("end").intValue());
+
+        //Replacing a node counts the labels of the new one only
+        store.add(newNode("node1",
+                          "end"));
+        assertEquals(1,
+                     store.getLabelsCount().get("task").intValue());
+        assertEquals(2,
+                     store.getLabelsCount().get("end").intValue());
+        assertEquals(1,
+                     store.getLabelsCount().get("all").intValue());
+    }
+
+    @Test
+    public void testLabelsCountAfterIteratorRemove() {
+        store.getLabelsCount();
+        final Iterator<Node> nodes = store.iterator();
+        nodes.next();
+        nodes.remove();
+        assertEquals(2,
+                     store.getLabelsCount().get("all").intValue());
+    }
+
+    @Test
+    public void testLabelsCountAfterClear() {
+        store.getLabelsCount();
+        store.clear();
+        assertFalse(store.getLabelsCount().containsKey("all"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testGraphUtilsLabelsCount() {
+        final Graph graph = new GraphImpl<>("graph",
+                                            store);
+        final Map<String, Integer> labelsCount = GraphUtils.getLabelsCount(graph,
+                                                                           new HashSet<>(Arrays.asList("task",
+                                                                                                      "end")));
+        assertEquals(Collections.singletonMap("task",
+                                              2),
+                     labelsCount);
+    }
+
+    private Node newNode(final String uuid,
+                         final String... labels) {
+        final Node node = new NodeImpl<>(uuid);
+        Collections.addAll(node.getLabels(),
+                           labels);
+        return node;
+    }
+}
@@ -44,6 +44,9 @@ import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -262,4 +265,71 @@ public class RuleManagerImplTest {
         assertTrue(violations.contains(ruleViolation2));
         assertTrue(violations.contains(ruleViolation3));
     }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlerTypesResolvedOnce() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+        verify(handler1,
+               times(1)).getRuleType();
+        verify(handler2,
+               times(1)).getRuleType();
+        assertEquals(2,
+                     tested.getEvaluationCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlersRegisteredLaterAreUsed() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        final RuleEvaluationHandler handler3 = mock(RuleEvaluationHandler.class);
+        when(handler3.getRuleType()).thenReturn(CanContain.class);
+        when(handler3.getContextType()).thenReturn(ContainmentContext.class);
+        when(handler3.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler3.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations3);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+
+        tested.registry().register(handler3);
+        handlers.add(handler3);
+        final RuleViolations result = tested.evaluate(ruleSet,
+                                                      ruleEvaluationContext);
+        final Collection<RuleViolation> violations = (Collection<RuleViolation>) result.violations();
+        assertTrue(violations.contains(ruleViolation3));
+        assertEquals(1,
+                     tested.getRuleEvaluationCount());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testHandlerReplacedLaterIsUsed() {
+        when(registry.getExtensionHandler(any(Class.class))).thenReturn(null);
+        final RuleEvaluationHandler handler3 = mock(RuleEvaluationHandler.class);
+        when(handler3.getRuleType()).thenReturn(CanContain.class);
+        when(handler3.getContextType()).thenReturn(ContainmentContext.class);
+        when(handler3.accepts(eq(rule1),
+                              eq(ruleEvaluationContext))).thenReturn(true);
+        when(handler3.evaluate(eq(rule1),
+                               eq(ruleEvaluationContext))).thenReturn(ruleViolations3);
+        tested.evaluate(ruleSet,
+                        ruleEvaluationContext);
+
+        //The number of handlers doesn't change, the registry modification does
+        tested.registry().remove(handler2);
+        tested.registry().register(handler3);
+        handlers.remove(handler2);
+        handlers.add(handler3);
+        final RuleViolations result = tested.evaluate(ruleSet,
+                                                      ruleEvaluationContext);
+        final Collection<RuleViolation> violations = (Collection<RuleViolation>) result.violations();
+        assertTrue(violations.contains(ruleViolation3));
+        verify(registry).remove(handler2);
+        verify(registry).register(handler3);
+    }
 }
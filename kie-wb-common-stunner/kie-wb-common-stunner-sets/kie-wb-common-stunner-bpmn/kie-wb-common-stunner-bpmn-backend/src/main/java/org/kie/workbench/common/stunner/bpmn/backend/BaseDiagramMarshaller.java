@@ -18,23 +18,13 @@ package org.kie.workbench.common.stunner.bpmn.backend;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.HashMap;
-import java.util.Map;
 
-import bpsim.impl.BpsimPackageImpl;
-import org.eclipse.bpmn2.Bpmn2Package;
 import org.eclipse.bpmn2.Definitions;
-import org.eclipse.bpmn2.DocumentRoot;
-import org.eclipse.emf.common.util.URI;
-import org.eclipse.emf.ecore.resource.Resource;
-import org.eclipse.emf.ecore.resource.ResourceSet;
-import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
-import org.jboss.drools.DroolsPackage;
-import org.jboss.drools.impl.DroolsPackageImpl;
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.profile.impl.DefaultProfileImpl;
-import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceFactoryImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceLoader;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2DirectUnMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2Marshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2UnMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.GraphObjectBuilderFactory;
@@ -61,6 +51,12 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
 
     private static final Logger LOG = LoggerFactory.getLogger(BaseDiagramMarshaller.class);
 
+    /**
+     * Unmarshalls the supported processes straight from their EMF model, see {@link Bpmn2DirectUnMarshaller}.
+     * Disabled by default.
+     */
+    public static final String DIRECT_UNMARSHALLING_PROPERTY_NAME = "org.kie.stunner.bpmn.direct-unmarshalling";
+
     private final XMLEncoderDiagramMetadataMarshaller diagramMetadataMarshaller;
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final GraphIndexBuilder<?> indexBuilder;
@@ -68,6 +64,7 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
     private final RuleManager rulesManager;
     private final GraphCommandManager graphCommandManager;
     private final GraphCommandFactory commandFactory;
+    private final boolean directUnmarshalling = Boolean.getBoolean(DIRECT_UNMARSHALLING_PROPERTY_NAME);
 
     protected final DefinitionManager definitionManager;
     protected final OryxManager oryxManager;
@@ -127,25 +124,16 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
                             final InputStream inputStream) throws IOException {
         LOG.debug("Starting diagram unmarshalling...");
 
-        // No rule checking for marshalling/unmarshalling, current jbpm designer marshallers should do it for us.
-        final Bpmn2UnMarshaller parser = new Bpmn2UnMarshaller(bpmnGraphBuilderFactory,
-                                                               definitionManager,
-                                                               factoryManager,
-                                                               rulesManager,
-                                                               oryxManager,
-                                                               graphCommandManager,
-                                                               commandFactory,
-                                                               indexBuilder,
-                                                               getDiagramDefinitionSetClass(),
-                                                               getDiagramDefinitionClass());
-
         Graph result = null;
         try {
             // Unmarshall the diagram definition
             final Definitions definitions = parseDefinitions(inputStream);
-            parser.setProfile(new DefaultProfileImpl());
-            result = parser.unmarshall(definitions,
-                                       null);
+            if (directUnmarshalling) {
+                result = unmarshallDirect(definitions);
+            }
+            if (null == result) {
+                result = unmarshallLegacy(definitions);
+            }
 
             // Update diagram's settings.
             updateRootUUID(metadata,
@@ -159,6 +147,43 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
         return result;
     }
 
+    private Graph unmarshallDirect(final Definitions definitions) throws IOException {
+        // No rule checking for marshalling/unmarshalling, current jbpm designer marshallers should do it for us.
+        final Bpmn2DirectUnMarshaller parser = new Bpmn2DirectUnMarshaller(bpmnGraphBuilderFactory,
+                                                                           definitionManager,
+                                                                           factoryManager,
+                                                                           rulesManager,
+                                                                           oryxManager,
+                                                                           graphCommandManager,
+                                                                           commandFactory,
+                                                                           indexBuilder,
+                                                                           getDiagramDefinitionSetClass(),
+                                                                           getDiagramDefinitionClass());
+        parser.setProfile(new DefaultProfileImpl());
+        final Graph result = parser.unmarshall(definitions);
+        if (null == result) {
+            LOG.debug("Process not supported by the direct unmarshaller, using the Oryx based one.");
+        }
+        return result;
+    }
+
+    private Graph unmarshallLegacy(final Definitions definitions) throws IOException {
+        // No rule checking for marshalling/unmarshalling, current jbpm designer marshallers should do it for us.
+        final Bpmn2UnMarshaller parser = new Bpmn2UnMarshaller(bpmnGraphBuilderFactory,
+                                                               definitionManager,
+                                                               factoryManager,
+                                                               rulesManager,
+                                                               oryxManager,
+                                                               graphCommandManager,
+                                                               commandFactory,
+                                                               indexBuilder,
+                                                               getDiagramDefinitionSetClass(),
+                                                               getDiagramDefinitionClass());
+        parser.setProfile(new DefaultProfileImpl());
+        return parser.unmarshall(definitions,
+                                 null);
+    }
+
     public abstract Class<?> getDiagramDefinitionSetClass();
 
     public abstract Class<? extends BPMNDiagram> getDiagramDefinitionClass();
@@ -201,43 +226,10 @@ public abstract class BaseDiagramMarshaller<D> implements DiagramMarshaller<Grap
 
     private Definitions parseDefinitions(final InputStream inputStream) throws IOException {
         try {
-            DroolsPackageImpl.init();
-            BpsimPackageImpl.init();
-
-            final ResourceSet resourceSet = new ResourceSetImpl();
-            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                                                                                    new JBPMBpmn2ResourceFactoryImpl());
-            resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
-                                                 Bpmn2Package.eINSTANCE);
-            resourceSet.getPackageRegistry().put("http://www.jboss.org/drools",
-                                                 DroolsPackage.eINSTANCE);
-
-            final JBPMBpmn2ResourceImpl resource = (JBPMBpmn2ResourceImpl) resourceSet.createResource(URI.createURI("inputStream://dummyUriWithValidSuffix.xml"));
-            resource.getDefaultLoadOptions().put(JBPMBpmn2ResourceImpl.OPTION_ENCODING,
-                                                 "UTF-8");
-            resource.setEncoding("UTF-8");
-
-            final Map<String, Object> options = new HashMap<String, Object>();
-            options.put(JBPMBpmn2ResourceImpl.OPTION_ENCODING,
-                        "UTF-8");
-            options.put(JBPMBpmn2ResourceImpl.OPTION_DEFER_IDREF_RESOLUTION,
-                        true);
-            options.put(JBPMBpmn2ResourceImpl.OPTION_DISABLE_NOTIFY,
-                        true);
-            options.put(JBPMBpmn2ResourceImpl.OPTION_PROCESS_DANGLING_HREF,
-                        JBPMBpmn2ResourceImpl.OPTION_PROCESS_DANGLING_HREF_RECORD);
-
-            resource.load(inputStream,
-                          options);
-
-            final DocumentRoot root = (DocumentRoot) resource.getContents().get(0);
-            return root.getDefinitions();
+            return JBPMBpmn2ResourceLoader.loadDefinitions(inputStream);
         } catch (Exception e) {
-            e.printStackTrace();
-        } finally {
-            if (inputStream != null) {
-                inputStream.close();
-            }
+            LOG.error("Error parsing BPMN2 definitions.",
+                      e);
         }
         return null;
     }
@@ -97,12 +97,13 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
         try {
             List<BpmnProcessDataEventListener> processDataList = buildProcessDefinition(bpmnStr,
                                                                                         projectClassLoader);
-            if (processDataList != null) {
+            if (processDataList != null && !processDataList.isEmpty()) {
                 for (BpmnProcessDataEventListener processData : processDataList) {
                     addReferencedResourcesToIndexBuilder(builder,
                                                          processData);
                     builder.setPackageName(processData.getProcess().getPackageName());
                 }
+                return builder;
             }
         } catch (Exception e) {
             // log and ignore
@@ -116,6 +117,9 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
          * When this happens, we (re)parse the process definition, but do not completely "build" it
          * (as in, what org.jbpm.compiler.ProcessBuilderImpl.buildProcess(Process, Resource) does).
          *
+         * A successful build already collected all the references (the BpmnProcessDataEventListener is notified
+         * while the process is read and built), so the process is only parsed a second time when the build fails.
+         *
          *
          * It *would* be more efficient to basically copy/paste the
          * jbpm-flow-builder org.jbpm.compiler.ProcessBuilderImpl.addProcessFromXml(Resource) logic here,
@@ -133,8 +137,7 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
          */
 
         // parse process definitions
-        XmlProcessReader processReader = new XmlProcessReader(modules,
-                                                              projectClassLoader);
+        XmlProcessReader processReader = newXmlProcessReader(projectClassLoader);
         List<Process> processes = Collections.emptyList();
         try {
             processes = processReader.read(new StringReader(bpmnStr));
@@ -169,9 +172,16 @@ public class BpmnFileIndexer extends AbstractFileIndexer {
 
     // Protected method for testing
     protected ClassLoader getProjectClassLoader(final KieProject project) {
+        // The helper shares the ClassLoader of a project between the files indexed for the same build generation
         return classLoaderHelper.getProjectClassLoader(project);
     }
 
+    // Protected method for testing
+    protected XmlProcessReader newXmlProcessReader(final ClassLoader projectClassLoader) {
+        return new XmlProcessReader(modules,
+                                    projectClassLoader);
+    }
+
     private List<BpmnProcessDataEventListener> buildProcessDefinition(String bpmn2Content,
                                                                       ClassLoader projectClassLoader) throws IllegalArgumentException {
         if (StringUtils.isEmpty(bpmn2Content)) {
@@ -295,6 +295,20 @@ public class Bpmn2JsonMarshaller {
     public void marshall(JsonGenerator generator,
                          Definitions def,
                          String preProcessingData) throws IOException {
+        preProcessingData = prepare(def,
+                                    preProcessingData);
+        marshallDefinitions(def,
+                            generator,
+                            preProcessingData);
+        generator.close();
+    }
+
+    /**
+     * Reads the simulation scenario and the coordinates settings of the given definitions.
+     * @return the pre-processing data to use while marshalling the definitions.
+     */
+    protected String prepare(Definitions def,
+                             String preProcessingData) {
         if (def.getRelationships() != null && def.getRelationships().size() > 0) {
             // current support for single relationship
             Relationship relationship = def.getRelationships().get(0);
@@ -322,13 +336,10 @@ public class Bpmn2JsonMarshaller {
         if (_simulationScenario != null && !haveExporter) {
             coordianteManipulation = false;
         }
-        marshallDefinitions(def,
-                            generator,
-                            preProcessingData);
-        generator.close();
+        return preProcessingData;
     }
 
-    private void linkSequenceFlows(List<FlowElement> flowElements) {
+    protected void linkSequenceFlows(List<FlowElement> flowElements) {
         Map<String, FlowNode> nodes = new HashMap<String, FlowNode>();
         for (FlowElement flowElement : flowElements) {
             if (flowElement instanceof FlowNode) {
@@ -392,140 +403,13 @@ public class Bpmn2JsonMarshaller {
              * "modificationdate":""
              * }
              */
-            Map<String, Object> props = new LinkedHashMap<String, Object>();
-            props.put(NAMESPACES,
-                      "");
-            //props.put("targetnamespace", def.getTargetNamespace());
-            props.put(TARGETNAMESPACE,
-                      "http://www.omg.org/bpmn20");
-            props.put(TYPELANGUAGE,
-                      def.getTypeLanguage());
-            props.put(NAME,
-                      StringEscapeUtils.unescapeXml(def.getName()));
-            props.put(ID,
-                      def.getId());
-            props.put(EXPRESSIONLANGUAGE,
-                      def.getExpressionLanguage());
-            // backwards compat for BZ 1048191
-            putDocumentationProperty(def,
-                                     props);
-
+            Map<String, Object> props = getDefinitionsProperties(def);
             for (RootElement rootElement : def.getRootElements()) {
                 if (rootElement instanceof Process) {
                     // have to wait for process node to finish properties and stencil marshalling
-                    props.put(EXECUTABLE,
-                              ((Process) rootElement).isIsExecutable() + "");
-                    props.put(ID,
-                              rootElement.getId());
-                    if (rootElement.getDocumentation() != null && rootElement.getDocumentation().size() > 0) {
-                        props.put(DOCUMENTATION,
-                                  rootElement.getDocumentation().get(0).getText());
-                    }
-                    Process pr = (Process) rootElement;
-                    if (pr.getName() != null && pr.getName().length() > 0) {
-                        props.put(PROCESSN,
-                                  StringEscapeUtils.unescapeXml(((Process) rootElement).getName()));
-                    }
-                    List<Property> processProperties = ((Process) rootElement).getProperties();
-                    if (processProperties != null && processProperties.size() > 0) {
-                        String propVal = "";
-                        for (int i = 0; i < processProperties.size(); i++) {
-                            Property p = processProperties.get(i);
-                            String pKPI = Utils.getMetaDataValue(p.getExtensionValues(),
-                                                                 "customKPI");
-                            propVal += p.getId();
-                            // check the structureRef value
-                            if (p.getItemSubjectRef() != null && p.getItemSubjectRef().getStructureRef() != null) {
-                                propVal += ":" + p.getItemSubjectRef().getStructureRef();
-                            }
-                            if (pKPI != null && pKPI.length() > 0) {
-                                propVal += ":" + pKPI;
-                            }
-                            if (i != processProperties.size() - 1) {
-                                propVal += ",";
-                            }
-                        }
-                        props.put("vardefs",
-                                  propVal);
-                    }
-                    // packageName and version and adHoc are jbpm-specific extension attribute
-                    Iterator<FeatureMap.Entry> iter = ((Process) rootElement).getAnyAttribute().iterator();
-                    while (iter.hasNext()) {
-                        FeatureMap.Entry entry = iter.next();
-                        if (entry.getEStructuralFeature().getName().equals("packageName")) {
-                            props.put(PACKAGE,
-                                      entry.getValue());
-                        }
-                        if (entry.getEStructuralFeature().getName().equals("version")) {
-                            props.put(VERSION,
-                                      entry.getValue());
-                        }
-                        if (entry.getEStructuralFeature().getName().equals("adHoc")) {
-                            props.put(ADHOCPROCESS,
-                                      entry.getValue());
-                        }
-                    }
-                    // process imports, custom description and globals extension elements
-                    String allImports = "";
-                    if ((rootElement).getExtensionValues() != null && (rootElement).getExtensionValues().size() > 0) {
-                        String importsStr = "";
-                        String globalsStr = "";
-                        for (ExtensionAttributeValue extattrval : rootElement.getExtensionValues()) {
-                            FeatureMap extensionElements = extattrval.getValue();
-                            @SuppressWarnings("unchecked")
-                            List<ImportType> importExtensions = (List<ImportType>) extensionElements
-                                    .get(DroolsPackage.Literals.DOCUMENT_ROOT__IMPORT,
-                                         true);
-                            @SuppressWarnings("unchecked")
-                            List<GlobalType> globalExtensions = (List<GlobalType>) extensionElements
-                                    .get(DroolsPackage.Literals.DOCUMENT_ROOT__GLOBAL,
-                                         true);
-                            List<MetaDataType> metadataExtensions = (List<MetaDataType>) extensionElements
-                                    .get(DroolsPackage.Literals.DOCUMENT_ROOT__META_DATA,
-                                         true);
-                            for (ImportType importType : importExtensions) {
-                                importsStr += importType.getName();
-                                importsStr += "|default,";
-                            }
-                            for (GlobalType globalType : globalExtensions) {
-                                globalsStr += (globalType.getIdentifier() + ":" + globalType.getType());
-                                globalsStr += ",";
-                            }
-                            for (MetaDataType metaType : metadataExtensions) {
-                                props.put("customdescription",
-                                          metaType.getMetaValue());
-                            }
-                        }
-                        allImports += importsStr;
-                        if (globalsStr.length() > 0) {
-                            if (globalsStr.endsWith(",")) {
-                                globalsStr = globalsStr.substring(0,
-                                                                  globalsStr.length() - 1);
-                            }
-                            props.put(GLOBALS,
-                                      globalsStr);
-                        }
-                    }
-                    // definitions imports (wsdl)
-                    List<org.eclipse.bpmn2.Import> wsdlImports = def.getImports();
-                    if (wsdlImports != null) {
-                        for (org.eclipse.bpmn2.Import imp : wsdlImports) {
-                            allImports += imp.getLocation() + "|" + imp.getNamespace() + "|wsdl,";
-                        }
-                    }
-                    if (allImports.endsWith(",")) {
-                        allImports = allImports.substring(0,
-                                                          allImports.length() - 1);
-                    }
-                    props.put(IMPORTS,
-                              allImports);
-                    // simulation
-                    if (_simulationScenario != null && _simulationScenario.getScenarioParameters() != null) {
-                        props.put(CURRENCY,
-                                  _simulationScenario.getScenarioParameters().getBaseCurrencyUnit() == null ? "" : _simulationScenario.getScenarioParameters().getBaseCurrencyUnit());
-                        props.put(TIMEUNIT,
-                                  _simulationScenario.getScenarioParameters().getBaseTimeUnit().getName());
-                    }
+                    putProcessProperties(def,
+                                         (Process) rootElement,
+                                         props);
                     marshallProperties(props,
                                        generator);
                     marshallStencil("BPMNDiagram",
@@ -569,6 +453,144 @@ public class Bpmn2JsonMarshaller {
         }
     }
 
+    protected Map<String, Object> getDefinitionsProperties(Definitions def) {
+        Map<String, Object> props = new LinkedHashMap<String, Object>();
+        props.put(NAMESPACES,
+                  "");
+        //props.put("targetnamespace", def.getTargetNamespace());
+        props.put(TARGETNAMESPACE,
+                  "http://www.omg.org/bpmn20");
+        props.put(TYPELANGUAGE,
+                  def.getTypeLanguage());
+        props.put(NAME,
+                  StringEscapeUtils.unescapeXml(def.getName()));
+        props.put(ID,
+                  def.getId());
+        props.put(EXPRESSIONLANGUAGE,
+                  def.getExpressionLanguage());
+        // backwards compat for BZ 1048191
+        putDocumentationProperty(def,
+                                 props);
+        return props;
+    }
+
+    protected void putProcessProperties(Definitions def,
+                                        Process process,
+                                        Map<String, Object> props) {
+        props.put(EXECUTABLE,
+                  process.isIsExecutable() + "");
+        props.put(ID,
+                  process.getId());
+        if (process.getDocumentation() != null && process.getDocumentation().size() > 0) {
+            props.put(DOCUMENTATION,
+                      process.getDocumentation().get(0).getText());
+        }
+        if (process.getName() != null && process.getName().length() > 0) {
+            props.put(PROCESSN,
+                      StringEscapeUtils.unescapeXml(process.getName()));
+        }
+        List<Property> processProperties = process.getProperties();
+        if (processProperties != null && processProperties.size() > 0) {
+            String propVal = "";
+            for (int i = 0; i < processProperties.size(); i++) {
+                Property p = processProperties.get(i);
+                String pKPI = Utils.getMetaDataValue(p.getExtensionValues(),
+                                                     "customKPI");
+                propVal += p.getId();
+                // check the structureRef value
+                if (p.getItemSubjectRef() != null && p.getItemSubjectRef().getStructureRef() != null) {
+                    propVal += ":" + p.getItemSubjectRef().getStructureRef();
+                }
+                if (pKPI != null && pKPI.length() > 0) {
+                    propVal += ":" + pKPI;
+                }
+                if (i != processProperties.size() - 1) {
+                    propVal += ",";
+                }
+            }
+            props.put("vardefs",
+                      propVal);
+        }
+        // packageName and version and adHoc are jbpm-specific extension attribute
+        Iterator<FeatureMap.Entry> iter = process.getAnyAttribute().iterator();
+        while (iter.hasNext()) {
+            FeatureMap.Entry entry = iter.next();
+            if (entry.getEStructuralFeature().getName().equals("packageName")) {
+                props.put(PACKAGE,
+                          entry.getValue());
+            }
+            if (entry.getEStructuralFeature().getName().equals("version")) {
+                props.put(VERSION,
+                          entry.getValue());
+            }
+            if (entry.getEStructuralFeature().getName().equals("adHoc")) {
+                props.put(ADHOCPROCESS,
+                          entry.getValue());
+            }
+        }
+        // process imports, custom description and globals extension elements
+        String allImports = "";
+        if (process.getExtensionValues() != null && process.getExtensionValues().size() > 0) {
+            String importsStr = "";
+            String globalsStr = "";
+            for (ExtensionAttributeValue extattrval : process.getExtensionValues()) {
+                FeatureMap extensionElements = extattrval.getValue();
+                @SuppressWarnings("unchecked")
+                List<ImportType> importExtensions = (List<ImportType>) extensionElements
+                        .get(DroolsPackage.Literals.DOCUMENT_ROOT__IMPORT,
+                             true);
+                @SuppressWarnings("unchecked")
+                List<GlobalType> globalExtensions = (List<GlobalType>) extensionElements
+                        .get(DroolsPackage.Literals.DOCUMENT_ROOT__GLOBAL,
+                             true);
+                List<MetaDataType> metadataExtensions = (List<MetaDataType>) extensionElements
+                        .get(DroolsPackage.Literals.DOCUMENT_ROOT__META_DATA,
+                             true);
+                for (ImportType importType : importExtensions) {
+                    importsStr += importType.getName();
+                    importsStr += "|default,";
+                }
+                for (GlobalType globalType : globalExtensions) {
+                    globalsStr += (globalType.getIdentifier() + ":" + globalType.getType());
+                    globalsStr += ",";
+                }
+                for (MetaDataType metaType : metadataExtensions) {
+                    props.put("customdescription",
+                              metaType.getMetaValue());
+                }
+            }
+            allImports += importsStr;
+            if (globalsStr.length() > 0) {
+                if (globalsStr.endsWith(",")) {
+                    globalsStr = globalsStr.substring(0,
+                                                      globalsStr.length() - 1);
+                }
+                props.put(GLOBALS,
+                          globalsStr);
+            }
+        }
+        // definitions imports (wsdl)
+        List<org.eclipse.bpmn2.Import> wsdlImports = def.getImports();
+        if (wsdlImports != null) {
+            for (org.eclipse.bpmn2.Import imp : wsdlImports) {
+                allImports += imp.getLocation() + "|" + imp.getNamespace() + "|wsdl,";
+            }
+        }
+        if (allImports.endsWith(",")) {
+            allImports = allImports.substring(0,
+                                              allImports.length() - 1);
+        }
+        props.put(IMPORTS,
+                  allImports);
+        // simulation
+        if (_simulationScenario != null && _simulationScenario.getScenarioParameters() != null) {
+            props.put(CURRENCY,
+                      _simulationScenario.getScenarioParameters().getBaseCurrencyUnit() == null ? "" : _simulationScenario.getScenarioParameters().getBaseCurrencyUnit());
+            props.put(TIMEUNIT,
+                      _simulationScenario.getScenarioParameters().getBaseTimeUnit().getName());
+        }
+    }
+
     /**
      * protected void marshallMessage(Message message, Definitions def, JsonGenerator generator) throws JsonGenerationException, IOException {
      * Map<String, Object> properties = new LinkedHashMap<String, Object>();
@@ -627,18 +649,8 @@ public class Bpmn2JsonMarshaller {
                                    Definitions def,
                                    JsonGenerator generator,
                                    String preProcessingData) throws JsonGenerationException, IOException {
-        BPMNPlane plane = null;
-        for (BPMNDiagram d : def.getDiagrams()) {
-            if (d != null) {
-                BPMNPlane p = d.getPlane();
-                if (p != null) {
-                    if (p.getBpmnElement() == process) {
-                        plane = p;
-                        break;
-                    }
-                }
-            }
-        }
+        BPMNPlane plane = findPlane(def,
+                                    process);
         if (plane == null) {
             throw new IllegalArgumentException("Could not find BPMNDI information");
         }
@@ -682,6 +694,21 @@ public class Bpmn2JsonMarshaller {
         generator.writeEndArray();
     }
 
+    protected BPMNPlane findPlane(Definitions def,
+                                  Process process) {
+        for (BPMNDiagram d : def.getDiagrams()) {
+            if (d != null) {
+                BPMNPlane p = d.getPlane();
+                if (p != null) {
+                    if (p.getBpmnElement() == process) {
+                        return p;
+                    }
+                }
+            }
+        }
+        return null;
+    }
+
     private void setCatchEventProperties(CatchEvent event,
                                          Map<String, Object> properties,
                                          Definitions def) {
@@ -1116,6 +1143,27 @@ public class Bpmn2JsonMarshaller {
         generator.writeStartObject();
         generator.writeObjectField("resourceId",
                                    flowElement.getId());
+        marshallFlowElementContent(flowElement,
+                                   plane,
+                                   generator,
+                                   xOffset,
+                                   yOffset,
+                                   preProcessingData,
+                                   def);
+        generator.writeEndObject();
+    }
+
+    /**
+     * Marshalls the properties, stencil, outgoing and bounds of the given flow element, the caller writes its
+     * enclosing object and resource identifier.
+     */
+    protected void marshallFlowElementContent(FlowElement flowElement,
+                                              BPMNPlane plane,
+                                              JsonGenerator generator,
+                                              float xOffset,
+                                              float yOffset,
+                                              String preProcessingData,
+                                              Definitions def) throws JsonGenerationException, IOException {
         Map<String, Object> flowElementProperties = new LinkedHashMap<String, Object>();
         Iterator<FeatureMap.Entry> iter = flowElement.getAnyAttribute().iterator();
         boolean foundBgColor = false;
@@ -1352,7 +1400,6 @@ public class Bpmn2JsonMarshaller {
         } else {
             throw new UnsupportedOperationException("Unknown flow element " + flowElement);
         }
-        generator.writeEndObject();
     }
 
     protected void marshallStartEvent(StartEvent startEvent,
@@ -2708,34 +2755,8 @@ public class Bpmn2JsonMarshaller {
         if (properties == null) {
             properties = new LinkedHashMap<String, Object>();
         }
-
-        putDocumentationProperty(node,
-                                 properties);
-
-        if (node.getName() != null) {
-            properties.put(NAME,
-                           StringEscapeUtils.unescapeXml(node.getName()));
-        } else {
-            if (node instanceof TextAnnotation) {
-                if (((TextAnnotation) node).getText() != null) {
-                    properties.put(NAME,
-                                   ((TextAnnotation) node).getText());
-                } else {
-                    properties.put(NAME,
-                                   "");
-                }
-            } else {
-                properties.put(NAME,
-                               "");
-            }
-        }
-        // overwrite name if elementname extension element is present
-        String elementName = Utils.getMetaDataValue(node.getExtensionValues(),
-                                                    "elementname");
-        if (elementName != null) {
-            properties.put("name",
-                           elementName);
-        }
+        putNodeProperties(node,
+                          properties);
         marshallProperties(properties,
                            generator);
         generator.writeObjectFieldStart("stencil");
@@ -2843,6 +2864,37 @@ public class Bpmn2JsonMarshaller {
         generator.writeEndObject();
     }
 
+    protected void putNodeProperties(FlowNode node,
+                                     Map<String, Object> properties) {
+        putDocumentationProperty(node,
+                                 properties);
+
+        if (node.getName() != null) {
+            properties.put(NAME,
+                           StringEscapeUtils.unescapeXml(node.getName()));
+        } else {
+            if (node instanceof TextAnnotation) {
+                if (((TextAnnotation) node).getText() != null) {
+                    properties.put(NAME,
+                                   ((TextAnnotation) node).getText());
+                } else {
+                    properties.put(NAME,
+                                   "");
+                }
+            } else {
+                properties.put(NAME,
+                               "");
+            }
+        }
+        // overwrite name if elementname extension element is present
+        String elementName = Utils.getMetaDataValue(node.getExtensionValues(),
+                                                    "elementname");
+        if (elementName != null) {
+            properties.put("name",
+                           elementName);
+        }
+    }
+
     private void correctEventNodeSize(BPMNShape shape) {
         BaseElement element = shape.getBpmnElement();
         if (element instanceof Event) {
@@ -3410,6 +3462,32 @@ public class Bpmn2JsonMarshaller {
         if (sequenceFlow.getSourceRef() == null || sequenceFlow.getTargetRef() == null) {
             return;
         }
+        Map<String, Object> properties = getSequenceFlowProperties(sequenceFlow);
+        marshallProperties(properties,
+                           generator);
+        generator.writeObjectFieldStart("stencil");
+        generator.writeObjectField("id",
+                                   "SequenceFlow");
+        generator.writeEndObject();
+        generator.writeArrayFieldStart("childShapes");
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("outgoing");
+        generator.writeStartObject();
+        generator.writeObjectField("resourceId",
+                                   sequenceFlow.getTargetRef().getId());
+        generator.writeEndObject();
+        generator.writeEndArray();
+        generator.writeArrayFieldStart("dockers");
+        for (float[] docker : getSequenceFlowDockers(sequenceFlow,
+                                                     plane)) {
+            writeWaypointObject(generator,
+                                docker[0],
+                                docker[1]);
+        }
+        generator.writeEndArray();
+    }
+
+    protected Map<String, Object> getSequenceFlowProperties(SequenceFlow sequenceFlow) {
         Map<String, Object> properties = new LinkedHashMap<String, Object>();
         // check null for sequence flow name
         if (sequenceFlow.getName() != null && !"".equals(sequenceFlow.getName())) {
@@ -3548,58 +3626,40 @@ public class Bpmn2JsonMarshaller {
             properties.put(targetPropertyName,
                            targetConnectorAuto);
         }
+        return properties;
+    }
 
-        marshallProperties(properties,
-                           generator);
-        generator.writeObjectFieldStart("stencil");
-        generator.writeObjectField("id",
-                                   "SequenceFlow");
-        generator.writeEndObject();
-        generator.writeArrayFieldStart("childShapes");
-        generator.writeEndArray();
-        generator.writeArrayFieldStart("outgoing");
-        generator.writeStartObject();
-        generator.writeObjectField("resourceId",
-                                   sequenceFlow.getTargetRef().getId());
-        generator.writeEndObject();
-        generator.writeEndArray();
+    /**
+     * @return the dockers of the given sequence flow, the first and last ones relative to the source and target bounds.
+     */
+    protected List<float[]> getSequenceFlowDockers(SequenceFlow sequenceFlow,
+                                                   BPMNPlane plane) {
         Bounds sourceBounds = ((BPMNShape) findDiagramElement(plane,
                                                               sequenceFlow.getSourceRef())).getBounds();
         Bounds targetBounds = ((BPMNShape) findDiagramElement(plane,
                                                               sequenceFlow.getTargetRef())).getBounds();
-        generator.writeArrayFieldStart("dockers");
         List<Point> waypoints = ((BPMNEdge) findDiagramElement(plane,
                                                                sequenceFlow)).getWaypoint();
-
+        List<float[]> dockers = new ArrayList<float[]>();
         if (waypoints.size() > 1) {
             Point waypoint = waypoints.get(0);
-            writeWaypointObject(generator,
-                                waypoint.getX() - sourceBounds.getX(),
-                                waypoint.getY() - sourceBounds.getY());
+            dockers.add(new float[]{waypoint.getX() - sourceBounds.getX(), waypoint.getY() - sourceBounds.getY()});
         } else {
-            writeWaypointObject(generator,
-                                sourceBounds.getWidth() / 2,
-                                sourceBounds.getHeight() / 2);
+            dockers.add(new float[]{sourceBounds.getWidth() / 2, sourceBounds.getHeight() / 2});
         }
 
         for (int i = 1; i < waypoints.size() - 1; i++) {
             Point waypoint = waypoints.get(i);
-            writeWaypointObject(generator,
-                                waypoint.getX(),
-                                waypoint.getY());
+            dockers.add(new float[]{waypoint.getX(), waypoint.getY()});
         }
 
         if (waypoints.size() > 1) {
             Point waypoint = waypoints.get(waypoints.size() - 1);
-            writeWaypointObject(generator,
-                                waypoint.getX() - targetBounds.getX(),
-                                waypoint.getY() - targetBounds.getY());
+            dockers.add(new float[]{waypoint.getX() - targetBounds.getX(), waypoint.getY() - targetBounds.getY()});
         } else {
-            writeWaypointObject(generator,
-                                targetBounds.getWidth() / 2,
-                                targetBounds.getHeight() / 2);
+            dockers.add(new float[]{targetBounds.getWidth() / 2, targetBounds.getHeight() / 2});
         }
-        generator.writeEndArray();
+        return dockers;
     }
 
     private void writeWaypointObject(final JsonGenerator generator,
@@ -3613,7 +3673,7 @@ public class Bpmn2JsonMarshaller {
         generator.writeEndObject();
     }
 
-    private DiagramElement findDiagramElement(BPMNPlane plane,
+    protected DiagramElement findDiagramElement(BPMNPlane plane,
                                               BaseElement baseElement) {
         DiagramElement result = _diagramElements.get(baseElement.getId());
         if (result != null) {
@@ -0,0 +1,154 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.legacy.resource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import bpsim.impl.BpsimPackageImpl;
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.DocumentRoot;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.impl.DroolsPackageImpl;
+
+/**
+ * Loads BPMN2 documents into JBPMBpmn2ResourceImpl instances.
+ * <p>
+ * ResourceSets, with their packages and resource factory already registered, are pooled together with their XML
+ * name to feature lookup tables, and the XML parsers are shared through an EMF parser pool. A loaded resource is
+ * removed from its ResourceSet before the ResourceSet is returned to the pool, so the pool never retains documents.
+ */
+public final class JBPMBpmn2ResourceLoader {
+
+    static final int MAX_POOLED_LOADERS = Math.max(2,
+                                                   Runtime.getRuntime().availableProcessors() * 2);
+
+    private static final String RESOURCE_URI = "inputStream://dummyUriWithValidSuffix.xml";
+
+    private static final XMLParserPool PARSER_POOL = new XMLParserPoolImpl();
+
+    private static final Queue<Loader> LOADERS = new ConcurrentLinkedQueue<>();
+    private static final AtomicInteger POOLED_LOADERS = new AtomicInteger();
+
+    private JBPMBpmn2ResourceLoader() {
+    }
+
+    /**
+     * Loads the definitions of a BPMN2 document. The stream is closed once loaded.
+     * @param inputStream the BPMN2 XML document.
+     * @return the definitions of the document.
+     */
+    public static Definitions loadDefinitions(final InputStream inputStream) throws IOException {
+        try {
+            final Loader loader = borrow();
+            try {
+                return loader.load(inputStream);
+            } finally {
+                release(loader);
+            }
+        } finally {
+            inputStream.close();
+        }
+    }
+
+    static int getPooledLoaders() {
+        return POOLED_LOADERS.get();
+    }
+
+    static int getRetainedResources() {
+        int count = 0;
+        for (final Loader loader : LOADERS) {
+            count += loader.resourceSet.getResources().size();
+        }
+        return count;
+    }
+
+    private static Loader borrow() {
+        final Loader loader = LOADERS.poll();
+        if (null != loader) {
+            POOLED_LOADERS.decrementAndGet();
+            return loader;
+        }
+        return new Loader();
+    }
+
+    private static void release(final Loader loader) {
+        if (POOLED_LOADERS.incrementAndGet() <= MAX_POOLED_LOADERS) {
+            LOADERS.offer(loader);
+        } else {
+            POOLED_LOADERS.decrementAndGet();
+        }
+    }
+
+    private static final class Loader {
+
+        private final ResourceSet resourceSet;
+        private final Map<Object, Object> loadOptions;
+
+        private Loader() {
+            DroolsPackageImpl.init();
+            BpsimPackageImpl.init();
+            this.resourceSet = new ResourceSetImpl();
+            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+                                                                                    new JBPMBpmn2ResourceFactoryImpl());
+            resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
+                                                 Bpmn2Package.eINSTANCE);
+            resourceSet.getPackageRegistry().put("http://www.jboss.org/drools",
+                                                 DroolsPackage.eINSTANCE);
+            this.loadOptions = new HashMap<>();
+            loadOptions.put(XMLResource.OPTION_ENCODING,
+                            "UTF-8");
+            loadOptions.put(XMLResource.OPTION_DEFER_IDREF_RESOLUTION,
+                            true);
+            loadOptions.put(XMLResource.OPTION_DISABLE_NOTIFY,
+                            true);
+            loadOptions.put(XMLResource.OPTION_PROCESS_DANGLING_HREF,
+                            XMLResource.OPTION_PROCESS_DANGLING_HREF_RECORD);
+            loadOptions.put(XMLResource.OPTION_USE_PARSER_POOL,
+                            PARSER_POOL);
+            // Only used by one load at a time, as the loader is.
+            loadOptions.put(XMLResource.OPTION_USE_XML_NAME_TO_FEATURE_MAP,
+                            new HashMap<>());
+        }
+
+        private Definitions load(final InputStream inputStream) throws IOException {
+            final JBPMBpmn2ResourceImpl resource = (JBPMBpmn2ResourceImpl) resourceSet.createResource(URI.createURI(RESOURCE_URI));
+            try {
+                resource.setEncoding("UTF-8");
+                resource.load(inputStream,
+                              loadOptions);
+                final DocumentRoot root = (DocumentRoot) resource.getContents().get(0);
+                return root.getDefinitions();
+            } finally {
+                resourceSet.getResources().remove(resource);
+            }
+        }
+    }
+}
@@ -0,0 +1,254 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.marshall.json;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import bpsim.impl.BpsimPackageImpl;
+import com.fasterxml.jackson.core.JsonGenerator;
+import org.eclipse.bpmn2.CallActivity;
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.EndEvent;
+import org.eclipse.bpmn2.FlowElement;
+import org.eclipse.bpmn2.FlowNode;
+import org.eclipse.bpmn2.Gateway;
+import org.eclipse.bpmn2.IntermediateCatchEvent;
+import org.eclipse.bpmn2.IntermediateThrowEvent;
+import org.eclipse.bpmn2.LaneSet;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.bpmn2.RootElement;
+import org.eclipse.bpmn2.SequenceFlow;
+import org.eclipse.bpmn2.StartEvent;
+import org.eclipse.bpmn2.Task;
+import org.eclipse.bpmn2.di.BPMNPlane;
+import org.eclipse.bpmn2.di.BPMNShape;
+import org.eclipse.dd.dc.Bounds;
+import org.jboss.drools.impl.DroolsPackageImpl;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.Bpmn2JsonMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphGenerator;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.GraphObjectBuilder;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.GraphObjectBuilderFactory;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.NodeObjectBuilder;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.OryxManager;
+import org.kie.workbench.common.stunner.bpmn.definition.BPMNDiagram;
+import org.kie.workbench.common.stunner.core.api.DefinitionManager;
+import org.kie.workbench.common.stunner.core.api.FactoryManager;
+import org.kie.workbench.common.stunner.core.command.CommandManager;
+import org.kie.workbench.common.stunner.core.graph.Graph;
+import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
+import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFactory;
+import org.kie.workbench.common.stunner.core.graph.processing.index.GraphIndexBuilder;
+import org.kie.workbench.common.stunner.core.rule.RuleManager;
+import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+
+/**
+ * Unmarshalls a BPMN2 process by walking its EMF model once and adding the node and edge builders, with their
+ * bounds and dockers, straight to the graph generator. Unlike the {@link Bpmn2UnMarshaller} no Oryx json events
+ * are written and parsed back. The element properties are still computed by the legacy marshaller, so both
+ * unmarshallers produce the same graphs.
+ * <p>
+ * Processes with lanes, artifacts, sub-processes, boundary events, data objects or dangling sequence flows are not
+ * supported: {@link #unmarshall(Definitions)} returns <code>null</code> for them, so the caller can fall back to
+ * the {@link Bpmn2UnMarshaller}.
+ */
+public class Bpmn2DirectUnMarshaller extends Bpmn2JsonMarshaller {
+
+    private static final String DIAGRAM_STENCIL = "BPMNDiagram";
+    private static final String SEQUENCE_FLOW_STENCIL = "SequenceFlow";
+
+    private final GraphObjectBuilderFactory elementBuilderFactory;
+    private final BPMNGraphGenerator bpmnGraphGenerator;
+
+    public Bpmn2DirectUnMarshaller(final GraphObjectBuilderFactory elementBuilderFactory,
+                                   final DefinitionManager definitionManager,
+                                   final FactoryManager factoryManager,
+                                   final RuleManager ruleManager,
+                                   final OryxManager oryxManager,
+                                   final CommandManager<GraphCommandExecutionContext, RuleViolation> commandManager,
+                                   final GraphCommandFactory commandFactory,
+                                   final GraphIndexBuilder<?> indexBuilder,
+                                   final Class<?> diagramDefinitionSetClass,
+                                   final Class<? extends BPMNDiagram> diagramDefinitionClass) {
+        this.elementBuilderFactory = elementBuilderFactory;
+        this.bpmnGraphGenerator = new BPMNGraphGenerator(elementBuilderFactory,
+                                                         definitionManager,
+                                                         factoryManager,
+                                                         ruleManager,
+                                                         oryxManager,
+                                                         commandManager,
+                                                         commandFactory,
+                                                         indexBuilder,
+                                                         diagramDefinitionSetClass,
+                                                         diagramDefinitionClass);
+    }
+
+    /**
+     * @return the graph for the given definitions, or <code>null</code> if its process is not supported.
+     */
+    public Graph unmarshall(final Definitions def) throws IOException {
+        DroolsPackageImpl.init();
+        BpsimPackageImpl.init();
+        final Process process = getProcess(def);
+        final BPMNPlane plane = null != process ? findPlane(def,
+                                                            process) : null;
+        if (null == plane) {
+            return null;
+        }
+        linkSequenceFlows(process.getFlowElements());
+        if (!isSupported(process,
+                         plane)) {
+            return null;
+        }
+        final String preProcessingData = prepare(def,
+                                                 null);
+        final Map<String, Object> properties = getDefinitionsProperties(def);
+        putProcessProperties(def,
+                             process,
+                             properties);
+        final NodeObjectBuilder<?, ?> diagramBuilder = (NodeObjectBuilder<?, ?>) newBuilder(def.getId(),
+                                                                                            DIAGRAM_STENCIL,
+                                                                                            properties);
+        for (final FlowElement flowElement : process.getFlowElements()) {
+            diagramBuilder.child(flowElement.getId());
+            // Computes the element properties and stencil, then calls back marshallNode or marshallSequenceFlow.
+            marshallFlowElementContent(flowElement,
+                                       plane,
+                                       null,
+                                       0,
+                                       0,
+                                       preProcessingData,
+                                       def);
+        }
+        bpmnGraphGenerator.addBuilder(diagramBuilder);
+        bpmnGraphGenerator.close();
+        return bpmnGraphGenerator.getGraph();
+    }
+
+    @Override
+    protected void marshallNode(final FlowNode node,
+                                final Map<String, Object> properties,
+                                final String stencil,
+                                final BPMNPlane plane,
+                                final JsonGenerator generator,
+                                final float xOffset,
+                                final float yOffset) {
+        final Map<String, Object> nodeProperties = null != properties ? properties : new LinkedHashMap<>();
+        putNodeProperties(node,
+                          nodeProperties);
+        final GraphObjectBuilder<?, ?> builder = newBuilder(node.getId(),
+                                                            stencil,
+                                                            nodeProperties);
+        for (final SequenceFlow outgoing : node.getOutgoing()) {
+            builder.out(outgoing.getId());
+        }
+        final Bounds bounds = ((BPMNShape) findDiagramElement(plane,
+                                                              node)).getBounds();
+        builder.boundUL(toDouble(bounds.getX() - xOffset),
+                        toDouble(bounds.getY() - yOffset));
+        builder.boundLR(toDouble(bounds.getX() + bounds.getWidth() - xOffset),
+                        toDouble(bounds.getY() + bounds.getHeight() - yOffset));
+        bpmnGraphGenerator.addBuilder(builder);
+    }
+
+    @Override
+    protected void marshallSequenceFlow(final SequenceFlow sequenceFlow,
+                                        final BPMNPlane plane,
+                                        final JsonGenerator generator,
+                                        final float xOffset,
+                                        final float yOffset) {
+        final GraphObjectBuilder<?, ?> builder = newBuilder(sequenceFlow.getId(),
+                                                            SEQUENCE_FLOW_STENCIL,
+                                                            getSequenceFlowProperties(sequenceFlow));
+        builder.out(sequenceFlow.getTargetRef().getId());
+        for (final float[] docker : getSequenceFlowDockers(sequenceFlow,
+                                                           plane)) {
+            builder.docker(toDouble(docker[0]),
+                           toDouble(docker[1]));
+        }
+        bpmnGraphGenerator.addBuilder(builder);
+    }
+
+    private GraphObjectBuilder<?, ?> newBuilder(final String nodeId,
+                                                final String stencil,
+                                                final Map<String, Object> properties) {
+        final GraphObjectBuilder<?, ?> builder = elementBuilderFactory.builderFor(stencil);
+        builder.nodeId(nodeId);
+        for (final Map.Entry<String, Object> entry : properties.entrySet()) {
+            builder.property(entry.getKey(),
+                             String.valueOf(entry.getValue()));
+        }
+        return builder;
+    }
+
+    private boolean isSupported(final Process process,
+                                final BPMNPlane plane) {
+        if (!process.getArtifacts().isEmpty()) {
+            return false;
+        }
+        for (final LaneSet laneSet : process.getLaneSets()) {
+            if (!laneSet.getLanes().isEmpty()) {
+                return false;
+            }
+        }
+        for (final FlowElement flowElement : process.getFlowElements()) {
+            if (flowElement instanceof SequenceFlow) {
+                final SequenceFlow sequenceFlow = (SequenceFlow) flowElement;
+                if (null == sequenceFlow.getSourceRef() || null == sequenceFlow.getTargetRef()) {
+                    return false;
+                }
+            } else if (!isSupportedNode(flowElement)) {
+                return false;
+            }
+            if (null == findDiagramElement(plane,
+                                           flowElement)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isSupportedNode(final FlowElement flowElement) {
+        return flowElement instanceof StartEvent ||
+                flowElement instanceof EndEvent ||
+                flowElement instanceof IntermediateCatchEvent ||
+                flowElement instanceof IntermediateThrowEvent ||
+                flowElement instanceof Task ||
+                flowElement instanceof Gateway ||
+                flowElement instanceof CallActivity;
+    }
+
+    private static Process getProcess(final Definitions def) {
+        Process result = null;
+        for (final RootElement rootElement : def.getRootElements()) {
+            if (rootElement instanceof Process) {
+                if (null != result) {
+                    // Multiple processes are not supported.
+                    return null;
+                }
+                result = (Process) rootElement;
+            }
+        }
+        return result;
+    }
+
+    // Same value as the one parsed back from the Oryx json events, which carry the float coordinates as text.
+    private static Double toDouble(final float value) {
+        return Double.valueOf(String.valueOf(value));
+    }
+}
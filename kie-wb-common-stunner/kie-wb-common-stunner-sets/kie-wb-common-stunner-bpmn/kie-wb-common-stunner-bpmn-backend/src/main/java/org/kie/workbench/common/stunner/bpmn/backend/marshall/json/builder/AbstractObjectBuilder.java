@@ -16,7 +16,6 @@
 
 package org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder;
 
-import java.util.Collection;
 import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -31,7 +30,6 @@ import org.kie.workbench.common.stunner.core.command.CommandResult;
 import org.kie.workbench.common.stunner.core.definition.property.PropertyType;
 import org.kie.workbench.common.stunner.core.graph.Element;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
-import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -117,16 +115,7 @@ public abstract class AbstractObjectBuilder<W, T extends Element<View<W>>> imple
 
     protected GraphObjectBuilder<?, ?> getBuilder(final BuilderContext context,
                                                   final String nodeId) {
-        Collection<GraphObjectBuilder<?, ?>> builders = context.getBuilders();
-        if (builders != null && !builders.isEmpty()) {
-            for (GraphObjectBuilder<?, ?> builder : builders) {
-                AbstractObjectBuilder<?, ?> abstractBuilder = (AbstractObjectBuilder<?, ?>) builder;
-                if (abstractBuilder.nodeId.equals(nodeId)) {
-                    return builder;
-                }
-            }
-        }
-        return null;
+        return context.getBuilder(nodeId);
     }
 
     @SuppressWarnings("unchecked")
@@ -136,6 +125,7 @@ public abstract class AbstractObjectBuilder<W, T extends Element<View<W>>> imple
         Bpmn2OryxPropertyManager propertyManager = context.getOryxManager().getPropertyManager();
         OryxIdMappings idMappings = context.getOryxManager().getMappingsManager();
         Set<?> defProperties = context.getDefinitionManager().adapters().forDefinition().getProperties(definition);
+        Map<String, Object> defPropertiesById = null;
         for (Map.Entry<String, String> entry : properties.entrySet()) {
             final String oryxId = entry.getKey();
             if (!idMappings.isSkipProperty(definition.getClass(),
@@ -145,9 +135,11 @@ public abstract class AbstractObjectBuilder<W, T extends Element<View<W>>> imple
                                                             oryxId);
                 boolean found = false;
                 if (null != pId) {
-                    final Object property = GraphUtils.getProperty(context.getDefinitionManager(),
-                                                                   defProperties,
-                                                                   pId);
+                    if (null == defPropertiesById) {
+                        defPropertiesById = getPropertiesById(context,
+                                                              defProperties);
+                    }
+                    final Object property = defPropertiesById.get(pId);
                     if (null != property) {
                         try {
                             PropertyType propertyType = context.getDefinitionManager().adapters().forProperty().getType(property);
@@ -171,6 +163,19 @@ public abstract class AbstractObjectBuilder<W, T extends Element<View<W>>> imple
         }
     }
 
+    // Indexes the definition's properties by id, so each Oryx property is resolved without scanning them all.
+    private Map<String, Object> getPropertiesById(final BuilderContext context,
+                                                  final Set<?> defProperties) {
+        final Map<String, Object> result = new HashMap<>();
+        if (null != defProperties) {
+            for (final Object property : defProperties) {
+                result.putIfAbsent(context.getDefinitionManager().adapters().forProperty().getId(property),
+                                   property);
+            }
+        }
+        return result;
+    }
+
     @Override
     public String toString() {
         StringBuilder builder = new StringBuilder();
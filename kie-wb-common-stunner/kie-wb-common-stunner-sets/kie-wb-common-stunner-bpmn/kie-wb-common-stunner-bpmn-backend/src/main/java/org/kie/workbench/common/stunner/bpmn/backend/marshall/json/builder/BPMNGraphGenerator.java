@@ -21,7 +21,9 @@ import java.io.InputStream;
 import java.math.BigDecimal;
 import java.math.BigInteger;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.LinkedList;
+import java.util.Map;
 import java.util.Stack;
 
 import com.fasterxml.jackson.core.Base64Variant;
@@ -58,12 +60,16 @@ import org.kie.workbench.common.stunner.core.graph.processing.index.Index;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
 import org.kie.workbench.common.stunner.core.util.UUID;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * Support for a basic single process hierarchy
  */
 public class BPMNGraphGenerator extends JsonGenerator {
 
+    private static final Logger LOG = LoggerFactory.getLogger(BPMNGraphGenerator.class);
+
     private final GraphObjectBuilderFactory bpmnGraphBuilderFactory;
     private final DefinitionManager definitionManager;
     private final FactoryManager factoryManager;
@@ -77,6 +83,7 @@ public class BPMNGraphGenerator extends JsonGenerator {
     private final Stack<GraphObjectBuilder> nodeBuilders = new Stack<>();
     private final Stack<GraphObjectParser> parsers = new Stack<GraphObjectParser>();
     private final Collection<GraphObjectBuilder<?, ?>> builders = new LinkedList<GraphObjectBuilder<?, ?>>();
+    private final Map<String, GraphObjectBuilder<?, ?>> buildersById = new HashMap<>();
     Graph<DefinitionSet, Node> graph;
     boolean isClosed;
 
@@ -187,6 +194,24 @@ public class BPMNGraphGenerator extends JsonGenerator {
         return null;
     }
 
+    /**
+     * Adds a builder for a graph element, the graph is built from all the added builders on close.
+     * The Oryx json events add their builders through this method as well.
+     */
+    public void addBuilder(final GraphObjectBuilder<?, ?> builder) {
+        builders.add(builder);
+        addBuilderById(builder);
+    }
+
+    // Builders are looked up by node id for every outgoing and child reference, keep the first one for each id.
+    private void addBuilderById(final GraphObjectBuilder<?, ?> builder) {
+        final String nodeId = ((AbstractObjectBuilder<?, ?>) builder).nodeId;
+        if (null != nodeId) {
+            buildersById.putIfAbsent(nodeId,
+                                     builder);
+        }
+    }
+
     public Graph<DefinitionSet, Node> getGraph() {
         assert isClosed();
         return this.graph;
@@ -196,11 +221,16 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
         Graph<DefinitionSet, Node> graph;
         Index<?, ?> index;
+        GraphCommandExecutionContext executionContext;
 
         @Override
         public GraphObjectBuilder.BuilderContext init(final Graph<DefinitionSet, Node> graph) {
             this.graph = graph;
             this.index = indexBuilder.build(graph);
+            this.executionContext = new EmptyRulesCommandExecutionContext(definitionManager,
+                                                                          factoryManager,
+                                                                          ruleManager,
+                                                                          index);
             return this;
         }
 
@@ -214,6 +244,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
             return builders;
         }
 
+        @Override
+        public GraphObjectBuilder<?, ?> getBuilder(final String nodeId) {
+            return buildersById.get(nodeId);
+        }
+
         @Override
         public DefinitionManager getDefinitionManager() {
             return definitionManager;
@@ -231,11 +266,6 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
         @SuppressWarnings("unchecked")
         public CommandResult<RuleViolation> execute(final Command<GraphCommandExecutionContext, RuleViolation> command) {
-            GraphCommandExecutionContext executionContext =
-                    new EmptyRulesCommandExecutionContext(definitionManager,
-                                                          factoryManager,
-                                                          ruleManager,
-                                                          index);
             return commandManager.execute(executionContext,
                                           command);
         }
@@ -247,9 +277,11 @@ public class BPMNGraphGenerator extends JsonGenerator {
 
     // For local testing...
     private void logBuilders() {
-        log("Logging builders at close time...");
-        for (GraphObjectBuilder<?, ?> builder : builders) {
-            log(builder.toString());
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("Logging builders at close time...");
+            for (GraphObjectBuilder<?, ?> builder : builders) {
+                LOG.debug(builder.toString());
+            }
         }
     }
 
@@ -313,7 +345,7 @@ public class BPMNGraphGenerator extends JsonGenerator {
         @Override
         public void writeEndObject() {
             GraphObjectBuilder builder = nodeBuilders.pop();
-            builders.add(builder);
+            addBuilder(builder);
             parsers.pop();
         }
 
@@ -590,10 +622,6 @@ public class BPMNGraphGenerator extends JsonGenerator {
         }
     }
 
-    private void log(final String message) {
-        System.out.println(message);
-    }
-
     /***********************************************************************************
      * NOT IMPLEMENTED METHODS.
      ***********************************************************************************/
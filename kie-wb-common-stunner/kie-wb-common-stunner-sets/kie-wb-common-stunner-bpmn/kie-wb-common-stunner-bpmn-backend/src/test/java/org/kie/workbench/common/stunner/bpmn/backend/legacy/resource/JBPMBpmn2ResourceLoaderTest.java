@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.legacy.resource;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.Process;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JBPMBpmn2ResourceLoaderTest {
+
+    private static final String BPMN_BASIC = "org/kie/workbench/common/stunner/bpmn/backend/service/diagram/basic.bpmn";
+
+    private byte[] basic;
+
+    @Before
+    public void setup() throws IOException {
+        try (InputStream is = Thread.currentThread().getContextClassLoader().getResourceAsStream(BPMN_BASIC)) {
+            final ByteArrayOutputStream os = new ByteArrayOutputStream();
+            final byte[] buffer = new byte[4096];
+            int read;
+            while ((read = is.read(buffer)) != -1) {
+                os.write(buffer,
+                         0,
+                         read);
+            }
+            basic = os.toByteArray();
+        }
+    }
+
+    @Test
+    public void testLoadDefinitions() throws IOException {
+        final Definitions definitions = JBPMBpmn2ResourceLoader.loadDefinitions(new ByteArrayInputStream(basic));
+        assertProcess(definitions);
+        // The document is detached from the pooled ResourceSet.
+        assertNotNull(definitions.eResource());
+        assertNull(definitions.eResource().getResourceSet());
+        assertEquals(0,
+                     JBPMBpmn2ResourceLoader.getRetainedResources());
+    }
+
+    @Test
+    public void testRepeatedLoadsRetainNothing() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Future<Definitions>> futures = new ArrayList<>();
+            for (int i = 0; i < 2000; i++) {
+                futures.add(executor.submit(() -> JBPMBpmn2ResourceLoader.loadDefinitions(new ByteArrayInputStream(basic))));
+            }
+            for (final Future<Definitions> future : futures) {
+                assertProcess(future.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(0,
+                     JBPMBpmn2ResourceLoader.getRetainedResources());
+        assertTrue(JBPMBpmn2ResourceLoader.getPooledLoaders() <= JBPMBpmn2ResourceLoader.MAX_POOLED_LOADERS);
+    }
+
+    private static void assertProcess(final Definitions definitions) {
+        assertNotNull(definitions);
+        final Process process = (Process) definitions.getRootElements().stream()
+                .filter(element -> element instanceof Process)
+                .findFirst()
+                .orElse(null);
+        assertNotNull(process);
+        assertEquals("Basic process",
+                     process.getName());
+    }
+}
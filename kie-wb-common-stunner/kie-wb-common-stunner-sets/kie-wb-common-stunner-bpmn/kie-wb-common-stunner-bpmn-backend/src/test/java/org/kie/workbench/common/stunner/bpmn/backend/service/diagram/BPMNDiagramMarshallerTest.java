@@ -22,9 +22,13 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import javax.enterprise.inject.spi.BeanManager;
@@ -54,7 +58,12 @@ import org.kie.workbench.common.stunner.backend.definition.factory.TestScopeMode
 import org.kie.workbench.common.stunner.backend.service.XMLEncoderDiagramMetadataMarshaller;
 import org.kie.workbench.common.stunner.bpmn.BPMNDefinitionSet;
 import org.kie.workbench.common.stunner.bpmn.backend.BPMNDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.BaseDiagramMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.profile.impl.DefaultProfileImpl;
 import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceImpl;
+import org.kie.workbench.common.stunner.bpmn.backend.legacy.resource.JBPMBpmn2ResourceLoader;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2DirectUnMarshaller;
+import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.Bpmn2UnMarshaller;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.builder.BPMNGraphObjectBuilderFactory;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxIdMappings;
 import org.kie.workbench.common.stunner.bpmn.backend.marshall.json.oryx.Bpmn2OryxManager;
@@ -160,6 +169,7 @@ import org.mockito.runners.MockitoJUnitRunner;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.Matchers.any;
 import static org.mockito.Matchers.anyString;
@@ -210,6 +220,16 @@ public class BPMNDiagramMarshallerTest {
     private static final String BPMN_MAGNETSINLANE = "org/kie/workbench/common/stunner/bpmn/backend/service/diagram/magnetsInLane.bpmn";
     private static final String BPMN_ENDERROR_EVENT = "org/kie/workbench/common/stunner/bpmn/backend/service/diagram/endErrorEvent.bpmn";
 
+    private static final String[] CORPUS = {BPMN_BASIC, BPMN_EVALUATION, BPMN_LANES, BPMN_BOUNDARY_EVENTS, BPMN_NOT_BOUNDARY_EVENTS,
+            BPMN_PROCESSVARIABLES, BPMN_USERTASKASSIGNMENTS, BPMN_BUSINESSRULETASKASSIGNMENTS, BPMN_STARTNONEEVENT,
+            BPMN_STARTTIMEREVENT, BPMN_STARTSIGNALEVENT, BPMN_STARTMESSAGEEVENT, BPMN_STARTERROREVENT,
+            BPMN_INTERMEDIATE_SIGNAL_EVENTCATCHING, BPMN_INTERMEDIATE_ERROR_EVENTCATCHING, BPMN_INTERMEDIATE_SIGNAL_EVENTTHROWING,
+            BPMN_INTERMEDIATE_MESSAGE_EVENTCATCHING, BPMN_INTERMEDIATE_MESSAGE_EVENTTHROWING, BPMN_INTERMEDIATE_TIMER_EVENT,
+            BPMN_ENDSIGNALEVENT, BPMN_ENDMESSAGEEVENT, BPMN_ENDNONEEVENT, BPMN_ENDTERMINATEEVENT, BPMN_PROCESSPROPERTIES,
+            BPMN_BUSINESSRULETASKRULEFLOWGROUP, BPMN_REUSABLE_SUBPROCESS, BPMN_EMBEDDED_SUBPROCESS, BPMN_SCRIPTTASK,
+            BPMN_USERTASKASSIGNEES, BPMN_USERTASKPROPERTIES, BPMN_SEQUENCEFLOW, BPMN_XORGATEWAY, BPMN_TIMER_EVENT,
+            BPMN_SIMULATIONPROPERTIES, BPMN_MAGNETDOCKERS, BPMN_MAGNETSINLANE, BPMN_ENDERROR_EVENT};
+
     private static final String NEW_LINE = System.lineSeparator();
 
     @Mock
@@ -1687,6 +1707,270 @@ public class BPMNDiagramMarshallerTest {
                      diagram.getMetadata().getTitle());
     }
 
+    // Every sequence flow and child reference is resolved by node id while building the graph.
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testUnmarshallLargeProcess() throws Exception {
+        final int tasks = 500;
+        Diagram<Graph, Metadata> diagram = unmarshall(new ByteArrayInputStream(buildLargeProcess(tasks).getBytes("UTF-8")));
+        // BPMNDiagram, start event, end event and the tasks.
+        assertDiagram(diagram,
+                      tasks + 3);
+        Node<View, Edge> task = diagram.getGraph().getNode("task" + (tasks / 2));
+        assertTrue(task.getContent().getDefinition() instanceof ScriptTask);
+        assertEquals(1,
+                     task.getInEdges().size());
+        assertEquals(1,
+                     task.getOutEdges().size());
+        assertEquals("task" + (tasks / 2 - 1),
+                     task.getInEdges().get(0).getSourceNode().getUUID());
+        assertEquals("task" + (tasks / 2 + 1),
+                     task.getOutEdges().get(0).getTargetNode().getUUID());
+    }
+
+    // Every process of the corpus is either unmarshalled to the same graph or left to the Oryx based unmarshaller.
+    @Test
+    public void testDirectUnmarshallingIsEquivalent() throws Exception {
+        int supported = 0;
+        for (String fileName : CORPUS) {
+            Graph<?, Node> expected = legacyUnmarshall(loadStream(fileName));
+            Graph<?, Node> actual = directUnmarshall(loadStream(fileName));
+            if (null != actual) {
+                assertEquivalentGraphs(fileName,
+                                       expected,
+                                       actual);
+                supported++;
+            }
+        }
+        assertTrue(supported > 0);
+        assertEquivalentGraphs("large process",
+                               legacyUnmarshall(new ByteArrayInputStream(buildLargeProcess(50).getBytes("UTF-8"))),
+                               directUnmarshall(new ByteArrayInputStream(buildLargeProcess(50).getBytes("UTF-8"))));
+    }
+
+    @Test
+    public void testDirectUnmarshallingSupportedProcesses() throws Exception {
+        assertNotNull(directUnmarshall(loadStream(BPMN_EVALUATION)));
+        assertNotNull(directUnmarshall(loadStream(BPMN_XORGATEWAY)));
+        assertNotNull(directUnmarshall(loadStream(BPMN_STARTNONEEVENT)));
+        assertNull(directUnmarshall(loadStream(BPMN_LANES)));
+        assertNull(directUnmarshall(loadStream(BPMN_EMBEDDED_SUBPROCESS)));
+        assertNull(directUnmarshall(loadStream(BPMN_BOUNDARY_EVENTS)));
+    }
+
+    @Test
+    public void testUnmarshallWithDirectUnmarshallingEnabled() throws Exception {
+        System.setProperty(BaseDiagramMarshaller.DIRECT_UNMARSHALLING_PROPERTY_NAME,
+                           "true");
+        try {
+            tested = new BPMNDiagramMarshaller(new XMLEncoderDiagramMetadataMarshaller(),
+                                               objectBuilderFactory,
+                                               definitionManager,
+                                               new MapIndexBuilder(),
+                                               oryxManager,
+                                               applicationFactoryManager,
+                                               rulesManager,
+                                               commandManager,
+                                               commandFactory);
+            Diagram<Graph, Metadata> diagram = unmarshall(BPMN_EVALUATION);
+            assertDiagram(diagram,
+                          8);
+            assertEquals("Evaluation",
+                         diagram.getMetadata().getTitle());
+            // Falls back to the Oryx based unmarshaller.
+            diagram = unmarshall(BPMN_LANES);
+            assertDiagram(diagram,
+                          7);
+            assertEquals("Lanes test",
+                         diagram.getMetadata().getTitle());
+        } finally {
+            System.clearProperty(BaseDiagramMarshaller.DIRECT_UNMARSHALLING_PROPERTY_NAME);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Graph<?, Node> legacyUnmarshall(InputStream is) throws Exception {
+        Bpmn2UnMarshaller unmarshaller = new Bpmn2UnMarshaller(objectBuilderFactory,
+                                                               definitionManager,
+                                                               applicationFactoryManager,
+                                                               rulesManager,
+                                                               oryxManager,
+                                                               commandManager,
+                                                               commandFactory,
+                                                               new MapIndexBuilder(),
+                                                               BPMNDefinitionSet.class,
+                                                               BPMNDiagramImpl.class);
+        unmarshaller.setProfile(new DefaultProfileImpl());
+        return unmarshaller.unmarshall(JBPMBpmn2ResourceLoader.loadDefinitions(is),
+                                       null);
+    }
+
+    @SuppressWarnings("unchecked")
+    private Graph<?, Node> directUnmarshall(InputStream is) throws Exception {
+        Bpmn2DirectUnMarshaller unmarshaller = new Bpmn2DirectUnMarshaller(objectBuilderFactory,
+                                                                           definitionManager,
+                                                                           applicationFactoryManager,
+                                                                           rulesManager,
+                                                                           oryxManager,
+                                                                           commandManager,
+                                                                           commandFactory,
+                                                                           new MapIndexBuilder(),
+                                                                           BPMNDefinitionSet.class,
+                                                                           BPMNDiagramImpl.class);
+        unmarshaller.setProfile(new DefaultProfileImpl());
+        return unmarshaller.unmarshall(JBPMBpmn2ResourceLoader.loadDefinitions(is));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void assertEquivalentGraphs(String message,
+                                        Graph<?, Node> expected,
+                                        Graph<?, Node> actual) {
+        Map<String, Node> expectedNodes = getNodesByUUID(expected);
+        Map<String, Node> actualNodes = getNodesByUUID(actual);
+        assertEquals(message,
+                     expectedNodes.keySet(),
+                     actualNodes.keySet());
+        for (Node<?, Edge> expectedNode : expectedNodes.values()) {
+            Node<?, Edge> actualNode = actualNodes.get(expectedNode.getUUID());
+            String nodeMessage = message + " - " + expectedNode.getUUID();
+            assertEquivalentContents(nodeMessage,
+                                     expectedNode.getContent(),
+                                     actualNode.getContent());
+            assertBoundsEquals(nodeMessage,
+                               ((View) expectedNode.getContent()).getBounds(),
+                               ((View) actualNode.getContent()).getBounds());
+            assertEquals(nodeMessage,
+                         getOutEdgeKeys(expectedNode),
+                         getOutEdgeKeys(actualNode));
+            for (Edge expectedEdge : expectedNode.getOutEdges()) {
+                if (expectedEdge.getContent() instanceof ViewConnector) {
+                    Edge actualEdge = actualNode.getOutEdges().stream()
+                            .filter(edge -> expectedEdge.getUUID().equals(edge.getUUID()))
+                            .findFirst()
+                            .get();
+                    String edgeMessage = message + " - " + expectedEdge.getUUID();
+                    assertEquivalentContents(edgeMessage,
+                                             expectedEdge.getContent(),
+                                             actualEdge.getContent());
+                    ViewConnector expectedConnector = (ViewConnector) expectedEdge.getContent();
+                    ViewConnector actualConnector = (ViewConnector) actualEdge.getContent();
+                    assertEquals(edgeMessage,
+                                 getLocation(expectedConnector.getSourceConnection()),
+                                 getLocation(actualConnector.getSourceConnection()));
+                    assertEquals(edgeMessage,
+                                 getLocation(expectedConnector.getTargetConnection()),
+                                 getLocation(actualConnector.getTargetConnection()));
+                }
+            }
+        }
+    }
+
+    private void assertEquivalentContents(String message,
+                                          Object expected,
+                                          Object actual) {
+        Object expectedDefinition = ((View) expected).getDefinition();
+        Object actualDefinition = ((View) actual).getDefinition();
+        assertEquals(message,
+                     expectedDefinition.getClass(),
+                     actualDefinition.getClass());
+        assertEquals(message,
+                     getPropertyValues(expectedDefinition),
+                     getPropertyValues(actualDefinition));
+    }
+
+    private void assertBoundsEquals(String message,
+                                    Bounds expected,
+                                    Bounds actual) {
+        assertEquals(message,
+                     expected.getUpperLeft().getX(),
+                     actual.getUpperLeft().getX());
+        assertEquals(message,
+                     expected.getUpperLeft().getY(),
+                     actual.getUpperLeft().getY());
+        assertEquals(message,
+                     expected.getLowerRight().getX(),
+                     actual.getLowerRight().getX());
+        assertEquals(message,
+                     expected.getLowerRight().getY(),
+                     actual.getLowerRight().getY());
+    }
+
+    private Map<String, Node> getNodesByUUID(Graph<?, Node> graph) {
+        assertNotNull(graph);
+        Map<String, Node> nodes = new HashMap<>();
+        graph.nodes().forEach(node -> nodes.put(node.getUUID(),
+                                                node));
+        return nodes;
+    }
+
+    // Sequence flows are keyed by their identifier, parent-child and dock edges by their type.
+    private Set<String> getOutEdgeKeys(Node<?, Edge> node) {
+        return node.getOutEdges().stream()
+                .map(edge -> (edge.getContent() instanceof ViewConnector ? edge.getUUID() : edge.getContent().getClass().getSimpleName())
+                        + "->" + edge.getTargetNode().getUUID())
+                .collect(Collectors.toSet());
+    }
+
+    private Map<String, Object> getPropertyValues(Object definition) {
+        Map<String, Object> values = new HashMap<>();
+        for (Object property : definitionManager.adapters().forDefinition().getProperties(definition)) {
+            values.put(definitionManager.adapters().forProperty().getId(property),
+                       definitionManager.adapters().forProperty().getValue(property));
+        }
+        return values;
+    }
+
+    private Object getLocation(Optional<Connection> connection) {
+        return connection.map(Connection::getLocation).orElse(null);
+    }
+
+    private static String buildLargeProcess(final int tasks) {
+        final StringBuilder process = new StringBuilder();
+        final StringBuilder shapes = new StringBuilder();
+        final StringBuilder edges = new StringBuilder();
+        for (int i = 0; i <= tasks + 1; i++) {
+            final String id = i == 0 ? "start" : i == tasks + 1 ? "end" : "task" + i;
+            final String incoming = i == 0 ? null : "flow" + (i - 1);
+            final String outgoing = i == tasks + 1 ? null : "flow" + i;
+            final String element = i == 0 ? "startEvent" : i == tasks + 1 ? "endEvent" : "scriptTask";
+            process.append("<bpmn2:").append(element).append(" id=\"").append(id).append("\" name=\"").append(id).append("\"")
+                    .append(i == 0 || i == tasks + 1 ? ">" : " scriptFormat=\"http://www.java.com/java\">");
+            if (null != incoming) {
+                process.append("<bpmn2:incoming>").append(incoming).append("</bpmn2:incoming>");
+            }
+            if (null != outgoing) {
+                process.append("<bpmn2:outgoing>").append(outgoing).append("</bpmn2:outgoing>");
+            }
+            process.append("</bpmn2:").append(element).append(">");
+            final double x = 100 + i * 150;
+            shapes.append("<bpmndi:BPMNShape id=\"shape_").append(id).append("\" bpmnElement=\"").append(id).append("\">")
+                    .append("<dc:Bounds height=\"80.0\" width=\"100.0\" x=\"").append(x).append("\" y=\"100.0\"/>")
+                    .append("</bpmndi:BPMNShape>");
+            if (null != outgoing) {
+                final String target = i == tasks ? "end" : "task" + (i + 1);
+                process.append("<bpmn2:sequenceFlow id=\"").append(outgoing).append("\" sourceRef=\"").append(id)
+                        .append("\" targetRef=\"").append(target).append("\"/>");
+                edges.append("<bpmndi:BPMNEdge id=\"edge_").append(outgoing).append("\" bpmnElement=\"").append(outgoing).append("\">")
+                        .append("<di:waypoint xsi:type=\"dc:Point\" x=\"").append(x + 50).append("\" y=\"140.0\"/>")
+                        .append("<di:waypoint xsi:type=\"dc:Point\" x=\"").append(x + 200).append("\" y=\"140.0\"/>")
+                        .append("</bpmndi:BPMNEdge>");
+            }
+        }
+        return "<?xml version=\"1.0\" encoding=\"UTF-8\"?>" +
+                "<bpmn2:definitions xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\" xmlns:bpmn2=\"http://www.omg.org/spec/BPMN/20100524/MODEL\" " +
+                "xmlns:bpmndi=\"http://www.omg.org/spec/BPMN/20100524/DI\" xmlns:dc=\"http://www.omg.org/spec/DD/20100524/DC\" " +
+                "xmlns:di=\"http://www.omg.org/spec/DD/20100524/DI\" xmlns:drools=\"http://www.jboss.org/drools\" id=\"large\" " +
+                "expressionLanguage=\"http://www.mvel.org/2.0\" targetNamespace=\"http://www.omg.org/bpmn20\" typeLanguage=\"http://www.java.com/javaTypes\">" +
+                "<bpmn2:process id=\"large.process\" drools:packageName=\"org.jbpm\" drools:version=\"1.0\" name=\"Large process\" isExecutable=\"true\">" +
+                process +
+                "</bpmn2:process>" +
+                "<bpmndi:BPMNDiagram id=\"diagram\"><bpmndi:BPMNPlane id=\"plane\" bpmnElement=\"large.process\">" +
+                shapes +
+                edges +
+                "</bpmndi:BPMNPlane></bpmndi:BPMNDiagram>" +
+                "</bpmn2:definitions>";
+    }
+
     @Test
     public void testMarshallBasic() throws Exception {
         Diagram<Graph, Metadata> diagram = unmarshall(BPMN_BASIC);
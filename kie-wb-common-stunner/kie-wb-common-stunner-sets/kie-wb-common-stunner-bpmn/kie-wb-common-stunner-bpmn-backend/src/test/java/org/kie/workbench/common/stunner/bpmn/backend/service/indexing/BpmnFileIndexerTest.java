@@ -242,6 +242,28 @@ public class BpmnFileIndexerTest extends BaseIndexingTest<BPMNDefinitionSetResou
         }
     }
 
+    @Test
+    public void testBpmnIsParsedAgainOnlyWhenBuildFails() throws Exception {
+        final TestBpmnFileIndexer indexer = new TestBpmnFileIndexer();
+        indexer.setIOService(ioService());
+        indexer.setProjectService(getProjectService());
+        indexer.setResourceTypeDefinition(getResourceTypeDefinition());
+
+        final Path path = basePath.resolve("signal.bpmn");
+        ioService().write(path,
+                          loadText("signal.bpmn"));
+        assertNotNull(indexer.toKObject(path));
+        assertEquals(0,
+                     indexer.getXmlProcessReaderCount());
+
+        final Path brokenPath = basePath.resolve("brokenSignal.bpmn");
+        ioService().write(brokenPath,
+                          loadText("brokenSignal.bpmn"));
+        assertNotNull(indexer.toKObject(brokenPath));
+        assertEquals(1,
+                     indexer.getXmlProcessReaderCount());
+    }
+
     private PageResponse<RefactoringPageRow> queryBPMN2Resources() throws IllegalArgumentException {
         final RefactoringPageRequest request = new RefactoringPageRequest(FindResourcesQuery.NAME,
                                                                           new HashSet<ValueIndexTerm>() {{
@@ -15,6 +15,9 @@
  */
 package org.kie.workbench.common.stunner.bpmn.backend.service.indexing;
 
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.jbpm.compiler.xml.XmlProcessReader;
 import org.kie.workbench.common.services.backend.project.ProjectClassLoaderHelper;
 import org.kie.workbench.common.services.refactoring.backend.server.TestIndexer;
 import org.kie.workbench.common.services.shared.project.KieProjectService;
@@ -28,6 +31,8 @@ import static org.mockito.Mockito.when;
 
 public class TestBpmnFileIndexer extends BpmnFileIndexer implements TestIndexer<BPMNDefinitionSetResourceType> {
 
+    private final AtomicInteger xmlProcessReaderCount = new AtomicInteger();
+
     public TestBpmnFileIndexer() {
         this.classLoaderHelper = mock(ProjectClassLoaderHelper.class);
         when(this.classLoaderHelper.getProjectClassLoader(any())).thenReturn(this.getClass().getClassLoader());
@@ -47,4 +52,14 @@ public class TestBpmnFileIndexer extends BpmnFileIndexer implements TestIndexer<
     public void setResourceTypeDefinition(BPMNDefinitionSetResourceType type) {
         this.bpmnTypeDefinition = type;
     }
+
+    @Override
+    protected XmlProcessReader newXmlProcessReader(final ClassLoader projectClassLoader) {
+        xmlProcessReaderCount.incrementAndGet();
+        return super.newXmlProcessReader(projectClassLoader);
+    }
+
+    public int getXmlProcessReaderCount() {
+        return xmlProcessReaderCount.get();
+    }
 }